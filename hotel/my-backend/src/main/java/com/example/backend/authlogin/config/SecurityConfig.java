@@ -45,6 +45,11 @@ public class SecurityConfig {
                         }))
 
                 .authorizeHttpRequests(auth -> auth
+    // 호텔 전체 내보내기는 관리자만 (아래 /api/hotels/** permitAll 보다 먼저). JWT 역할은 authlogin User.Role (USER/ADMIN)
+    .requestMatchers("/api/hotels/export").hasRole("ADMIN")
+    // 운영 엔드포인트(메트릭, 인덱스 재빌드/스냅샷, 느린 검색 등)는 관리자만. 헬스 체크는 로드밸런서용으로 열어 둠
+    .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+    .requestMatchers("/actuator/**").hasRole("ADMIN")
     .requestMatchers(
         "/", "/index.html", "/favicon.ico", "/error",
         "/css/**", "/js/**", "/images/**", "/webjars/**",
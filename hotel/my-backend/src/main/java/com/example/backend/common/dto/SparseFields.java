@@ -0,0 +1,72 @@
+package com.example.backend.common.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.*;
+
+/**
+ * fields= 파라미터 (응답에서 고른 필드만). 쉼표로 구분한 점 경로: "hotel.name,rooms.price,rooms.photos".
+ *
+ * 경로를 고르면 그 아래는 전부 들어가고, 배열은 원소마다 같은 경로로 본다 (rooms.price = 모든 객실의 price).
+ * 없는 필드 이름은 무시한다. 파라미터가 없거나 비어 있으면 parse 가 null (= 전부).
+ */
+public final class SparseFields {
+
+    private final Set<String> paths;
+
+    private SparseFields(Set<String> paths) {
+        this.paths = paths;
+    }
+
+    public static SparseFields parse(String fields) {
+        if (fields == null || fields.isBlank()) return null;
+        Set<String> paths = new TreeSet<>();
+        for (String f : fields.split(",")) {
+            String p = f.trim();
+            if (p.isEmpty()) continue;
+            if (!p.matches("[A-Za-z0-9_]+(\\.[A-Za-z0-9_]+)*")) {
+                throw new IllegalArgumentException("invalid field: " + p);
+            }
+            paths.add(p);
+        }
+        return paths.isEmpty() ? null : new SparseFields(paths);
+    }
+
+    /** path 가 통째로 들어가는지 (자신이나 상위 경로가 골라짐) */
+    public boolean includesAll(String path) {
+        for (String p : paths) {
+            if (path.equals(p) || path.startsWith(p + ".")) return true;
+        }
+        return false;
+    }
+
+    /** path 의 일부라도 들어가는지 (하위 경로만 골라져도) — 쿼리를 생략해도 되는지 판단용 */
+    public boolean includes(String path) {
+        if (includesAll(path)) return true;
+        String prefix = path + ".";
+        for (String p : paths) {
+            if (p.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    /** node 에서 고르지 않은 필드를 지운다 (제자리). prefix 는 node 의 경로, 루트면 "" */
+    public JsonNode prune(JsonNode node, String prefix) {
+        if (node == null) return null;
+        if (node.isArray()) {
+            for (JsonNode e : node) prune(e, prefix);
+            return node;
+        }
+        if (!(node instanceof ObjectNode obj)) return node;
+        Iterator<Map.Entry<String, JsonNode>> it = obj.properties().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> f = it.next();
+            String child = prefix.isEmpty() ? f.getKey() : prefix + "." + f.getKey();
+            if (includesAll(child)) continue;
+            if (includes(child)) prune(f.getValue(), child);
+            else it.remove();
+        }
+        return node;
+    }
+}
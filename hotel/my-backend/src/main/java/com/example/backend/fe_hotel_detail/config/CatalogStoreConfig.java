@@ -0,0 +1,15 @@
+package com.example.backend.fe_hotel_detail.config;
+
+import com.example.backend.fe_hotel_detail.index.CatalogStore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** 호텔 상세용 인메모리 카탈로그. 채우는 건 CatalogStoreSync 가 담당 */
+@Configuration
+public class CatalogStoreConfig {
+
+    @Bean
+    public CatalogStore catalogStore() {
+        return new CatalogStore();
+    }
+}
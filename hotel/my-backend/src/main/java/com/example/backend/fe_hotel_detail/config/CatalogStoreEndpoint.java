@@ -0,0 +1,51 @@
+package com.example.backend.fe_hotel_detail.config;
+
+import com.example.backend.fe_hotel_detail.index.CatalogStore;
+import com.example.backend.fe_hotel_detail.service.CatalogStoreSync;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET  /actuator/catalogstore : 호텔 상세용 인메모리 카탈로그 상태(건수, 사전 크기, 엔티티별 메모리 추정치)
+ * POST /actuator/catalogstore : 전체 재빌드 (주기 작업은 바뀐 호텔만 patch)
+ */
+@Component
+@Endpoint(id = "catalogstore")
+@RequiredArgsConstructor
+public class CatalogStoreEndpoint {
+
+    private final CatalogStore store;
+    private final CatalogStoreSync sync;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Long> bytes = store.estimatedBytes();
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("ready", store.isReady());
+        out.put("hotels", store.hotelCount());
+        out.put("hotelImages", store.hotelImageCount());
+        out.put("rooms", store.roomCount());
+        out.put("roomImages", store.roomImageCount());
+        out.put("dirtyHotels", store.dirtyCount());
+        out.put("dictionaries", store.dictionarySizes());
+        out.put("buildMillis", store.lastBuildMillis());
+        out.put("estimatedBytes", bytes);
+        out.put("estimatedBytesTotal", bytes.values().stream().mapToLong(Long::longValue).sum());
+        return out;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        long start = System.currentTimeMillis();
+        sync.rebuild();
+        return Map.of("hotels", store.hotelCount(), "rooms", store.roomCount(),
+                "tookMillis", System.currentTimeMillis() - start);
+    }
+}
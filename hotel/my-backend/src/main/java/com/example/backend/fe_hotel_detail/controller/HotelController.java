@@ -1,12 +1,21 @@
 // src/main/java/com/example/backend/fe_hotel_detail/controller/HotelController.java
 package com.example.backend.fe_hotel_detail.controller;
 
-import com.example.backend.fe_hotel_detail.dto.HotelDetailDto;
+import com.example.backend.common.dto.SparseFields;
+import com.example.backend.fe_hotel_detail.service.HotelDetailCache;
 import com.example.backend.fe_hotel_detail.service.HotelService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "http://localhost:5173")
@@ -14,8 +23,74 @@ import org.springframework.web.bind.annotation.*;
 public class HotelController {
     private final HotelService hotelService;
 
+    // 캐시에 있는 직렬화된 JSON(또는 gzip) 바이트를 그대로 쓴다.
+    // ETag/Last-Modified 를 붙이면 If-None-Match / If-Modified-Since 가 맞을 때 Spring 이 304 로 바꿔 보낸다.
+    // checkIn/checkOut 을 주면 객실별 잔여 수량/기간 총액을 붙여 매번 새로 만든다 (재고가 수시로 바뀌므로 저장 안 함).
+    // fields 를 주면 고른 필드만 (예: fields=hotel.name,rooms.name,rooms.price → 이미지/사진 조인 생략)
     @GetMapping("/hotels/{id}")
-    public ResponseEntity<HotelDetailDto> getHotel(@PathVariable Long id) {
-        return ResponseEntity.ok(hotelService.getHotelDetail(id));
+    public ResponseEntity<?> getHotel(
+            @PathVariable Long id,
+            @RequestParam(required = false) String checkIn,
+            @RequestParam(required = false) String checkOut,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        boolean dated = checkIn != null || checkOut != null;
+        SparseFields sparse = SparseFields.parse(fields);
+        if (sparse != null) {
+            return ResponseEntity.ok()
+                    .cacheControl(dated ? CacheControl.noStore() : CacheControl.noCache())
+                    .body(hotelService.getHotelDetailFields(id, checkIn, checkOut, sparse));
+        }
+        if (dated) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(hotelService.getHotelDetail(id, checkIn, checkOut));
+        }
+        HotelDetailCache.Entry e = hotelService.getHotelDetailEntry(id);
+        boolean gzip = e.gzip() != null && acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder res = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(gzip ? e.gzipEtag() : e.etag())
+                .lastModified(e.lastModified())
+                .cacheControl(CacheControl.noCache()) // 브라우저는 저장하되 매번 재검증
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        return gzip
+                ? res.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(e.gzip())
+                : res.body(e.json());
+    }
+
+    // 여러 호텔 상세를 {"id": 상세, ...} 로. 값은 단건 응답과 같은 캐시 바이트를 이어 붙인다 (다시 직렬화하지 않음).
+    // 없는 호텔은 빠지고, 캐시 검증은 호텔별 단건 요청으로
+    @GetMapping("/hotels/batch")
+    public ResponseEntity<byte[]> getHotels(@RequestParam List<Long> ids) {
+        Map<Long, HotelDetailCache.Entry> entries = hotelService.getHotelDetailEntries(ids);
+        int size = 2;
+        for (HotelDetailCache.Entry e : entries.values()) size += e.json().length + 24;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        out.write('{');
+        boolean first = true;
+        for (Map.Entry<Long, HotelDetailCache.Entry> e : entries.entrySet()) {
+            if (!first) out.write(',');
+            first = false;
+            out.writeBytes(("\"" + e.getKey() + "\":").getBytes(StandardCharsets.US_ASCII));
+            out.writeBytes(e.getValue().json());
+        }
+        out.write('}');
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .body(out.toByteArray());
+    }
+
+    // "gzip" 또는 "gzip;q=..." (q=0 이면 거절)
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] p = part.trim().split(";");
+            if (!p[0].trim().equalsIgnoreCase("gzip")) continue;
+            return p.length < 2 || !p[1].trim().matches("q=0(\\.0*)?");
+        }
+        return false;
     }
 }
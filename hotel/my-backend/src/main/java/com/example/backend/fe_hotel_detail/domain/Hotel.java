@@ -1,10 +1,12 @@
 package com.example.backend.fe_hotel_detail.domain;
 
 import com.example.backend.fe_hotel_detail.domain.Hotel;
+import com.example.backend.hotel_search.event.CatalogEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity @Table(name = "Hotel")
+@EntityListeners(CatalogEntityListener.class) // 검색 인덱스 갱신용
 @Getter @Setter @NoArgsConstructor
 public class Hotel {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,5 +26,19 @@ public class Hotel {
     @Column(length=50)
     private String country;
 
+    // 위치 검색용 좌표 (WGS84). 없으면 근처 검색에서 빠짐
+    private Double latitude;
+
+    private Double longitude;
+
+    // 검색 썸네일용 비정규화 컬럼. hotel_image 변경 시 HotelCoverService 가 SQL 로만 갱신
+    // 원본 hotel_image.url 과 같은 TEXT
+    @Column(name="cover_image_url", columnDefinition = "TEXT", insertable=false, updatable=false)
+    private String coverImageUrl;
+
+    // 검색 인덱스 스냅샷 이후 변경분 조회용. DB 가 직접 채움 (ON UPDATE CURRENT_TIMESTAMP)
+    @Column(name = "updated_at", insertable = false, updatable = false,
+            columnDefinition = "DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+    private java.time.LocalDateTime updatedAt;
 
 }
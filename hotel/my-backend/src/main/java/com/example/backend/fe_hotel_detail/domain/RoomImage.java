@@ -1,10 +1,12 @@
 package com.example.backend.fe_hotel_detail.domain;
 
 import com.example.backend.fe_hotel_detail.domain.RoomImage;
+import com.example.backend.hotel_search.event.CatalogEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity @Table(name = "room_image")
+@EntityListeners(CatalogEntityListener.class) // 호텔 상세 캐시 무효화용
 @Getter @Setter @NoArgsConstructor
 public class RoomImage {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,4 +26,9 @@ public class RoomImage {
 
     @Column(length=255) private String caption;
     @Column(length=255) private String altText;
+
+    // 상세 카탈로그가 DB 에서 직접 고친 행을 따라잡는 용도. DB 가 직접 채움 (ON UPDATE CURRENT_TIMESTAMP)
+    @Column(name = "updated_at", insertable = false, updatable = false,
+            columnDefinition = "DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+    private java.time.LocalDateTime updatedAt;
 }
@@ -1,7 +1,10 @@
 package com.example.backend.fe_hotel_detail.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
+
+import java.time.LocalDate;
 import java.util.*;
 
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
@@ -62,8 +65,20 @@ public class HotelDetailDto {
         private List<String> photos;
         private List<Map<String, String>> promos;
         private Integer qty;              // ?꾨윴??諛붿씤?⑹슜
+
+        // 날짜를 준 요청만: 숙박 기간 중 최소 잔여 객실 수, 기간 총액 (밤마다 요금 정책, 없으면 price)
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Integer available;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long stayPrice;
     }
 
     private HotelDto hotel;
     private List<RoomDto> rooms;
+
+    // 날짜를 준 요청만 (rooms 의 available/stayPrice 기준 기간)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDate checkIn;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDate checkOut;
 }
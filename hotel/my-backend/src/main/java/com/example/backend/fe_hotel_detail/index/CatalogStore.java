@@ -0,0 +1,584 @@
+package com.example.backend.fe_hotel_detail.index;
+
+import com.example.backend.fe_hotel_detail.domain.Hotel;
+import com.example.backend.fe_hotel_detail.domain.HotelImage;
+import com.example.backend.fe_hotel_detail.domain.RoomImage;
+import com.example.backend.fe_hotel_detail.repository.HotelDetailQueryRepository.HotelHead;
+import com.example.backend.fe_hotel_detail.repository.HotelDetailQueryRepository.RoomRow;
+import com.example.backend.hotel_reservation.domain.Room;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 호텔 상세용 읽기 전용 카탈로그 (호텔 / 호텔 이미지 / 객실 / 객실 이미지 전체).
+ *
+ * 행 객체 대신 열마다 배열 하나로 들고 있는다.
+ *  - 숫자 열은 원시 배열 (null = NULL_INT, 좌표는 NaN, 성급은 -1)
+ *  - 반복되는 문자열(국가, 객실 이름/크기, 전망, 침대, 취소 정책, 결제)은 사전 코드 int[]
+ *  - 객실 불리언 플래그는 플래그마다 BitSet (TRUE 만 1. 상세는 TRUE 인지만 보므로 null 과 false 를 나누지 않음)
+ *  - 호텔 → 이미지 / 객실, 객실 → 사진은 시작 오프셋 배열 (i 의 항목 = [start[i], start[i+1]))
+ * 호텔은 id 순, 객실은 호텔 순 → id 순이라 한 호텔의 객실은 연속 구간이다.
+ *
+ * 빌드 이후 바뀐 호텔은 다음 재빌드까지 covers() 가 false 라 호출하는 쪽이 DB 에서 읽는다.
+ * 변경마다 순번을 매기고, 재빌드는 읽기 시작 전 순번(changeMark)까지의 변경만 지운다 (읽는 도중의 변경은 남김).
+ * patch() 는 바뀐 호텔의 행만 새로 받아 나머지는 지금 상태에서 그대로 옮겨 다시 빌드한다 (DB 는 그 호텔만 읽음).
+ */
+public class CatalogStore {
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    // 객실 플래그 (flags 배열 순서)
+    private static final int SMOKE = 0, SHARED_BATH = 1, WINDOW = 2, AIRCON = 3, FREE_WATER = 4, WIFI = 5;
+    private static final int FLAGS = 6;
+
+    // MariaDB/H2 의 ORDER BY sort_no ASC 는 NULL 이 먼저 (HotelDetailQueryRepository 와 같은 순서)
+    private static final Comparator<Integer> SORT_NO = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private volatile State state = State.EMPTY;
+    private volatile long lastBuildMillis;
+
+    private final AtomicLong changes = new AtomicLong();
+    private final Map<Long, Long> dirty = new ConcurrentHashMap<>(); // 호텔 id → 변경 순번
+    private volatile long allDirtyAt = 0;   // 이 순번 이후에 빌드해야 전체가 유효 (처음엔 빌드 전)
+    private volatile long builtThrough = -1; // 마지막 빌드가 반영한 변경 순번
+
+    private record State(
+            // 호텔 (id 순)
+            long[] hotelIds,
+            String[] hotelName,
+            String[] hotelAddress,
+            String[] hotelDescription,
+            int[] hotelCountry,
+            byte[] hotelStar,
+            double[] hotelLat,
+            double[] hotelLng,
+            int[] hotelImageStart,
+            String[] hotelImageUrl,
+            int[] roomStart,
+            // 객실 (호텔 순 → id 순)
+            long[] roomIds,
+            int[] roomHotel,
+            int[] roomName,
+            int[] roomSize,
+            int[] roomView,
+            int[] roomBed,
+            int[] roomCancel,
+            int[] roomPayment,
+            int[] roomCapMin,
+            int[] roomCapMax,
+            int[] roomBath,
+            int[] roomOriginalPrice,
+            int[] roomPrice,
+            BitSet[] roomFlags,
+            int[] roomPhotoStart,
+            String[] roomPhotoUrl,
+            // 객실 id → 위치 (객실 id 순)
+            long[] roomIdsSorted,
+            int[] roomOrder,
+            // 사전
+            String[] countries,
+            String[] roomNames,
+            String[] roomSizes,
+            String[] views,
+            String[] beds,
+            String[] cancelPolicies,
+            String[] payments,
+            Map<String, Long> estimatedBytes
+    ) {
+        static final State EMPTY = build(List.of(), List.of(), List.of(), List.of());
+
+        int hotelCount() {
+            return hotelIds.length;
+        }
+
+        int roomCount() {
+            return roomIds.length;
+        }
+
+        int hotelIndex(long hotelId) {
+            int i = Arrays.binarySearch(hotelIds, hotelId);
+            return i < 0 ? -1 : i;
+        }
+
+        int roomIndex(long roomId) {
+            int i = Arrays.binarySearch(roomIdsSorted, roomId);
+            return i < 0 ? -1 : roomOrder[i];
+        }
+    }
+
+    // ===== 조회 =====
+
+    /** 이 호텔을 저장소에서 답해도 되는지 (빌드됨 + 빌드 이후 바뀌지 않음). false 면 DB 에서 읽을 것 */
+    public boolean covers(long hotelId) {
+        return builtThrough >= allDirtyAt && !dirty.containsKey(hotelId);
+    }
+
+    /** 호텔 기본 정보 + 이미지. covers() 가 true 인데 비어 있으면 빌드 시점에 없던 호텔 */
+    public Optional<HotelHead> hotel(long hotelId) {
+        State s = state;
+        int h = s.hotelIndex(hotelId);
+        if (h < 0) return Optional.empty();
+        List<String> images = Arrays.asList(
+                Arrays.copyOfRange(s.hotelImageUrl(), s.hotelImageStart()[h], s.hotelImageStart()[h + 1]));
+        return Optional.of(new HotelHead(hotelId, s.hotelName()[h], s.hotelAddress()[h], s.hotelDescription()[h], images));
+    }
+
+    /** 호텔의 객실 (id 순) + 사진 */
+    public List<RoomRow> rooms(long hotelId) {
+        State s = state;
+        int h = s.hotelIndex(hotelId);
+        if (h < 0) return List.of();
+        BitSet[] f = s.roomFlags();
+        List<RoomRow> out = new ArrayList<>(s.roomStart()[h + 1] - s.roomStart()[h]);
+        for (int r = s.roomStart()[h]; r < s.roomStart()[h + 1]; r++) {
+            out.add(new RoomRow(
+                    s.roomIds()[r],
+                    decode(s.roomNames(), s.roomName()[r]),
+                    decode(s.roomSizes(), s.roomSize()[r]),
+                    decode(s.views(), s.roomView()[r]),
+                    decode(s.beds(), s.roomBed()[r]),
+                    boxed(s.roomBath()[r]),
+                    f[SMOKE].get(r),
+                    f[SHARED_BATH].get(r),
+                    f[WINDOW].get(r),
+                    f[AIRCON].get(r),
+                    f[FREE_WATER].get(r),
+                    f[WIFI].get(r),
+                    decode(s.cancelPolicies(), s.roomCancel()[r]),
+                    decode(s.payments(), s.roomPayment()[r]),
+                    boxed(s.roomOriginalPrice()[r]),
+                    boxed(s.roomPrice()[r]),
+                    Arrays.asList(Arrays.copyOfRange(s.roomPhotoUrl(), s.roomPhotoStart()[r], s.roomPhotoStart()[r + 1]))));
+        }
+        return out;
+    }
+
+    /** 객실이 속한 호텔 (빌드 시점 기준). 모르면 null */
+    public Long hotelIdOfRoom(long roomId) {
+        State s = state;
+        int r = s.roomIndex(roomId);
+        return r < 0 ? null : s.hotelIds()[s.roomHotel()[r]];
+    }
+
+    /**
+     * DB 의 건수와 빌드된 건수가 다른 호텔 (DB 에서 직접 지운 행 대조용. 이벤트도 updated_at 도 없음).
+     * 지워진/새로 생긴 호텔, 객실 수·이미지 수·객실 사진 수가 다른 호텔을 돌려준다. 없는 키는 0 건.
+     *
+     * @param liveHotelIds      DB 의 호텔 id
+     * @param roomsByHotel      호텔 id → 객실 수
+     * @param imagesByHotel     호텔 id → 호텔 이미지 수
+     * @param photosByRoom      객실 id → 객실 사진 수
+     */
+    public Set<Long> countMismatches(Collection<Long> liveHotelIds, Map<Long, Long> roomsByHotel,
+                                     Map<Long, Long> imagesByHotel, Map<Long, Long> photosByRoom) {
+        State s = state;
+        Set<Long> out = new HashSet<>();
+        Set<Long> live = new HashSet<>(liveHotelIds);
+        for (long id : s.hotelIds()) {
+            if (!live.contains(id)) out.add(id);
+        }
+        for (Long id : live) {
+            int h = s.hotelIndex(id);
+            if (h < 0) {
+                out.add(id);
+                continue;
+            }
+            if (roomsByHotel.getOrDefault(id, 0L) != s.roomStart()[h + 1] - s.roomStart()[h]
+                    || imagesByHotel.getOrDefault(id, 0L) != s.hotelImageStart()[h + 1] - s.hotelImageStart()[h]) {
+                out.add(id);
+                continue;
+            }
+            for (int r = s.roomStart()[h]; r < s.roomStart()[h + 1]; r++) {
+                if (photosByRoom.getOrDefault(s.roomIds()[r], 0L) != s.roomPhotoStart()[r + 1] - s.roomPhotoStart()[r]) {
+                    out.add(id);
+                    break;
+                }
+            }
+        }
+        return out;
+    }
+
+    // ===== 변경 / 빌드 =====
+
+    /** 재빌드 전에 (DB 를 읽기 전에) 찍어 둔다 */
+    public long changeMark() {
+        return changes.get();
+    }
+
+    public void markDirty(long hotelId) {
+        dirty.put(hotelId, changes.incrementAndGet());
+    }
+
+    /** 어느 호텔인지 모르는 변경: 다음 재빌드까지 전부 DB 로 */
+    public void markAllDirty() {
+        allDirtyAt = changes.incrementAndGet();
+    }
+
+    public void rebuild(long mark, Collection<Hotel> hotels, Collection<HotelImage> hotelImages,
+                        Collection<Room> rooms, Collection<RoomImage> roomImages) {
+        long start = System.currentTimeMillis();
+        state = build(hotels, hotelImages, rooms, roomImages);
+        dirty.values().removeIf(seq -> seq <= mark);
+        builtThrough = mark;
+        lastBuildMillis = System.currentTimeMillis() - start;
+    }
+
+    /**
+     * hotelIds 호텔만 새 행으로 바꿔 끼운다. 행은 그 호텔들 것만 (DB 에서 없어진 호텔은 hotels 에 없으면 됨).
+     * 그 호텔들의 mark 까지의 변경만 지운다. 전체 무효화(markAllDirty)가 남아 있으면 rebuild 를 쓸 것.
+     */
+    public void patch(long mark, Set<Long> hotelIds, Collection<Hotel> hotels, Collection<HotelImage> hotelImages,
+                      Collection<Room> rooms, Collection<RoomImage> roomImages) {
+        long start = System.currentTimeMillis();
+        State s = state;
+        Set<Long> freshRooms = new HashSet<>();
+        for (Room r : rooms) freshRooms.add(r.getId());
+
+        List<Hotel> hs = new ArrayList<>(hotels);
+        List<HotelImage> his = new ArrayList<>(hotelImages);
+        List<Room> rs = new ArrayList<>(rooms);
+        List<RoomImage> ris = new ArrayList<>(roomImages);
+        for (int h = 0; h < s.hotelCount(); h++) {
+            long id = s.hotelIds()[h];
+            if (hotelIds.contains(id)) continue;
+            hs.add(hotelOf(s, h));
+            for (int i = s.hotelImageStart()[h]; i < s.hotelImageStart()[h + 1]; i++) {
+                his.add(hotelImageOf(id, i, s.hotelImageUrl()[i]));
+            }
+            for (int r = s.roomStart()[h]; r < s.roomStart()[h + 1]; r++) {
+                if (freshRooms.contains(s.roomIds()[r])) continue; // 바뀐 호텔로 옮겨 간 객실
+                rs.add(roomOf(s, r));
+                for (int i = s.roomPhotoStart()[r]; i < s.roomPhotoStart()[r + 1]; i++) {
+                    ris.add(roomImageOf(s.roomIds()[r], i, s.roomPhotoUrl()[i]));
+                }
+            }
+        }
+        state = build(hs, his, rs, ris);
+        for (Long id : hotelIds) dirty.computeIfPresent(id, (k, seq) -> seq <= mark ? null : seq);
+        lastBuildMillis = System.currentTimeMillis() - start;
+    }
+
+    // ----- 지금 상태 → 엔티티 (patch 에서 그대로 옮길 행). 이미지 순서는 위치로 id/sort_no 를 매겨 유지 -----
+
+    private static Hotel hotelOf(State s, int h) {
+        Hotel e = new Hotel();
+        e.setId(s.hotelIds()[h]);
+        e.setName(s.hotelName()[h]);
+        e.setAddress(s.hotelAddress()[h]);
+        e.setDescription(s.hotelDescription()[h]);
+        e.setCountry(decode(s.countries(), s.hotelCountry()[h]));
+        e.setStarRating(s.hotelStar()[h] < 0 ? null : (int) s.hotelStar()[h]);
+        e.setLatitude(Double.isNaN(s.hotelLat()[h]) ? null : s.hotelLat()[h]);
+        e.setLongitude(Double.isNaN(s.hotelLng()[h]) ? null : s.hotelLng()[h]);
+        return e;
+    }
+
+    private static HotelImage hotelImageOf(long hotelId, int position, String url) {
+        HotelImage e = new HotelImage();
+        e.setId((long) position);
+        e.setHotelId(hotelId);
+        e.setSortNo(position);
+        e.setUrl(url);
+        return e;
+    }
+
+    private static Room roomOf(State s, int r) {
+        BitSet[] f = s.roomFlags();
+        return Room.builder()
+                .id(s.roomIds()[r])
+                .hotelId(s.hotelIds()[s.roomHotel()[r]])
+                .name(decode(s.roomNames(), s.roomName()[r]))
+                .roomSize(decode(s.roomSizes(), s.roomSize()[r]))
+                .viewName(decode(s.views(), s.roomView()[r]))
+                .bed(decode(s.beds(), s.roomBed()[r]))
+                .cancelPolicy(decode(s.cancelPolicies(), s.roomCancel()[r]))
+                .payment(decode(s.payments(), s.roomPayment()[r]))
+                .capacityMin(boxed(s.roomCapMin()[r]))
+                .capacityMax(boxed(s.roomCapMax()[r]))
+                .bath(boxed(s.roomBath()[r]))
+                .originalPrice(boxed(s.roomOriginalPrice()[r]))
+                .price(boxed(s.roomPrice()[r]))
+                .smoke(f[SMOKE].get(r))
+                .sharedBath(f[SHARED_BATH].get(r))
+                .hasWindow(f[WINDOW].get(r))
+                .aircon(f[AIRCON].get(r))
+                .freeWater(f[FREE_WATER].get(r))
+                .wifi(f[WIFI].get(r))
+                .build();
+    }
+
+    private static RoomImage roomImageOf(long roomId, int position, String url) {
+        RoomImage e = new RoomImage();
+        e.setId((long) position);
+        e.setRoomId(roomId);
+        e.setSortNo(position);
+        e.setUrl(url);
+        return e;
+    }
+
+    private static State build(Collection<Hotel> hotels, Collection<HotelImage> hotelImages,
+                               Collection<Room> rooms, Collection<RoomImage> roomImages) {
+        // 호텔
+        List<Hotel> hs = hotels.stream()
+                .filter(h -> h.getId() != null)
+                .sorted(Comparator.comparing(Hotel::getId))
+                .toList();
+        int n = hs.size();
+        long[] hotelIds = new long[n];
+        String[] name = new String[n];
+        String[] address = new String[n];
+        String[] description = new String[n];
+        int[] country = new int[n];
+        byte[] star = new byte[n];
+        double[] lat = new double[n];
+        double[] lng = new double[n];
+        StringDictionary countries = new StringDictionary();
+        for (int i = 0; i < n; i++) {
+            Hotel h = hs.get(i);
+            hotelIds[i] = h.getId();
+            name[i] = h.getName();
+            address[i] = h.getAddress();
+            description[i] = h.getDescription();
+            country[i] = countries.encode(h.getCountry());
+            star[i] = h.getStarRating() == null ? -1 : (byte) (int) h.getStarRating();
+            lat[i] = h.getLatitude() == null ? Double.NaN : h.getLatitude();
+            lng[i] = h.getLongitude() == null ? Double.NaN : h.getLongitude();
+        }
+
+        // 호텔 이미지 (호텔 → sort_no → id). sort_no NULL 은 맨 앞 (DB 경로 ORDER BY ... ASC 와 같게)
+        List<HotelImage> his = hotelImages.stream()
+                .filter(im -> im.getHotelId() != null && Arrays.binarySearch(hotelIds, im.getHotelId()) >= 0)
+                .sorted(Comparator.comparing(HotelImage::getHotelId)
+                        .thenComparing(HotelImage::getSortNo, SORT_NO)
+                        .thenComparing(HotelImage::getId))
+                .toList();
+        int[] hotelImageOwner = new int[his.size()];
+        String[] hotelImageUrl = new String[his.size()];
+        for (int i = 0; i < his.size(); i++) {
+            hotelImageOwner[i] = Arrays.binarySearch(hotelIds, his.get(i).getHotelId());
+            hotelImageUrl[i] = his.get(i).getUrl();
+        }
+
+        // 객실 (호텔 → id)
+        List<Room> rs = rooms.stream()
+                .filter(r -> r.getId() != null && r.getHotelId() != null
+                        && Arrays.binarySearch(hotelIds, r.getHotelId()) >= 0)
+                .sorted(Comparator.comparing(Room::getHotelId).thenComparing(Room::getId))
+                .toList();
+        int m = rs.size();
+        long[] roomIds = new long[m];
+        int[] roomOwner = new int[m];
+        int[] roomName = new int[m];
+        int[] roomSize = new int[m];
+        int[] view = new int[m];
+        int[] bed = new int[m];
+        int[] cancel = new int[m];
+        int[] payment = new int[m];
+        int[] capMin = new int[m];
+        int[] capMax = new int[m];
+        int[] bath = new int[m];
+        int[] originalPrice = new int[m];
+        int[] price = new int[m];
+        BitSet[] flags = new BitSet[FLAGS];
+        for (int f = 0; f < FLAGS; f++) flags[f] = new BitSet(m);
+        StringDictionary roomNames = new StringDictionary();
+        StringDictionary roomSizes = new StringDictionary();
+        StringDictionary views = new StringDictionary();
+        StringDictionary beds = new StringDictionary();
+        StringDictionary cancels = new StringDictionary();
+        StringDictionary payments = new StringDictionary();
+        for (int i = 0; i < m; i++) {
+            Room r = rs.get(i);
+            roomIds[i] = r.getId();
+            roomOwner[i] = Arrays.binarySearch(hotelIds, r.getHotelId());
+            roomName[i] = roomNames.encode(r.getName());
+            roomSize[i] = roomSizes.encode(r.getRoomSize());
+            view[i] = views.encode(r.getViewName());
+            bed[i] = beds.encode(r.getBed());
+            cancel[i] = cancels.encode(r.getCancelPolicy());
+            payment[i] = payments.encode(r.getPayment());
+            capMin[i] = unboxed(r.getCapacityMin());
+            capMax[i] = unboxed(r.getCapacityMax());
+            bath[i] = unboxed(r.getBath());
+            originalPrice[i] = unboxed(r.getOriginalPrice());
+            price[i] = unboxed(r.getPrice());
+            if (Boolean.TRUE.equals(r.getSmoke())) flags[SMOKE].set(i);
+            if (Boolean.TRUE.equals(r.getSharedBath())) flags[SHARED_BATH].set(i);
+            if (Boolean.TRUE.equals(r.getHasWindow())) flags[WINDOW].set(i);
+            if (Boolean.TRUE.equals(r.getAircon())) flags[AIRCON].set(i);
+            if (Boolean.TRUE.equals(r.getFreeWater())) flags[FREE_WATER].set(i);
+            if (Boolean.TRUE.equals(r.getWifi())) flags[WIFI].set(i);
+        }
+
+        // 객실 id → 위치
+        Integer[] byId = new Integer[m];
+        for (int i = 0; i < m; i++) byId[i] = i;
+        Arrays.sort(byId, Comparator.comparingLong(i -> roomIds[i]));
+        long[] roomIdsSorted = new long[m];
+        int[] roomOrder = new int[m];
+        for (int i = 0; i < m; i++) {
+            roomIdsSorted[i] = roomIds[byId[i]];
+            roomOrder[i] = byId[i];
+        }
+
+        // 객실 사진 (객실 위치 → sort_no → id). sort_no NULL 은 맨 앞
+        List<int[]> photoKeys = new ArrayList<>(); // {객실 위치, 원래 순번}
+        List<RoomImage> ris = new ArrayList<>(roomImages);
+        for (int i = 0; i < ris.size(); i++) {
+            RoomImage im = ris.get(i);
+            if (im.getRoomId() == null) continue;
+            int k = Arrays.binarySearch(roomIdsSorted, im.getRoomId());
+            if (k >= 0) photoKeys.add(new int[]{roomOrder[k], i});
+        }
+        photoKeys.sort(Comparator.<int[]>comparingInt(k -> k[0])
+                .thenComparing(k -> ris.get(k[1]).getSortNo(), SORT_NO)
+                .thenComparingLong(k -> ris.get(k[1]).getId()));
+        int[] roomPhotoOwner = new int[photoKeys.size()];
+        String[] roomPhotoUrl = new String[photoKeys.size()];
+        for (int i = 0; i < photoKeys.size(); i++) {
+            roomPhotoOwner[i] = photoKeys.get(i)[0];
+            roomPhotoUrl[i] = ris.get(photoKeys.get(i)[1]).getUrl();
+        }
+
+        int[] hotelImageStart = offsets(hotelImageOwner, n);
+        int[] roomStart = offsets(roomOwner, n);
+        int[] roomPhotoStart = offsets(roomPhotoOwner, m);
+        String[] countryValues = countries.values();
+        String[] roomNameValues = roomNames.values();
+        String[] roomSizeValues = roomSizes.values();
+        String[] viewValues = views.values();
+        String[] bedValues = beds.values();
+        String[] cancelValues = cancels.values();
+        String[] paymentValues = payments.values();
+
+        // 메모리 추정 (엔티티별)
+        Map<String, Long> bytes = new LinkedHashMap<>();
+        bytes.put("hotels", array(n, 8) + 3 * array(n, 4) + strings(name) + strings(address) + strings(description)
+                + array(n, 4) + array(n, 1) + 2 * array(n, 8) + 2 * array(n + 1, 4));
+        bytes.put("hotelImages", array(hotelImageUrl.length, 4) + strings(hotelImageUrl));
+        long bitSets = 0;
+        for (BitSet b : flags) bitSets += 40 + array((b.size() + 63) / 64, 8);
+        bytes.put("rooms", array(m, 8) + 12 * array(m, 4) + bitSets + array(m + 1, 4) + array(m, 8) + array(m, 4));
+        bytes.put("roomImages", array(roomPhotoUrl.length, 4) + strings(roomPhotoUrl));
+        long dictionaries = 0;
+        for (String[] d : List.of(countryValues, roomNameValues, roomSizeValues, viewValues, bedValues, cancelValues, paymentValues)) {
+            dictionaries += array(d.length, 4) + strings(d);
+        }
+        bytes.put("dictionaries", dictionaries);
+
+        return new State(hotelIds, name, address, description, country, star, lat, lng,
+                hotelImageStart, hotelImageUrl, roomStart,
+                roomIds, roomOwner, roomName, roomSize, view, bed, cancel, payment, capMin, capMax, bath, originalPrice, price,
+                flags, roomPhotoStart, roomPhotoUrl, roomIdsSorted, roomOrder,
+                countryValues, roomNameValues, roomSizeValues, viewValues, bedValues, cancelValues, paymentValues,
+                Collections.unmodifiableMap(bytes));
+    }
+
+    // owners 는 오름차순. 결과 i = owner i 의 첫 항목 위치, 마지막 = 전체 길이
+    private static int[] offsets(int[] owners, int count) {
+        int[] start = new int[count + 1];
+        for (int o : owners) start[o + 1]++;
+        for (int i = 0; i < count; i++) start[i + 1] += start[i];
+        return start;
+    }
+
+    private static int unboxed(Integer v) {
+        return v == null ? NULL_INT : v;
+    }
+
+    private static Integer boxed(int v) {
+        return v == NULL_INT ? null : v;
+    }
+
+    private static String decode(String[] dictionary, int code) {
+        return code < 0 ? null : dictionary[code];
+    }
+
+    // ===== 상태 =====
+
+    public boolean isReady() {
+        return builtThrough >= 0 && builtThrough >= allDirtyAt;
+    }
+
+    public int hotelCount() {
+        return state.hotelCount();
+    }
+
+    public int roomCount() {
+        return state.roomCount();
+    }
+
+    public int hotelImageCount() {
+        return state.hotelImageUrl().length;
+    }
+
+    public int roomImageCount() {
+        return state.roomPhotoUrl().length;
+    }
+
+    /** 사전 이름 → 서로 다른 값 수 */
+    public Map<String, Integer> dictionarySizes() {
+        State s = state;
+        Map<String, Integer> out = new LinkedHashMap<>();
+        out.put("country", s.countries().length);
+        out.put("roomName", s.roomNames().length);
+        out.put("roomSize", s.roomSizes().length);
+        out.put("view", s.views().length);
+        out.put("bed", s.beds().length);
+        out.put("cancelPolicy", s.cancelPolicies().length);
+        out.put("payment", s.payments().length);
+        return out;
+    }
+
+    /** 빌드 이후 바뀐 호텔 id (patch 대상) */
+    public Set<Long> dirtyHotels() {
+        return new HashSet<>(dirty.keySet());
+    }
+
+    /** 어느 호텔인지 모르는 변경이 남아 있음 → patch 가 아니라 전체 rebuild 필요 */
+    public boolean needsFullRebuild() {
+        return allDirtyAt > builtThrough;
+    }
+
+    /** 빌드 이후 바뀌어서 DB 로 읽는 호텔 수 */
+    public int dirtyCount() {
+        return dirty.size();
+    }
+
+    public boolean hasChanges() {
+        return !dirty.isEmpty() || allDirtyAt > builtThrough;
+    }
+
+    public long lastBuildMillis() {
+        return lastBuildMillis;
+    }
+
+    /** 엔티티별 메모리 추정치 (hotels, hotelImages, rooms, roomImages, dictionaries) */
+    public Map<String, Long> estimatedBytes() {
+        return state.estimatedBytes();
+    }
+
+    // ===== 메모리 추정 (압축 포인터 기준) =====
+
+    private static long array(long length, int elementBytes) {
+        return align(16 + length * elementBytes);
+    }
+
+    // String 객체 + 내용 배열 (Latin-1 이면 글자당 1바이트, 아니면 UTF-16 2바이트)
+    private static long strings(String[] values) {
+        long total = 0;
+        for (String s : values) {
+            if (s == null) continue;
+            boolean latin1 = true;
+            for (int i = 0; i < s.length() && latin1; i++) latin1 = s.charAt(i) < 256;
+            total += 24 + array(s.length(), latin1 ? 1 : 2);
+        }
+        return total;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
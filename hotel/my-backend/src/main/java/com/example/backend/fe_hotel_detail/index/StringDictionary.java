@@ -0,0 +1,30 @@
+package com.example.backend.fe_hotel_detail.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 반복되는 문자열 사전 (빌드 중에만 쓰임). 값 → 0 부터 매기는 코드, null → -1.
+ * 빌드가 끝나면 values() 배열만 남고 행마다 int 코드 하나만 들고 있는다.
+ */
+final class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    int encode(String s) {
+        if (s == null) return -1;
+        Integer code = codes.get(s);
+        if (code != null) return code;
+        code = values.size();
+        codes.put(s, code);
+        values.add(s);
+        return code;
+    }
+
+    String[] values() {
+        return values.toArray(new String[0]);
+    }
+}
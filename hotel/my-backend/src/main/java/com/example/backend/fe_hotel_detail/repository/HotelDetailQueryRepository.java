@@ -0,0 +1,205 @@
+package com.example.backend.fe_hotel_detail.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * 호텔 상세 읽기 전용 조회.
+ *
+ * 엔티티 대신 화면에 쓰는 컬럼만 읽고, 이미지는 LEFT JOIN 으로 같이 가져온다.
+ * - 호텔 + 호텔 이미지 : 쿼리 1
+ * - 객실 + 객실 이미지 : 쿼리 2 (호텔이 없으면 생략)
+ * 여러 호텔(목록 → 상세 미리 읽기)도 같은 두 쿼리를 IN 으로 한 번씩.
+ * 이미지 수만큼 행이 늘어나지만 상세 화면의 이미지는 수십 장 이하라 왕복을 줄이는 쪽이 낫다.
+ * 응답에 쓰지 않는 이미지는 조인 없이 (fields= 로 이미지를 빼면 url 열만 NULL 인 같은 모양의 쿼리).
+ * 날짜를 주면 호텔 객실 전체의 재고/요금 정책을 기간으로 한 번에 읽는다 (쿼리 3).
+ */
+@Repository
+public class HotelDetailQueryRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public HotelDetailQueryRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /** 호텔 기본 정보 + 이미지 url (sort_no 순) */
+    public record HotelHead(Long id, String name, String address, String description, List<String> images) {}
+
+    /** 상세 화면 객실 컬럼 + 사진 url (sort_no 순) */
+    public record RoomRow(
+            Long id,
+            String name,
+            String roomSize,
+            String viewName,
+            String bed,
+            Integer bath,
+            Boolean smoke,
+            Boolean sharedBath,
+            Boolean hasWindow,
+            Boolean aircon,
+            Boolean freeWater,
+            Boolean wifi,
+            String cancelPolicy,
+            String payment,
+            Integer originalPrice,
+            Integer price,
+            List<String> photos
+    ) {}
+
+    /**
+     * 객실 하나의 숙박 기간 [from, to) 날짜별 값. 값이 없는 날은 -1.
+     *
+     * @param available 날짜별 available_quantity (Room_Inventory 행이 없으면 -1)
+     * @param price     날짜별 요금 정책 가격. 겹치는 정책이 여럿이면 최저 (hotel_min_price 와 같은 기준)
+     */
+    public record RoomStayDays(int[] available, int[] price) {}
+
+    private static final String HOTEL_SQL = """
+        SELECT h.id, h.name, h.address, h.description, hi.url
+        FROM `Hotel` h
+        LEFT JOIN hotel_image hi ON hi.hotel_id = h.id
+        WHERE h.id IN (:ids)
+        ORDER BY h.id, hi.sort_no, hi.id
+        """;
+
+    private static final String HOTEL_NO_IMAGES_SQL = """
+        SELECT h.id, h.name, h.address, h.description, NULL
+        FROM `Hotel` h
+        WHERE h.id IN (:ids)
+        ORDER BY h.id
+        """;
+
+    private static final String ROOMS_SQL = """
+        SELECT r.id, r.name, r.room_size, r.view_name, r.bed, r.bath, r.smoke, r.shared_bath,
+               r.has_window, r.aircon, r.free_water, r.wifi, r.cancel_policy, r.payment,
+               r.original_price, r.price, ri.url, r.hotel_id
+        FROM `Room` r
+        LEFT JOIN room_image ri ON ri.room_id = r.id
+        WHERE r.hotel_id IN (:ids)
+        ORDER BY r.id, ri.sort_no, ri.id
+        """;
+
+    private static final String ROOMS_NO_PHOTOS_SQL = """
+        SELECT r.id, r.name, r.room_size, r.view_name, r.bed, r.bath, r.smoke, r.shared_bath,
+               r.has_window, r.aircon, r.free_water, r.wifi, r.cancel_policy, r.payment,
+               r.original_price, r.price, NULL, r.hotel_id
+        FROM `Room` r
+        WHERE r.hotel_id IN (:ids)
+        ORDER BY r.id
+        """;
+
+    // 재고(kind 0, 하루 한 행)와 요금 정책(kind 1, 기간 한 행)을 한 번에. 둘 다 (room_id, 날짜) 범위 조건
+    private static final String STAY_SQL = """
+        SELECT 0 AS kind, ri.room_id, ri.date AS start_date, ri.date AS end_date, ri.available_quantity AS v
+        FROM `Room_Inventory` ri
+        JOIN `Room` r ON r.id = ri.room_id
+        WHERE r.hotel_id = :hotelId AND ri.date >= :from AND ri.date < :to
+        UNION ALL
+        SELECT 1, p.room_id, p.start_date, p.end_date, p.price
+        FROM `Room_Price_Policy` p
+        JOIN `Room` r ON r.id = p.room_id
+        WHERE r.hotel_id = :hotelId AND p.start_date < :to AND p.end_date >= :from
+        """;
+
+    /** id → 호텔. 없는 id 는 빠진다 */
+    public Map<Long, HotelHead> findHotels(Collection<Long> ids) {
+        return findHotels(ids, true);
+    }
+
+    /** images=false 면 이미지 조인 없이 (images 는 빈 목록) */
+    public Map<Long, HotelHead> findHotels(Collection<Long> ids, boolean images) {
+        Map<Long, HotelHead> out = new LinkedHashMap<>();
+        if (ids.isEmpty()) return out;
+        jdbc.query(images ? HOTEL_SQL : HOTEL_NO_IMAGES_SQL, new MapSqlParameterSource("ids", ids), rs -> {
+            long id = rs.getLong(1);
+            HotelHead head = out.get(id);
+            if (head == null) {
+                head = new HotelHead(id, rs.getString(2), rs.getString(3), rs.getString(4), new ArrayList<>());
+                out.put(id, head);
+            }
+            String url = rs.getString(5);
+            if (url != null) head.images().add(url);
+        });
+        return out;
+    }
+
+    /** 호텔 id → 객실 (id 순). 객실이 없는 호텔은 빠진다 */
+    public Map<Long, List<RoomRow>> findRooms(Collection<Long> hotelIds) {
+        return findRooms(hotelIds, true);
+    }
+
+    /** photos=false 면 객실 이미지 조인 없이 (photos 는 빈 목록) */
+    public Map<Long, List<RoomRow>> findRooms(Collection<Long> hotelIds, boolean photos) {
+        Map<Long, List<RoomRow>> out = new HashMap<>();
+        if (hotelIds.isEmpty()) return out;
+        RoomRow[] last = {null};
+        jdbc.query(photos ? ROOMS_SQL : ROOMS_NO_PHOTOS_SQL, new MapSqlParameterSource("ids", hotelIds), rs -> {
+            long roomId = rs.getLong(1);
+            RoomRow cur = last[0];
+            if (cur == null || cur.id() != roomId) {
+                cur = new RoomRow(
+                        roomId,
+                        rs.getString(2),
+                        rs.getString(3),
+                        rs.getString(4),
+                        rs.getString(5),
+                        rs.getObject(6, Integer.class),
+                        rs.getObject(7, Boolean.class),
+                        rs.getObject(8, Boolean.class),
+                        rs.getObject(9, Boolean.class),
+                        rs.getObject(10, Boolean.class),
+                        rs.getObject(11, Boolean.class),
+                        rs.getObject(12, Boolean.class),
+                        rs.getString(13),
+                        rs.getString(14),
+                        rs.getObject(15, Integer.class),
+                        rs.getObject(16, Integer.class),
+                        new ArrayList<>());
+                out.computeIfAbsent(rs.getLong(18), k -> new ArrayList<>()).add(cur);
+                last[0] = cur;
+            }
+            String url = rs.getString(17);
+            if (url != null) cur.photos().add(url);
+        });
+        return out;
+    }
+
+    /** 객실 id → [from, to) 날짜별 재고/요금. 호텔의 모든 객실이 들어간다 (값이 하나도 없으면 전부 -1) */
+    public Map<Long, RoomStayDays> findStayDays(long hotelId, List<Long> roomIds, LocalDate from, LocalDate to) {
+        int days = (int) ChronoUnit.DAYS.between(from, to);
+        Map<Long, RoomStayDays> out = new HashMap<>();
+        for (Long roomId : roomIds) {
+            int[] available = new int[days];
+            int[] price = new int[days];
+            Arrays.fill(available, -1);
+            Arrays.fill(price, -1);
+            out.put(roomId, new RoomStayDays(available, price));
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("hotelId", hotelId)
+                .addValue("from", from)
+                .addValue("to", to);
+        jdbc.query(STAY_SQL, params, rs -> {
+            RoomStayDays stay = out.get(rs.getLong(2));
+            if (stay == null) return; // 조회 사이에 추가된 객실
+            int s = (int) Math.max(0, ChronoUnit.DAYS.between(from, rs.getDate(3).toLocalDate()));
+            int e = (int) Math.min(days - 1, ChronoUnit.DAYS.between(from, rs.getDate(4).toLocalDate())); // 포함
+            int v = rs.getInt(5);
+            if (rs.getInt(1) == 0) {
+                stay.available()[s] = v;
+                return;
+            }
+            int[] price = stay.price();
+            for (int d = s; d <= e; d++) {
+                if (price[d] < 0 || v < price[d]) price[d] = v;
+            }
+        });
+        return out;
+    }
+}
@@ -2,9 +2,23 @@ package com.example.backend.fe_hotel_detail.repository;
 
 import com.example.backend.fe_hotel_detail.domain.HotelImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface HotelImageRepository extends JpaRepository<HotelImage, Long> {
     List<HotelImage> findByHotelIdOrderBySortNoAsc(Long hotelId);
+
+    List<HotelImage> findByHotelIdIn(Collection<Long> hotelIds);
+
+    // DB 에서 직접 고친 이미지 따라잡기: 호텔 id
+    @Query("select distinct i.hotelId from HotelImage i where i.updatedAt >= :since")
+    List<Long> findHotelIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    // 지워진 이미지 대조용 {호텔 id, 이미지 수} (hotel_id 인덱스만 읽음)
+    @Query("select i.hotelId, count(i) from HotelImage i group by i.hotelId")
+    List<Object[]> countByHotel();
 }
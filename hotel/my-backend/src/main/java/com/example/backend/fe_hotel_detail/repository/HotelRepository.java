@@ -2,5 +2,19 @@ package com.example.backend.fe_hotel_detail.repository;
 
 import com.example.backend.fe_hotel_detail.domain.Hotel; // ← 이거여야 함
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface HotelRepository extends JpaRepository<Hotel, Long> {}
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface HotelRepository extends JpaRepository<Hotel, Long> {
+
+    // DB 에서 직접 고친 행 따라잡기 (updated_at >= since)
+    @Query("select h.id from Hotel h where h.updatedAt >= :since")
+    List<Long> findIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    // 지워진 호텔 대조용 (PK 만 읽음)
+    @Query("select h.id from Hotel h")
+    List<Long> findAllIds();
+}
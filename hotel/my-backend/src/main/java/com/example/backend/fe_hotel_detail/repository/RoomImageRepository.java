@@ -2,9 +2,20 @@ package com.example.backend.fe_hotel_detail.repository;
 
 import com.example.backend.fe_hotel_detail.domain.RoomImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RoomImageRepository extends JpaRepository<RoomImage, Long> {
     List<RoomImage> findByRoomIdInOrderBySortNoAsc(List<Long> roomIds);
+
+    // DB 에서 직접 고친 사진 따라잡기: 객실 id
+    @Query("select distinct i.roomId from RoomImage i where i.updatedAt >= :since")
+    List<Long> findRoomIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    // 지워진 사진 대조용 {객실 id, 사진 수} (room_id 인덱스만 읽음)
+    @Query("select i.roomId, count(i) from RoomImage i group by i.roomId")
+    List<Object[]> countByRoom();
 }
@@ -0,0 +1,183 @@
+package com.example.backend.fe_hotel_detail.service;
+
+import com.example.backend.fe_hotel_detail.domain.Hotel;
+import com.example.backend.fe_hotel_detail.domain.HotelImage;
+import com.example.backend.fe_hotel_detail.domain.RoomImage;
+import com.example.backend.fe_hotel_detail.index.CatalogStore;
+import com.example.backend.fe_hotel_detail.repository.HotelImageRepository;
+import com.example.backend.fe_hotel_detail.repository.HotelRepository;
+import com.example.backend.fe_hotel_detail.repository.RoomImageRepository;
+import com.example.backend.hotel_reservation.domain.Room;
+import com.example.backend.hotel_reservation.repository.RoomRepository;
+import com.example.backend.hotel_search.event.CatalogChangedEvent;
+import com.example.backend.hotel_search.repository.HotelSearchJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DB → 호텔 상세용 인메모리 카탈로그.
+ * 기동 시 전체를 읽어 빌드하고, 이후 바뀐 호텔은 표시만 해 두었다가(그동안은 DB 로 읽음)
+ * refresh-ms 마다 그 호텔들의 행만 DB 에서 읽어 끼워 넣는다 (patch).
+ *
+ * DB 에서 직접 고친 행은 이벤트가 없으므로
+ * - refresh-ms 마다 updated_at 이 바뀐 호텔/객실/이미지를 찾아 바뀐 호텔로 표시 (다음 patch 까지 DB 로 읽음)
+ * - reconcile-ms 마다 호텔 id 목록과 호텔별 객실/이미지 수, 객실별 사진 수를 빌드된 것과 대조해
+ *   다른 호텔을 표시 (직접 지운 행. 인덱스만 읽고 url 등 LOB 은 안 읽음)
+ * 전체 재빌드는 기동 시, 어느 호텔인지 모르는 변경(markAllDirty), 관리자 요청(POST /actuator/catalogstore)에만.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogStoreSync {
+
+    private final CatalogStore store;
+    private final HotelRepository hotelRepository;
+    private final HotelImageRepository hotelImageRepository;
+    private final RoomRepository roomRepository;
+    private final RoomImageRepository roomImageRepository;
+    private final HotelSearchJdbcRepository clock;
+
+    // 한 번에 patch 할 호텔 수 (IN 목록이 너무 길어지지 않도록 나눠서)
+    private static final int PATCH_MAX_HOTELS = 500;
+
+    @Value("${detail.catalog.enabled:true}")
+    private boolean enabled;
+
+    @Value("${detail.catalog.reconcile-ms:600000}")
+    private long reconcileMillis;
+
+    private volatile LocalDateTime watermark;   // 마지막으로 updated_at 을 훑은 DB 시각
+    private volatile long lastReconcile;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAll() {
+        if (enabled) rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${detail.catalog.refresh-ms:60000}",
+               initialDelayString = "${detail.catalog.refresh-ms:60000}")
+    public synchronized void refreshIfChanged() {
+        if (!enabled) return;
+        if (watermark == null) { // 기동 빌드가 실패했으면 다시
+            rebuild();
+            return;
+        }
+        if (System.currentTimeMillis() - lastReconcile >= reconcileMillis) reconcile();
+        catchUp();
+        if (!store.hasChanges()) return;
+        if (store.needsFullRebuild()) {
+            rebuild();
+            return;
+        }
+        List<Long> dirty = new ArrayList<>(store.dirtyHotels());
+        for (int i = 0; i < dirty.size(); i += PATCH_MAX_HOTELS) {
+            patch(new HashSet<>(dirty.subList(i, Math.min(i + PATCH_MAX_HOTELS, dirty.size()))));
+        }
+    }
+
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime wm = clock.dbNow();
+        long mark = store.changeMark(); // 읽기 전에 찍어야 읽는 도중의 변경이 다음 빌드까지 남음
+        List<Hotel> hotels = hotelRepository.findAll();
+        List<HotelImage> hotelImages = hotelImageRepository.findAll();
+        List<Room> rooms = roomRepository.findAll();
+        List<RoomImage> roomImages = roomImageRepository.findAll();
+        store.rebuild(mark, hotels, hotelImages, rooms, roomImages);
+        watermark = wm;
+        lastReconcile = System.currentTimeMillis();
+        log.info("[CATALOG-STORE] built: hotels={} rooms={} images={}/{} load={}ms build={}ms mem≈{}",
+                store.hotelCount(), store.roomCount(), store.hotelImageCount(), store.roomImageCount(),
+                System.currentTimeMillis() - start - store.lastBuildMillis(), store.lastBuildMillis(),
+                store.estimatedBytes());
+    }
+
+    /** 바뀐 호텔들의 호텔/이미지/객실/객실 사진만 DB 에서 읽어 끼워 넣는다 */
+    private void patch(Set<Long> hotelIds) {
+        long start = System.currentTimeMillis();
+        long mark = store.changeMark();
+        List<Hotel> hotels = hotelRepository.findAllById(hotelIds);
+        List<HotelImage> hotelImages = hotelImageRepository.findByHotelIdIn(hotelIds);
+        List<Room> rooms = roomRepository.findByHotelIdIn(hotelIds);
+        List<RoomImage> roomImages = rooms.isEmpty()
+                ? List.of()
+                : roomImageRepository.findByRoomIdInOrderBySortNoAsc(rooms.stream().map(Room::getId).toList());
+        store.patch(mark, hotelIds, hotels, hotelImages, rooms, roomImages);
+        log.info("[CATALOG-STORE] patched: hotels={} took={}ms (build={}ms)",
+                hotelIds.size(), System.currentTimeMillis() - start, store.lastBuildMillis());
+    }
+
+    /** DB 에서 직접 지운 행 (이벤트도 updated_at 도 없음) → 건수가 다른 호텔을 바뀐 호텔로 표시 */
+    private void reconcile() {
+        Set<Long> stale = store.countMismatches(
+                hotelRepository.findAllIds(),
+                toCountMap(roomRepository.countByHotel()),
+                toCountMap(hotelImageRepository.countByHotel()),
+                toCountMap(roomImageRepository.countByRoom()));
+        stale.forEach(store::markDirty);
+        lastReconcile = System.currentTimeMillis();
+        if (!stale.isEmpty()) log.info("[CATALOG-STORE] reconcile: {} hotels differ from DB", stale.size());
+    }
+
+    private static Map<Long, Long> toCountMap(List<Object[]> rows) {
+        Map<Long, Long> out = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            if (row[0] != null) out.put((Long) row[0], (Long) row[1]);
+        }
+        return out;
+    }
+
+    /** DB 에서 직접 고친 호텔/객실/이미지 (이벤트 없음) → 바뀐 호텔로 표시 */
+    private void catchUp() {
+        LocalDateTime since = watermark;
+        if (since == null) return;
+        LocalDateTime wm = clock.dbNow(); // 읽기 전에 찍음 (읽는 도중의 변경은 다음에 다시 걸림)
+        for (Long id : hotelRepository.findIdsUpdatedSince(since)) store.markDirty(id);
+        for (Object[] row : roomRepository.findIdsUpdatedSince(since)) {
+            Long before = store.hotelIdOfRoom((Long) row[0]); // 다른 호텔로 옮겨 갔을 수도
+            if (before != null) store.markDirty(before);
+            if (row[1] != null) store.markDirty((Long) row[1]);
+        }
+        for (Long id : hotelImageRepository.findHotelIdsUpdatedSince(since)) store.markDirty(id);
+        for (Long roomId : roomImageRepository.findRoomIdsUpdatedSince(since)) {
+            Long hotelId = store.hotelIdOfRoom(roomId);
+            if (hotelId == null) hotelId = roomRepository.findHotelIdByRoomId(roomId); // 빌드 뒤에 생긴 객실
+            if (hotelId != null) store.markDirty(hotelId);
+        }
+        watermark = wm;
+    }
+
+    // 커밋된 변경만. 요금 정책은 상세에 안 나옴
+    @Order(0) // 상세 캐시 무효화(@Order(100))보다 먼저: 캐시가 다시 채워질 때 옛 값을 읽지 않도록
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent e) {
+        if (!enabled || e.kind() == CatalogChangedEvent.Kind.ROOM_PRICE) return;
+        if (e.hotelId() != null) store.markDirty(e.hotelId());
+        if (e.roomId() == null) {
+            if (e.hotelId() == null) store.markAllDirty();
+            return;
+        }
+        // 객실이 옮겨 갔을 수도 있으니 빌드 시점의 호텔과 지금 호텔 둘 다
+        Long before = store.hotelIdOfRoom(e.roomId());
+        if (before != null) store.markDirty(before);
+        Long now = e.hotelId() != null ? e.hotelId() : roomRepository.findHotelIdByRoomId(e.roomId());
+        if (now != null) store.markDirty(now);
+        else if (before == null) store.markAllDirty();
+    }
+}
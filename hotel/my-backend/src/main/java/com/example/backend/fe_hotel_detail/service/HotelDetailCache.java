@@ -0,0 +1,273 @@
+package com.example.backend.fe_hotel_detail.service;
+
+import com.example.backend.fe_hotel_detail.dto.HotelDetailDto;
+import com.example.backend.hotel_reservation.repository.RoomRepository;
+import com.example.backend.hotel_search.event.CatalogChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 호텔 상세 응답 캐시 (호텔 id → 직렬화 끝난 응답 바이트 + 버전).
+ *
+ * 객체(HotelDetailDto)가 아니라 최종 UTF-8 JSON 바이트와 gzip 본을 들고 있어서,
+ * 적중하면 객체 생성도 Jackson 직렬화도 압축도 없이 바이트를 그대로 응답에 쓴다.
+ * 크기는 항목 수와 바이트 합(json + gzip) 둘 다로 제한하고, 넘치면 오래 안 쓴 것부터 뺀다.
+ *
+ * 버전 = JSON 바이트의 해시(ETag). 다시 만든 응답의 해시가 전과 같으면 Last-Modified 도 그대로 둔다.
+ * 캐시에 있는 동안 If-None-Match / If-Modified-Since 는 DB 를 보지 않고 304 로 끝난다.
+ *
+ * 무효화: Hotel / HotelImage / Room / RoomImage 변경 이벤트(커밋 이후)로 그 호텔만.
+ * 무효화된 항목은 버전(ETag, Last-Modified)만 남겨 두고 다음 요청 때 다시 만든다.
+ * 계산 도중 무효화가 일어나면 그 결과는 넣지 않는다. DB 에서 직접 바뀐 값은 TTL 로 맞춘다.
+ * 지표: hotel.detail.cache.requests{result=hit|miss}, hotel.detail.cache.size, hotel.detail.cache.bytes
+ */
+@Component
+public class HotelDetailCache {
+
+    /**
+     * 캐시된 응답. lastModified 는 epoch millis (초 단위로 자름, HTTP 날짜 정밀도).
+     * gzip 은 JSON 이 gzipMinBytes 보다 작거나 압축해도 줄지 않으면 null.
+     */
+    public record Entry(byte[] json, byte[] gzip, String etag, long lastModified) {
+        long bytes() {
+            return json.length + (gzip == null ? 0 : gzip.length);
+        }
+
+        /** gzip 본의 ETag (표현이 다르면 강한 ETag 도 달라야 함) */
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gz\"";
+        }
+    }
+
+    private record Slot(Entry entry, long expiresAt, boolean stale) {}
+
+    private final ObjectMapper objectMapper;
+    private final RoomRepository roomRepository;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlMillis;
+    private final int gzipMinBytes;
+    private long bytes; // 들고 있는 json + gzip 합
+
+    private final LinkedHashMap<Long, Slot> slots = new LinkedHashMap<>(256, 0.75f, true);
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public HotelDetailCache(ObjectMapper objectMapper,
+                            RoomRepository roomRepository,
+                            MeterRegistry registry,
+                            @Value("${detail.cache.enabled:true}") boolean enabled,
+                            @Value("${detail.cache.max-entries:5000}") int maxEntries,
+                            @Value("${detail.cache.max-bytes:67108864}") long maxBytes,
+                            @Value("${detail.cache.ttl-seconds:600}") long ttlSeconds,
+                            @Value("${detail.cache.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.objectMapper = objectMapper;
+        this.roomRepository = roomRepository;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.gzipMinBytes = gzipMinBytes;
+
+        FunctionCounter.builder("hotel.detail.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("hotel.detail.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss").register(registry);
+        Gauge.builder("hotel.detail.cache.size", this, HotelDetailCache::size).register(registry);
+        Gauge.builder("hotel.detail.cache.bytes", this, HotelDetailCache::bytes).register(registry);
+    }
+
+    /** 캐시에 유효한 항목이 있으면 그것, 없으면 loader 로 만들어 넣는다 */
+    public Entry get(long hotelId, Supplier<HotelDetailDto> loader) {
+        long now = System.currentTimeMillis();
+        Entry previous = null;
+        synchronized (this) {
+            Slot s = slots.get(hotelId);
+            if (s != null) {
+                if (!s.stale() && s.expiresAt() > now) {
+                    hits.incrementAndGet();
+                    return s.entry();
+                }
+                previous = s.entry();
+            }
+        }
+        misses.incrementAndGet();
+
+        long generation = invalidations.get();
+        Entry entry = build(loader.get(), previous, now);
+        store(Map.of(hotelId, entry), generation);
+        return entry;
+    }
+
+    /** 캐시에 유효한 항목이 있으면 그것, 없으면 null (만들지 않음) */
+    public Entry peek(long hotelId) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Slot s = slots.get(hotelId);
+            if (s == null || s.stale() || s.expiresAt() <= now) return null;
+            hits.incrementAndGet();
+            return s.entry();
+        }
+    }
+
+    /**
+     * 여러 호텔을 한 번에. 캐시에 없는 id 만 모아 loader 를 한 번 부른다 (loader 는 없는 호텔을 빼고 돌려줌).
+     * 결과는 ids 순서, 없는 호텔은 빠진다.
+     */
+    public Map<Long, Entry> getAll(Collection<Long> ids, Function<List<Long>, Map<Long, HotelDetailDto>> loader) {
+        long now = System.currentTimeMillis();
+        Map<Long, Entry> found = new HashMap<>();
+        Map<Long, Entry> previous = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        synchronized (this) {
+            for (Long id : ids) {
+                Slot s = slots.get(id);
+                if (s != null && !s.stale() && s.expiresAt() > now) {
+                    found.put(id, s.entry());
+                    continue;
+                }
+                if (s != null) previous.put(id, s.entry());
+                missing.add(id);
+            }
+        }
+        hits.addAndGet(found.size());
+
+        if (!missing.isEmpty()) {
+            misses.addAndGet(missing.size());
+            long generation = invalidations.get();
+            Map<Long, Entry> built = new HashMap<>();
+            loader.apply(missing).forEach((id, body) -> built.put(id, build(body, previous.get(id), now)));
+            store(built, generation);
+            found.putAll(built);
+        }
+
+        Map<Long, Entry> out = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Entry e = found.get(id);
+            if (e != null) out.put(id, e);
+        }
+        return out;
+    }
+
+    // 해시가 이전 버전과 같으면 Last-Modified 유지
+    private Entry build(HotelDetailDto body, Entry previous, long now) {
+        byte[] json = serialize(body);
+        String etag = etagOf(json);
+        long lastModified = previous != null && previous.etag().equals(etag)
+                ? previous.lastModified()
+                : now / 1000 * 1000;
+        return new Entry(json, gzipOf(json), etag, lastModified);
+    }
+
+    private void store(Map<Long, Entry> built, long generation) {
+        if (!enabled || built.isEmpty()) return;
+        synchronized (this) {
+            if (invalidations.get() != generation) return; // 계산 중에 데이터가 바뀜
+            long expiresAt = System.currentTimeMillis() + ttlMillis;
+            built.forEach((hotelId, entry) -> {
+                if (entry.bytes() > maxBytes) return;
+                remove(hotelId);
+                slots.put(hotelId, new Slot(entry, expiresAt, false));
+                bytes += entry.bytes();
+            });
+            while (slots.size() > maxEntries || bytes > maxBytes) {
+                remove(slots.keySet().iterator().next());
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    public synchronized void clear() {
+        invalidations.incrementAndGet();
+        slots.clear();
+        bytes = 0;
+    }
+
+    private void remove(long hotelId) {
+        Slot old = slots.remove(hotelId);
+        if (old != null) bytes -= old.entry().bytes();
+    }
+
+    // ===== 무효화 =====
+
+    @Order(100)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent e) {
+        if (e.kind() == CatalogChangedEvent.Kind.ROOM_PRICE) return; // 상세는 객실 행의 가격만 보여 줌
+        Long hotelId = e.hotelId();
+        if (hotelId == null && e.roomId() != null) hotelId = roomRepository.findHotelIdByRoomId(e.roomId());
+        if (hotelId == null) {
+            clear(); // 어느 호텔인지 모르면 전부 (객실이 이미 지워진 경우 등)
+            return;
+        }
+        invalidate(hotelId);
+    }
+
+    public synchronized void invalidate(long hotelId) {
+        invalidations.incrementAndGet();
+        Slot s = slots.get(hotelId);
+        if (s == null || s.stale()) return;
+        // 버전만 남기고 바이트는 놓는다
+        Entry e = s.entry();
+        bytes -= e.bytes();
+        slots.put(hotelId, new Slot(new Entry(new byte[0], null, e.etag(), e.lastModified()), 0, true));
+    }
+
+    // Spring MVC 와 같은 ObjectMapper 로 (응답 JSON 이 캐시 여부와 무관하게 같도록)
+    private byte[] serialize(HotelDetailDto body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("hotel detail serialization failed", e);
+        }
+    }
+
+    // JSON 바이트의 SHA-256 앞 16바이트 (강한 ETag)
+    private static String etagOf(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return '"' + HexFormat.of().formatHex(digest, 0, 16) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] gzipOf(byte[] json) {
+        if (json.length < gzipMinBytes) return null;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 3);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.size() < json.length ? out.toByteArray() : null;
+    }
+}
@@ -1,60 +1,176 @@
 package com.example.backend.fe_hotel_detail.service;
 
-import com.example.backend.fe_hotel_detail.domain.Hotel;
-import com.example.backend.fe_hotel_detail.domain.HotelImage;
-import com.example.backend.fe_hotel_detail.domain.RoomImage;
+import com.example.backend.common.dto.SparseFields;
 import com.example.backend.fe_hotel_detail.dto.HotelDetailDto;
-import com.example.backend.fe_hotel_detail.repository.HotelImageRepository;
-import com.example.backend.fe_hotel_detail.repository.HotelRepository;
-import com.example.backend.fe_hotel_detail.repository.RoomImageRepository;
-
-// ✅ 여기서부터 핵심: reservation 쪽 Room/Repository 사용
-import com.example.backend.hotel_reservation.domain.Room;
-import com.example.backend.hotel_reservation.repository.RoomRepository;
+import com.example.backend.fe_hotel_detail.index.CatalogStore;
+import com.example.backend.fe_hotel_detail.repository.HotelDetailQueryRepository;
+import com.example.backend.fe_hotel_detail.repository.HotelDetailQueryRepository.HotelHead;
+import com.example.backend.fe_hotel_detail.repository.HotelDetailQueryRepository.RoomRow;
+import com.example.backend.fe_hotel_detail.repository.HotelDetailQueryRepository.RoomStayDays;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class HotelService {
 
-    private final HotelRepository hotelRepository;
-    private final HotelImageRepository hotelImageRepository;
-    private final RoomImageRepository roomImageRepository;
+    // 상세 화면 컬럼만 읽는 조회 (호텔+이미지 1회, 객실+객실 이미지 1회)
+    private final HotelDetailQueryRepository detailRepository;
+    // 인메모리 카탈로그. 빌드 이후 바뀌지 않은 호텔은 DB 대신 여기서
+    private final CatalogStore catalogStore;
+    private final HotelDetailCache detailCache;
+    private final ObjectMapper objectMapper;
+
+    @Value("${detail.batch.max-ids:50}")
+    private int batchMaxIds;
+
+    @Value("${detail.stay.max-nights:30}")
+    private int maxNights;
 
-    // ✅ reservation 쪽 RoomRepository 주입 (패키지 다름!)
-    private final RoomRepository roomRepository;
+    // Room_Inventory 행이 없는 날의 수량 (홀드 때 이 값으로 만들어짐, 검색 인덱스와 같은 설정)
+    @Value("${search.availability.default-quantity:5}")
+    private int defaultQuantity;
+
+    /** 캐시된 상세 응답 + ETag/Last-Modified. 캐시에 있으면 DB 를 보지 않는다 */
+    public HotelDetailCache.Entry getHotelDetailEntry(Long id) {
+        return detailCache.get(id, () -> getHotelDetail(id));
+    }
+
+    /**
+     * 여러 호텔 상세 (목록 → 상세 미리 읽기). 캐시에 없는 호텔만 모아 호텔/객실 쿼리를 IN 으로 한 번씩.
+     * 중복 id 는 한 번만, 처음 나온 순서. 없는 호텔은 빠진다.
+     */
+    public Map<Long, HotelDetailCache.Entry> getHotelDetailEntries(List<Long> ids) {
+        Set<Long> unique = new LinkedHashSet<>(ids);
+        unique.remove(null);
+        if (unique.isEmpty()) throw new IllegalArgumentException("ids is required");
+        if (unique.size() > batchMaxIds) {
+            throw new IllegalArgumentException("too many ids (max " + batchMaxIds + ")");
+        }
+        return detailCache.getAll(unique, missing -> loadAll(missing, null));
+    }
 
     public HotelDetailDto getHotelDetail(Long id) {
-        Hotel h = hotelRepository.findById(id)
-                .orElseThrow(() -> new NoSuchElementException("hotel not found"));
-
-        // 호텔 이미지
-        List<String> hotelImages = hotelImageRepository.findByHotelIdOrderBySortNoAsc(id)
-                .stream().map(HotelImage::getUrl).toList();
-
-        // 객실 + 객실 이미지
-        List<Room> roomEntities = roomRepository.findByHotelId(id);
-        List<Long> roomIds = roomEntities.stream().map(Room::getId).toList();
-
-        Map<Long, List<String>> roomImagesMap = Collections.emptyMap();
-        if (!roomIds.isEmpty()) {
-            roomImagesMap = roomImageRepository.findByRoomIdInOrderBySortNoAsc(roomIds)
-                    .stream()
-                    .collect(Collectors.groupingBy(RoomImage::getRoomId,
-                            Collectors.mapping(RoomImage::getUrl, Collectors.toList())));
+        return load(id, null);
+    }
+
+    /**
+     * fields= 로 고른 필드만 (경로는 응답 JSON 기준: hotel.name, rooms.price ...).
+     * 날짜 없는 요청은 캐시에 상세가 있으면 DB 를 보지 않고 그 JSON 에서 잘라낸다.
+     * 캐시에 없으면 고른 필드에 필요한 쿼리만 돌리고 결과는 캐시에 넣지 않는다 (전체 응답이 아니므로).
+     */
+    public JsonNode getHotelDetailFields(Long id, String checkIn, String checkOut, SparseFields fields) {
+        JsonNode tree;
+        if (checkIn == null && checkOut == null) {
+            HotelDetailCache.Entry cached = detailCache.peek(id);
+            tree = cached != null ? readTree(cached.json()) : objectMapper.valueToTree(load(id, fields));
+        } else {
+            tree = objectMapper.valueToTree(getHotelDetail(id, checkIn, checkOut, fields));
+        }
+        return fields.prune(tree, "");
+    }
+
+    private HotelDetailDto load(Long id, SparseFields fields) {
+        HotelDetailDto dto = loadAll(List.of(id), fields).get(id);
+        if (dto == null) throw new NoSuchElementException("hotel not found");
+        return dto;
+    }
+
+    // 없는 호텔은 빠진다. 카탈로그가 답할 수 있는 호텔은 메모리에서, 나머지만 IN 쿼리로.
+    // fields 가 null 이면 전부. DB 로 읽을 때 호텔 이미지 / 객실 / 객실 사진은 고르지 않으면 읽지 않는다
+    private Map<Long, HotelDetailDto> loadAll(Collection<Long> ids, SparseFields fields) {
+        Map<Long, HotelDetailDto> out = new HashMap<>();
+        List<Long> fromDb = new ArrayList<>();
+        for (Long id : ids) {
+            if (!catalogStore.covers(id)) {
+                fromDb.add(id);
+                continue;
+            }
+            catalogStore.hotel(id).ifPresent(h -> out.put(id, toDto(h, catalogStore.rooms(id))));
         }
+        if (fromDb.isEmpty()) return out;
+
+        boolean images = fields == null || fields.includes("hotel.images");
+        boolean rooms = fields == null || fields.includes("rooms");
+        boolean photos = fields == null || fields.includes("rooms.photos");
+        Map<Long, HotelHead> hotels = detailRepository.findHotels(fromDb, images);
+        Map<Long, List<RoomRow>> roomRows = rooms && !hotels.isEmpty()
+                ? detailRepository.findRooms(hotels.keySet(), photos)
+                : Map.of();
+        hotels.forEach((id, h) -> out.put(id, toDto(h, roomRows.getOrDefault(id, List.of()))));
+        return out;
+    }
+
+    private JsonNode readTree(byte[] json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("cached hotel detail is not valid JSON", e);
+        }
+    }
+
+    /**
+     * 숙박 기간을 준 상세: 객실마다 기간 중 최소 잔여 수량과 기간 총액을 붙인다.
+     * 재고/요금 정책은 호텔 객실 전체를 기간으로 한 번에 읽는다. 날짜마다 달라지므로 캐시하지 않는다.
+     */
+    public HotelDetailDto getHotelDetail(Long id, String checkIn, String checkOut) {
+        return getHotelDetail(id, checkIn, checkOut, null);
+    }
+
+    private HotelDetailDto getHotelDetail(Long id, String checkIn, String checkOut, SparseFields fields) {
+        LocalDate ci = parseDate(checkIn);
+        LocalDate co = parseDate(checkOut);
+        if (ci == null || co == null) throw new IllegalArgumentException("checkIn and checkOut are required");
+        if (!ci.isBefore(co)) throw new IllegalArgumentException("checkOut must be after checkIn");
+        long nights = ChronoUnit.DAYS.between(ci, co);
+        if (nights > maxNights) throw new IllegalArgumentException("stay must be at most " + maxNights + " nights");
+
+        HotelDetailDto dto = load(id, fields);
+        List<Long> roomIds = dto.getRooms().stream().map(HotelDetailDto.RoomDto::getId).toList();
+        Map<Long, RoomStayDays> stays = roomIds.isEmpty()
+                ? Map.of()
+                : detailRepository.findStayDays(id, roomIds, ci, co);
+        for (HotelDetailDto.RoomDto room : dto.getRooms()) {
+            RoomStayDays stay = stays.get(room.getId());
+            int available = Integer.MAX_VALUE;
+            long total = 0;
+            boolean priced = true;
+            for (int d = 0; d < nights; d++) {
+                int qty = stay.available()[d];
+                available = Math.min(available, qty < 0 ? defaultQuantity : qty);
+                int price = stay.price()[d];
+                if (price >= 0) total += price;
+                else if (room.getPrice() != null) total += room.getPrice();
+                else priced = false; // 요금을 모르는 밤이 있음
+            }
+            room.setAvailable(available);
+            room.setStayPrice(priced ? total : null);
+            if (available < 1) room.setQty(0);
+        }
+        dto.setCheckIn(ci);
+        dto.setCheckOut(co);
+        return dto;
+    }
+
+    private HotelDetailDto toDto(HotelHead h, List<RoomRow> roomRows) {
+        List<String> hotelImages = h.images();
 
         // 호텔 DTO
         HotelDetailDto.HotelDto hotelDto = HotelDetailDto.HotelDto.builder()
-                .id(h.getId())
-                .name(h.getName())
-                .address(h.getAddress())
-                .description(h.getDescription())
+                .id(h.id())
+                .name(h.name())
+                .address(h.address())
+                .description(h.description())
                 .images(hotelImages)
                 .badges(List.of("International Deals", "베스트셀러", "PREFERRED"))
                 .rating(new HotelDetailDto.Rating(6.4,
@@ -75,27 +191,27 @@ public class HotelService {
 
         // 객실 DTO
         List<HotelDetailDto.RoomDto> rooms = new ArrayList<>();
-        for (Room r : roomEntities) {
+        for (RoomRow r : roomRows) {
             rooms.add(HotelDetailDto.RoomDto.builder()
-                    .id(r.getId())
-                    .name(r.getName())
+                    .id(r.id())
+                    .name(r.name())
                     // ✅ roomSize: "26㎡", "26" 등 문자열 → Integer 변환 시도
-                    .size(parseIntSafe(r.getRoomSize()))
-                    .view(nullToDash(r.getViewName()))
-                    .bed(nullToDash(r.getBed()))
-                    .bath(r.getBath())
-                    .smoke(Boolean.TRUE.equals(r.getSmoke()))
-                    .sharedBath(Boolean.TRUE.equals(r.getSharedBath()))
-                    .window(Boolean.TRUE.equals(r.getHasWindow()))
-                    .aircon(Boolean.TRUE.equals(r.getAircon()))
-                    .water(Boolean.TRUE.equals(r.getFreeWater()))
-                    .wifi(Boolean.TRUE.equals(r.getWifi()))
-                    .cancelPolicy(nullToDash(r.getCancelPolicy()))
-                    .payment(nullToDash(r.getPayment()))
-                    .originalPrice(r.getOriginalPrice())
-                    .price(r.getPrice())
+                    .size(parseIntSafe(r.roomSize()))
+                    .view(nullToDash(r.viewName()))
+                    .bed(nullToDash(r.bed()))
+                    .bath(r.bath())
+                    .smoke(Boolean.TRUE.equals(r.smoke()))
+                    .sharedBath(Boolean.TRUE.equals(r.sharedBath()))
+                    .window(Boolean.TRUE.equals(r.hasWindow()))
+                    .aircon(Boolean.TRUE.equals(r.aircon()))
+                    .water(Boolean.TRUE.equals(r.freeWater()))
+                    .wifi(Boolean.TRUE.equals(r.wifi()))
+                    .cancelPolicy(nullToDash(r.cancelPolicy()))
+                    .payment(nullToDash(r.payment()))
+                    .originalPrice(r.originalPrice())
+                    .price(r.price())
                     .lastBookedHours(3) // 데모 값
-                    .photos(roomImagesMap.getOrDefault(r.getId(), List.of()))
+                    .photos(r.photos())
                     .promos(List.of(
                             Map.of("type","deal","title","특별 할인 쿠폰 적용됨","desc","코드 WEEKENDSALE")
                     ))
@@ -110,6 +226,15 @@ public class HotelService {
         return dto;
     }
 
+    private static LocalDate parseDate(String s) {
+        if (s == null || s.isBlank()) return null;
+        try {
+            return LocalDate.parse(s.trim()); // 'YYYY-MM-DD'
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid date: " + s);
+        }
+    }
+
     private Integer parseIntSafe(String s) {
         if (s == null || s.isBlank()) return null;
         try {
@@ -1,10 +1,12 @@
 package com.example.backend.hotel_reservation.domain;
 
+import com.example.backend.hotel_search.event.CatalogEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
 @Table(name = "Room")
+@EntityListeners(CatalogEntityListener.class) // 검색 인덱스 갱신용
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -77,4 +79,27 @@ public class Room {
 
     @Column(name = "check_out_time")
     private java.sql.Time checkOutTime;
+
+    // 검색 인덱스 스냅샷 이후 변경분 조회용. DB 가 직접 채움 (ON UPDATE CURRENT_TIMESTAMP)
+    @Column(name = "updated_at", insertable = false, updatable = false,
+            columnDefinition = "DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+    private java.time.LocalDateTime updatedAt;
+
+    // 읽어 온(마지막으로 저장한) 시점의 hotel_id. 다른 호텔로 옮겨졌는지 CatalogEntityListener 가 본다
+    @Transient
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private Long loadedHotelId;
+
+    /** 옮겨 가기 전 호텔 (새 객실이거나 그대로면 null) */
+    public Long getPreviousHotelId() {
+        return loadedHotelId != null && !loadedHotelId.equals(hotelId) ? loadedHotelId : null;
+    }
+
+    // 엔티티 리스너가 먼저 불리므로 @PostUpdate 에서 이벤트를 낸 뒤에 갱신된다
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberHotel() {
+        loadedHotelId = hotelId;
+    }
 }
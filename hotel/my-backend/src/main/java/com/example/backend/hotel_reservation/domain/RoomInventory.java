@@ -1,5 +1,6 @@
 package com.example.backend.hotel_reservation.domain;
 
+import com.example.backend.hotel_search.event.CatalogEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
@@ -7,6 +8,7 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "Room_Inventory",
        uniqueConstraints = @UniqueConstraint(name="uq_room_day", columnNames={"room_id", "date"}))
+@EntityListeners(CatalogEntityListener.class) // 검색 가용성 인덱스 갱신용
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class RoomInventory {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,4 +25,9 @@ public class RoomInventory {
 
     @Column(name="available_quantity", nullable=false)
     private Integer availableQuantity;
+
+    // 검색 인덱스 스냅샷 이후 변경분 조회용. DB 가 직접 채움 (ON UPDATE CURRENT_TIMESTAMP)
+    @Column(name = "updated_at", insertable = false, updatable = false,
+            columnDefinition = "DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+    private java.time.LocalDateTime updatedAt;
 }
@@ -0,0 +1,33 @@
+package com.example.backend.hotel_reservation.domain;
+
+import com.example.backend.hotel_search.event.CatalogEntityListener;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "Room_Price_Policy")
+@EntityListeners(CatalogEntityListener.class) // hotel_min_price 갱신용
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class RoomPricePolicy {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name="room_id", nullable=false)
+    private Long roomId;
+
+    @Column(name="season_type", nullable=false)
+    private String seasonType; // PEAK / OFF_PEAK / HOLIDAY
+
+    @Column(name="day_type", nullable=false)
+    private String dayType;    // WEEKDAY / FRI / SAT / SUN
+
+    @Column(name="start_date", nullable=false)
+    private LocalDate startDate;
+
+    @Column(name="end_date", nullable=false)
+    private LocalDate endDate;  // 포함(inclusive)
+
+    @Column(name="price", nullable=false)
+    private Integer price;
+}
@@ -0,0 +1,22 @@
+package com.example.backend.hotel_reservation.repository;
+
+import com.example.backend.hotel_reservation.domain.RoomPricePolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RoomPricePolicyRepository extends JpaRepository<RoomPricePolicy, Long> {
+
+    // 호텔의 모든 객실 요금 정책 중 [from, to) 와 겹치는 것
+    @Query("""
+        select p from RoomPricePolicy p
+        where p.roomId in (select r.id from Room r where r.hotelId = :hotelId)
+          and p.startDate < :to and p.endDate >= :from
+        """)
+    List<RoomPricePolicy> findOverlappingByHotelId(@Param("hotelId") Long hotelId,
+                                                    @Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to);
+}
@@ -5,6 +5,8 @@ import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,6 +15,16 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     // ✅ 호텔 상세에서 객실 리스트 필요
     List<Room> findByHotelId(Long hotelId);
 
+    List<Room> findByHotelIdIn(Collection<Long> hotelIds);
+
+    // DB 에서 직접 고친 객실 따라잡기: {객실 id, 호텔 id}
+    @Query("select r.id, r.hotelId from Room r where r.updatedAt >= :since")
+    List<Object[]> findIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    // 지워진 객실 대조용 {호텔 id, 객실 수} (hotel_id 인덱스만 읽음)
+    @Query("select r.hotelId, count(r) from Room r group by r.hotelId")
+    List<Object[]> countByHotel();
+
     // (기존 사용하던 쿼리 유지)
     @Query("select r.hotelId from Room r where r.id = :roomId")
     Long findHotelIdByRoomId(@Param("roomId") Long roomId);
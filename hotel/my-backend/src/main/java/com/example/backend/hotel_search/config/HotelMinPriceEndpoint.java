@@ -0,0 +1,38 @@
+package com.example.backend.hotel_search.config;
+
+import com.example.backend.hotel_search.service.HotelMinPriceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET  /actuator/hotelminprice : hotel_min_price ↔ 실시간 조인 정합성 검사
+ * POST /actuator/hotelminprice : hotel_min_price 전체 재빌드 (이미 돌고 있으면 건너뜀)
+ */
+@Component
+@Endpoint(id = "hotelminprice")
+@RequiredArgsConstructor
+public class HotelMinPriceEndpoint {
+
+    private final HotelMinPriceService service;
+
+    @ReadOperation
+    public Map<String, Object> check() {
+        Map<String, Object> out = new LinkedHashMap<>(service.checkConsistency());
+        out.put("rebuilding", service.isRebuilding());
+        return out;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        long start = System.currentTimeMillis();
+        int hotels = service.rebuildAll();
+        if (hotels < 0) return Map.of("skipped", "rebuild already running");
+        return Map.of("hotels", hotels, "tookMillis", System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.backend.hotel_search.config;
+
+import com.example.backend.hotel_search.index.HotelFuzzyIndex;
+import com.example.backend.hotel_search.index.HotelGeoIndex;
+import com.example.backend.hotel_search.index.HotelSortKeys;
+import com.example.backend.hotel_search.index.HotelSuggestIndex;
+import com.example.backend.hotel_search.index.NgramTextIndex;
+import com.example.backend.hotel_search.index.RoomAvailabilityIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+
+/** 검색용 인메모리 구조들. 채우는 건 SearchCatalogSync 가 담당 */
+@Configuration
+public class SearchIndexConfig {
+
+    @Bean
+    public NgramTextIndex hotelTextIndex() {
+        return new NgramTextIndex();
+    }
+
+    @Bean
+    public HotelSortKeys hotelSortKeys() {
+        return new HotelSortKeys(Locale.KOREAN);
+    }
+
+    // 노드마다 들고 있는 상위 후보 수 = 자동완성 limit 최대값
+    @Bean
+    public HotelSuggestIndex hotelSuggestIndex(@Value("${search.suggest.top-k:10}") int topK) {
+        return new HotelSuggestIndex(topK);
+    }
+
+    // 오타 교정 허용 편집 거리(자모 단위) 상한
+    @Bean
+    public HotelFuzzyIndex hotelFuzzyIndex(@Value("${search.fuzzy.max-distance:2}") int maxDistance) {
+        return new HotelFuzzyIndex(maxDistance);
+    }
+
+    // 좌표 격자 칸 크기(도). 0.1° ≈ 위도 11km
+    @Bean
+    public HotelGeoIndex hotelGeoIndex(@Value("${search.geo.cell-degrees:0.1}") double cellDegrees) {
+        return new HotelGeoIndex(cellDegrees);
+    }
+
+    // 재고 행이 없는 날의 수량. ReservationService.getOrCreateLocked 기본값과 맞출 것
+    @Bean
+    public RoomAvailabilityIndex roomAvailabilityIndex(
+            @Value("${search.availability.default-quantity:5}") int defaultQuantity) {
+        return new RoomAvailabilityIndex(defaultQuantity);
+    }
+}
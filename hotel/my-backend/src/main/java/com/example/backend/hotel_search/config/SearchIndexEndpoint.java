@@ -0,0 +1,78 @@
+package com.example.backend.hotel_search.config;
+
+import com.example.backend.hotel_search.index.HotelFuzzyIndex;
+import com.example.backend.hotel_search.index.HotelGeoIndex;
+import com.example.backend.hotel_search.index.HotelSuggestIndex;
+import com.example.backend.hotel_search.index.NgramTextIndex;
+import com.example.backend.hotel_search.index.RoomAvailabilityIndex;
+import com.example.backend.hotel_search.service.SearchCatalogSync;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** GET /actuator/searchindex : 인메모리 검색 인덱스 상태(빌드 시간, 메모리 추정치) */
+@Component
+@Endpoint(id = "searchindex")
+@RequiredArgsConstructor
+public class SearchIndexEndpoint {
+
+    private final NgramTextIndex textIndex;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final HotelSuggestIndex suggestIndex;
+    private final HotelFuzzyIndex fuzzyIndex;
+    private final HotelGeoIndex geoIndex;
+    private final SearchCatalogSync sync;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> text = new LinkedHashMap<>();
+        text.put("ready", textIndex.isReady());
+        text.put("documents", textIndex.documentCount());
+        text.put("grams", textIndex.gramCount());
+        text.put("buildMillis", textIndex.lastBuildMillis());
+        text.put("estimatedBytes", textIndex.estimatedBytes());
+
+        Map<String, Object> availability = new LinkedHashMap<>();
+        availability.put("ready", availabilityIndex.isReady());
+        availability.put("rooms", availabilityIndex.roomCount());
+        availability.put("hotels", availabilityIndex.hotelCount());
+        availability.put("windowStart", availabilityIndex.windowStart().toString());
+        availability.put("windowDays", availabilityIndex.windowDays());
+        availability.put("amenityValues", availabilityIndex.amenityValueCount());
+        availability.put("buildMillis", availabilityIndex.lastBuildMillis());
+        availability.put("estimatedBytes", availabilityIndex.estimatedBytes());
+
+        Map<String, Object> suggest = new LinkedHashMap<>();
+        suggest.put("ready", suggestIndex.isReady());
+        suggest.put("hotels", suggestIndex.hotelCount());
+        suggest.put("cities", suggestIndex.cityCount());
+        suggest.put("countries", suggestIndex.countryCount());
+        suggest.put("buildMillis", suggestIndex.lastBuildMillis());
+
+        Map<String, Object> fuzzy = new LinkedHashMap<>();
+        fuzzy.put("ready", fuzzyIndex.isReady());
+        fuzzy.put("terms", fuzzyIndex.termCount());
+        fuzzy.put("nodes", fuzzyIndex.nodeCount());
+        fuzzy.put("buildMillis", fuzzyIndex.lastBuildMillis());
+
+        Map<String, Object> geo = new LinkedHashMap<>();
+        geo.put("ready", geoIndex.isReady());
+        geo.put("hotels", geoIndex.hotelCount());
+        geo.put("cells", geoIndex.cellCount());
+        geo.put("buildMillis", geoIndex.lastBuildMillis());
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("source", sync.source());
+        out.put("watermark", sync.watermark() == null ? null : sync.watermark().toString());
+        out.put("text", text);
+        out.put("availability", availability);
+        out.put("suggest", suggest);
+        out.put("fuzzy", fuzzy);
+        out.put("geo", geo);
+        return out;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.backend.hotel_search.config;
+
+import com.example.backend.hotel_search.repository.SearchQueryMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET    /actuator/slowsearches : 최근 느린 검색 (파라미터, 단계별 시간, 선택적으로 EXPLAIN)
+ * DELETE /actuator/slowsearches : 비우기
+ */
+@Component
+@Endpoint(id = "slowsearches")
+@RequiredArgsConstructor
+public class SlowSearchEndpoint {
+
+    private final SearchQueryMetrics metrics;
+
+    @ReadOperation
+    public Map<String, Object> list() {
+        List<Map<String, Object>> items = metrics.slowSearches().stream().map(s -> {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("at", s.at.toString());
+            m.put("totalMicros", s.totalMicros);
+            m.put("filters", s.filters);
+            m.put("stageMicros", s.stageMicros);
+            m.put("params", s.params);
+            m.put("slowestSql", s.slowestSql);
+            m.put("explain", s.explain);
+            return m;
+        }).toList();
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", metrics.isEnabled());
+        out.put("thresholdMillis", metrics.slowThresholdMillis());
+        out.put("searches", items);
+        return out;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        metrics.clearSlowSearches();
+    }
+}
@@ -1,10 +1,41 @@
 package com.example.backend.hotel_search.controller;
 
+import com.example.backend.common.dto.SparseFields;
+import com.example.backend.hotel_search.dto.FlexibleDates;
+import com.example.backend.hotel_search.dto.GeoFilter;
+import com.example.backend.hotel_search.dto.HotelColumn;
+import com.example.backend.hotel_search.dto.HotelCursorPage;
 import com.example.backend.hotel_search.dto.HotelProjectionOnly;
+import com.example.backend.hotel_search.dto.HotelSearchCriteria;
+import com.example.backend.hotel_search.dto.HotelSort;
+import com.example.backend.hotel_search.dto.RoomAmenityFilter;
+import com.example.backend.hotel_search.index.Suggestion;
 import com.example.backend.hotel_search.service.HotelSearchService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @RestController
 @CrossOrigin(origins = "http://localhost:5173")
@@ -13,24 +44,218 @@ import org.springframework.web.bind.annotation.*;
 public class HotelSearchController {
 
     private final HotelSearchService service;
+    private final ObjectMapper objectMapper;
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int EXPORT_FLUSH_ROWS = 1000;
+    private static final Object EXPORT_INTERCEPTOR_KEY = new Object();
+
+    // 동시에 도는 내보내기 수 (각각 DB 커넥션 하나를 끝까지 잡음). 넘치면 429
+    private Semaphore exportSlots;
+
+    @Value("${search.export.timeout-minutes:30}")
+    private long exportTimeoutMinutes;
 
+    @Value("${search.export.max-concurrent:2}")
+    void setMaxConcurrentExports(int max) {
+        this.exportSlots = new Semaphore(Math.max(max, 1));
+    }
+
+    // fields (예: id,name,lowestPrice) 를 주면 content 의 호텔마다 고른 필드만 (고르지 않은 컬럼은 SQL 에서도 안 읽음).
+    // 페이지 정보/facets 는 그대로
     @GetMapping("/hotels")
-    public Page<HotelProjectionOnly> search(
+    public Object search(
             @RequestParam(required = false) String q,
             @RequestParam(required = false) String destination, // ★ 프론트에서 destination으로 올 수 있음
             @RequestParam(required = false) String checkIn,
             @RequestParam(required = false) String checkOut,
+            // 객실 수 (기본 1). 한 객실 타입을 rooms 개 잡아 일행이 들어가는 호텔만:
+            // rooms * capacityMin <= adults + children <= rooms * capacityMax, 날짜가 있으면 그 타입이 rooms 개 이상 남아야 함.
+            // 여러 타입을 섞어 채우지는 않는다 (2인실 + 4인실로 5명 X)
             @RequestParam(required = false) Integer rooms,
             @RequestParam(required = false) Integer adults,
             @RequestParam(required = false) Integer children,
             @RequestParam(required = false) Integer minPrice,
             @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) List<String> amenities, // ★ wifi,aircon,window,freeWater,nonSmoking,smoking,privateBath,sharedBath
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String bed,
+            @RequestParam(required = false) Double lat,       // ★ 반경 검색: lat, lng (+ radiusKm, 기본 5)
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) String bbox,      // ★ 영역 검색: south,west,north,east
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean facets, // ★ 필터 UI 용 집계 (국가/성급/가격 히스토그램)
+            @RequestParam(required = false) String sort,          // price(기본) | rating | name | value | distance(위치 검색 기본)
+            @RequestParam(required = false) String fields
     ) {
+        SparseFields sparse = SparseFields.parse(fields);
         String keyword = (q != null && !q.isBlank())
                 ? q
                 : (destination != null && !destination.isBlank() ? destination : null);
-        return service.search(keyword, checkIn, checkOut, rooms, adults, children, minPrice, maxPrice, page, size);
+        GeoFilter geo = service.geoFilter(lat, lng, radiusKm, bbox);
+        Page<HotelProjectionOnly> result = service.search(keyword, checkIn, checkOut, rooms, adults, children, minPrice, maxPrice,
+                RoomAmenityFilter.of(amenities, view, bed), geo, page, size, facets,
+                sort == null && geo != null ? HotelSort.DISTANCE : HotelSort.from(sort), HotelColumn.maskOf(sparse));
+        return sparse == null ? result : sparseContent(result, sparse);
+    }
+
+    // 키셋 모드: cursor 파라미터가 있으면 이쪽 (첫 페이지는 cursor= 빈 값). count 쿼리 없음
+    @GetMapping(value = "/hotels", params = "cursor")
+    public Object searchByCursor(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String destination,
+            @RequestParam(required = false) String checkIn,
+            @RequestParam(required = false) String checkOut,
+            @RequestParam(required = false) Integer rooms,   // search 와 같은 규칙 (한 객실 타입으로 rooms 개)
+            @RequestParam(required = false) Integer adults,
+            @RequestParam(required = false) Integer children,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) List<String> amenities,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String bed,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) String bbox,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields
+    ) {
+        SparseFields sparse = SparseFields.parse(fields);
+        String keyword = (q != null && !q.isBlank())
+                ? q
+                : (destination != null && !destination.isBlank() ? destination : null);
+        HotelCursorPage result = service.searchAfter(keyword, checkIn, checkOut, rooms, adults, children, minPrice, maxPrice,
+                RoomAmenityFilter.of(amenities, view, bed), service.geoFilter(lat, lng, radiusKm, bbox), cursor, size,
+                HotelColumn.maskOf(sparse));
+        return sparse == null ? result : sparseContent(result, sparse);
+    }
+
+    // 전체 내보내기 (NDJSON, 한 줄에 호텔 하나). 쿼리 한 번을 커서로 읽으며 바로 써서 메모리는 일정
+    // 관리자만 (SecurityConfig). 긴 응답 제한 시간은 이 응답에만 (전역 비동기 제한은 그대로)
+    @GetMapping("/hotels/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            HttpServletRequest request,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String destination,
+            @RequestParam(required = false) String checkIn,
+            @RequestParam(required = false) String checkOut,
+            @RequestParam(required = false) Integer rooms,   // search 와 같은 규칙 (한 객실 타입으로 rooms 개)
+            @RequestParam(required = false) Integer adults,
+            @RequestParam(required = false) Integer children,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) List<String> amenities,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String bed,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) String bbox,
+            @RequestParam(required = false) String fields    // search 와 같음 (줄마다 고른 필드만)
+    ) {
+        String keyword = (q != null && !q.isBlank())
+                ? q
+                : (destination != null && !destination.isBlank() ? destination : null);
+        // 잘못된 파라미터는 본문을 쓰기 전에 400 으로
+        SparseFields sparse = SparseFields.parse(fields);
+        HotelSearchCriteria c = service.exportCriteria(keyword, checkIn, checkOut, rooms, adults, children, minPrice, maxPrice,
+                RoomAmenityFilter.of(amenities, view, bed), service.geoFilter(lat, lng, radiusKm, bbox),
+                HotelColumn.maskOf(sparse));
+
+        if (!exportSlots.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "too many concurrent exports");
+        }
+        // 본문이 끝나거나, 본문이 돌지 못한 채 비동기 처리가 끝나도 (제한 시간/오류) 자리는 딱 한 번 돌려준다
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) exportSlots.release();
+        };
+        registerExportInterceptor(request, Duration.ofMinutes(exportTimeoutMinutes), release);
+
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter w = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+                long[] n = {0};
+                service.export(c, row -> {
+                    try {
+                        w.write(sparse == null ? row : sparse.prune(objectMapper.valueToTree(row), ""));
+                        if (++n[0] % EXPORT_FLUSH_ROWS == 0) w.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e); // 클라이언트가 끊으면 커서도 닫힘
+                    }
+                });
+                w.flush();
+                if (n[0] > 0) out.write('\n');
+            } finally {
+                release.run();
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    // StreamingResponseBody 는 비동기로 쓰이므로, 비동기 시작 직전에 이 요청의 제한 시간만 바꾸고
+    // 비동기 처리가 어떻게 끝나든 (afterCompletion 은 제한 시간/오류 뒤에도 불린다) 자리를 돌려준다
+    private static void registerExportInterceptor(HttpServletRequest request, Duration timeout, Runnable release) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_INTERCEPTOR_KEY,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest r, Callable<T> task) {
+                        if (r instanceof AsyncWebRequest async) async.setTimeout(timeout.toMillis());
+                    }
+
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest r, Callable<T> task) {
+                        release.run();
+                    }
+                });
+    }
+
+    // 유연한 날짜: checkIn~checkOut 을 ±flexDays 일 밀어 본 구간별 호텔 수/최저가를 한 번에 (best = 싼 구간 limit 개)
+    @GetMapping("/hotels/flexible-dates")
+    public FlexibleDates flexibleDates(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String destination,
+            @RequestParam String checkIn,
+            @RequestParam String checkOut,
+            @RequestParam(defaultValue = "3") int flexDays,
+            @RequestParam(required = false) Integer rooms,   // search 와 같은 규칙 (한 객실 타입으로 rooms 개)
+            @RequestParam(required = false) Integer adults,
+            @RequestParam(required = false) Integer children,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) List<String> amenities,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String bed,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) String bbox,
+            @RequestParam(defaultValue = "3") int limit
+    ) {
+        String keyword = (q != null && !q.isBlank())
+                ? q
+                : (destination != null && !destination.isBlank() ? destination : null);
+        return service.flexibleDates(keyword, checkIn, checkOut, rooms, adults, children, minPrice, maxPrice,
+                RoomAmenityFilter.of(amenities, view, bed), service.geoFilter(lat, lng, radiusKm, bbox),
+                flexDays, limit);
+    }
+
+    // 자동완성: 호텔명/도시/국가. 초성(ㅅㅇ)도 받는다. limit 은 search.suggest.top-k 까지
+    @GetMapping("/hotels/suggest")
+    public List<Suggestion> suggest(
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return service.suggest(prefix, limit);
+    }
+
+    // SQL 에서 NULL 로 읽은 컬럼도 행에는 키로 남아 있어서 응답에서 한 번 더 자른다
+    private JsonNode sparseContent(Object page, SparseFields fields) {
+        JsonNode tree = objectMapper.valueToTree(page);
+        fields.prune(tree.get("content"), "");
+        return tree;
     }
 }
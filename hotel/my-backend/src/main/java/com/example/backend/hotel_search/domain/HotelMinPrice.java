@@ -0,0 +1,42 @@
+package com.example.backend.hotel_search.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * 검색용 읽기 모델: 호텔 × 숙박일 별 객실 요금 최저/최고가.
+ * Room_Price_Policy 가 바뀔 때 HotelMinPriceService 가 호텔 단위로 다시 계산한다.
+ * (max_price 는 기존 "minPrice 이상인 요금이 하나라도 있는가" 필터를 그대로 유지하기 위함)
+ */
+@Entity
+@Table(name = "hotel_min_price",
+       indexes = @Index(name = "idx_hmp_date", columnList = "stay_date"))
+@IdClass(HotelMinPrice.Key.class)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class HotelMinPrice {
+
+    @Id @Column(name="hotel_id", nullable=false)
+    private Long hotelId;
+
+    @Id @Column(name="stay_date", nullable=false)
+    private LocalDate stayDate;
+
+    @Column(name="min_price", nullable=false)
+    private Integer minPrice;
+
+    @Column(name="max_price", nullable=false)
+    private Integer maxPrice;
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @EqualsAndHashCode
+    public static class Key implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private Long hotelId;
+        private LocalDate stayDate;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.backend.hotel_search.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 검색용 읽기 모델: 호텔별 hotel_min_price 전체 기간의 최저/최고가 (호텔당 한 행).
+ * 날짜 없는 검색이 hotel_min_price 전체를 GROUP BY 하지 않고 기본키로 조인하도록.
+ * HotelMinPriceService 가 hotel_min_price 와 같은 트랜잭션에서 같이 갱신한다.
+ */
+@Entity
+@Table(name = "hotel_price_summary")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class HotelPriceSummary {
+
+    @Id @Column(name="hotel_id", nullable=false)
+    private Long hotelId;
+
+    @Column(name="lowest_price", nullable=false)
+    private Integer lowestPrice;
+
+    @Column(name="highest_price", nullable=false)
+    private Integer highestPrice;
+}
@@ -0,0 +1,36 @@
+package com.example.backend.hotel_search.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 유연한 날짜 검색 결과: 요청한 숙박 기간을 ±flexDays 일 밀어 본 구간들.
+ *
+ * @param windows 날짜순 전체 구간 (오늘 이전에 시작하는 구간은 빠짐). shift 0 이 요청한 기간
+ * @param best    묵을 수 있는 호텔이 있는 구간 중 총액 최저가가 싼 순 (같으면 호텔 많은 순 → 요청일에 가까운 순)
+ */
+public record FlexibleDates(
+        LocalDate checkIn,
+        LocalDate checkOut,
+        int flexDays,
+        List<StayWindow> windows,
+        List<StayWindow> best
+) {
+    /**
+     * 한 숙박 구간.
+     *
+     * @param hotels             조건에 맞고 모든 밤에 객실이 남은 호텔 수
+     * @param lowestTotalPrice   호텔별 숙박 총액(밤마다 최저 요금의 합) 중 최저. 모든 밤에 요금이 있는 호텔만
+     * @param cheapestHotelId    그 호텔
+     * @param lowestNightlyPrice 구간 안 하룻밤 최저 요금 (목록의 lowestPrice 와 같은 뜻)
+     */
+    public record StayWindow(
+            LocalDate checkIn,
+            LocalDate checkOut,
+            int shift,
+            int hotels,
+            Long lowestTotalPrice,
+            Long cheapestHotelId,
+            Integer lowestNightlyPrice
+    ) {}
+}
@@ -0,0 +1,68 @@
+package com.example.backend.hotel_search.dto;
+
+/**
+ * 위치 검색 조건. 반경 모드(lat, lng, radiusKm) 또는 영역 모드(south, west, north, east) 중 하나.
+ * 영역 모드에서 west > east 면 날짜변경선을 걸친 영역.
+ */
+public record GeoFilter(
+        Double lat,
+        Double lng,
+        Double radiusKm,
+        Double south,
+        Double west,
+        Double north,
+        Double east
+) {
+    public static final double DEFAULT_RADIUS_KM = 5;
+
+    /**
+     * 요청 파라미터 → 조건. 아무것도 없으면 null.
+     * bbox 는 "south,west,north,east". 값이 범위를 벗어나거나 두 모드를 같이 주면 IllegalArgumentException.
+     */
+    public static GeoFilter of(Double lat, Double lng, Double radiusKm, String bbox, double maxRadiusKm) {
+        boolean point = lat != null || lng != null || radiusKm != null;
+        boolean box = bbox != null && !bbox.isBlank();
+        if (!point && !box) return null;
+        if (point && box) throw new IllegalArgumentException("use either lat/lng/radiusKm or bbox");
+
+        if (point) {
+            if (lat == null || lng == null) throw new IllegalArgumentException("lat and lng are required");
+            checkLat(lat);
+            checkLng(lng);
+            double r = radiusKm == null ? DEFAULT_RADIUS_KM : radiusKm;
+            if (!(r > 0) || r > maxRadiusKm) {
+                throw new IllegalArgumentException("radiusKm must be in (0, " + maxRadiusKm + "]");
+            }
+            return new GeoFilter(lat, lng, r, null, null, null, null);
+        }
+
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) throw new IllegalArgumentException("bbox must be south,west,north,east");
+        double[] v = new double[4];
+        for (int i = 0; i < 4; i++) {
+            try {
+                v[i] = Double.parseDouble(parts[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid bbox: " + bbox);
+            }
+        }
+        checkLat(v[0]);
+        checkLng(v[1]);
+        checkLat(v[2]);
+        checkLng(v[3]);
+        if (v[0] > v[2]) throw new IllegalArgumentException("bbox south must be <= north");
+        return new GeoFilter(null, null, null, v[0], v[1], v[2], v[3]);
+    }
+
+    public boolean isRadius() {
+        return radiusKm != null;
+    }
+
+    private static void checkLat(double lat) {
+        if (!(lat >= -90 && lat <= 90)) throw new IllegalArgumentException("latitude out of range: " + lat);
+    }
+
+    private static void checkLng(double lng) {
+        if (!(lng >= -180 && lng <= 180)) throw new IllegalArgumentException("longitude out of range: " + lng);
+    }
+}
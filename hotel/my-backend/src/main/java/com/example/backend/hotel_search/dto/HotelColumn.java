@@ -0,0 +1,50 @@
+package com.example.backend.hotel_search.dto;
+
+import com.example.backend.common.dto.SparseFields;
+
+/**
+ * 검색 결과 행의 컬럼 (id 는 항상 읽음). 비트 위치 = ordinal.
+ * fields= 로 고르지 않은 컬럼은 SQL 에서 NULL 로 바뀌고, 최저가를 안 쓰면 가격 조인도 빠질 수 있다 (HotelSearchQueryBuilder).
+ */
+public enum HotelColumn {
+    NAME("name", "h.name"),
+    CITY("city", "h.address"),
+    COUNTRY("country", "h.country"),
+    RATING("rating", "CAST(h.star_rating AS DOUBLE)"),
+    LOWEST_PRICE("lowestPrice", "mp.lowest_price"),
+    THUMBNAIL("thumbnailUrl", "h.cover_image_url");
+
+    public static final int ALL = (1 << values().length) - 1;
+
+    private final String field;
+    private final String expr;
+
+    HotelColumn(String field, String expr) {
+        this.field = field;
+        this.expr = expr;
+    }
+
+    /** 응답 JSON 필드 이름 = SQL 별칭 */
+    public String field() {
+        return field;
+    }
+
+    /** SELECT 에 들어가는 식 */
+    public String expr() {
+        return expr;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /** fields= 에서 고른 컬럼 비트. null(= 전부) 이면 ALL */
+    public static int maskOf(SparseFields fields) {
+        if (fields == null) return ALL;
+        int m = 0;
+        for (HotelColumn c : values()) {
+            if (fields.includes(c.field)) m |= c.bit();
+        }
+        return m;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.backend.hotel_search.dto;
+
+import java.util.List;
+
+/** 키셋 모드 응답. totalElements/totalPages 없음 (count 쿼리를 돌리지 않음) */
+public record HotelCursorPage(
+        List<HotelProjectionOnly> content,
+        int size,
+        int numberOfElements,
+        boolean hasNext,
+        String nextCursor       // hasNext=false 면 null
+) {}
@@ -0,0 +1,22 @@
+package com.example.backend.hotel_search.dto;
+
+import lombok.AllArgsConstructor;
+
+/** 위치 검색 결과 한 행: 기존 행 + 기준점(반경 중심 / 영역 중심)까지 거리(km) */
+@AllArgsConstructor
+public class HotelGeoRow implements HotelProjectionOnly {
+    private final HotelProjectionOnly row;
+    private final Double distanceKm;
+
+    @Override public Long getId() { return row.getId(); }
+    @Override public String getName() { return row.getName(); }
+    @Override public String getCity() { return row.getCity(); }
+    @Override public String getCountry() { return row.getCountry(); }
+    @Override public Double getRating() { return row.getRating(); }
+    @Override public Integer getLowestPrice() { return row.getLowestPrice(); }
+    @Override public String getThumbnailUrl() { return row.getThumbnailUrl(); }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+}
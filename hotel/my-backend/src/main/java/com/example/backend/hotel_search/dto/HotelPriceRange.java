@@ -0,0 +1,8 @@
+package com.example.backend.hotel_search.dto;
+
+/** 호텔별 요금 범위 (읽기 모델 ↔ 실시간 조인 정합성 비교용) */
+public interface HotelPriceRange {
+    Long getHotelId();
+    Integer getMinPrice();
+    Integer getMaxPrice();
+}
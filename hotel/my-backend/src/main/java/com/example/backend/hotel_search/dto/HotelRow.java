@@ -0,0 +1,17 @@
+package com.example.backend.hotel_search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** JDBC 로 읽은 검색 결과 한 행. JSON 모양은 기존 HotelProjectionOnly 프로젝션과 같다 */
+@Getter
+@AllArgsConstructor
+public class HotelRow implements HotelProjectionOnly {
+    private final Long id;
+    private final String name;
+    private final String city;
+    private final String country;
+    private final Double rating;
+    private final Integer lowestPrice;
+    private final String thumbnailUrl;
+}
@@ -0,0 +1,77 @@
+package com.example.backend.hotel_search.dto;
+
+import com.example.backend.hotel_search.index.HotelGeoIndex;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * 검색 조건. null 인 조건은 SQL 에서 아예 빠진다 (HotelSearchQueryBuilder).
+ *
+ * @param keyword  LIKE 로 찾을 키워드. 인메모리 인덱스로 이미 풀었으면 null
+ * @param hotelIds 후보 호텔 id 로 제한. null 이면 제한 없음 (빈 컬렉션 금지)
+ * @param rooms    인원/재고 조건에 쓸 객실 수 (null 이면 1). 인메모리 인덱스로 이미 풀었으면 adults/children 도 null
+ * @param amenities 객실 편의시설 조건. 인메모리 인덱스로 이미 풀었으면 null
+ * @param geo      위치 조건 (SQL 로 거를 때만). 인메모리 좌표 인덱스로 후보를 이미 좁혔으면 null
+ * @param availability true 면 checkIn~checkOut 모든 밤에 rooms 개가 남은 객실이 있는 호텔만 (SQL 로 거를 때만).
+ *                 인메모리 가용성 인덱스로 이미 풀었으면 false
+ * @param geoHits  좌표 인덱스가 구한 후보별 거리. 거리 정렬/응답용이고 SQL 에는 쓰이지 않는다
+ * @param after    키셋 페이지 커서. null 이면 처음부터
+ * @param columns  읽을 결과 컬럼 (HotelColumn 비트, fields=). null 이면 전부
+ */
+@Builder(toBuilder = true)
+public record HotelSearchCriteria(
+        String keyword,
+        Collection<Long> hotelIds,
+        LocalDate checkIn,
+        LocalDate checkOut,
+        Integer adults,
+        Integer children,
+        Integer rooms,
+        RoomAmenityFilter amenities,
+        boolean availability,
+        GeoFilter geo,
+        HotelGeoIndex.Hits geoHits,
+        Integer minPrice,
+        Integer maxPrice,
+        SearchCursor after,
+        Integer columns
+) {
+    public boolean hasDates() {
+        return checkIn != null && checkOut != null;
+    }
+
+    // 0 명(adults=0&children=0)은 인원 조건 없음. 가용성 인덱스(fittingHotels party=0)와 같은 규칙
+    public boolean hasParty() {
+        return partySize() > 0;
+    }
+
+    public boolean hasAmenities() {
+        return amenities != null;
+    }
+
+    public boolean hasAvailability() {
+        return availability && hasDates();
+    }
+
+    public boolean hasGeo() {
+        return geo != null;
+    }
+
+    public int roomCount() {
+        return rooms == null ? 1 : Math.max(rooms, 1);
+    }
+
+    public int partySize() {
+        return (adults == null ? 0 : adults) + (children == null ? 0 : children);
+    }
+
+    public int columnMask() {
+        return columns == null ? HotelColumn.ALL : columns;
+    }
+
+    public boolean hasPriceFilter() {
+        return minPrice != null || maxPrice != null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.backend.hotel_search.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.io.Serial;
+import java.util.List;
+
+/**
+ * 기존 Page 응답에 facets=true 일 때의 집계를 덧붙인 것. 요청하지 않으면 JSON 에 facets 가 없다.
+ * didYouMean 은 원래 검색어로 0건이라 교정한 검색어의 결과를 돌려줄 때만 들어간다.
+ */
+public class HotelSearchPage<T> extends PageImpl<T> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final SearchFacets facets;
+    private final String didYouMean;
+
+    public HotelSearchPage(List<T> content, Pageable pageable, long total, SearchFacets facets) {
+        this(content, pageable, total, facets, null);
+    }
+
+    public HotelSearchPage(List<T> content, Pageable pageable, long total, SearchFacets facets, String didYouMean) {
+        super(content, pageable, total);
+        this.facets = facets;
+        this.didYouMean = didYouMean;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public SearchFacets getFacets() {
+        return facets;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getDidYouMean() {
+        return didYouMean;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.backend.hotel_search.dto;
+
+import java.util.Locale;
+
+/** 검색 정렬. PRICE 만 SQL ORDER BY 로, 나머지는 미리 계산한 정렬 키 + top-K 힙으로 (HotelSearchService) */
+public enum HotelSort {
+    PRICE,   // 최저가 오름차순 (요금 없는 호텔은 뒤)
+    RATING,  // 성급 내림차순 → 최저가 오름차순
+    NAME,    // 이름 오름차순 (한국어 collation)
+    VALUE,   // 성급 / 최저가 내림차순 (요금 없는 호텔은 뒤)
+    DISTANCE; // 기준점에서 가까운 순 (위치 검색일 때만. 위치 검색의 기본 정렬)
+
+    public static HotelSort from(String s) {
+        if (s == null || s.isBlank()) return PRICE;
+        try {
+            return valueOf(s.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid sort: " + s);
+        }
+    }
+}
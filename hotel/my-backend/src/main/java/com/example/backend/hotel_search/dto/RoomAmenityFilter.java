@@ -0,0 +1,32 @@
+package com.example.backend.hotel_search.dto;
+
+import com.example.backend.hotel_search.index.RoomAmenity;
+import com.example.backend.hotel_search.index.RoomAvailabilityIndex;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 객실 편의시설 검색 조건. 한 객실이 전부 갖춰야 한다 (인원/재고 조건과도 같은 객실).
+ *
+ * @param amenities 필요한 편의시설
+ * @param view      전망 (정규화된 값, 없으면 null)
+ * @param bed       침대 (정규화된 값, 없으면 null)
+ */
+public record RoomAmenityFilter(Set<RoomAmenity> amenities, String view, String bed) {
+
+    /** 요청 파라미터 → 조건. 아무것도 없으면 null. 모르는 편의시설 이름이면 IllegalArgumentException */
+    public static RoomAmenityFilter of(Collection<String> amenities, String view, String bed) {
+        EnumSet<RoomAmenity> set = EnumSet.noneOf(RoomAmenity.class);
+        if (amenities != null) {
+            for (String a : amenities) {
+                if (a != null && !a.isBlank()) set.add(RoomAmenity.from(a));
+            }
+        }
+        String v = RoomAvailabilityIndex.normalizeValue(view);
+        String b = RoomAvailabilityIndex.normalizeValue(bed);
+        if (set.isEmpty() && v == null && b == null) return null;
+        return new RoomAmenityFilter(Set.copyOf(set), v, b);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.backend.hotel_search.dto;
+
+import com.example.backend.hotel_search.index.NgramTextIndex;
+
+import java.time.LocalDate;
+
+/**
+ * 검색 결과 캐시 키. 같은 검색이 같은 키가 되도록 정규화한 파라미터.
+ * (q/destination 은 컨트롤러에서 하나로 합쳐져 들어오고, 대소문자/전각 차이는 정규화로 없앤다)
+ */
+public record SearchCacheKey(
+        String q,
+        LocalDate checkIn,
+        LocalDate checkOut,
+        int rooms,
+        Integer adults,
+        Integer children,
+        Integer minPrice,
+        Integer maxPrice,
+        RoomAmenityFilter amenities,
+        GeoFilter geo,
+        int page,        // 키셋 모드면 -1
+        String cursor,   // 페이지 모드면 null
+        int size,
+        boolean facets,
+        HotelSort sort,
+        int columns      // fields= 로 고른 결과 컬럼 (HotelColumn 비트). 컬럼마다 SQL 이 달라서 키에 포함
+) {
+    public static SearchCacheKey of(String q, LocalDate checkIn, LocalDate checkOut, Integer rooms,
+                                    Integer adults, Integer children, Integer minPrice, Integer maxPrice,
+                                    RoomAmenityFilter amenities, GeoFilter geo, int page, String cursor, int size, boolean facets,
+                                    HotelSort sort) {
+        String nq = (q == null || q.isBlank()) ? null : NgramTextIndex.normalize(q);
+        boolean dated = checkIn != null && checkOut != null;
+        boolean roomsUsed = dated || adults != null || children != null; // 객실 수는 재고/인원 조건에만 쓰임 (편의시설은 객실 수와 무관)
+        return new SearchCacheKey(nq,
+                dated ? checkIn : null, dated ? checkOut : null,
+                roomsUsed && rooms != null ? Math.max(rooms, 1) : 1,
+                adults, children, minPrice, maxPrice, amenities, geo,
+                cursor == null ? page : -1,
+                cursor == null ? null : cursor.trim(),
+                size,
+                facets,
+                sort == null ? HotelSort.PRICE : sort,
+                HotelColumn.ALL);
+    }
+
+    public SearchCacheKey withColumns(int columns) {
+        return new SearchCacheKey(q, checkIn, checkOut, rooms, adults, children, minPrice, maxPrice, amenities, geo,
+                page, cursor, size, facets, sort, columns);
+    }
+
+    /** 그 날짜의 숙박이 이 검색 기간 [checkIn, checkOut) 에 들어가는지 */
+    public boolean covers(LocalDate date) {
+        return checkIn != null && !date.isBefore(checkIn) && date.isBefore(checkOut);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.backend.hotel_search.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 키셋 페이지 커서. 검색 정렬 키 (lowestPrice IS NULL, lowestPrice, id) 를 그대로 담는다.
+ * 클라이언트에는 불투명한 base64url 문자열로만 노출한다.
+ */
+public record SearchCursor(boolean priceNull, Integer price, long id) {
+
+    private static final String VERSION = "v1";
+
+    public static SearchCursor after(HotelProjectionOnly row) {
+        Integer p = row.getLowestPrice();
+        return new SearchCursor(p == null, p, row.getId());
+    }
+
+    public String encode() {
+        String raw = VERSION + ":" + (priceNull ? "n" : String.valueOf(price)) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** 빈 문자열/null → null (첫 페이지). 형식이 틀리면 IllegalArgumentException → 400 */
+    public static SearchCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) throw new IllegalArgumentException();
+            boolean isNull = "n".equals(parts[1]);
+            Integer price = isNull ? null : Integer.valueOf(parts[1]);
+            return new SearchCursor(isNull, price, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.backend.hotel_search.dto;
+
+import java.util.Map;
+
+/**
+ * 검색 결과 전체(페이지가 아니라 조건에 맞는 모든 호텔)에 대한 집계.
+ *
+ * @param total        조건에 맞는 호텔 수 (count 쿼리 대신 사용)
+ * @param countries    국가 → 호텔 수 (많은 순)
+ * @param starRatings  성급(0~5) → 호텔 수 (0 인 성급은 빠짐)
+ * @param prices       최저가 히스토그램 (가격 슬라이더용)
+ */
+public record SearchFacets(
+        long total,
+        Map<String, Integer> countries,
+        Map<Integer, Integer> starRatings,
+        PriceHistogram prices
+) {
+    /**
+     * counts[i] = [i * bucketSize, (i + 1) * bucketSize) 구간의 호텔 수. 마지막 칸은 그 이상 전부.
+     * min/max 는 실제 최저가의 최소/최대 (요금이 하나도 없으면 null), unpriced 는 요금 없는 호텔 수.
+     */
+    public record PriceHistogram(Integer min, Integer max, int bucketSize, int[] counts, int unpriced) {}
+
+    public static SearchFacets empty(int bucketSize) {
+        return new SearchFacets(0, Map.of(), Map.of(), new PriceHistogram(null, null, bucketSize, new int[0], 0));
+    }
+}
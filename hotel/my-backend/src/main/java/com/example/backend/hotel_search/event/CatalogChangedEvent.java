@@ -0,0 +1,32 @@
+package com.example.backend.hotel_search.event;
+
+/**
+ * 호텔 카탈로그(검색 대상) 행이 바뀌었음을 알리는 이벤트.
+ * JPA 엔티티 리스너가 발행하고, 인메모리 검색 구조/읽기 모델들이 커밋 이후에 받아서 갱신한다.
+ *
+ * hotelId 는 엔티티에서 바로 알 수 있을 때만 채워진다. (객실 단위 변경은 roomId 만 있을 수 있음)
+ */
+public record CatalogChangedEvent(Kind kind, Long hotelId, Long roomId, boolean removed) {
+
+    public enum Kind { HOTEL, HOTEL_IMAGE, ROOM, ROOM_IMAGE, ROOM_PRICE }
+
+    public static CatalogChangedEvent hotel(Long hotelId, boolean removed) {
+        return new CatalogChangedEvent(Kind.HOTEL, hotelId, null, removed);
+    }
+
+    public static CatalogChangedEvent hotelImage(Long hotelId, boolean removed) {
+        return new CatalogChangedEvent(Kind.HOTEL_IMAGE, hotelId, null, removed);
+    }
+
+    public static CatalogChangedEvent room(Long hotelId, Long roomId, boolean removed) {
+        return new CatalogChangedEvent(Kind.ROOM, hotelId, roomId, removed);
+    }
+
+    public static CatalogChangedEvent roomImage(Long roomId, boolean removed) {
+        return new CatalogChangedEvent(Kind.ROOM_IMAGE, null, roomId, removed);
+    }
+
+    public static CatalogChangedEvent roomPrice(Long roomId, boolean removed) {
+        return new CatalogChangedEvent(Kind.ROOM_PRICE, null, roomId, removed);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.backend.hotel_search.event;
+
+import com.example.backend.fe_hotel_detail.domain.Hotel;
+import com.example.backend.fe_hotel_detail.domain.HotelImage;
+import com.example.backend.fe_hotel_detail.domain.RoomImage;
+import com.example.backend.hotel_reservation.domain.Room;
+import com.example.backend.hotel_reservation.domain.RoomInventory;
+import com.example.backend.hotel_reservation.domain.RoomPricePolicy;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * 카탈로그 엔티티에 @EntityListeners 로 붙는 리스너.
+ * Hibernate 가 Spring 빈 컨테이너로 생성하므로 생성자 주입이 가능하다.
+ * 여기서는 이벤트만 발행하고, 실제 인덱스 갱신은 커밋 이후 리스너(@TransactionalEventListener)가 한다.
+ *
+ * JPA 는 콜백 어노테이션을 클래스당 한 번만 허용하므로, 엔티티 종류는 메서드 안에서 구분한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogEntityListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        publish(entity, false);
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        publish(entity, true);
+    }
+
+    private void publish(Object entity, boolean removed) {
+        if (entity instanceof Hotel h) {
+            publisher.publishEvent(CatalogChangedEvent.hotel(h.getId(), removed));
+        } else if (entity instanceof HotelImage hi) {
+            publisher.publishEvent(CatalogChangedEvent.hotelImage(hi.getHotelId(), removed));
+        } else if (entity instanceof Room r) {
+            // 다른 호텔로 옮겨진 객실은 옛 호텔에서 빠진 것으로 먼저 알린다
+            if (!removed && r.getPreviousHotelId() != null) {
+                publisher.publishEvent(CatalogChangedEvent.room(r.getPreviousHotelId(), r.getId(), true));
+            }
+            publisher.publishEvent(CatalogChangedEvent.room(r.getHotelId(), r.getId(), removed));
+        } else if (entity instanceof RoomImage img) {
+            publisher.publishEvent(CatalogChangedEvent.roomImage(img.getRoomId(), removed));
+        } else if (entity instanceof RoomInventory ri) {
+            // 삭제된 재고 행은 "행 없음" = 기본 수량으로 돌아간다
+            publisher.publishEvent(removed
+                    ? InventoryChangedEvent.removed(ri.getRoomId(), ri.getDate())
+                    : new InventoryChangedEvent(ri.getRoomId(), ri.getDate(), ri.getAvailableQuantity()));
+        } else if (entity instanceof RoomPricePolicy p) {
+            publisher.publishEvent(CatalogChangedEvent.roomPrice(p.getRoomId(), removed));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.backend.hotel_search.event;
+
+import java.time.LocalDate;
+
+/**
+ * Room_Inventory 한 행(객실 × 날짜)의 잔여 수량이 바뀜. 예약 홀드/취소/만료 때마다 발행된다.
+ * removed 면 행이 지워진 것 (= 다시 기본 수량. availableQuantity 는 의미 없음)
+ */
+public record InventoryChangedEvent(Long roomId, LocalDate date, int availableQuantity, boolean removed) {
+
+    public InventoryChangedEvent(Long roomId, LocalDate date, int availableQuantity) {
+        this(roomId, date, availableQuantity, false);
+    }
+
+    public static InventoryChangedEvent removed(Long roomId, LocalDate date) {
+        return new InventoryChangedEvent(roomId, date, 0, true);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.backend.hotel_search.index;
+
+/** 인메모리 검색 인덱스에 들어가는 호텔 한 건 (DB 의 Hotel 에서 검색용 컬럼만). 좌표는 없으면 null */
+public record HotelDocument(
+        Long id,
+        String name,
+        String address,
+        String country,
+        Integer starRating,
+        Double latitude,
+        Double longitude
+) {}
@@ -0,0 +1,324 @@
+package com.example.backend.hotel_search.index;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 오타 교정("이런 검색어를 찾으셨나요?")용 용어 트라이 + 편집 거리 탐색.
+ *
+ * - 용어: 호텔 name / address / country 를 정규화한 뒤 공백으로 나눈 단어 (2글자 이상).
+ *   용어마다 그 단어를 가진 호텔 수를 세어 두고, 같은 거리면 호텔이 많은 쪽을 고른다.
+ * - 거리: 한글 음절을 초/중/종성으로 풀어서 잰 OSA(인접 전치 포함) 편집 거리.
+ *   "서욿 → 서울" 은 자모 하나 차이(1), "seuol → seoul" 은 전치 하나(1).
+ *   질의 단어의 자모 길이가 짧으면 허용 거리를 줄인다 (3 미만 0, 6 미만 1, 그 외 maxDistance).
+ * - 조회: 자모 트라이를 내려가며 DP 행을 하나씩 채운다 (Levenshtein 오토마톤을 흉내 낸 것).
+ *   행의 최솟값이 허용 거리를 넘으면 그 아래는 볼 필요가 없어서, 용어 전체가 아니라
+ *   질의 근처의 접두사만 훑는다. BK-tree 는 단어가 다양하면 가지치기가 거의 안 돼서 쓰지 않았다.
+ * - 용어가 빠지면 노드는 남겨 두고 호텔 수만 0 으로. 그런 용어가 살아 있는 용어 수를 넘으면 트라이를 다시 만든다.
+ * - 조회는 deadline(nanoTime) 을 받는다. 넘으면 그때까지 찾은 것만으로 답하고 timedOut 을 켠다.
+ *
+ * 읽기/쓰기는 ReadWriteLock 으로 보호한다.
+ */
+public class HotelFuzzyIndex {
+
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int DEADLINE_CHECK_EVERY = 64;
+
+    private final int maxDistance;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> termHotels = new HashMap<>();   // 용어 -> 호텔 수 (0 이면 트라이에만 남은 것)
+    private final Map<Long, Set<String>> docs = new HashMap<>();       // id -> 용어
+    private Node root = new Node();
+    private int nodeCount;
+    private int deadTerms;                                              // 호텔 수 0 인데 트라이에 남은 용어 수
+
+    private volatile long lastBuildMillis;
+    private volatile boolean ready;
+
+    public HotelFuzzyIndex(int maxDistance) {
+        this.maxDistance = maxDistance;
+    }
+
+    private static final class Node {
+        char[] labels = new char[0];   // 오름차순 (자모 단위)
+        Node[] kids = new Node[0];
+        String term;                   // 여기서 끝나는 용어 (없으면 null)
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i >= 0 ? kids[i] : null;
+        }
+
+        Node childOrAdd(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i >= 0) return kids[i];
+            int at = -i - 1;
+            Node n = new Node();
+            char[] l = new char[labels.length + 1];
+            Node[] k = new Node[kids.length + 1];
+            System.arraycopy(labels, 0, l, 0, at);
+            System.arraycopy(kids, 0, k, 0, at);
+            l[at] = c;
+            k[at] = n;
+            System.arraycopy(labels, at, l, at + 1, labels.length - at);
+            System.arraycopy(kids, at, k, at + 1, kids.length - at);
+            labels = l;
+            kids = k;
+            return n;
+        }
+    }
+
+    /** 교정 후보. distance 가 작은 순, 같으면 호텔 수가 많은 순 */
+    public record Match(String term, int distance, int hotels) {}
+
+    /** 조회 결과. timedOut 이면 트라이를 다 보지 못한 것 */
+    public record Result(List<Match> matches, boolean timedOut) {}
+
+    // ===== 빌드/갱신 =====
+
+    public void rebuild(Collection<HotelDocument> all) {
+        long start = System.nanoTime();
+        Map<Long, Set<String>> tmpDocs = new HashMap<>(all.size() * 2);
+        Map<String, Integer> tmpTerms = new HashMap<>();
+        for (HotelDocument d : all) {
+            Set<String> terms = termsOf(d);
+            tmpDocs.put(d.id(), terms);
+            for (String t : terms) tmpTerms.merge(t, 1, Integer::sum);
+        }
+        Node built = new Node();
+        int[] nodes = {0};
+        for (String t : tmpTerms.keySet()) nodes[0] += insert(built, t);
+
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            docs.putAll(tmpDocs);
+            termHotels.clear();
+            termHotels.putAll(tmpTerms);
+            root = built;
+            nodeCount = nodes[0];
+            deadTerms = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastBuildMillis = (System.nanoTime() - start) / 1_000_000;
+        ready = true;
+    }
+
+    public void upsert(HotelDocument d) {
+        Set<String> terms = termsOf(d);
+        lock.writeLock().lock();
+        try {
+            Set<String> old = docs.put(d.id(), terms);
+            if (old != null) old.forEach(this::release);
+            for (String t : terms) {
+                // termHotels 에 키가 있으면 (호텔 수 0 이라도) 트라이에 이미 있다
+                Integer before = termHotels.get(t);
+                if (before == null) {
+                    nodeCount += insert(root, t);
+                } else if (before == 0) {
+                    deadTerms--;
+                }
+                termHotels.put(t, before == null ? 1 : before + 1);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Set<String> old = docs.remove(id);
+            if (old == null) return;
+            old.forEach(this::release);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void release(String term) {
+        if (termHotels.merge(term, -1, Integer::sum) == 0) deadTerms++;
+    }
+
+    // 호텔 수 0 인 용어가 살아 있는 용어보다 많아지면 살아 있는 용어만으로 다시 만든다 (write lock 안에서)
+    private void compactIfNeeded() {
+        if (deadTerms <= termHotels.size() - deadTerms) return;
+        termHotels.values().removeIf(n -> n <= 0);
+        Node built = new Node();
+        int nodes = 0;
+        for (String t : termHotels.keySet()) nodes += insert(built, t);
+        root = built;
+        nodeCount = nodes;
+        deadTerms = 0;
+    }
+
+    // 새로 만든 노드 수를 돌려준다
+    private static int insert(Node root, String term) {
+        int created = 0;
+        Node n = root;
+        for (char c : jamo(term)) {
+            Node next = n.child(c);
+            if (next == null) {
+                next = n.childOrAdd(c);
+                created++;
+            }
+            n = next;
+        }
+        n.term = term;
+        return created;
+    }
+
+    // ===== 조회 =====
+
+    /**
+     * word 와 허용 거리 안의 용어. 가까운 순으로 최대 limit 개.
+     * word 는 정규화된 한 단어 (공백 없음). 정확히 같은 용어가 있으면 거리 0 으로 나온다.
+     */
+    public Result lookup(String word, int limit, long deadlineNanos) {
+        char[] q = jamo(word);
+        Search s = new Search(q, allowedDistance(q.length), deadlineNanos);
+        lock.readLock().lock();
+        try {
+            int[] first = s.row(0);
+            for (int j = 0; j < first.length; j++) first[j] = j;
+            for (int i = 0; i < root.labels.length && !s.timedOut; i++) {
+                s.visit(root.kids[i], root.labels[i], (char) 0, 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Match> found = s.found;
+        found.sort(Comparator.comparingInt(Match::distance)
+                .thenComparing(Comparator.comparingInt(Match::hotels).reversed())
+                .thenComparing(Match::term));
+        return new Result(found.size() > limit ? List.copyOf(found.subList(0, limit)) : found, s.timedOut);
+    }
+
+    /** 한 번의 조회 상태. 깊이마다 DP 행 하나 (rows[d] = 트라이 깊이 d 까지의 접두사와 질의의 거리) */
+    private final class Search {
+        final char[] q;
+        final int k;
+        final long deadline;
+        final List<Match> found = new ArrayList<>();
+        int[][] rows = new int[16][];
+        int visited;
+        boolean timedOut;
+
+        Search(char[] q, int k, long deadline) {
+            this.q = q;
+            this.k = k;
+            this.deadline = deadline;
+        }
+
+        int[] row(int depth) {
+            if (depth >= rows.length) rows = Arrays.copyOf(rows, rows.length * 2);
+            if (rows[depth] == null) rows[depth] = new int[q.length + 1];
+            return rows[depth];
+        }
+
+        // c = 이 노드로 들어온 글자, pc = 그 앞 글자 (전치 판정용)
+        void visit(Node node, char c, char pc, int depth) {
+            if (++visited % DEADLINE_CHECK_EVERY == 0 && System.nanoTime() > deadline) {
+                timedOut = true;
+                return;
+            }
+            int[] prev = rows[depth - 1];
+            int[] prev2 = depth >= 2 ? rows[depth - 2] : null;
+            int[] cur = row(depth);
+            cur[0] = depth;
+            int min = cur[0];
+            for (int j = 1; j <= q.length; j++) {
+                int v = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + (q[j - 1] == c ? 0 : 1));
+                if (prev2 != null && j > 1 && q[j - 1] == pc && q[j - 2] == c) v = Math.min(v, prev2[j - 2] + 1);
+                cur[j] = v;
+                min = Math.min(min, v);
+            }
+            if (node.term != null && cur[q.length] <= k) {
+                int hotels = termHotels.getOrDefault(node.term, 0);
+                if (hotels > 0) found.add(new Match(node.term, cur[q.length], hotels));
+            }
+            // 다음 행은 이 행(+1) 또는 전치로 앞 행(+1) 에서만 나온다
+            int prevMin = Integer.MAX_VALUE;
+            for (int v : prev) prevMin = Math.min(prevMin, v);
+            if (min > k && prevMin + 1 > k) return;
+            for (int i = 0; i < node.labels.length && !timedOut; i++) {
+                visit(node.kids[i], node.labels[i], c, depth + 1);
+            }
+        }
+    }
+
+    /** 질의(정규화 전)를 교정 대상 단어들로. 빈 토큰은 버린다 */
+    public static List<String> wordsOf(String q) {
+        String n = NgramTextIndex.normalize(q).trim();
+        return n.isEmpty() ? List.of() : List.of(n.split("\\s+"));
+    }
+
+    int allowedDistance(int jamoLength) {
+        if (jamoLength < 3) return 0;
+        if (jamoLength < 6) return Math.min(1, maxDistance);
+        return maxDistance;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return termHotels.size() - deadTerms;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return nodeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long lastBuildMillis() {
+        return lastBuildMillis;
+    }
+
+    // ===== 용어/거리 =====
+
+    private static Set<String> termsOf(HotelDocument d) {
+        Set<String> terms = new HashSet<>();
+        for (String f : new String[]{d.name(), d.address(), d.country()}) {
+            if (f == null) continue;
+            for (String w : wordsOf(f)) {
+                if (w.length() >= MIN_TERM_LENGTH) terms.add(w);
+            }
+        }
+        return terms;
+    }
+
+    // 한글 음절 → 초성(U+1100) + 중성(U+1161) + 종성(U+11A8, 있으면). 나머지 글자는 그대로
+    static char[] jamo(String s) {
+        StringBuilder sb = new StringBuilder(s.length() * 3);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0xAC00 && c <= 0xD7A3) {
+                int idx = c - 0xAC00;
+                sb.append((char) (0x1100 + idx / 588));
+                sb.append((char) (0x1161 + (idx % 588) / 28));
+                if (idx % 28 != 0) sb.append((char) (0x11A7 + idx % 28));
+            } else {
+                sb.append(c);
+            }
+        }
+        char[] out = new char[sb.length()];
+        sb.getChars(0, out.length, out, 0);
+        return out;
+    }
+}
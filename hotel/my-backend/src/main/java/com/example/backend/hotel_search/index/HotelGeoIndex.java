@@ -0,0 +1,276 @@
+package com.example.backend.hotel_search.index;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 호텔 좌표 균일 격자 인덱스.
+ *
+ * - 위도/경도를 cellDegrees 간격 격자로 나눠 칸마다 호텔 id 를 들고 있다.
+ *   반경/영역 검색은 겹치는 칸만 훑고 그 안의 호텔만 실제 거리(하버사인)를 잰다 → 전체 거리 계산이 없다.
+ * - 경도 칸 번호는 360° 를 돌아 감기므로 날짜변경선(±180°) 을 걸치는 영역도 그대로 된다.
+ *   반경 원이 극을 포함하면 그 위도 구간의 경도 칸을 전부 본다.
+ * - 좌표가 없는 호텔은 들어가지 않는다.
+ *
+ * 읽기/쓰기는 ReadWriteLock 으로 보호한다.
+ */
+public class HotelGeoIndex {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final long[] EMPTY = new long[0];
+
+    private final double cellDegrees;
+    private final int cols;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, double[]> points = new HashMap<>(); // id -> {lat, lng}
+    private final Map<Long, long[]> cells = new HashMap<>();    // 칸 -> 정렬된 호텔 id
+
+    private volatile long lastBuildMillis;
+    private volatile boolean ready;
+
+    public HotelGeoIndex(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.cols = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    /** 검색 결과. ids 는 오름차순, km 는 같은 자리의 기준점까지 거리 */
+    public record Hits(long[] ids, double[] km) {
+        /** 그 호텔까지 거리 (결과에 없으면 NaN) */
+        public double distanceKm(long id) {
+            int i = Arrays.binarySearch(ids, id);
+            return i >= 0 ? km[i] : Double.NaN;
+        }
+    }
+
+    // ===== 빌드/갱신 =====
+
+    public void rebuild(Collection<HotelDocument> all) {
+        long start = System.nanoTime();
+        Map<Long, double[]> tmpPoints = new HashMap<>(all.size() * 2);
+        Map<Long, List<Long>> tmpCells = new HashMap<>();
+        for (HotelDocument d : all) {
+            double[] p = pointOf(d);
+            if (p == null) continue;
+            tmpPoints.put(d.id(), p);
+            tmpCells.computeIfAbsent(cellOf(p[0], p[1]), k -> new ArrayList<>()).add(d.id());
+        }
+        Map<Long, long[]> built = new HashMap<>(tmpCells.size() * 2);
+        tmpCells.forEach((c, ids) -> built.put(c, ids.stream().mapToLong(Long::longValue).sorted().toArray()));
+
+        lock.writeLock().lock();
+        try {
+            points.clear();
+            points.putAll(tmpPoints);
+            cells.clear();
+            cells.putAll(built);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastBuildMillis = (System.nanoTime() - start) / 1_000_000;
+        ready = true;
+    }
+
+    public void upsert(HotelDocument d) {
+        double[] p = pointOf(d);
+        lock.writeLock().lock();
+        try {
+            double[] old = points.get(d.id());
+            if (Arrays.equals(old, p)) return;
+            if (old != null) removeFromCell(cellOf(old[0], old[1]), d.id());
+            if (p == null) {
+                points.remove(d.id());
+                return;
+            }
+            points.put(d.id(), p);
+            long cell = cellOf(p[0], p[1]);
+            long[] ids = cells.getOrDefault(cell, EMPTY);
+            int i = Arrays.binarySearch(ids, d.id());
+            if (i < 0) {
+                int at = -i - 1;
+                long[] next = new long[ids.length + 1];
+                System.arraycopy(ids, 0, next, 0, at);
+                next[at] = d.id();
+                System.arraycopy(ids, at, next, at + 1, ids.length - at);
+                cells.put(cell, next);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            double[] old = points.remove(id);
+            if (old != null) removeFromCell(cellOf(old[0], old[1]), id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeFromCell(long cell, long id) {
+        long[] ids = cells.get(cell);
+        if (ids == null) return;
+        int i = Arrays.binarySearch(ids, id);
+        if (i < 0) return;
+        if (ids.length == 1) {
+            cells.remove(cell);
+            return;
+        }
+        long[] next = new long[ids.length - 1];
+        System.arraycopy(ids, 0, next, 0, i);
+        System.arraycopy(ids, i + 1, next, i, ids.length - i - 1);
+        cells.put(cell, next);
+    }
+
+    // ===== 조회 =====
+
+    /** (lat, lng) 에서 radiusKm 안의 호텔과 거리 */
+    public Hits withinRadius(double lat, double lng, double radiusKm) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double south = Math.max(lat - dLat, -90);
+        double north = Math.min(lat + dLat, 90);
+        // 구간에서 가장 극에 가까운 위도 기준으로 경도 폭을 잡는다 (극을 포함하면 전 경도)
+        double maxAbsLat = Math.max(Math.abs(south), Math.abs(north));
+        double cos = Math.cos(Math.toRadians(maxAbsLat));
+        boolean allLng = north >= 90 || south <= -90 || radiusKm / (KM_PER_DEGREE * cos) >= 180;
+        double dLng = allLng ? 180 : radiusKm / (KM_PER_DEGREE * cos);
+
+        return scan(south, north, lng - dLng, lng + dLng, allLng, p -> {
+            double km = haversineKm(lat, lng, p[0], p[1]);
+            return km <= radiusKm ? km : Double.NaN;
+        });
+    }
+
+    /**
+     * 영역 [south, north] × [west, east] 안의 호텔. west > east 면 날짜변경선을 걸친 영역.
+     * 거리는 영역 중심까지.
+     */
+    public Hits withinBox(double south, double west, double north, double east) {
+        double width = east >= west ? east - west : east + 360 - west;
+        double cLat = (south + north) / 2;
+        double cLng = normalizeLng(west + width / 2);
+        return scan(south, north, west, west + width, width >= 360, p -> {
+            if (p[0] < south || p[0] > north) return Double.NaN;
+            double off = p[1] - west;
+            if (off < 0) off += 360;
+            if (off > width) return Double.NaN;
+            return haversineKm(cLat, cLng, p[0], p[1]);
+        });
+    }
+
+    private interface Measure {
+        /** 조건에 맞으면 거리, 아니면 NaN */
+        double km(double[] p);
+    }
+
+    // [west, east] 는 펼친 경도 (east 가 180 을 넘거나 west 가 -180 보다 작을 수 있음)
+    private Hits scan(double south, double north, double west, double east, boolean allLng, Measure m) {
+        int r0 = row(south), r1 = row(north);
+        int c0 = allLng ? 0 : (int) Math.floor((west + 180) / cellDegrees);
+        int c1 = allLng ? cols - 1 : (int) Math.floor((east + 180) / cellDegrees);
+        if (c1 - c0 >= cols) { c0 = 0; c1 = cols - 1; }
+
+        long[] ids = new long[64];
+        double[] km = new double[64];
+        int n = 0;
+        lock.readLock().lock();
+        try {
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    long[] inCell = cells.get((long) r * cols + Math.floorMod(c, cols));
+                    if (inCell == null) continue;
+                    for (long id : inCell) {
+                        double d = m.km(points.get(id));
+                        if (Double.isNaN(d)) continue;
+                        if (n == ids.length) {
+                            ids = Arrays.copyOf(ids, n * 2);
+                            km = Arrays.copyOf(km, n * 2);
+                        }
+                        ids[n] = id;
+                        km[n++] = d;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return sortedById(ids, km, n);
+    }
+
+    private static Hits sortedById(long[] ids, double[] km, int n) {
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingLong(i -> ids[i]));
+        long[] outIds = new long[n];
+        double[] outKm = new double[n];
+        for (int i = 0; i < n; i++) {
+            outIds[i] = ids[order[i]];
+            outKm[i] = km[order[i]];
+        }
+        return new Hits(outIds, outKm);
+    }
+
+    // ===== 상태 =====
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int hotelCount() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int cellCount() {
+        lock.readLock().lock();
+        try {
+            return cells.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long lastBuildMillis() {
+        return lastBuildMillis;
+    }
+
+    // ===== 좌표 =====
+
+    private long cellOf(double lat, double lng) {
+        return (long) row(lat) * cols + Math.floorMod((int) Math.floor((lng + 180) / cellDegrees), cols);
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((Math.max(-90, Math.min(90, lat)) + 90) / cellDegrees);
+    }
+
+    private static double[] pointOf(HotelDocument d) {
+        if (d.latitude() == null || d.longitude() == null) return null;
+        double lat = d.latitude(), lng = d.longitude();
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) return null;
+        return new double[]{lat, lng};
+    }
+
+    static double normalizeLng(double lng) {
+        double x = (lng + 180) % 360;
+        if (x < 0) x += 360;
+        return x - 180;
+    }
+
+    /** 두 점 사이 대권 거리 (km) */
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double p1 = Math.toRadians(lat1), p2 = Math.toRadians(lat2);
+        double dp = p2 - p1;
+        double dl = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dp / 2) * Math.sin(dp / 2)
+                + Math.cos(p1) * Math.cos(p2) * Math.sin(dl / 2) * Math.sin(dl / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.backend.hotel_search.index;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 호텔별 정렬 키 (성급, 이름 collation key).
+ *
+ * 이름 정렬은 한국어 Collator 기준인데 compare 마다 Collator 를 돌리면 비싸므로
+ * CollationKey 를 미리 만들어 두고 바이트 비교만 한다. Collator 는 스레드 안전하지 않아서 쓰기만 synchronized.
+ */
+public class HotelSortKeys {
+
+    /** 모르는 호텔은 성급 0, 이름 키 없음(맨 뒤) */
+    public record Keys(int stars, CollationKey name) {}
+
+    private static final Keys UNKNOWN = new Keys(0, null);
+
+    private final Collator collator;
+    private final Map<Long, Keys> keys = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public HotelSortKeys(Locale locale) {
+        this.collator = Collator.getInstance(locale);
+        this.collator.setStrength(Collator.SECONDARY); // 대소문자 무시
+    }
+
+    public synchronized void rebuild(Collection<HotelDocument> all) {
+        Map<Long, Keys> built = new HashMap<>(all.size() * 2);
+        for (HotelDocument d : all) built.put(d.id(), keysOf(d));
+        keys.keySet().retainAll(built.keySet());
+        keys.putAll(built);
+        ready = true;
+    }
+
+    public synchronized void upsert(HotelDocument d) {
+        keys.put(d.id(), keysOf(d));
+    }
+
+    public void remove(long id) {
+        keys.remove(id);
+    }
+
+    public Keys get(long id) {
+        return keys.getOrDefault(id, UNKNOWN);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    private Keys keysOf(HotelDocument d) {
+        int stars = d.starRating() == null ? 0 : d.starRating();
+        CollationKey name = d.name() == null ? null : collator.getCollationKey(d.name().trim());
+        return new Keys(stars, name);
+    }
+}
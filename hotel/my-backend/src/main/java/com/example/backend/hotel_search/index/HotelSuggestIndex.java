@@ -0,0 +1,434 @@
+package com.example.backend.hotel_search.index;
+
+import java.util.*;
+
+/**
+ * 호텔명 / 도시(주소 첫 단어) / 국가 자동완성용 인메모리 트라이.
+ *
+ * - 각 후보의 단어 시작 위치마다 키를 넣는다 ("서울 스카이 호텔" → "서울 스카이 호텔", "스카이 호텔", "호텔").
+ * - 한글이 있으면 초성 키도 같이 넣는다 ("ᄉᄋᄉᄏᄋᄒᄐ"). NFKC 가 호환 자모(ㅅ)를 초성 자모(ᄉ)로 바꾸므로
+ *   키도 초성 자모(U+1100~U+1112)로 만든다. "서ㅇ" 처럼 섞인 입력은 초성 키로 찾은 뒤 글자 단위로 다시 확인.
+ *   미리 든 상위 K 로 모자라면 그 하위 트리를 순위 순으로 더 훑는다 (노드 MIXED_SCAN_MAX_NODES 개까지).
+ * - 노드마다 하위 트리의 상위 K 개를 미리 들고 있어서 조회는 prefix 길이만큼 내려가면 끝난다.
+ * - 노드는 불변. 호텔 변경 시 바뀐 키의 경로만 복사해서 새 루트를 만들고 volatile 로 교체 → 읽기는 락이 없다.
+ *   쓰기(빌드/갱신)는 synchronized 로 한 번에 하나.
+ */
+public class HotelSuggestIndex {
+
+    // 섞인 입력에서 하위 트리를 더 훑을 때 펼치는 노드 상한 (맞는 후보가 거의 없는 짧은 질의가 트리 전체를 돌지 않도록)
+    private static final int MIXED_SCAN_MAX_NODES = 4096;
+
+    private final int topK;
+
+    private volatile Node root;
+    private volatile boolean ready;
+    private volatile long lastBuildMillis;
+
+    // 쓰기 쪽 상태 (synchronized 안에서만 접근)
+    private final Map<Long, HotelDocument> docs = new HashMap<>();
+    private final Map<String, Integer> cityCounts = new HashMap<>();
+    private final Map<String, Integer> countryCounts = new HashMap<>();
+
+    public HotelSuggestIndex(int topK) {
+        this.topK = topK;
+        this.root = new Node(new char[0], new Node[0], new Entry[0], new Entry[0]);
+    }
+
+    /** 후보 + 정렬 점수. 점수가 같으면 짧은 것, 그다음 사전순 */
+    private record Entry(Suggestion s, int score) {
+        boolean sameTarget(Entry o) {
+            return o != null && s.type() == o.s.type() && s.text().equals(o.s.text())
+                    && Objects.equals(s.hotelId(), o.s.hotelId());
+        }
+    }
+
+    private static final Comparator<Entry> RANK = Comparator
+            .comparingInt((Entry e) -> -e.score())
+            .thenComparingInt(e -> e.s().text().length())
+            .thenComparing(e -> e.s().text())
+            .thenComparing(e -> e.s().hotelId() == null ? 0L : e.s().hotelId());
+
+    private static final class Node {
+        final char[] labels;   // 오름차순
+        final Node[] kids;
+        final Entry[] here;    // 이 노드에서 끝나는 키의 후보
+        final Entry[] top;     // 하위 트리 전체의 상위 K (중복 없음)
+
+        Node(char[] labels, Node[] kids, Entry[] here, Entry[] top) {
+            this.labels = labels;
+            this.kids = kids;
+            this.here = here;
+            this.top = top;
+        }
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i >= 0 ? kids[i] : null;
+        }
+    }
+
+    // ===== 빌드/갱신 =====
+
+    public synchronized void rebuild(Collection<HotelDocument> all) {
+        long start = System.nanoTime();
+        docs.clear();
+        cityCounts.clear();
+        countryCounts.clear();
+        for (HotelDocument d : all) {
+            docs.put(d.id(), d);
+            count(cityCounts, cityOf(d), 1);
+            count(countryCounts, countryOf(d), 1);
+        }
+
+        MutableNode mroot = new MutableNode();
+        for (HotelDocument d : all) {
+            Entry e = hotelEntry(d);
+            if (e != null) mroot.insertAll(keysOf(e.s().text()), e);
+        }
+        cityCounts.forEach((city, n) -> mroot.insertAll(keysOf(city), regionEntry(Suggestion.Type.CITY, city, n)));
+        countryCounts.forEach((c, n) -> mroot.insertAll(keysOf(c), regionEntry(Suggestion.Type.COUNTRY, c, n)));
+
+        Node built = mroot.freeze(topK);
+        root = built != null ? built : new Node(new char[0], new Node[0], new Entry[0], new Entry[0]);
+        lastBuildMillis = (System.nanoTime() - start) / 1_000_000;
+        ready = true;
+    }
+
+    public synchronized void upsert(HotelDocument d) {
+        HotelDocument old = docs.get(d.id());
+        if (d.equals(old)) return;
+        apply(old, d);
+        docs.put(d.id(), d);
+    }
+
+    public synchronized void remove(long id) {
+        HotelDocument old = docs.remove(id);
+        if (old != null) apply(old, null);
+    }
+
+    // 바뀐 후보(호텔 자신, 이전/새 도시·국가의 호텔 수)의 키 경로만 다시 만든다
+    private void apply(HotelDocument old, HotelDocument neu) {
+        Node r = root;
+        r = replace(r, old == null ? null : hotelEntry(old), neu == null ? null : hotelEntry(neu));
+        r = region(r, Suggestion.Type.CITY, cityCounts,
+                old == null ? null : cityOf(old), neu == null ? null : cityOf(neu));
+        r = region(r, Suggestion.Type.COUNTRY, countryCounts,
+                old == null ? null : countryOf(old), neu == null ? null : countryOf(neu));
+        root = r != null ? r : new Node(new char[0], new Node[0], new Entry[0], new Entry[0]);
+    }
+
+    private Node region(Node r, Suggestion.Type type, Map<String, Integer> counts, String oldName, String newName) {
+        if (Objects.equals(oldName, newName)) return r;
+        if (oldName != null) {
+            int before = counts.getOrDefault(oldName, 0);
+            count(counts, oldName, -1);
+            r = replace(r, regionEntry(type, oldName, before),
+                    before > 1 ? regionEntry(type, oldName, before - 1) : null);
+        }
+        if (newName != null) {
+            int before = counts.getOrDefault(newName, 0);
+            count(counts, newName, 1);
+            r = replace(r, before > 0 ? regionEntry(type, newName, before) : null,
+                    regionEntry(type, newName, before + 1));
+        }
+        return r;
+    }
+
+    private Node replace(Node r, Entry old, Entry neu) {
+        if (old == null && neu == null) return r;
+        Set<String> oldKeys = old == null ? Set.of() : keysOf(old.s().text());
+        Set<String> newKeys = neu == null ? Set.of() : keysOf(neu.s().text());
+        for (String k : oldKeys) {
+            r = update(r, k, 0, old, newKeys.contains(k) ? neu : null);
+        }
+        for (String k : newKeys) {
+            if (!oldKeys.contains(k)) r = update(r, k, 0, old, neu);
+        }
+        return r;
+    }
+
+    // 경로 복사: key 위치의 후보에서 old/neu 와 같은 대상은 빼고 neu 를 넣은 새 노드들
+    private Node update(Node n, String key, int depth, Entry old, Entry neu) {
+        char[] labels = n == null ? new char[0] : n.labels;
+        Node[] kids = n == null ? new Node[0] : n.kids;
+        Entry[] here = n == null ? new Entry[0] : n.here;
+
+        if (depth == key.length()) {
+            List<Entry> list = new ArrayList<>(here.length + 1);
+            for (Entry e : here) {
+                if (!e.sameTarget(old) && !e.sameTarget(neu)) list.add(e);
+            }
+            if (neu != null) list.add(neu);
+            here = list.toArray(new Entry[0]);
+        } else {
+            char c = key.charAt(depth);
+            int i = Arrays.binarySearch(labels, c);
+            Node child = update(i >= 0 ? kids[i] : null, key, depth + 1, old, neu);
+            if (i >= 0 && child != null) {
+                kids = kids.clone();
+                kids[i] = child;
+            } else if (i >= 0) {
+                labels = removeAt(labels, i);
+                kids = removeAt(kids, i);
+            } else if (child != null) {
+                int at = -i - 1;
+                labels = insertAt(labels, at, c);
+                kids = insertAt(kids, at, child);
+            }
+        }
+        if (here.length == 0 && kids.length == 0) return null;
+        return new Node(labels, kids, here, topOf(here, kids, topK));
+    }
+
+    // ===== 조회 =====
+
+    /** prefix 로 시작하는 단어가 있는 후보 상위 limit 개 (limit 은 topK 까지) */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String q = normalizeKey(prefix);
+        if (q.isEmpty() || limit <= 0) return List.of();
+
+        boolean jamo = hasChoseong(q);
+        String key = jamo ? choseong(q) : q;
+        Node n = root;
+        for (int i = 0; i < key.length() && n != null; i++) n = n.child(key.charAt(i));
+        if (n == null) return List.of();
+
+        boolean verify = jamo && !allChoseong(key, q);
+        List<Suggestion> out = new ArrayList<>(Math.min(limit, n.top.length));
+        for (Entry e : n.top) {
+            if (out.size() >= limit) break;
+            if (verify && !matchesMixed(e.s().text(), q)) continue;
+            out.add(e.s());
+        }
+        // top 이 잘린 목록(= topK 개)인데 확인을 통과한 게 모자라면 top 밖에 더 있을 수 있다
+        if (verify && out.size() < limit && n.top.length > 0 && n.top.length >= topK) return scanMixed(n, q, limit);
+        return out;
+    }
+
+    /** 순위 탐색 대기열 항목. node 가 null 이면 후보 하나, 아니면 하위 트리 (best = 그 top[0], 하위 트리의 최고 순위) */
+    private record Pending(Entry best, Node node) {}
+
+    // 하위 트리의 후보를 순위 순으로 꺼내며 섞인 입력과 맞는 것 limit 개. 노드는 top[0] 으로 줄을 세우므로
+    // 후보가 나오는 순서가 곧 전체 순위다
+    private static List<Suggestion> scanMixed(Node start, String q, int limit) {
+        PriorityQueue<Pending> queue = new PriorityQueue<>((a, b) -> RANK.compare(a.best(), b.best()));
+        queue.add(new Pending(start.top[0], start));
+        Set<Suggestion> seen = new HashSet<>();
+        List<Suggestion> out = new ArrayList<>(limit);
+        int expanded = 0;
+        while (!queue.isEmpty() && out.size() < limit) {
+            Pending p = queue.poll();
+            if (p.node() == null) {
+                Suggestion s = p.best().s();
+                if (seen.add(s) && matchesMixed(s.text(), q)) out.add(s);
+                continue;
+            }
+            if (++expanded > MIXED_SCAN_MAX_NODES) break;
+            for (Entry e : p.node().here) queue.add(new Pending(e, null));
+            for (Node kid : p.node().kids) queue.add(new Pending(kid.top[0], kid));
+        }
+        return out;
+    }
+
+    // ===== 상태 =====
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public synchronized int hotelCount() {
+        return docs.size();
+    }
+
+    public synchronized int cityCount() {
+        return cityCounts.size();
+    }
+
+    public synchronized int countryCount() {
+        return countryCounts.size();
+    }
+
+    public long lastBuildMillis() {
+        return lastBuildMillis;
+    }
+
+    // ===== 후보/키 =====
+
+    private static Entry hotelEntry(HotelDocument d) {
+        if (d.name() == null || d.name().isBlank()) return null;
+        int stars = d.starRating() == null ? 0 : d.starRating();
+        return new Entry(new Suggestion(Suggestion.Type.HOTEL, d.name().trim(), d.id(), 1), stars);
+    }
+
+    // 지역은 같은 이름 호텔보다 앞에 오도록 호텔 수 × 10 (+ 도시 > 국가)
+    private static Entry regionEntry(Suggestion.Type type, String name, int hotels) {
+        int score = hotels * 10 + (type == Suggestion.Type.CITY ? 9 : 8);
+        return new Entry(new Suggestion(type, name, null, hotels), score);
+    }
+
+    // 주소 첫 단어를 도시로 본다 ("서울특별시 중구 ..." → "서울특별시")
+    private static String cityOf(HotelDocument d) {
+        if (d.address() == null || d.address().isBlank()) return null;
+        return d.address().trim().split("\\s+", 2)[0];
+    }
+
+    private static String countryOf(HotelDocument d) {
+        return d.country() == null || d.country().isBlank() ? null : d.country().trim();
+    }
+
+    private static void count(Map<String, Integer> counts, String key, int delta) {
+        if (key == null) return;
+        counts.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    // 단어 시작마다 원문 키 + (한글이 있으면) 초성 키
+    static Set<String> keysOf(String text) {
+        String n = normalizeKey(text);
+        Set<String> keys = new LinkedHashSet<>();
+        boolean hangul = false;
+        for (int i = 0; i < n.length(); i++) {
+            char c = n.charAt(i);
+            if (isSyllable(c)) hangul = true;
+            if (i == 0 || n.charAt(i - 1) == ' ') keys.add(n.substring(i));
+        }
+        if (hangul) {
+            for (int i = 0; i < n.length(); i++) {
+                if (i == 0 || n.charAt(i - 1) == ' ') keys.add(choseong(n.substring(i)));
+            }
+        }
+        keys.remove("");
+        return keys;
+    }
+
+    /** NFKC + 소문자 + 공백 하나로 */
+    static String normalizeKey(String s) {
+        return NgramTextIndex.normalize(s).replaceAll("\\s+", " ");
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= 0xAC00 && c <= 0xD7A3;
+    }
+
+    private static boolean isChoseong(char c) {
+        return c >= 0x1100 && c <= 0x1112;
+    }
+
+    private static boolean hasChoseong(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (isChoseong(s.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    // 음절 → 초성, 공백 제거, 나머지는 그대로
+    static String choseong(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == ' ') continue;
+            sb.append(isSyllable(c) ? (char) (0x1100 + (c - 0xAC00) / 588) : c);
+        }
+        return sb.toString();
+    }
+
+    // 질의에 완성 음절이 없으면(공백 제외) 초성 키 일치만으로 충분
+    private static boolean allChoseong(String key, String q) {
+        return key.length() == q.replace(" ", "").length() && !q.chars().anyMatch(c -> isSyllable((char) c));
+    }
+
+    // "서ㅇ" 같은 혼합 입력: 어떤 단어 시작에서든 글자마다 같거나, 질의가 초성이면 초성이 같아야 함
+    private static boolean matchesMixed(String text, String q) {
+        String t = normalizeKey(text);
+        String qs = q.replace(" ", "");
+        for (int start = 0; start < t.length(); start++) {
+            if (start > 0 && t.charAt(start - 1) != ' ') continue;
+            String s = t.substring(start).replace(" ", "");
+            if (s.length() < qs.length()) continue;
+            boolean ok = true;
+            for (int i = 0; i < qs.length() && ok; i++) {
+                char qc = qs.charAt(i);
+                char tc = s.charAt(i);
+                ok = qc == tc || (isChoseong(qc) && isSyllable(tc) && 0x1100 + (tc - 0xAC00) / 588 == qc);
+            }
+            if (ok) return true;
+        }
+        return false;
+    }
+
+    // ===== 트라이 유틸 =====
+
+    private static Entry[] topOf(Entry[] here, Node[] kids, int k) {
+        if (here.length == 0 && kids.length == 1) return kids[0].top; // 외길은 배열 공유
+        List<Entry> all = new ArrayList<>(here.length + kids.length * k);
+        Collections.addAll(all, here);
+        for (Node kid : kids) Collections.addAll(all, kid.top);
+        all.sort(RANK);
+        List<Entry> out = new ArrayList<>(Math.min(k, all.size()));
+        for (Entry e : all) {
+            if (out.size() >= k) break;
+            boolean dup = false;
+            for (Entry o : out) {
+                if (o.sameTarget(e)) { dup = true; break; }
+            }
+            if (!dup) out.add(e);
+        }
+        return out.toArray(new Entry[0]);
+    }
+
+    private static char[] insertAt(char[] a, int at, char c) {
+        char[] out = new char[a.length + 1];
+        System.arraycopy(a, 0, out, 0, at);
+        out[at] = c;
+        System.arraycopy(a, at, out, at + 1, a.length - at);
+        return out;
+    }
+
+    private static Node[] insertAt(Node[] a, int at, Node n) {
+        Node[] out = new Node[a.length + 1];
+        System.arraycopy(a, 0, out, 0, at);
+        out[at] = n;
+        System.arraycopy(a, at, out, at + 1, a.length - at);
+        return out;
+    }
+
+    private static char[] removeAt(char[] a, int at) {
+        char[] out = new char[a.length - 1];
+        System.arraycopy(a, 0, out, 0, at);
+        System.arraycopy(a, at + 1, out, at, a.length - at - 1);
+        return out;
+    }
+
+    private static Node[] removeAt(Node[] a, int at) {
+        Node[] out = new Node[a.length - 1];
+        System.arraycopy(a, 0, out, 0, at);
+        System.arraycopy(a, at + 1, out, at, a.length - at - 1);
+        return out;
+    }
+
+    // 전체 빌드용 가변 트라이. 다 넣은 뒤 아래에서부터 불변 노드로 바꾼다
+    private static final class MutableNode {
+        final TreeMap<Character, MutableNode> kids = new TreeMap<>();
+        final List<Entry> here = new ArrayList<>(1);
+
+        void insertAll(Set<String> keys, Entry e) {
+            for (String k : keys) {
+                MutableNode n = this;
+                for (int i = 0; i < k.length(); i++) n = n.kids.computeIfAbsent(k.charAt(i), c -> new MutableNode());
+                n.here.add(e);
+            }
+        }
+
+        Node freeze(int k) {
+            char[] labels = new char[kids.size()];
+            Node[] frozen = new Node[kids.size()];
+            int i = 0;
+            for (Map.Entry<Character, MutableNode> c : kids.entrySet()) {
+                labels[i] = c.getKey();
+                frozen[i++] = c.getValue().freeze(k);
+            }
+            if (here.isEmpty() && frozen.length == 0) return null;
+            Entry[] h = here.toArray(new Entry[0]);
+            return new Node(labels, frozen, h, topOf(h, frozen, k));
+        }
+    }
+}
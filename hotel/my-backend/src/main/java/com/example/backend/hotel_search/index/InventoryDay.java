@@ -0,0 +1,6 @@
+package com.example.backend.hotel_search.index;
+
+import java.time.LocalDate;
+
+/** Room_Inventory 에서 가용성 인덱스 적재에 필요한 컬럼만 */
+public record InventoryDay(Long roomId, LocalDate date, Integer availableQuantity) {}
@@ -0,0 +1,244 @@
+package com.example.backend.hotel_search.index;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 호텔 name / address / country 에 대한 인메모리 n-gram 역색인.
+ *
+ * - 2-gram 기준. 한글 등 비 ASCII 문자는 1-gram 도 같이 넣어서 "서" 같은 한 글자 검색도 받는다.
+ * - posting 은 정렬된 long[] (hotel id). 갱신이 드물어서 갱신 시 배열을 새로 만든다.
+ * - 교집합으로 후보를 만든 뒤 원문 contains 로 다시 확인 → 결과는 기존 LIKE '%q%' 와 같다.
+ *
+ * 읽기/쓰기는 ReadWriteLock 으로 보호한다.
+ */
+public class NgramTextIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, long[]> postings = new HashMap<>();
+    private final Map<Long, String[]> docs = new HashMap<>(); // id -> 정규화된 [name, address, country]
+
+    private volatile long lastBuildMillis;
+    private volatile boolean ready;
+
+    // ===== 빌드/갱신 =====
+
+    public void rebuild(Collection<HotelDocument> all) {
+        long start = System.nanoTime();
+        Map<String, List<Long>> tmp = new HashMap<>();
+        Map<Long, String[]> tmpDocs = new HashMap<>(all.size() * 2);
+        for (HotelDocument d : all) {
+            String[] fields = fieldsOf(d);
+            tmpDocs.put(d.id(), fields);
+            for (String g : gramsOf(fields)) {
+                tmp.computeIfAbsent(g, k -> new ArrayList<>()).add(d.id());
+            }
+        }
+        Map<String, long[]> built = new HashMap<>(tmp.size() * 2);
+        tmp.forEach((g, ids) -> {
+            long[] arr = ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+            built.put(g, arr);
+        });
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            postings.putAll(built);
+            docs.clear();
+            docs.putAll(tmpDocs);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastBuildMillis = (System.nanoTime() - start) / 1_000_000;
+        ready = true;
+    }
+
+    public void upsert(HotelDocument d) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(d.id());
+            String[] fields = fieldsOf(d);
+            docs.put(d.id(), fields);
+            for (String g : gramsOf(fields)) {
+                postings.put(g, insertSorted(postings.getOrDefault(g, EMPTY), d.id()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeInternal(long id) {
+        String[] old = docs.remove(id);
+        if (old == null) return;
+        for (String g : gramsOf(old)) {
+            long[] p = postings.get(g);
+            if (p == null) continue;
+            long[] next = removeSorted(p, id);
+            if (next.length == 0) postings.remove(g);
+            else postings.put(g, next);
+        }
+    }
+
+    // ===== 조회 =====
+
+    /**
+     * q 를 name/address/country 중 하나라도 포함하는 호텔 id (오름차순).
+     * 색인으로 답할 수 없는 질의(ASCII 한 글자, LIKE 와일드카드 포함 등)는 null → 호출 쪽에서 SQL LIKE 로 처리.
+     */
+    public long[] search(String q) {
+        String nq = normalize(q);
+        if (nq.isEmpty() || nq.indexOf('%') >= 0 || nq.indexOf('_') >= 0) return null;
+        Set<String> grams = gramsOf(nq);
+        if (grams.isEmpty()) return null;
+
+        lock.readLock().lock();
+        try {
+            List<long[]> lists = new ArrayList<>(grams.size());
+            for (String g : grams) {
+                long[] p = postings.get(g);
+                if (p == null) return EMPTY;
+                lists.add(p);
+            }
+            lists.sort(Comparator.comparingInt(a -> a.length));
+
+            long[] cur = lists.get(0);
+            for (int i = 1; i < lists.size() && cur.length > 0; i++) {
+                cur = intersect(cur, lists.get(i));
+            }
+
+            // n-gram 교집합은 후보일 뿐이므로 원문으로 확인
+            long[] out = new long[cur.length];
+            int n = 0;
+            for (long id : cur) {
+                String[] f = docs.get(id);
+                if (f != null && (f[0].contains(nq) || f[1].contains(nq) || f[2].contains(nq))) {
+                    out[n++] = id;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 이미 색인된 호텔이 q 에 걸리는지 (색인에 없으면 false) */
+    public boolean matches(long id, String q) {
+        String nq = normalize(q);
+        lock.readLock().lock();
+        try {
+            String[] f = docs.get(id);
+            return f != null && (f[0].contains(nq) || f[1].contains(nq) || f[2].contains(nq));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===== 상태 =====
+
+    /** 최초 빌드가 끝나기 전에는 false → 검색은 SQL LIKE 경로를 쓴다 */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try { return docs.size(); } finally { lock.readLock().unlock(); }
+    }
+
+    public int gramCount() {
+        lock.readLock().lock();
+        try { return postings.size(); } finally { lock.readLock().unlock(); }
+    }
+
+    public long lastBuildMillis() {
+        return lastBuildMillis;
+    }
+
+    /** 대략적인 힙 사용량(byte). 객체 헤더/참조 크기는 64bit + compressed oops 기준 추정치 */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Map.Entry<String, long[]> e : postings.entrySet()) {
+                bytes += 32                                   // HashMap.Node
+                        + 40 + 2L * e.getKey().length()       // String + byte[]
+                        + 16 + 8L * e.getValue().length;      // long[]
+            }
+            for (String[] f : docs.values()) {
+                bytes += 32 + 16 /* Long */ + 16 + 4L * f.length;
+                for (String s : f) bytes += 40 + 2L * s.length();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===== 내부 유틸 =====
+
+    /** LIKE 의 대소문자 무시 비교에 맞춰 NFKC + 소문자 */
+    public static String normalize(String s) {
+        if (s == null) return "";
+        return Normalizer.normalize(s, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static String[] fieldsOf(HotelDocument d) {
+        return new String[]{ normalize(d.name()), normalize(d.address()), normalize(d.country()) };
+    }
+
+    private static Set<String> gramsOf(String... fields) {
+        Set<String> out = new HashSet<>();
+        for (String f : fields) {
+            if (f == null) continue;
+            for (int i = 0; i < f.length(); i++) {
+                char c = f.charAt(i);
+                if (c > 0x7F && !Character.isWhitespace(c)) out.add(String.valueOf(c));
+                if (i + 1 < f.length()) out.add(f.substring(i, i + 2));
+            }
+        }
+        return out;
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) { out[n++] = a[i]; i++; j++; }
+            else if (a[i] < b[j]) i++;
+            else j++;
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static long[] insertSorted(long[] a, long id) {
+        int pos = Arrays.binarySearch(a, id);
+        if (pos >= 0) return a;
+        pos = -pos - 1;
+        long[] out = new long[a.length + 1];
+        System.arraycopy(a, 0, out, 0, pos);
+        out[pos] = id;
+        System.arraycopy(a, pos, out, pos + 1, a.length - pos);
+        return out;
+    }
+
+    private static long[] removeSorted(long[] a, long id) {
+        int pos = Arrays.binarySearch(a, id);
+        if (pos < 0) return a;
+        long[] out = new long[a.length - 1];
+        System.arraycopy(a, 0, out, 0, pos);
+        System.arraycopy(a, pos + 1, out, pos, a.length - pos - 1);
+        return out;
+    }
+}
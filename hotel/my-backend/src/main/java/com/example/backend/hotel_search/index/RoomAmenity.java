@@ -0,0 +1,55 @@
+package com.example.backend.hotel_search.index;
+
+import java.util.Locale;
+
+/**
+ * 검색 필터로 쓰는 객실 편의시설 (Room 의 Boolean 컬럼). 비트 위치 = ordinal.
+ * 컬럼이 NULL 이면 모르는 것으로 보고 어느 쪽 비트도 켜지 않는다 (흡연/금연, 개별/공용 욕실 모두).
+ */
+public enum RoomAmenity {
+    WIFI("wifi"),
+    AIRCON("aircon"),
+    WINDOW("window"),
+    FREE_WATER("freeWater"),
+    NON_SMOKING("nonSmoking"),
+    SMOKING("smoking"),
+    PRIVATE_BATH("privateBath"),
+    SHARED_BATH("sharedBath");
+
+    private final String param;
+
+    RoomAmenity(String param) {
+        this.param = param;
+    }
+
+    /** 요청 파라미터 이름 */
+    public String param() {
+        return param;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /** 파라미터 값 → 편의시설 (대소문자, '_' 무시). 모르는 값이면 IllegalArgumentException */
+    public static RoomAmenity from(String s) {
+        String key = s.trim().replace("_", "").toLowerCase(Locale.ROOT);
+        for (RoomAmenity a : values()) {
+            if (a.param.toLowerCase(Locale.ROOT).equals(key)) return a;
+        }
+        throw new IllegalArgumentException("unknown amenity: " + s);
+    }
+
+    /** Room 컬럼 → 비트 */
+    public static int flagsOf(Boolean wifi, Boolean aircon, Boolean hasWindow, Boolean freeWater,
+                              Boolean smoke, Boolean sharedBath) {
+        int f = 0;
+        if (Boolean.TRUE.equals(wifi)) f |= WIFI.bit();
+        if (Boolean.TRUE.equals(aircon)) f |= AIRCON.bit();
+        if (Boolean.TRUE.equals(hasWindow)) f |= WINDOW.bit();
+        if (Boolean.TRUE.equals(freeWater)) f |= FREE_WATER.bit();
+        if (smoke != null) f |= smoke ? SMOKING.bit() : NON_SMOKING.bit();
+        if (sharedBath != null) f |= sharedBath ? SHARED_BATH.bit() : PRIVATE_BATH.bit();
+        return f;
+    }
+}
@@ -0,0 +1,443 @@
+package com.example.backend.hotel_search.index;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * 객실 × 날짜 잔여 수량 인메모리 인덱스.
+ *
+ * 객실마다 [baseEpochDay, baseEpochDay + days) 구간을
+ *  - short[] qty  : 날짜별 available_quantity
+ *  - long[]  bits : qty >= 1 인 날짜 비트셋 (1객실 검색은 워드 단위 AND 로 끝남)
+ * 로 들고 있는다. Room_Inventory 행이 없는 날은 ReservationService 가 홀드 시점에
+ * 기본 수량으로 만들어 주므로 여기서도 defaultQuantity 로 본다. 구간 밖 날짜도 마찬가지.
+ *
+ * 객실 추가/이동은 드물어서 호텔 → 객실 목록은 copy-on-write. 모든 갱신(객실, 날짜별 수량)은 인덱스 락 하나로
+ * 직렬화한다 (객실 슬롯을 새로 만들며 수량을 옮겨 담는 동안 옛 슬롯에 쓴 수량이 사라지지 않도록).
+ * 전체 빌드 중(beginBuild ~ rebuild)에 온 변경은 적어 두었다가 새 상태에 다시 적용한다.
+ *
+ * 호텔 → 객실 목록은 capacityMax 내림차순이라 인원 조건 확인은 객실 타입 수만큼 돌다가 일찍 끝난다.
+ * 예약 한 건은 한 객실 타입의 N 개(Reservation.num_rooms)이므로, rooms 개 · party 명 조건은
+ * "한 타입으로 rooms * capacityMin <= party <= rooms * capacityMax 이고 그 타입이 rooms 개 이상 남음" 이다.
+ * capacityMin 이 비어 있으면 1 명, capacityMax 가 비어 있으면 어떤 인원도 못 받는 것으로 본다
+ * (SQL 경로 HotelSearchQueryBuilder 의 COALESCE(capacity_min, 1), NULL 비교와 같음).
+ *
+ * 편의시설: 객실마다 long 비트마스크 (하위 비트 = RoomAmenity, 그 위 = 전망/침대 값 사전 비트).
+ * 호텔마다 객실 마스크를 OR 한 값도 들고 있어서, 필요한 비트가 호텔 마스크에 없으면 객실을 보지 않고 건너뛴다.
+ * 조건은 한 객실이 다 갖춰야 하므로 통과한 호텔은 객실 마스크로 다시 확인한다 (인원/재고와 같은 객실).
+ * 전망/침대 값은 처음 보는 순서대로 비트를 받는다. 비트가 모자라면(56 종 초과) 그 값은 비트 없이 두고
+ * 그 값으로는 검색되지 않는다.
+ */
+public class RoomAvailabilityIndex {
+
+    /** 어떤 객실도 만족할 수 없는 편의시설 조건 (사전에 없는 전망/침대 값) */
+    public static final long NO_MATCH = -1L;
+
+    private static final int FIRST_VALUE_BIT = RoomAmenity.values().length;
+
+    private final int defaultQuantity;
+    private volatile State state = new State(LocalDate.now().toEpochDay(), 0, Map.of(), Map.of(), Map.of());
+    private volatile boolean ready;
+    private volatile long lastBuildMillis;
+    private volatile int lastReplayed;
+    private volatile List<UnaryOperator<State>> journal; // 빌드 중일 때만 (beginBuild ~ rebuild)
+
+    public RoomAvailabilityIndex(int defaultQuantity) {
+        this.defaultQuantity = defaultQuantity;
+    }
+
+    static final class RoomSlot {
+        final long roomId;
+        final long hotelId;
+        final int capMin;
+        final int capMax;
+        final long amenities;
+        final short[] qty;
+        final long[] bits;
+
+        RoomSlot(RoomDocument r, int days, int defaultQty, long amenities) {
+            this.roomId = r.id();
+            this.hotelId = r.hotelId();
+            // 최소 정원이 비어 있으면 1 명 (SQL 은 COALESCE(capacity_min, 1)), 최대 정원이 비어 있으면 0 (SQL 의 NULL 비교)
+            this.capMin = r.capacityMin() == null ? 1 : r.capacityMin();
+            this.capMax = r.capacityMax() == null ? 0 : r.capacityMax();
+            this.amenities = amenities;
+            this.qty = new short[days];
+            this.bits = new long[(days + 63) >>> 6];
+            for (int d = 0; d < days; d++) set(d, defaultQty);
+        }
+
+        void set(int d, int q) {
+            qty[d] = (short) Math.max(0, Math.min(q, Short.MAX_VALUE));
+            if (q > 0) bits[d >>> 6] |= 1L << d;
+            else bits[d >>> 6] &= ~(1L << d);
+        }
+    }
+
+    /** 호텔의 객실 (capacityMax 내림차순) + 객실 편의시설 마스크의 OR */
+    private record HotelRooms(RoomSlot[] slots, long amenities) {}
+
+    private record State(long baseEpochDay, int days,
+                         Map<Long, RoomSlot> rooms,
+                         Map<Long, HotelRooms> byHotel,
+                         Map<String, Long> valueBits) {}
+
+    // ===== 빌드/갱신 =====
+
+    /**
+     * 빌드 원본(DB/스냅샷)을 읽기 전에 부른다. 이때부터 rebuild 가 끝날 때까지의 변경은
+     * 지금 상태에 반영하면서 따로 적어 두었다가 새 상태에 다시 적용한다 (읽은 뒤에 온 변경이 사라지지 않도록).
+     * 빌드를 못 하게 되면 abortBuild. 빌드는 한 번에 하나만 (SearchCatalogSync 가 직렬화).
+     */
+    public synchronized void beginBuild() {
+        journal = new ArrayList<>();
+    }
+
+    public synchronized void abortBuild() {
+        journal = null;
+    }
+
+    public void rebuild(LocalDate from, int days, Collection<RoomDocument> rooms, Collection<InventoryDay> inventory) {
+        long start = System.nanoTime();
+        long base = from.toEpochDay();
+        Map<Long, RoomSlot> slots = new HashMap<>(rooms.size() * 2);
+        Map<String, Long> valueBits = new HashMap<>();
+        for (RoomDocument r : rooms) {
+            slots.put(r.id(), new RoomSlot(r, days, defaultQuantity, maskOf(r, valueBits)));
+        }
+        for (InventoryDay inv : inventory) {
+            RoomSlot s = slots.get(inv.roomId());
+            int d = (int) (inv.date().toEpochDay() - base);
+            if (s != null && d >= 0 && d < days) s.set(d, inv.availableQuantity());
+        }
+        State built = new State(base, days, slots, groupByHotel(slots.values()), valueBits);
+        int replayed;
+        synchronized (this) {
+            List<UnaryOperator<State>> pending = journal;
+            replayed = pending == null ? 0 : pending.size();
+            if (pending != null) {
+                for (UnaryOperator<State> op : pending) built = op.apply(built);
+            }
+            journal = null;
+            state = built;
+        }
+        lastBuildMillis = (System.nanoTime() - start) / 1_000_000;
+        lastReplayed = replayed;
+        ready = true;
+    }
+
+    public void upsertRoom(RoomDocument r) {
+        apply(s -> withRoom(s, r));
+    }
+
+    public void removeRoom(long roomId) {
+        apply(s -> withoutRoom(s, roomId));
+    }
+
+    // 빌드 중이 아니어도 락을 잡는다: withRoom 이 옛 슬롯의 수량을 새 슬롯으로 옮기는 사이에 끼면 사라짐
+    public void updateQuantity(long roomId, LocalDate date, int available) {
+        apply(s -> withQuantity(s, roomId, date, available));
+    }
+
+    /** 재고 행이 지워짐: 행이 없는 날과 같은 기본 수량으로 */
+    public void resetQuantity(long roomId, LocalDate date) {
+        updateQuantity(roomId, date, defaultQuantity);
+    }
+
+    // 지금 상태에 적용하고, 빌드 중이면 새 상태에 다시 적용하도록 적어 둔다
+    private synchronized void apply(UnaryOperator<State> op) {
+        if (journal != null) journal.add(op);
+        state = op.apply(state);
+    }
+
+    private State withRoom(State s, RoomDocument r) {
+        RoomSlot old = s.rooms().get(r.id());
+        Map<String, Long> valueBits = new HashMap<>(s.valueBits());
+        RoomSlot slot = new RoomSlot(r, s.days(), defaultQuantity, maskOf(r, valueBits));
+        if (old != null && old.hotelId == slot.hotelId && old.capMin == slot.capMin && old.capMax == slot.capMax
+                && old.amenities == slot.amenities) return s;
+
+        // 다른 호텔로 옮겨 가도 같은 객실이므로 날짜별 수량은 그대로 (apply 락 안이라 옛 슬롯에 더 쓰이지 않음)
+        if (old != null) {
+            System.arraycopy(old.qty, 0, slot.qty, 0, old.qty.length);
+            System.arraycopy(old.bits, 0, slot.bits, 0, old.bits.length);
+        }
+        Map<Long, RoomSlot> rooms = new HashMap<>(s.rooms());
+        rooms.put(r.id(), slot);
+        return new State(s.baseEpochDay(), s.days(), rooms, groupByHotel(rooms.values()), valueBits);
+    }
+
+    private static State withoutRoom(State s, long roomId) {
+        if (!s.rooms().containsKey(roomId)) return s;
+        Map<Long, RoomSlot> rooms = new HashMap<>(s.rooms());
+        rooms.remove(roomId);
+        return new State(s.baseEpochDay(), s.days(), rooms, groupByHotel(rooms.values()), s.valueBits());
+    }
+
+    private static State withQuantity(State s, long roomId, LocalDate date, int available) {
+        RoomSlot slot = s.rooms().get(roomId);
+        int d = (int) (date.toEpochDay() - s.baseEpochDay());
+        if (slot == null || d < 0 || d >= s.days()) return s;
+        slot.set(d, available);
+        return s;
+    }
+
+    // ===== 조회 =====
+
+    /** [checkIn, checkOut) 모든 밤에 qty 개 이상 남은 객실 */
+    public boolean isAvailable(long roomId, LocalDate checkIn, LocalDate checkOut, int qty) {
+        State s = state;
+        RoomSlot slot = s.rooms().get(roomId);
+        return slot != null && check(s, slot, checkIn.toEpochDay(), checkOut.toEpochDay(), qty);
+    }
+
+    /** 그 객실에 대해 [checkIn, checkOut) 최소 잔여 수량 (모르는 객실이면 -1) */
+    public int minAvailable(long roomId, LocalDate checkIn, LocalDate checkOut) {
+        State s = state;
+        RoomSlot slot = s.rooms().get(roomId);
+        if (slot == null) return -1;
+        int min = Integer.MAX_VALUE;
+        for (long day = checkIn.toEpochDay(); day < checkOut.toEpochDay(); day++) {
+            int d = (int) (day - s.baseEpochDay());
+            min = Math.min(min, d >= 0 && d < s.days() ? slot.qty[d] : defaultQuantity);
+        }
+        return min == Integer.MAX_VALUE ? defaultQuantity : min;
+    }
+
+    /** [checkIn, checkOut) 모든 밤에 qty 개 이상 남은 객실이 하나라도 있는 호텔 id (오름차순) */
+    public long[] availableHotels(LocalDate checkIn, LocalDate checkOut, int qty) {
+        return fittingHotels(checkIn, checkOut, qty, 0, 0L);
+    }
+
+    public long[] fittingHotels(LocalDate checkIn, LocalDate checkOut, int rooms, int party) {
+        return fittingHotels(checkIn, checkOut, rooms, party, 0L);
+    }
+
+    /**
+     * 한 객실 타입 rooms 개로 party 명을 받을 수 있고 편의시설 required 를 다 갖춘 호텔 id (오름차순).
+     * party <= 0 이면 인원 조건 없음. checkIn/checkOut 이 null 이면 재고는 보지 않는다.
+     * required 는 amenityMask() 결과 (0 이면 조건 없음, NO_MATCH 면 빈 결과).
+     */
+    public long[] fittingHotels(LocalDate checkIn, LocalDate checkOut, int rooms, int party, long required) {
+        if (required == NO_MATCH) return new long[0];
+        State s = state;
+        boolean dated = checkIn != null && checkOut != null;
+        long from = dated ? checkIn.toEpochDay() : 0;
+        long to = dated ? checkOut.toEpochDay() : 0;
+        long[] out = new long[s.byHotel().size()];
+        int n = 0;
+        for (Map.Entry<Long, HotelRooms> e : s.byHotel().entrySet()) {
+            HotelRooms h = e.getValue();
+            if ((h.amenities() & required) != required) continue; // 어느 객실에도 없는 편의시설
+            for (RoomSlot slot : h.slots()) {
+                if ((slot.amenities & required) != required) continue;
+                if (party > 0) {
+                    if ((long) rooms * slot.capMax < party) break; // 뒤는 더 작은 방뿐
+                    if ((long) rooms * slot.capMin > party) continue;
+                }
+                if (!dated || check(s, slot, from, to, rooms)) {
+                    out[n++] = e.getKey();
+                    break;
+                }
+            }
+        }
+        long[] res = Arrays.copyOf(out, n);
+        Arrays.sort(res);
+        return res;
+    }
+
+    /**
+     * 하루씩 밀린 숙박 구간별 가능 여부 (유연한 날짜 검색). 구간 w = [firstCheckIn + w, + nights), w = 0 .. windows-1.
+     * 조건은 fittingHotels 와 같고, 객실마다 날짜별 수량 배열의 구간 최솟값(StayWindows.slidingMin)을 한 번에 구한다.
+     * hotelIds 가 null 이면 전체 호텔. 어느 구간에도 안 되는 호텔은 결과에 없다.
+     */
+    public Map<Long, boolean[]> windowAvailability(long[] hotelIds, LocalDate firstCheckIn, int nights, int windows,
+                                                   int rooms, int party, long required) {
+        Map<Long, boolean[]> out = new HashMap<>();
+        if (required == NO_MATCH || nights < 1 || windows < 1) return out;
+        State s = state;
+        int span = nights + windows - 1;
+        long first = firstCheckIn.toEpochDay() - s.baseEpochDay();
+        int[] qty = new int[span];
+
+        Iterable<Long> ids = hotelIds == null ? s.byHotel().keySet() : () -> Arrays.stream(hotelIds).iterator();
+        for (Long hotelId : ids) {
+            HotelRooms h = s.byHotel().get(hotelId);
+            if (h == null || (h.amenities() & required) != required) continue;
+            boolean[] ok = null;
+            int okCount = 0;
+            for (RoomSlot slot : h.slots()) {
+                if ((slot.amenities & required) != required) continue;
+                if (party > 0) {
+                    if ((long) rooms * slot.capMax < party) break;
+                    if ((long) rooms * slot.capMin > party) continue;
+                }
+                // 인덱스 구간 밖의 밤은 기본 수량
+                for (int i = 0; i < span; i++) {
+                    long d = first + i;
+                    qty[i] = d >= 0 && d < s.days() ? slot.qty[(int) d] : defaultQuantity;
+                }
+                int[] min = StayWindows.slidingMin(qty, nights);
+                if (ok == null) ok = new boolean[windows];
+                for (int w = 0; w < windows; w++) {
+                    if (!ok[w] && min[w] >= rooms) {
+                        ok[w] = true;
+                        okCount++;
+                    }
+                }
+                if (okCount == windows) break;
+            }
+            if (okCount > 0) out.put(hotelId, ok);
+        }
+        return out;
+    }
+
+    /**
+     * 편의시설 조건 → 비트마스크. 전망/침대는 normalizeValue 기준으로 비교.
+     * 사전에 없는 전망/침대 값이면 NO_MATCH.
+     */
+    public long amenityMask(Set<RoomAmenity> amenities, String view, String bed) {
+        long mask = 0;
+        for (RoomAmenity a : amenities) mask |= a.bit();
+        Map<String, Long> valueBits = state.valueBits();
+        for (String key : new String[]{valueKey("view", view), valueKey("bed", bed)}) {
+            if (key == null) continue;
+            Long bit = valueBits.get(key);
+            if (bit == null) return NO_MATCH;
+            mask |= bit;
+        }
+        return mask;
+    }
+
+    /** 전망/침대 값 비교용: 앞뒤 공백 제거 + 소문자. 비어 있으면 null */
+    public static String normalizeValue(String s) {
+        return s == null || s.isBlank() ? null : s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** 호텔의 객실 id 목록 (모르는 호텔이면 빈 배열) */
+    public long[] roomsOf(long hotelId) {
+        HotelRooms h = state.byHotel().get(hotelId);
+        if (h == null) return new long[0];
+        RoomSlot[] slots = h.slots();
+        long[] ids = new long[slots.length];
+        for (int i = 0; i < slots.length; i++) ids[i] = slots[i].roomId;
+        return ids;
+    }
+
+    /** 객실 → 호텔 (모르는 객실이면 null) */
+    public Long hotelOf(long roomId) {
+        RoomSlot slot = state.rooms().get(roomId);
+        return slot == null ? null : slot.hotelId;
+    }
+
+    private boolean check(State s, RoomSlot slot, long fromDay, long toDay, int qty) {
+        if (fromDay >= toDay) return false;
+        int from = (int) Math.max(fromDay - s.baseEpochDay(), 0);
+        int to = (int) Math.min(toDay - s.baseEpochDay(), s.days());
+        // 인덱스 구간 밖의 밤은 기본 수량으로 본다
+        boolean outside = fromDay - s.baseEpochDay() < 0 || toDay - s.baseEpochDay() > s.days();
+        if (outside && qty > defaultQuantity) return false;
+        if (from >= to) return true;
+
+        if (qty <= 1) return allBitsSet(slot.bits, from, to);
+        for (int d = from; d < to; d++) {
+            if (slot.qty[d] < qty) return false;
+        }
+        return true;
+    }
+
+    // bits 의 [from, to) 가 전부 1 인지 워드 단위로 확인
+    private static boolean allBitsSet(long[] bits, int from, int to) {
+        int fw = from >>> 6;
+        int lw = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (fw == lw) {
+            long m = firstMask & lastMask;
+            return (bits[fw] & m) == m;
+        }
+        if ((bits[fw] & firstMask) != firstMask) return false;
+        for (int w = fw + 1; w < lw; w++) {
+            if (bits[w] != -1L) return false;
+        }
+        return (bits[lw] & lastMask) == lastMask;
+    }
+
+    private static Map<Long, HotelRooms> groupByHotel(Collection<RoomSlot> slots) {
+        Map<Long, List<RoomSlot>> tmp = new HashMap<>();
+        for (RoomSlot s : slots) tmp.computeIfAbsent(s.hotelId, k -> new ArrayList<>()).add(s);
+        Map<Long, HotelRooms> out = new HashMap<>(tmp.size() * 2);
+        tmp.forEach((h, list) -> {
+            list.sort((a, b) -> Integer.compare(b.capMax, a.capMax));
+            long any = 0;
+            for (RoomSlot s : list) any |= s.amenities;
+            out.put(h, new HotelRooms(list.toArray(new RoomSlot[0]), any));
+        });
+        return out;
+    }
+
+    // 객실 → 마스크. 처음 보는 전망/침대 값이면 valueBits 에 다음 비트를 배정 (모자라면 비트 없음)
+    private static long maskOf(RoomDocument r, Map<String, Long> valueBits) {
+        long mask = r.amenities();
+        for (String key : new String[]{valueKey("view", r.view()), valueKey("bed", r.bed())}) {
+            if (key == null) continue;
+            Long bit = valueBits.get(key);
+            if (bit == null) {
+                int next = FIRST_VALUE_BIT + valueBits.size();
+                if (next >= Long.SIZE) continue;
+                bit = 1L << next;
+                valueBits.put(key, bit);
+            }
+            mask |= bit;
+        }
+        return mask;
+    }
+
+    private static String valueKey(String kind, String value) {
+        String v = normalizeValue(value);
+        return v == null ? null : kind + ':' + v;
+    }
+
+    // ===== 상태 =====
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int roomCount() {
+        return state.rooms().size();
+    }
+
+    public int hotelCount() {
+        return state.byHotel().size();
+    }
+
+    /** 비트를 받은 전망/침대 값 수 */
+    public int amenityValueCount() {
+        return state.valueBits().size();
+    }
+
+    public LocalDate windowStart() {
+        return LocalDate.ofEpochDay(state.baseEpochDay());
+    }
+
+    public int windowDays() {
+        return state.days();
+    }
+
+    public long lastBuildMillis() {
+        return lastBuildMillis;
+    }
+
+    /** 마지막 빌드에서 다시 적용한 (빌드 도중에 온) 변경 수 */
+    public int lastReplayed() {
+        return lastReplayed;
+    }
+
+    public long estimatedBytes() {
+        State s = state;
+        long perRoom = 48 /* slot */ + 16 + 2L * s.days() + 16 + 8L * ((s.days() + 63) / 64) + 48 /* map entry + Long */;
+        return perRoom * s.rooms().size() + 72L /* entry + HotelRooms + 배열 헤더 */ * s.byHotel().size();
+    }
+}
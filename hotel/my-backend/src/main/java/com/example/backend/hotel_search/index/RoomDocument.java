@@ -0,0 +1,26 @@
+package com.example.backend.hotel_search.index;
+
+/**
+ * 인메모리 검색 구조에 들어가는 객실 한 건.
+ *
+ * @param amenities RoomAmenity 비트
+ * @param view      전망 (Room.viewName 원문)
+ * @param bed       침대 (Room.bed 원문)
+ */
+public record RoomDocument(
+        Long id,
+        Long hotelId,
+        Integer capacityMin,
+        Integer capacityMax,
+        int amenities,
+        String view,
+        String bed
+) {
+    /** JPQL 생성자 식용: Room 의 Boolean 컬럼을 그대로 받아 비트로 */
+    public RoomDocument(Long id, Long hotelId, Integer capacityMin, Integer capacityMax,
+                        Boolean wifi, Boolean aircon, Boolean hasWindow, Boolean freeWater,
+                        Boolean smoke, Boolean sharedBath, String view, String bed) {
+        this(id, hotelId, capacityMin, capacityMax,
+                RoomAmenity.flagsOf(wifi, aircon, hasWindow, freeWater, smoke, sharedBath), view, bed);
+    }
+}
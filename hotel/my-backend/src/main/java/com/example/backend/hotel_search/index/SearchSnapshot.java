@@ -0,0 +1,185 @@
+package com.example.backend.hotel_search.index;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 인메모리 검색 구조의 원본 데이터(호텔/객실/재고 행) 스냅샷.
+ *
+ * 새 노드는 DB 전체를 읽는 대신 이 파일을 mmap 으로 읽어 인덱스를 만들고,
+ * watermark(스냅샷을 뜬 시점의 DB 시각) 이후 updated_at 이 바뀐 행만 DB 에서 가져와 맞춘다.
+ *
+ * 파일 형식 (big-endian):
+ *   int magic "HSNP", int version
+ *   long watermarkEpochSecond, int watermarkNanos, long createdAtMillis
+ *   long windowStartEpochDay, int windowDays
+ *   int hotelCount,  { long id, str name, str address, str country, int starRating(-1 = null),
+ *                      double latitude, double longitude (NaN = null) } ...
+ *   int roomCount,   { long id, long hotelId, int capacityMin, int capacityMax (-1 = null),
+ *                      int amenities, str view, str bed } ...
+ *   int invCount,    { long roomId, long epochDay, int availableQuantity } ...
+ *   long crc32 (앞의 전체)
+ *   str = int byteLength(-1 = null) + UTF-8
+ * 버전이 다르거나 CRC 가 맞지 않으면 읽지 않는다 (호출 쪽에서 DB 전체 빌드).
+ */
+public record SearchSnapshot(
+        LocalDateTime watermark,
+        long createdAtMillis,
+        LocalDate windowStart,
+        int windowDays,
+        List<HotelDocument> hotels,
+        List<RoomDocument> rooms,
+        List<InventoryDay> inventory
+) {
+    private static final int MAGIC = 0x48534E50; // "HSNP"
+    public static final int VERSION = 3; // 2: 객실 편의시설/전망/침대, 3: 호텔 좌표
+
+    // ===== 쓰기 =====
+
+    /** 임시 파일에 쓴 뒤 원자적으로 교체 → 읽는 쪽은 항상 완성된 파일만 본다 */
+    public void writeTo(Path path) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        try {
+            CRC32 crc = new CRC32();
+            try (OutputStream file = Files.newOutputStream(tmp);
+                 CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), crc);
+                 DataOutputStream out = new DataOutputStream(checked)) {
+                writeBody(out);
+                out.flush();
+                new DataOutputStream(file).writeLong(crc.getValue()); // CRC 자체는 체크섬에 넣지 않음
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private void writeBody(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(watermark.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(watermark.getNano());
+        out.writeLong(createdAtMillis);
+        out.writeLong(windowStart.toEpochDay());
+        out.writeInt(windowDays);
+
+        out.writeInt(hotels.size());
+        for (HotelDocument h : hotels) {
+            out.writeLong(h.id());
+            writeString(out, h.name());
+            writeString(out, h.address());
+            writeString(out, h.country());
+            out.writeInt(h.starRating() == null ? -1 : h.starRating());
+            out.writeDouble(h.latitude() == null ? Double.NaN : h.latitude());
+            out.writeDouble(h.longitude() == null ? Double.NaN : h.longitude());
+        }
+        out.writeInt(rooms.size());
+        for (RoomDocument r : rooms) {
+            out.writeLong(r.id());
+            out.writeLong(r.hotelId());
+            out.writeInt(r.capacityMin() == null ? -1 : r.capacityMin());
+            out.writeInt(r.capacityMax() == null ? -1 : r.capacityMax());
+            out.writeInt(r.amenities());
+            writeString(out, r.view());
+            writeString(out, r.bed());
+        }
+        out.writeInt(inventory.size());
+        for (InventoryDay d : inventory) {
+            out.writeLong(d.roomId());
+            out.writeLong(d.date().toEpochDay());
+            out.writeInt(d.availableQuantity());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    // ===== 읽기 =====
+
+    /** 파일을 mmap 해서 읽는다. 형식/버전/체크섬이 맞지 않으면 IOException */
+    public static SearchSnapshot readFrom(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < 8 + 8 || size > Integer.MAX_VALUE) throw new IOException("bad snapshot size: " + size);
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            CRC32 crc = new CRC32();
+            crc.update(buf.slice(0, (int) size - 8));
+            if (crc.getValue() != buf.getLong((int) size - 8)) throw new IOException("snapshot checksum mismatch");
+
+            if (buf.getInt() != MAGIC) throw new IOException("not a search snapshot");
+            int version = buf.getInt();
+            if (version != VERSION) throw new IOException("unsupported snapshot version: " + version);
+
+            LocalDateTime watermark = LocalDateTime.ofEpochSecond(buf.getLong(), buf.getInt(), ZoneOffset.UTC);
+            long createdAt = buf.getLong();
+            LocalDate windowStart = LocalDate.ofEpochDay(buf.getLong());
+            int windowDays = buf.getInt();
+
+            int n = buf.getInt();
+            List<HotelDocument> hotels = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                long id = buf.getLong();
+                String name = readString(buf);
+                String address = readString(buf);
+                String country = readString(buf);
+                int star = buf.getInt();
+                double lat = buf.getDouble();
+                double lng = buf.getDouble();
+                hotels.add(new HotelDocument(id, name, address, country, star < 0 ? null : star,
+                        Double.isNaN(lat) ? null : lat, Double.isNaN(lng) ? null : lng));
+            }
+            n = buf.getInt();
+            List<RoomDocument> rooms = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                long id = buf.getLong();
+                long hotelId = buf.getLong();
+                int min = buf.getInt();
+                int max = buf.getInt();
+                int amenities = buf.getInt();
+                String view = readString(buf);
+                String bed = readString(buf);
+                rooms.add(new RoomDocument(id, hotelId, min < 0 ? null : min, max < 0 ? null : max,
+                        amenities, view, bed));
+            }
+            n = buf.getInt();
+            List<InventoryDay> inventory = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                long roomId = buf.getLong();
+                LocalDate date = LocalDate.ofEpochDay(buf.getLong());
+                inventory.add(new InventoryDay(roomId, date, buf.getInt()));
+            }
+            return new SearchSnapshot(watermark, createdAt, windowStart, windowDays, hotels, rooms, inventory);
+        } catch (RuntimeException e) { // 잘린 파일 등 (BufferUnderflowException)
+            throw new IOException("corrupt snapshot: " + e, e);
+        }
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int len = buf.getInt();
+        if (len < 0) return null;
+        byte[] b = new byte[len];
+        buf.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
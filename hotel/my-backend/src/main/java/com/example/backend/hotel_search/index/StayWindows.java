@@ -0,0 +1,70 @@
+package com.example.backend.hotel_search.index;
+
+/**
+ * 날짜별 배열 위에서 길이 width 인 숙박 구간을 한 칸씩 밀어 가며 구하는 값들.
+ * 결과 배열 i 번째 = 구간 [i, i + width). 구간 수는 a.length - width + 1.
+ *
+ * 최소/최대는 단조 덱(인덱스 링 버퍼)으로 O(n) — 구간마다 다시 훑지 않는다.
+ */
+public final class StayWindows {
+
+    /** 날짜 값이 없음 (요금 없는 날) */
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    private StayWindows() {}
+
+    /** 구간 최솟값. MISSING 도 값으로 취급하므로 요금 배열이면 windowSums 로 빠진 날을 먼저 거를 것 */
+    public static int[] slidingMin(int[] a, int width) {
+        return sliding(a, width, true);
+    }
+
+    /** 구간 최댓값 */
+    public static int[] slidingMax(int[] a, int width) {
+        return sliding(a, width, false);
+    }
+
+    private static int[] sliding(int[] a, int width, boolean min) {
+        int windows = a.length - width + 1;
+        if (width < 1 || windows < 1) return new int[0];
+        int[] out = new int[windows];
+        int[] dq = new int[width]; // 링 버퍼: 앞쪽이 현재 구간의 답
+        int head = 0, size = 0;
+        for (int i = 0; i < a.length; i++) {
+            // 구간을 벗어난 앞쪽 제거
+            if (size > 0 && dq[head] <= i - width) {
+                head = (head + 1) % width;
+                size--;
+            }
+            // 새 값보다 나쁜 뒤쪽 제거 (그 값들은 더 이상 답이 될 수 없음)
+            while (size > 0) {
+                int back = a[dq[(head + size - 1) % width]];
+                if (min ? back < a[i] : back > a[i]) break;
+                size--;
+            }
+            dq[(head + size) % width] = i;
+            size++;
+            if (i >= width - 1) out[i - width + 1] = a[dq[head]];
+        }
+        return out;
+    }
+
+    /** 구간 합. 구간 안에 MISSING 이 하나라도 있으면 -1 */
+    public static long[] windowSums(int[] a, int width) {
+        int windows = a.length - width + 1;
+        if (width < 1 || windows < 1) return new long[0];
+        long[] out = new long[windows];
+        long sum = 0;
+        int missing = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == MISSING) missing++;
+            else sum += a[i];
+            if (i >= width) {
+                int gone = a[i - width];
+                if (gone == MISSING) missing--;
+                else sum -= gone;
+            }
+            if (i >= width - 1) out[i - width + 1] = missing > 0 ? -1 : sum;
+        }
+        return out;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.backend.hotel_search.index;
+
+/**
+ * 자동완성 후보 한 건.
+ * type 이 HOTEL 이면 hotelId 가 있고, CITY/COUNTRY 면 hotels 가 그 지역 호텔 수.
+ */
+public record Suggestion(
+        Type type,
+        String text,
+        Long hotelId,
+        int hotels
+) {
+    public enum Type { CITY, COUNTRY, HOTEL }
+}
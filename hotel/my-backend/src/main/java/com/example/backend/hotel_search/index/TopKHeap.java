@@ -0,0 +1,105 @@
+package com.example.backend.hotel_search.index;
+
+import java.util.Arrays;
+
+/**
+ * (호텔 id, 최저가) 쌍 중 순서상 앞쪽 k 개만 남기는 힙. 박싱 없이 배열 두 개로 관리한다.
+ *
+ * 루트에 "지금까지 남긴 것 중 가장 뒤" 가 오도록 유지 → 새 항목이 루트보다 뒤면 바로 버린다.
+ * n 개를 넣으면 O(n log k).
+ * 배열은 작게 시작해서 들어온 만큼만 두 배씩 늘린다 (k 가 커도 결과가 적으면 메모리도 적게).
+ */
+public class TopKHeap {
+
+    /** 최저가 없음 */
+    public static final int NO_PRICE = -1;
+
+    /** a 가 b 보다 앞이면 음수 */
+    @FunctionalInterface
+    public interface Order {
+        int compare(long idA, int priceA, long idB, int priceB);
+    }
+
+    private final int k;
+    private final Order order;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] ids;
+    private int[] prices;
+    private int size;
+    private long offered;
+
+    public TopKHeap(int k, Order order) {
+        this.k = k;
+        this.order = order;
+        int capacity = Math.max(0, Math.min(k, INITIAL_CAPACITY));
+        this.ids = new long[capacity];
+        this.prices = new int[capacity];
+    }
+
+    public void offer(long id, int price) {
+        offered++;
+        if (k <= 0) return;
+        if (size < k) {
+            if (size == ids.length) grow();
+            ids[size] = id;
+            prices[size] = price;
+            siftUp(size++);
+        } else if (order.compare(id, price, ids[0], prices[0]) < 0) {
+            ids[0] = id;
+            prices[0] = price;
+            siftDown(0);
+        }
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min(k, Math.max(INITIAL_CAPACITY, 2L * ids.length));
+        ids = Arrays.copyOf(ids, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+    }
+
+    /** 지금까지 offer 된 전체 개수 (= 조건에 맞는 전체 호텔 수) */
+    public long offered() {
+        return offered;
+    }
+
+    /** 남은 항목을 앞에서부터 정렬한 id */
+    public long[] sortedIds() {
+        Integer[] idx = new Integer[size];
+        for (int i = 0; i < size; i++) idx[i] = i;
+        Arrays.sort(idx, (a, b) -> order.compare(ids[a], prices[a], ids[b], prices[b]));
+        long[] out = new long[size];
+        for (int i = 0; i < size; i++) out[i] = ids[idx[i]];
+        return out;
+    }
+
+    // 부모가 자식보다 "뒤" (max-heap)
+    private boolean later(int a, int b) {
+        return order.compare(ids[a], prices[a], ids[b], prices[b]) > 0;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (!later(i, p)) break;
+            swap(i, p);
+            i = p;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int l = 2 * i + 1;
+            if (l >= size) break;
+            int c = l + 1 < size && later(l + 1, l) ? l + 1 : l;
+            if (!later(c, i)) break;
+            swap(i, c);
+            i = c;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a]; ids[a] = ids[b]; ids[b] = id;
+        int p = prices[a]; prices[a] = prices[b]; prices[b] = p;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.backend.hotel_search.repository;
+
+import com.example.backend.hotel_search.dto.SearchFacets;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * FACET 쿼리 결과를 한 번 훑으면서 국가 / 성급 / 가격 구간을 같이 센다.
+ * 행마다 객체를 만들지 않고 int 배열에만 더한다 (국가는 문자열 → 배열 위치 사전).
+ */
+class HotelFacetCollector implements RowCallbackHandler {
+
+    private static final int STARS = 6; // 0~5
+
+    private final int bucketSize;
+    private final int maxBuckets;
+
+    private final Map<String, Integer> countryIndex = new HashMap<>();
+    private String[] countryNames = new String[16];
+    private int[] countryCounts = new int[16];
+    private final int[] starCounts = new int[STARS];
+    private int[] priceCounts = new int[8];
+    private int usedBuckets;
+    private int unpriced;
+    private int minPrice = Integer.MAX_VALUE;
+    private int maxPrice = Integer.MIN_VALUE;
+    private long total;
+
+    HotelFacetCollector(int bucketSize, int maxBuckets) {
+        this.bucketSize = bucketSize;
+        this.maxBuckets = maxBuckets;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+        total++;
+
+        String country = rs.getString(1);
+        if (country != null) {
+            Integer idx = countryIndex.get(country);
+            if (idx == null) {
+                idx = countryIndex.size();
+                countryIndex.put(country, idx);
+                if (idx == countryNames.length) {
+                    countryNames = Arrays.copyOf(countryNames, idx * 2);
+                    countryCounts = Arrays.copyOf(countryCounts, idx * 2);
+                }
+                countryNames[idx] = country;
+            }
+            countryCounts[idx]++;
+        }
+
+        int star = rs.getInt(2);
+        if (!rs.wasNull() && star >= 0 && star < STARS) starCounts[star]++;
+
+        int price = rs.getInt(3);
+        if (rs.wasNull()) {
+            unpriced++;
+            return;
+        }
+        if (price < minPrice) minPrice = price;
+        if (price > maxPrice) maxPrice = price;
+        int b = Math.min(Math.max(price, 0) / bucketSize, maxBuckets - 1);
+        if (b >= priceCounts.length) priceCounts = Arrays.copyOf(priceCounts, Math.min(maxBuckets, Math.max(b + 1, priceCounts.length * 2)));
+        priceCounts[b]++;
+        if (b + 1 > usedBuckets) usedBuckets = b + 1;
+    }
+
+    SearchFacets result() {
+        Integer[] order = new Integer[countryIndex.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> countryCounts[b] != countryCounts[a]
+                ? Integer.compare(countryCounts[b], countryCounts[a])
+                : countryNames[a].compareTo(countryNames[b]));
+        Map<String, Integer> countries = new LinkedHashMap<>();
+        for (int i : order) countries.put(countryNames[i], countryCounts[i]);
+
+        Map<Integer, Integer> stars = new LinkedHashMap<>();
+        for (int s = STARS - 1; s >= 0; s--) {
+            if (starCounts[s] > 0) stars.put(s, starCounts[s]);
+        }
+
+        boolean priced = minPrice != Integer.MAX_VALUE;
+        return new SearchFacets(total, countries, stars, new SearchFacets.PriceHistogram(
+                priced ? minPrice : null,
+                priced ? maxPrice : null,
+                bucketSize,
+                Arrays.copyOf(priceCounts, usedBuckets),
+                unpriced));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.backend.hotel_search.repository;
+
+import com.example.backend.hotel_search.domain.HotelMinPrice;
+import com.example.backend.hotel_search.dto.HotelPriceRange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HotelMinPriceRepository extends JpaRepository<HotelMinPrice, HotelMinPrice.Key> {
+
+    @Modifying
+    @Query(value = "DELETE FROM hotel_min_price WHERE hotel_id = :hotelId", nativeQuery = true)
+    int deleteByHotel(@Param("hotelId") Long hotelId);
+
+    @Modifying
+    @Query(value = "DELETE FROM hotel_price_summary WHERE hotel_id = :hotelId", nativeQuery = true)
+    int deleteSummary(@Param("hotelId") Long hotelId);
+
+    @Modifying
+    @Query(value = "INSERT INTO hotel_price_summary (hotel_id, lowest_price, highest_price) VALUES (:hotelId, :low, :high)",
+           nativeQuery = true)
+    int insertSummary(@Param("hotelId") Long hotelId, @Param("low") int low, @Param("high") int high);
+
+    // 더 이상 존재하지 않는 호텔 행 정리
+    @Modifying
+    @Query(value = "DELETE FROM hotel_min_price WHERE hotel_id NOT IN (SELECT id FROM `Hotel`)", nativeQuery = true)
+    int deleteOrphans();
+
+    @Modifying
+    @Query(value = "DELETE FROM hotel_price_summary WHERE hotel_id NOT IN (SELECT id FROM `Hotel`)", nativeQuery = true)
+    int deleteOrphanSummaries();
+
+    @Query(value = "SELECT id FROM `Hotel` ORDER BY id", nativeQuery = true)
+    List<Long> findAllHotelIds();
+
+    // 읽기 모델 기준 [from, to) 호텔별 요금 범위
+    @Query(value = """
+        SELECT mp.hotel_id AS hotelId, MIN(mp.min_price) AS minPrice, MAX(mp.max_price) AS maxPrice
+        FROM hotel_min_price mp
+        WHERE mp.stay_date >= :from AND mp.stay_date < :to
+        GROUP BY mp.hotel_id
+        """, nativeQuery = true)
+    List<HotelPriceRange> findRanges(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query(value = "SELECT COUNT(*) FROM hotel_price_summary", nativeQuery = true)
+    long countSummaries();
+
+    // 호텔별 요약 행 (날짜 없는 검색이 조인하는 값)
+    @Query(value = """
+        SELECT hotel_id AS hotelId, lowest_price AS minPrice, highest_price AS maxPrice
+        FROM hotel_price_summary
+        """, nativeQuery = true)
+    List<HotelPriceRange> findSummaries();
+
+    // 실시간 조인 기준 [from, to) 호텔별 요금 범위 (예전 검색 쿼리와 같은 조인)
+    @Query(value = """
+        SELECT r.hotel_id AS hotelId, MIN(rpp.price) AS minPrice, MAX(rpp.price) AS maxPrice
+        FROM `Room` r
+        JOIN `Room_Price_Policy` rpp ON rpp.room_id = r.id
+        WHERE rpp.start_date < :to AND rpp.end_date >= :from
+        GROUP BY r.hotel_id
+        """, nativeQuery = true)
+    List<HotelPriceRange> findLiveRanges(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,171 @@
+package com.example.backend.hotel_search.repository;
+
+import com.example.backend.hotel_search.dto.HotelProjectionOnly;
+import com.example.backend.hotel_search.dto.HotelRow;
+import com.example.backend.hotel_search.dto.HotelSearchCriteria;
+import com.example.backend.hotel_search.dto.SearchFacets;
+import com.example.backend.hotel_search.index.StayWindows;
+import com.example.backend.hotel_search.index.TopKHeap;
+import com.example.backend.hotel_search.repository.HotelSearchQueryBuilder.Kind;
+import com.example.backend.hotel_search.repository.HotelSearchQueryBuilder.SearchSql;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+/** HotelSearchQueryBuilder 가 만든 SQL 을 실행하는 검색 전용 저장소 */
+@Repository
+public class HotelSearchJdbcRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate streamingJdbc; // 내보내기 전용: fetchSize 로 행을 나눠 받음
+    private final HotelSearchQueryBuilder builder;
+    private final SearchQueryMetrics metrics;
+
+    public HotelSearchJdbcRepository(NamedParameterJdbcTemplate jdbc,
+                                     HotelSearchQueryBuilder builder,
+                                     SearchQueryMetrics metrics,
+                                     @Value("${search.export.fetch-size:1000}") int fetchSize) {
+        this.jdbc = jdbc;
+        this.builder = builder;
+        this.metrics = metrics;
+        JdbcTemplate t = new JdbcTemplate(jdbc.getJdbcTemplate().getDataSource());
+        t.setFetchSize(fetchSize); // MariaDB 드라이버는 fetchSize > 0 이면 결과를 한꺼번에 메모리에 올리지 않는다
+        this.streamingJdbc = new NamedParameterJdbcTemplate(t);
+    }
+
+    static final RowMapper<HotelProjectionOnly> ROW_MAPPER = (rs, i) -> new HotelRow(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("city"),
+            rs.getString("country"),
+            rs.getObject("rating", Double.class),
+            rs.getObject("lowestPrice", Integer.class),
+            rs.getString("thumbnailUrl"));
+
+    public List<HotelProjectionOnly> findPage(HotelSearchCriteria c, Pageable pageable) {
+        SearchSql q = builder.build(Kind.PAGE, c);
+        q.params().addValue("limit", pageable.getPageSize());
+        q.params().addValue("offset", pageable.getOffset());
+        long t0 = metrics.start();
+        List<HotelProjectionOnly> rows = jdbc.query(q.sql(), q.params(), ROW_MAPPER);
+        metrics.stop(Kind.PAGE, c, q, t0);
+        return rows;
+    }
+
+    public long count(HotelSearchCriteria c) {
+        SearchSql q = builder.build(Kind.COUNT, c);
+        long t0 = metrics.start();
+        Long n = jdbc.queryForObject(q.sql(), q.params(), Long.class);
+        metrics.stop(Kind.COUNT, c, q, t0);
+        return n == null ? 0 : n;
+    }
+
+    /** 조건에 맞는 전체 호텔을 한 번 읽어 국가/성급/가격 구간 집계 + 전체 건수 */
+    public SearchFacets facets(HotelSearchCriteria c, int priceBucket, int maxPriceBuckets) {
+        SearchSql q = builder.build(Kind.FACET, c);
+        HotelFacetCollector collector = new HotelFacetCollector(priceBucket, maxPriceBuckets);
+        long t0 = metrics.start();
+        jdbc.query(q.sql(), q.params(), collector);
+        metrics.stop(Kind.FACET, c, q, t0);
+        return collector.result();
+    }
+
+    /** 조건에 맞는 호텔의 (id, 최저가) 를 DB 정렬 없이 흘려 보낸다. 최저가가 없으면 TopKHeap.NO_PRICE */
+    public void scanKeys(HotelSearchCriteria c, TopKHeap heap) {
+        SearchSql q = builder.build(Kind.KEYS, c);
+        long t0 = metrics.start();
+        jdbc.query(q.sql(), q.params(), rs -> {
+            int price = rs.getInt(2);
+            heap.offer(rs.getLong(1), rs.wasNull() ? TopKHeap.NO_PRICE : price);
+        });
+        metrics.stop(Kind.KEYS, c, q, t0);
+    }
+
+    /**
+     * 조건에 맞는 전체 호텔을 쿼리 한 번, forward-only 커서로 읽으면서 한 행씩 sink 로 넘긴다.
+     * 결과를 모으지 않으므로 메모리는 행 수와 무관. 넘긴 행 수를 돌려준다.
+     */
+    public long stream(HotelSearchCriteria c, Consumer<HotelProjectionOnly> sink) {
+        SearchSql q = builder.build(Kind.STREAM, c);
+        long[] n = {0};
+        long t0 = metrics.start();
+        streamingJdbc.query(q.sql(), q.params(), rs -> {
+            sink.accept(ROW_MAPPER.mapRow(rs, (int) n[0]));
+            n[0]++;
+        });
+        metrics.stop(Kind.STREAM, c, q, t0);
+        return n[0];
+    }
+
+    /** 조건에 맞는 호텔 id (정렬 없음). 인메모리 인덱스로 못 푼 조건(LIKE, 좌표 등)이 남았을 때 */
+    public long[] findIds(HotelSearchCriteria c) {
+        SearchSql q = builder.build(Kind.KEYS, c);
+        long[][] buf = {new long[256]};
+        int[] n = {0};
+        long t0 = metrics.start();
+        jdbc.query(q.sql(), q.params(), rs -> {
+            if (n[0] == buf[0].length) buf[0] = Arrays.copyOf(buf[0], n[0] * 2);
+            buf[0][n[0]++] = rs.getLong(1);
+        });
+        metrics.stop(Kind.KEYS, c, q, t0);
+        return Arrays.copyOf(buf[0], n[0]);
+    }
+
+    /** 호텔의 날짜별 최저/최고 요금. 배열 i 번째 = from + i 일, 요금이 없는 날은 StayWindows.MISSING */
+    public record DailyPrices(int[] min, int[] max) {}
+
+    /** hotel_min_price 에서 [from, from + days) 를 한 번에. hotelIds 가 null 이면 전체 호텔 */
+    public Map<Long, DailyPrices> dailyPrices(Collection<Long> hotelIds, LocalDate from, int days) {
+        String sql = """
+            SELECT hotel_id, stay_date, min_price, max_price
+            FROM hotel_min_price
+            WHERE stay_date >= :from AND stay_date < :to
+            """ + (hotelIds == null ? "" : "  AND hotel_id IN (:hotelIds)\n");
+        MapSqlParameterSource p = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", from.plusDays(days));
+        if (hotelIds != null) {
+            if (hotelIds.isEmpty()) return Map.of();
+            p.addValue("hotelIds", hotelIds);
+        }
+        long base = from.toEpochDay();
+        Map<Long, DailyPrices> out = new HashMap<>();
+        jdbc.query(sql, p, rs -> {
+            DailyPrices d = out.computeIfAbsent(rs.getLong(1), k -> {
+                int[] min = new int[days];
+                int[] max = new int[days];
+                Arrays.fill(min, StayWindows.MISSING);
+                Arrays.fill(max, StayWindows.MISSING);
+                return new DailyPrices(min, max);
+            });
+            int i = (int) (rs.getObject(2, LocalDate.class).toEpochDay() - base);
+            d.min()[i] = rs.getInt(3);
+            d.max()[i] = rs.getInt(4);
+        });
+        return out;
+    }
+
+    /** DB 현재 시각 (updated_at 과 같은 시계). 스냅샷 watermark 용 */
+    public LocalDateTime dbNow() {
+        return jdbc.getJdbcTemplate().queryForObject("SELECT NOW(6)", LocalDateTime.class);
+    }
+
+    /** 키셋 모드: c.after() 다음 행부터 limit 개 */
+    public List<HotelProjectionOnly> findAfter(HotelSearchCriteria c, int limit) {
+        SearchSql q = builder.build(Kind.SEEK, c);
+        q.params().addValue("limit", limit);
+        long t0 = metrics.start();
+        List<HotelProjectionOnly> rows = jdbc.query(q.sql(), q.params(), ROW_MAPPER);
+        metrics.stop(Kind.SEEK, c, q, t0);
+        return rows;
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.backend.hotel_search.repository;
+
+import com.example.backend.hotel_search.dto.GeoFilter;
+import com.example.backend.hotel_search.dto.HotelColumn;
+import com.example.backend.hotel_search.dto.HotelSearchCriteria;
+import com.example.backend.hotel_search.dto.RoomAmenityFilter;
+import com.example.backend.hotel_search.index.RoomAmenity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 호텔 검색 SQL 동적 생성기.
+ *
+ * 예전 네이티브 쿼리는 모든 조건을 (:x IS NULL OR ...) 로 넣어 두어서 MariaDB 가
+ * 조건이 없을 때도 같은 범용 플랜을 썼다. 여기서는 들어온 조건만 SQL 에 넣는다.
+ *
+ * - 조건 조합(shape) 별로 SQL 문자열을 한 번만 만들고 캐시 → 같은 shape 은 항상 같은 문자열이라
+ *   드라이버의 서버 prepared statement 캐시(useServerPrepStmts/cachePrepStmts)에서 재사용된다.
+ * - IN 목록은 길이를 2의 거듭제곱으로 맞춰(마지막 id 반복) shape 당 statement 수가 늘지 않게 한다.
+ * - 최저/최고가는 hotel_min_price 서브쿼리 하나에서 같이 구한다. 가격 조건이 있으면 INNER JOIN.
+ * - 썸네일은 상관 서브쿼리 대신 비정규화 컬럼 Hotel.cover_image_url (HotelCoverService 가 유지).
+ * - fields= 로 고르지 않은 결과 컬럼은 NULL 로 읽고, 최저가가 필요 없으면 (조건/정렬/컬럼 모두) 가격 조인을 뺀다.
+ * - 정렬/컬럼은 기존 HotelProjectionOnly 쿼리와 같다.
+ */
+@Component
+public class HotelSearchQueryBuilder {
+
+    /** 만들 SQL 종류 */
+    public enum Kind { PAGE, COUNT, SEEK, FACET, KEYS, STREAM }
+
+    // shape 비트
+    private static final int KEYWORD     = 1;
+    private static final int IDS         = 1 << 1;
+    private static final int DATES       = 1 << 2;
+    private static final int PARTY       = 1 << 3;
+    private static final int MIN_PRICE   = 1 << 4;
+    private static final int MAX_PRICE   = 1 << 5;
+    private static final int AFTER_PRICE = 1 << 6; // 커서 행에 가격이 있음
+    private static final int AFTER_NULL  = 1 << 7; // 커서 행이 가격 없음
+    private static final int AMENITY_SHIFT = 8;    // 8 ~ 15: RoomAmenity 비트
+    private static final int AMENITIES   = ((1 << RoomAmenity.values().length) - 1) << AMENITY_SHIFT;
+    private static final int VIEW        = 1 << 16;
+    private static final int BED         = 1 << 17;
+    private static final int GEO_BOX     = 1 << 18;
+    private static final int GEO_BOX_WRAP = 1 << 19; // 날짜변경선을 걸친 영역 (west > east)
+    private static final int GEO_RADIUS  = 1 << 20;
+    private static final int STAY        = 1 << 21; // 모든 밤에 재고 (가용성 인덱스 후보가 너무 많을 때)
+    private static final int ROOM_FILTER = PARTY | AMENITIES | VIEW | BED | STAY; // 객실 EXISTS 가 필요한 조건
+    private static final int OMIT_SHIFT  = 22;     // 22 ~ 27: 읽지 않을 HotelColumn 비트 (전부 읽으면 0)
+
+    private final Map<Long, String> sqlCache = new ConcurrentHashMap<>();
+
+    // Room_Inventory 행이 없는 날의 수량 (가용성 인덱스와 같은 설정)
+    @Value("${search.availability.default-quantity:5}")
+    private int defaultQuantity;
+
+    /** SQL 과 바인딩 값 */
+    public record SearchSql(String sql, MapSqlParameterSource params) {}
+
+    public SearchSql build(Kind kind, HotelSearchCriteria c) {
+        int shape = shapeOf(c, kind);
+        String sql = sqlCache.computeIfAbsent((long) kind.ordinal() << 32 | shape, k -> render(kind, shape));
+        MapSqlParameterSource params = paramsOf(c, shape);
+        if ((shape & STAY) != 0) params.addValue("defaultQuantity", defaultQuantity);
+        return new SearchSql(sql, params);
+    }
+
+    /** 지금까지 만들어진 SQL shape 수 (모니터링용) */
+    public int cachedShapes() {
+        return sqlCache.size();
+    }
+
+    // ===== shape / 파라미터 =====
+
+    private static int shapeOf(HotelSearchCriteria c, Kind kind) {
+        int s = 0;
+        if (c.keyword() != null && !c.keyword().isBlank()) s |= KEYWORD;
+        if (c.hotelIds() != null) s |= IDS;
+        if (c.hasDates()) s |= DATES;
+        if (c.hasParty()) s |= PARTY;
+        if (c.hasAvailability()) s |= STAY;
+        if (c.hasAmenities()) {
+            RoomAmenityFilter a = c.amenities();
+            for (RoomAmenity x : a.amenities()) s |= x.bit() << AMENITY_SHIFT;
+            if (a.view() != null) s |= VIEW;
+            if (a.bed() != null) s |= BED;
+        }
+        if (c.minPrice() != null) s |= MIN_PRICE;
+        if (c.maxPrice() != null) s |= MAX_PRICE;
+        if (c.hasGeo()) {
+            GeoFilter g = c.geo();
+            s |= g.isRadius() ? GEO_RADIUS : g.west() > g.east() ? GEO_BOX_WRAP : GEO_BOX;
+        }
+        if (kind == Kind.SEEK && c.after() != null) s |= c.after().priceNull() ? AFTER_NULL : AFTER_PRICE;
+        if (kind == Kind.PAGE || kind == Kind.SEEK || kind == Kind.STREAM) {
+            int omit = HotelColumn.ALL & ~c.columnMask();
+            if (kind == Kind.SEEK) omit &= ~HotelColumn.LOWEST_PRICE.bit(); // 다음 커서를 만들 때 씀
+            s |= omit << OMIT_SHIFT;
+        }
+        return s;
+    }
+
+    private static MapSqlParameterSource paramsOf(HotelSearchCriteria c, int shape) {
+        MapSqlParameterSource p = new MapSqlParameterSource();
+        if ((shape & KEYWORD) != 0) p.addValue("q", c.keyword());
+        if ((shape & IDS) != 0) p.addValue("hotelIds", padded(c.hotelIds()));
+        if ((shape & DATES) != 0) {
+            p.addValue("checkIn", c.checkIn());
+            p.addValue("checkOut", c.checkOut());
+        }
+        if ((shape & PARTY) != 0) p.addValue("party", c.partySize());
+        if ((shape & (PARTY | STAY)) != 0) p.addValue("rooms", c.roomCount());
+        if ((shape & STAY) != 0) p.addValue("nights", ChronoUnit.DAYS.between(c.checkIn(), c.checkOut()));
+        if ((shape & VIEW) != 0) p.addValue("view", c.amenities().view());
+        if ((shape & BED) != 0) p.addValue("bed", c.amenities().bed());
+        if ((shape & GEO_RADIUS) != 0) {
+            GeoFilter g = c.geo();
+            double dLat = g.radiusKm() / 111.195; // 위도 1도 ≈ 111.195km
+            p.addValue("geoLat", g.lat());
+            p.addValue("geoLng", g.lng());
+            p.addValue("geoRadiusM", g.radiusKm() * 1000);
+            p.addValue("geoSouth", g.lat() - dLat);
+            p.addValue("geoNorth", g.lat() + dLat);
+        }
+        if ((shape & (GEO_BOX | GEO_BOX_WRAP)) != 0) {
+            GeoFilter g = c.geo();
+            p.addValue("geoSouth", g.south());
+            p.addValue("geoNorth", g.north());
+            p.addValue("geoWest", g.west());
+            p.addValue("geoEast", g.east());
+        }
+        if ((shape & MIN_PRICE) != 0) p.addValue("minPrice", c.minPrice());
+        if ((shape & MAX_PRICE) != 0) p.addValue("maxPrice", c.maxPrice());
+        if ((shape & (AFTER_PRICE | AFTER_NULL)) != 0) {
+            p.addValue("afterId", c.after().id());
+            if ((shape & AFTER_PRICE) != 0) p.addValue("afterPrice", c.after().price());
+        }
+        return p;
+    }
+
+    // IN (?, ?, ...) 자리 수를 2^n 으로 맞춤. 중복 값은 결과에 영향 없음
+    private static List<Long> padded(Collection<Long> ids) {
+        List<Long> list = new ArrayList<>(ids);
+        int target = list.size() <= 1 ? 1 : Integer.highestOneBit(list.size() - 1) << 1;
+        Long last = list.get(list.size() - 1);
+        while (list.size() < target) list.add(last);
+        return list;
+    }
+
+    // ===== SQL 조립 =====
+
+    private static String render(Kind kind, int shape) {
+        boolean priceFilter = (shape & (MIN_PRICE | MAX_PRICE)) != 0;
+        int omit = shape >>> OMIT_SHIFT;
+        // count 는 가격 조건이 없으면 최저가 조인 자체가 필요 없다. 내보내기(id 순)도 최저가 컬럼을 안 읽으면 마찬가지
+        boolean needPrice = priceFilter || switch (kind) {
+            case COUNT -> false;
+            case STREAM -> (omit & HotelColumn.LOWEST_PRICE.bit()) == 0;
+            case PAGE, SEEK, FACET, KEYS -> true; // 가격순 ORDER BY / 집계 / 정렬 키
+        };
+
+        StringBuilder sql = new StringBuilder(1024);
+        if (kind == Kind.COUNT) {
+            sql.append("SELECT COUNT(*)\n");
+        } else if (kind == Kind.KEYS) {
+            // 정렬 없이 조건에 맞는 (id, 최저가) 만. 정렬은 HotelSearchService 의 top-K 힙에서
+            sql.append("SELECT h.id, mp.lowest_price\n");
+        } else if (kind == Kind.FACET) {
+            // 컬럼 순서는 HotelFacetCollector 와 맞출 것
+            sql.append("SELECT h.country, h.star_rating, mp.lowest_price\n");
+        } else {
+            // 행 모양은 항상 같고 (HotelSearchJdbcRepository.ROW_MAPPER), 고르지 않은 컬럼만 NULL
+            sql.append("SELECT\n    h.id AS id");
+            for (HotelColumn col : HotelColumn.values()) {
+                sql.append(",\n    ").append((omit & col.bit()) == 0 ? col.expr() : "NULL")
+                        .append(" AS ").append(col.field());
+            }
+            sql.append('\n');
+        }
+        sql.append("FROM `Hotel` h\n");
+
+        if (needPrice && (shape & DATES) == 0) {
+            // 날짜가 없으면 호텔별 요약 행을 기본키로 (hotel_min_price 전체 GROUP BY 없이)
+            sql.append(priceFilter ? "JOIN" : "LEFT JOIN");
+            sql.append(" hotel_price_summary mp ON mp.hotel_id = h.id\n");
+        } else if (needPrice) {
+            sql.append(priceFilter ? "JOIN (\n" : "LEFT JOIN (\n");
+            sql.append("""
+                    SELECT mp0.hotel_id,
+                           MIN(mp0.min_price) AS lowest_price,
+                           MAX(mp0.max_price) AS highest_price
+                    FROM hotel_min_price mp0
+                    WHERE mp0.stay_date >= :checkIn AND mp0.stay_date < :checkOut
+                    GROUP BY mp0.hotel_id
+                ) mp ON mp.hotel_id = h.id
+                """);
+        }
+
+        List<String> where = new ArrayList<>();
+        if ((shape & KEYWORD) != 0) {
+            where.add("""
+                ( h.name    LIKE CONCAT('%', :q, '%')
+                  OR h.address LIKE CONCAT('%', :q, '%')
+                  OR h.country LIKE CONCAT('%', :q, '%') )""");
+        }
+        if ((shape & IDS) != 0) {
+            where.add("h.id IN (:hotelIds)");
+        }
+        if ((shape & ROOM_FILTER) != 0) {
+            // 가용성 인덱스가 준비 전이거나 후보가 너무 많을 때만 쓰인다 (HotelSearchService). 인원/편의시설/재고는 같은 객실이어야 함
+            List<String> room = new ArrayList<>();
+            room.add("rx.hotel_id = h.id");
+            if ((shape & PARTY) != 0) {
+                room.add("rx.capacity_max * :rooms >= :party");
+                // 최소 정원이 비어 있으면 1 명 (가용성 인덱스 RoomSlot.capMin 과 같은 규칙)
+                room.add("COALESCE(rx.capacity_min, 1) * :rooms <= GREATEST(:party, 1)");
+            }
+            for (RoomAmenity a : RoomAmenity.values()) {
+                if ((shape & (a.bit() << AMENITY_SHIFT)) != 0) room.add(amenityCondition(a));
+            }
+            if ((shape & VIEW) != 0) room.add("LOWER(TRIM(rx.view_name)) = :view");
+            if ((shape & BED) != 0) room.add("LOWER(TRIM(rx.bed)) = :bed");
+            if ((shape & STAY) != 0) {
+                // 모자란 밤이 없고, 행이 없는 날(기본 수량)로도 rooms 개가 되거나 모든 밤에 행이 있음
+                room.add("""
+                    NOT EXISTS ( SELECT 1 FROM `Room_Inventory` ri
+                                 WHERE ri.room_id = rx.id AND ri.date >= :checkIn AND ri.date < :checkOut
+                                   AND ri.available_quantity < :rooms )""");
+                room.add("""
+                    ( :rooms <= :defaultQuantity
+                             OR ( SELECT COUNT(*) FROM `Room_Inventory` ri
+                                  WHERE ri.room_id = rx.id AND ri.date >= :checkIn AND ri.date < :checkOut ) = :nights )""");
+            }
+            where.add("EXISTS ( SELECT 1 FROM `Room` rx\n         WHERE "
+                    + String.join("\n           AND ", room) + " )");
+        }
+        // 위치: 좌표 인덱스가 아직 없거나 후보가 너무 많을 때만 (HotelSearchService)
+        if ((shape & GEO_RADIUS) != 0) {
+            where.add("""
+                h.latitude BETWEEN :geoSouth AND :geoNorth
+                  AND ST_Distance_Sphere(POINT(h.longitude, h.latitude), POINT(:geoLng, :geoLat)) <= :geoRadiusM""");
+        }
+        if ((shape & GEO_BOX) != 0) {
+            where.add("h.latitude BETWEEN :geoSouth AND :geoNorth AND h.longitude BETWEEN :geoWest AND :geoEast");
+        }
+        if ((shape & GEO_BOX_WRAP) != 0) {
+            where.add("h.latitude BETWEEN :geoSouth AND :geoNorth AND (h.longitude >= :geoWest OR h.longitude <= :geoEast)");
+        }
+        if ((shape & MIN_PRICE) != 0) where.add("mp.highest_price >= :minPrice");
+        if ((shape & MAX_PRICE) != 0) where.add("mp.lowest_price <= :maxPrice");
+        if ((shape & AFTER_PRICE) != 0) {
+            where.add("""
+                ( mp.lowest_price IS NULL
+                  OR mp.lowest_price > :afterPrice
+                  OR ( mp.lowest_price = :afterPrice AND h.id < :afterId ) )""");
+        }
+        if ((shape & AFTER_NULL) != 0) {
+            where.add("mp.lowest_price IS NULL AND h.id < :afterId");
+        }
+        if (!where.isEmpty()) {
+            sql.append("WHERE ").append(String.join("\n  AND ", where)).append('\n');
+        }
+
+        switch (kind) {
+            case PAGE -> sql.append(ORDER_BY).append("LIMIT :limit OFFSET :offset");
+            case SEEK -> sql.append(ORDER_BY).append("LIMIT :limit");
+            // 내보내기: 전체를 PK 순으로 (정렬용 임시 테이블 없이 바로 흘려 보냄)
+            case STREAM -> sql.append("ORDER BY h.id\n");
+            case COUNT, FACET, KEYS -> { }
+        }
+        return sql.toString();
+    }
+
+    private static String amenityCondition(RoomAmenity a) {
+        return switch (a) {
+            case WIFI -> "rx.wifi = 1";
+            case AIRCON -> "rx.aircon = 1";
+            case WINDOW -> "rx.has_window = 1";
+            case FREE_WATER -> "rx.free_water = 1";
+            case NON_SMOKING -> "rx.smoke = 0";
+            case SMOKING -> "rx.smoke = 1";
+            case PRIVATE_BATH -> "rx.shared_bath = 0";
+            case SHARED_BATH -> "rx.shared_bath = 1";
+        };
+    }
+
+    private static final String ORDER_BY = "ORDER BY (mp.lowest_price IS NULL), mp.lowest_price ASC, h.id DESC\n";
+}
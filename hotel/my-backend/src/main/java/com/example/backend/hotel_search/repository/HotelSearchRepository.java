@@ -1,153 +1,88 @@
 package com.example.backend.hotel_search.repository;
 
 import com.example.backend.fe_hotel_detail.domain.Hotel; // 네 엔티티 경로 유지
-import com.example.backend.hotel_search.dto.HotelProjectionOnly;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.example.backend.hotel_search.index.HotelDocument;
+import com.example.backend.hotel_search.index.InventoryDay;
+import com.example.backend.hotel_search.index.RoomDocument;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// 검색 쿼리 자체는 HotelSearchJdbcRepository (동적 SQL). 여기는 인덱스 적재용 조회와 비정규화 컬럼 갱신만
 @Repository
 public interface HotelSearchRepository extends JpaRepository<Hotel, Long> {
 
-    @Query(value = """
-        SELECT
-            h.id                                  AS id,
-            h.name                                AS name,
-            h.address                             AS city,          -- 표시용: 주소를 city로
-            h.country                             AS country,
-            CAST(h.star_rating AS DOUBLE)         AS rating,
-            MIN(rpp.price)                        AS lowestPrice,   -- ★ 최저가
-            ( SELECT hi.url
-              FROM hotel_image hi
-              WHERE hi.hotel_id = h.id
-              ORDER BY hi.is_cover DESC, hi.sort_no ASC
-              LIMIT 1
-            )                                     AS thumbnailUrl
-        FROM `Hotel` h
-        LEFT JOIN `Room` r
-               ON r.hotel_id = h.id
-        LEFT JOIN `Room_Price_Policy` rpp
-               ON rpp.room_id = r.id
-              AND (
-                    :checkIn IS NULL OR :checkOut IS NULL
-                    OR ( rpp.start_date <= DATE(:checkOut) AND rpp.end_date >= DATE(:checkIn) )
-                  )
-        WHERE
-            ( :q IS NULL OR :q = '' OR
-              h.name    LIKE CONCAT('%', :q, '%') OR
-              h.address LIKE CONCAT('%', :q, '%') OR
-              h.country LIKE CONCAT('%', :q, '%')
-            )
-            -- 인원: adults+children 총합 기준
-            AND (
-              (:adults IS NULL AND :children IS NULL)
-              OR EXISTS (
-                   SELECT 1
-                   FROM `Room` rx
-                   WHERE rx.hotel_id = h.id
-                     AND rx.capacity_max >= COALESCE(:adults,0) + COALESCE(:children,0)
-                     AND rx.capacity_min <= GREATEST(COALESCE(:adults,0) + COALESCE(:children,0), 1)
-              )
-            )
-            -- 가격 하한
-            AND (
-              :minPrice IS NULL
-              OR EXISTS (
-                   SELECT 1
-                   FROM `Room_Price_Policy` px
-                   JOIN `Room` r2 ON r2.id = px.room_id
-                   WHERE r2.hotel_id = h.id
-                     AND (
-                          :checkIn IS NULL OR :checkOut IS NULL
-                          OR ( px.start_date <= DATE(:checkOut) AND px.end_date >= DATE(:checkIn) )
-                     )
-                     AND px.price >= :minPrice
-              )
-            )
-            -- 가격 상한
-            AND (
-              :maxPrice IS NULL
-              OR EXISTS (
-                   SELECT 1
-                   FROM `Room_Price_Policy` py
-                   JOIN `Room` r3 ON r3.id = py.room_id
-                   WHERE r3.hotel_id = h.id
-                     AND (
-                          :checkIn IS NULL OR :checkOut IS NULL
-                          OR ( py.start_date <= DATE(:checkOut) AND py.end_date >= DATE(:checkIn) )
-                     )
-                     AND py.price <= :maxPrice
-              )
-            )
-        GROUP BY h.id, h.name, h.address, h.country, h.star_rating
-        ORDER BY (MIN(rpp.price) IS NULL), MIN(rpp.price) ASC, h.id DESC
-        """,
-        countQuery = """
-        SELECT COUNT(DISTINCT h.id)
-        FROM `Hotel` h
-        LEFT JOIN `Room` r ON r.hotel_id = h.id
-        LEFT JOIN `Room_Price_Policy` rpp
-               ON rpp.room_id = r.id
-              AND (
-                    :checkIn IS NULL OR :checkOut IS NULL
-                    OR ( rpp.start_date <= DATE(:checkOut) AND rpp.end_date >= DATE(:checkIn) )
-                  )
-        WHERE
-            ( :q IS NULL OR :q = '' OR
-              h.name    LIKE CONCAT('%', :q, '%') OR
-              h.address LIKE CONCAT('%', :q, '%') OR
-              h.country LIKE CONCAT('%', :q, '%')
-            )
-            AND (
-              (:adults IS NULL AND :children IS NULL)
-              OR EXISTS (
-                   SELECT 1
-                   FROM `Room` rx
-                   WHERE rx.hotel_id = h.id
-                     AND rx.capacity_max >= COALESCE(:adults,0) + COALESCE(:children,0)
-                     AND rx.capacity_min <= GREATEST(COALESCE(:adults,0) + COALESCE(:children,0), 1)
-              )
-            )
-            AND (
-              :minPrice IS NULL
-              OR EXISTS (
-                   SELECT 1
-                   FROM `Room_Price_Policy` px
-                   JOIN `Room` r2 ON r2.id = px.room_id
-                   WHERE r2.hotel_id = h.id
-                     AND (
-                          :checkIn IS NULL OR :checkOut IS NULL
-                          OR ( px.start_date <= DATE(:checkOut) AND px.end_date >= DATE(:checkIn) )
-                     )
-                     AND px.price >= :minPrice
-              )
-            )
-            AND (
-              :maxPrice IS NULL
-              OR EXISTS (
-                   SELECT 1
-                   FROM `Room_Price_Policy` py
-                   JOIN `Room` r3 ON r3.id = py.room_id
-                   WHERE r3.hotel_id = h.id
-                     AND (
-                          :checkIn IS NULL OR :checkOut IS NULL
-                          OR ( py.start_date <= DATE(:checkOut) AND py.end_date >= DATE(:checkIn) )
-                     )
-                     AND py.price <= :maxPrice
-              )
-            )
-        """,
-        nativeQuery = true)
-    Page<HotelProjectionOnly> search(
-            @Param("q") String q,
-            @Param("checkIn") String checkIn,     // 'YYYY-MM-DD' 권장
-            @Param("checkOut") String checkOut,   // 'YYYY-MM-DD' 권장
-            @Param("minPrice") Integer minPrice,
-            @Param("maxPrice") Integer maxPrice,
-            @Param("adults") Integer adults,
-            @Param("children") Integer children,
-            Pageable pageable
-    );
+    // 인메모리 텍스트 인덱스 적재용 (description @Lob 은 읽지 않음)
+    // 호텔 문서: 텍스트/자동완성/정렬/좌표 인덱스 공용
+    String HOTEL_DOCUMENT = """
+        select new com.example.backend.hotel_search.index.HotelDocument(
+            h.id, h.name, h.address, h.country, h.starRating, h.latitude, h.longitude)
+        from Hotel h""";
+
+    @Query(HOTEL_DOCUMENT)
+    List<HotelDocument> findAllDocuments();
+
+    @Query(HOTEL_DOCUMENT + " where h.id = :id")
+    Optional<HotelDocument> findDocumentById(@Param("id") Long id);
+
+    // 가용성 인덱스 적재용
+    // 객실 문서: 정원 + 편의시설(Boolean 컬럼 → RoomAmenity 비트) + 전망/침대
+    String ROOM_DOCUMENT = """
+        select new com.example.backend.hotel_search.index.RoomDocument(
+            r.id, r.hotelId, r.capacityMin, r.capacityMax,
+            r.wifi, r.aircon, r.hasWindow, r.freeWater, r.smoke, r.sharedBath, r.viewName, r.bed)
+        from Room r""";
+
+    @Query(ROOM_DOCUMENT)
+    List<RoomDocument> findAllRoomDocuments();
+
+    @Query(ROOM_DOCUMENT + " where r.id = :id")
+    Optional<RoomDocument> findRoomDocumentById(@Param("id") Long id);
+
+    // ===== 스냅샷 이후 따라잡기 (updated_at >= since) =====
+
+    @Query(HOTEL_DOCUMENT + " where h.updatedAt >= :since")
+    List<HotelDocument> findDocumentsUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query(ROOM_DOCUMENT + " where r.updatedAt >= :since")
+    List<RoomDocument> findRoomDocumentsUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query("select new com.example.backend.hotel_search.index.InventoryDay(ri.roomId, ri.date, ri.availableQuantity) "
+         + "from RoomInventory ri where ri.updatedAt >= :since and ri.date >= :from and ri.date < :to")
+    List<InventoryDay> findInventoryUpdatedSince(@Param("since") LocalDateTime since,
+                                                 @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // 삭제는 updated_at 으로 알 수 없으므로 살아 있는 id 목록과 비교 (PK 인덱스만 읽음)
+    @Query("select h.id from Hotel h")
+    List<Long> findAllHotelIds();
+
+    @Query("select r.id from Room r")
+    List<Long> findAllRoomIds();
+
+    // [from, to) 재고 행
+    @Query("select new com.example.backend.hotel_search.index.InventoryDay(ri.roomId, ri.date, ri.availableQuantity) "
+         + "from RoomInventory ri where ri.date >= :from and ri.date < :to")
+    List<InventoryDay> findInventoryBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Hotel.cover_image_url 비정규화: 대표 이미지 우선, 그다음 sort_no 순 첫 장 (없으면 NULL)
+    String COVER_SUBQUERY = """
+        (SELECT hi.url FROM hotel_image hi
+         WHERE hi.hotel_id = h.id
+         ORDER BY hi.is_cover DESC, hi.sort_no ASC
+         LIMIT 1)""";
+
+    @Modifying
+    @Query(value = "UPDATE `Hotel` h SET h.cover_image_url = " + COVER_SUBQUERY + " WHERE h.id = :id", nativeQuery = true)
+    int refreshCoverImage(@Param("id") Long id);
+
+    // 값이 달라진 행만 갱신 (<=> : NULL 안전 비교)
+    @Modifying
+    @Query(value = "UPDATE `Hotel` h SET h.cover_image_url = " + COVER_SUBQUERY
+                 + " WHERE NOT (h.cover_image_url <=> " + COVER_SUBQUERY + ")", nativeQuery = true)
+    int refreshAllCoverImages();
 }
@@ -0,0 +1,280 @@
+package com.example.backend.hotel_search.repository;
+
+import com.example.backend.hotel_search.dto.HotelSearchCriteria;
+import com.example.backend.hotel_search.repository.HotelSearchQueryBuilder.Kind;
+import com.example.backend.hotel_search.repository.HotelSearchQueryBuilder.SearchSql;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 검색 단계별 시간 측정 + 느린 검색 기록.
+ *
+ * - 타이머: hotel.search.stage{stage, filters}
+ *   stage   = candidates(인메모리 인덱스) | fuzzy(결과 0건일 때 오타 교정) | page | count | seek | facet | keys | stream | total
+ *   filters = SQL 에 실제로 들어간 조건 조합 (like, ids, dates, party, price, availability, amenity, geo 를 이 순서로 + 로 연결, 없으면 none)
+ *   stage × filters 조합은 배열 칸에 한 번만 등록하고 이후에는 꺼내 쓰기만 한다.
+ * - 느린 검색: 한 요청의 total 이 slow-threshold-ms 이상이면 정규화된 파라미터와 단계별 시간을
+ *   링 버퍼에 남긴다 (/actuator/slowsearches). explain=true 면 가장 오래 걸린 SQL 의 EXPLAIN 을
+ *   별도 스레드에서 떠서 같이 붙인다.
+ * - 요청 단위 기록은 스레드마다 하나씩 재사용하는 Trace 에 쌓는다.
+ *   enabled=false 면 start() 는 0 을 돌려주고 나머지는 바로 return → 할당 없음.
+ */
+@Slf4j
+@Component
+public class SearchQueryMetrics {
+
+    // filters 비트
+    private static final int LIKE  = 1;
+    private static final int IDS   = 1 << 1;
+    private static final int DATES = 1 << 2;
+    private static final int PARTY = 1 << 3;
+    private static final int PRICE = 1 << 4;
+    private static final int AVAILABILITY = 1 << 5;
+    private static final int AMENITY = 1 << 6;
+    private static final int GEO = 1 << 7;
+    private static final int FILTER_SHAPES = 1 << 8;
+
+    private static final int CANDIDATES = Kind.values().length;
+    private static final int FUZZY = CANDIDATES + 1;
+    private static final int TOTAL = FUZZY + 1;
+    private static final int STAGES = TOTAL + 1;
+    private static final String[] STAGE_NAMES = new String[STAGES];
+    private static final String[] FILTER_NAMES = new String[FILTER_SHAPES];
+
+    static {
+        for (Kind k : Kind.values()) STAGE_NAMES[k.ordinal()] = k.name().toLowerCase(Locale.ROOT);
+        STAGE_NAMES[CANDIDATES] = "candidates";
+        STAGE_NAMES[FUZZY] = "fuzzy";
+        STAGE_NAMES[TOTAL] = "total";
+        String[] bits = {"like", "ids", "dates", "party", "price", "availability", "amenity", "geo"};
+        for (int m = 0; m < FILTER_SHAPES; m++) {
+            StringJoiner j = new StringJoiner("+");
+            for (int b = 0; b < bits.length; b++) if ((m & (1 << b)) != 0) j.add(bits[b]);
+            FILTER_NAMES[m] = m == 0 ? "none" : j.toString();
+        }
+    }
+
+    /** 느린 검색 한 건. explain 은 비동기로 나중에 채워진다 */
+    public static final class SlowSearch {
+        public final Instant at;
+        public final String params;
+        public final String filters;
+        public final long totalMicros;
+        public final Map<String, Long> stageMicros;
+        public final String slowestSql;
+        public volatile List<Map<String, Object>> explain;
+
+        SlowSearch(Instant at, String params, String filters, long totalMicros,
+                   Map<String, Long> stageMicros, String slowestSql) {
+            this.at = at;
+            this.params = params;
+            this.filters = filters;
+            this.totalMicros = totalMicros;
+            this.stageMicros = stageMicros;
+            this.slowestSql = slowestSql;
+        }
+    }
+
+    /** 스레드당 하나, 요청마다 reset 해서 재사용 */
+    public static final class Trace {
+        private final long[] nanos = new long[STAGES];
+        private final SearchSql[] sqls = new SearchSql[STAGES];
+        private long start;
+        private int filters;
+        private boolean active;
+
+        private void reset() {
+            Arrays.fill(nanos, 0);
+            Arrays.fill(sqls, null);
+            filters = 0;
+            start = System.nanoTime();
+            active = true;
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final boolean enabled;
+    private final long slowNanos;
+    private final boolean explain;
+
+    private final Timer[] timers = new Timer[STAGES * FILTER_SHAPES];
+    private final ThreadLocal<Trace> traces = ThreadLocal.withInitial(Trace::new);
+    private final SlowSearch[] ring;
+    private final AtomicLong ringNext = new AtomicLong();
+    private final ExecutorService explainExecutor;
+
+    public SearchQueryMetrics(MeterRegistry registry,
+                              NamedParameterJdbcTemplate jdbc,
+                              @Value("${search.metrics.enabled:true}") boolean enabled,
+                              @Value("${search.metrics.slow-threshold-ms:500}") long slowThresholdMs,
+                              @Value("${search.metrics.slow-log-size:100}") int slowLogSize,
+                              @Value("${search.metrics.explain:false}") boolean explain) {
+        this.registry = registry;
+        this.jdbc = jdbc;
+        this.enabled = enabled;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.explain = explain;
+        this.ring = new SlowSearch[Math.max(slowLogSize, 1)];
+        // EXPLAIN 은 한 번에 하나, 밀리면 버림 (검색 요청을 기다리게 하지 않음)
+        this.explainExecutor = explain
+                ? new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), r -> {
+                      Thread t = new Thread(r, "search-explain");
+                      t.setDaemon(true);
+                      return t;
+                  }, new ThreadPoolExecutor.DiscardPolicy())
+                : null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (explainExecutor != null) explainExecutor.shutdownNow();
+    }
+
+    // ===== 요청 단위 =====
+
+    /** 요청 시작. 비활성이면 null */
+    public Trace begin() {
+        if (!enabled) return null;
+        Trace t = traces.get();
+        t.reset();
+        return t;
+    }
+
+    /** 요청 끝. total 기록, 느리면 링 버퍼에 (params 는 그때만 toString) */
+    public void end(Trace t, Object params) {
+        if (t == null || !t.active) return;
+        t.active = false;
+        long total = System.nanoTime() - t.start;
+        timer(TOTAL, t.filters).record(total, TimeUnit.NANOSECONDS);
+        if (total >= slowNanos) captureSlow(t, total, params);
+    }
+
+    // ===== 단계 =====
+
+    /** 단계 시작 시각. 비활성이면 0 */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /** SQL 단계 끝 */
+    public void stop(Kind kind, HotelSearchCriteria c, SearchSql q, long t0) {
+        if (!enabled) return;
+        record(kind.ordinal(), filtersOf(c), q, System.nanoTime() - t0);
+    }
+
+    /** 인메모리 후보 계산 끝 (c 가 null 이면 후보 없음 → 조건 조합 none) */
+    public void stopCandidates(HotelSearchCriteria c, long t0) {
+        if (!enabled) return;
+        record(CANDIDATES, c == null ? 0 : filtersOf(c), null, System.nanoTime() - t0);
+    }
+
+    /** 오타 교정(인메모리) 끝 */
+    public void stopFuzzy(long t0) {
+        if (!enabled) return;
+        record(FUZZY, 0, null, System.nanoTime() - t0);
+    }
+
+    private void record(int stage, int filters, SearchSql q, long nanos) {
+        timer(stage, filters).record(nanos, TimeUnit.NANOSECONDS);
+        Trace t = traces.get();
+        if (!t.active) return;
+        t.nanos[stage] += nanos;
+        if (q != null) {
+            t.sqls[stage] = q;
+            t.filters = filters;
+        } else if (t.filters == 0) {
+            t.filters = filters;
+        }
+    }
+
+    private Timer timer(int stage, int filters) {
+        int i = stage * FILTER_SHAPES + filters;
+        Timer t = timers[i];
+        if (t == null) {
+            // 같은 이름/태그면 registry 가 같은 Timer 를 돌려주므로 경합해도 무방
+            t = Timer.builder("hotel.search.stage")
+                    .tag("stage", STAGE_NAMES[stage])
+                    .tag("filters", FILTER_NAMES[filters])
+                    .register(registry);
+            timers[i] = t;
+        }
+        return t;
+    }
+
+    private static int filtersOf(HotelSearchCriteria c) {
+        int f = 0;
+        if (c.keyword() != null && !c.keyword().isBlank()) f |= LIKE;
+        if (c.hotelIds() != null) f |= IDS;
+        if (c.hasDates()) f |= DATES;
+        if (c.hasParty()) f |= PARTY;
+        if (c.hasPriceFilter()) f |= PRICE;
+        if (c.hasAvailability()) f |= AVAILABILITY;
+        if (c.hasAmenities()) f |= AMENITY;
+        if (c.hasGeo()) f |= GEO;
+        return f;
+    }
+
+    // ===== 느린 검색 =====
+
+    private void captureSlow(Trace t, long total, Object params) {
+        Map<String, Long> stages = new LinkedHashMap<>();
+        int slowest = -1;
+        for (int s = 0; s < TOTAL; s++) {
+            if (t.nanos[s] == 0) continue;
+            stages.put(STAGE_NAMES[s], t.nanos[s] / 1000);
+            if (t.sqls[s] != null && (slowest < 0 || t.nanos[s] > t.nanos[slowest])) slowest = s;
+        }
+        SearchSql sql = slowest < 0 ? null : t.sqls[slowest];
+        SlowSearch entry = new SlowSearch(Instant.now(), String.valueOf(params), FILTER_NAMES[t.filters],
+                total / 1000, stages, sql == null ? null : sql.sql());
+        ring[(int) (ringNext.getAndIncrement() % ring.length)] = entry;
+        log.warn("[SEARCH-SLOW] {}ms filters={} stages(us)={} params={}",
+                total / 1_000_000, entry.filters, stages, entry.params);
+
+        if (explainExecutor != null && sql != null) {
+            explainExecutor.execute(() -> {
+                try {
+                    entry.explain = jdbc.queryForList("EXPLAIN " + sql.sql(), sql.params());
+                } catch (RuntimeException e) {
+                    log.debug("[SEARCH-SLOW] explain failed: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    /** 최근 느린 검색 (최신 순) */
+    public List<SlowSearch> slowSearches() {
+        long next = ringNext.get();
+        int n = (int) Math.min(next, ring.length);
+        List<SlowSearch> out = new ArrayList<>(n);
+        for (long i = next - 1; i >= next - n; i--) {
+            SlowSearch s = ring[(int) (i % ring.length)];
+            if (s != null) out.add(s);
+        }
+        return out;
+    }
+
+    public void clearSlowSearches() {
+        Arrays.fill(ring, null);
+        ringNext.set(0);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long slowThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowNanos);
+    }
+}
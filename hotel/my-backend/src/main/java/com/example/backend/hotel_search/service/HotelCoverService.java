@@ -0,0 +1,49 @@
+package com.example.backend.hotel_search.service;
+
+import com.example.backend.hotel_search.event.CatalogChangedEvent;
+import com.example.backend.hotel_search.repository.HotelSearchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hotel.cover_image_url 유지.
+ *
+ * 검색 결과마다 hotel_image(@Lob url) 상관 서브쿼리를 돌리던 썸네일을 호텔 행의 컬럼으로 옮겼다.
+ * - hotel_image 변경 → 해당 호텔만 다시 계산 (커밋 이후)
+ * - 기동 시 전체 맞춤 → 컬럼 추가 직후 백필, DB 에서 직접 바뀐 이미지도 맞춤
+ */
+@Slf4j
+@Service
+public class HotelCoverService {
+
+    private final HotelSearchRepository repo;
+    private final TransactionTemplate newTx; // 커밋 이후 이벤트 안에서도 새 트랜잭션
+
+    public HotelCoverService(HotelSearchRepository repo, PlatformTransactionManager txManager) {
+        this.repo = repo;
+        this.newTx = new TransactionTemplate(txManager);
+        this.newTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void syncAll() {
+        long start = System.currentTimeMillis();
+        Integer updated = newTx.execute(status -> repo.refreshAllCoverImages());
+        log.info("[COVER] synced hotels={} took={}ms", updated, System.currentTimeMillis() - start);
+    }
+
+    @Order(0) // 검색 결과 캐시 무효화(@Order(100))보다 먼저
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent e) {
+        if (e.kind() != CatalogChangedEvent.Kind.HOTEL_IMAGE || e.hotelId() == null) return;
+        newTx.executeWithoutResult(status -> repo.refreshCoverImage(e.hotelId()));
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.backend.hotel_search.service;
+
+import com.example.backend.hotel_reservation.domain.RoomPricePolicy;
+import com.example.backend.hotel_reservation.repository.RoomPricePolicyRepository;
+import com.example.backend.hotel_reservation.repository.RoomRepository;
+import com.example.backend.hotel_search.dto.HotelPriceRange;
+import com.example.backend.hotel_search.event.CatalogChangedEvent;
+import com.example.backend.hotel_search.repository.HotelMinPriceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * hotel_min_price 읽기 모델 관리.
+ *
+ * 오늘부터 horizon-days 일 동안 호텔 × 날짜 별 최저/최고 요금을 유지한다.
+ * 같은 트랜잭션에서 호텔별 최저/최고(hotel_price_summary)도 같이 쓴다 (날짜 없는 검색용).
+ * 요약도 같은 기간 [오늘, 오늘 + horizon-days) 만 본다. 지난 정책이나 기간 밖의 정책만 있는 호텔은
+ * 날짜 없는 검색에서 최저가가 없다 (예전 조인은 모든 정책의 MIN 이었음. 예약할 수 없는 가격이라 뺌).
+ * 기간 뒤로 체크아웃하는 날짜 검색은 가격을 낼 수 없으므로 HotelSearchService 가 400 으로 막는다.
+ * - 요금 정책 변경 → 해당 호텔만 재계산 (커밋 이후)
+ * - 매일 새벽 전체 재빌드 → 기간을 하루씩 밀고, DB 에서 직접 바뀐 정책(FK CASCADE 등)도 맞춤
+ * - 기동 시 비어 있으면 백그라운드로 채움 (준비 완료를 막지 않음. 채워지는 동안은 호텔별로 점점 반영)
+ * - /actuator/hotelminprice : GET 정합성 검사 / POST 전체 재빌드
+ * 전체 재빌드는 한 번에 하나만 (겹치면 뒤의 것은 건너뜀).
+ */
+@Slf4j
+@Service
+public class HotelMinPriceService {
+
+    private final HotelMinPriceRepository minPriceRepo;
+    private final RoomPricePolicyRepository policyRepo;
+    private final RoomRepository roomRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTx; // 호텔 단위 커밋 (커밋 이후 이벤트 안에서도 새 트랜잭션)
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService initExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "min-price-init");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public HotelMinPriceService(HotelMinPriceRepository minPriceRepo,
+                                RoomPricePolicyRepository policyRepo,
+                                RoomRepository roomRepo,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager txManager) {
+        this.minPriceRepo = minPriceRepo;
+        this.policyRepo = policyRepo;
+        this.roomRepo = roomRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTx = new TransactionTemplate(txManager);
+        this.newTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Value("${search.min-price.horizon-days:365}")
+    private int horizonDays;
+
+    public LocalDate windowStart() {
+        return LocalDate.now();
+    }
+
+    public LocalDate windowEnd() {
+        return windowStart().plusDays(horizonDays);
+    }
+
+    // ===== 갱신 =====
+
+    public void refreshHotel(Long hotelId) {
+        newTx.executeWithoutResult(status -> refreshHotelInTx(hotelId));
+    }
+
+    private void refreshHotelInTx(Long hotelId) {
+        LocalDate from = windowStart();
+        LocalDate to = windowEnd();
+        int days = (int) ChronoUnit.DAYS.between(from, to);
+
+        int[] min = new int[days];
+        int[] max = new int[days];
+        Arrays.fill(min, Integer.MAX_VALUE);
+        Arrays.fill(max, Integer.MIN_VALUE);
+
+        for (RoomPricePolicy p : policyRepo.findOverlappingByHotelId(hotelId, from, to)) {
+            int s = (int) Math.max(0, ChronoUnit.DAYS.between(from, p.getStartDate()));
+            int e = (int) Math.min(days - 1, ChronoUnit.DAYS.between(from, p.getEndDate())); // end_date 포함
+            int price = p.getPrice();
+            for (int d = s; d <= e; d++) {
+                if (price < min[d]) min[d] = price;
+                if (price > max[d]) max[d] = price;
+            }
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        int low = Integer.MAX_VALUE;
+        int high = Integer.MIN_VALUE;
+        for (int d = 0; d < days; d++) {
+            if (min[d] == Integer.MAX_VALUE) continue;
+            rows.add(new Object[]{ hotelId, Date.valueOf(from.plusDays(d)), min[d], max[d] });
+            low = Math.min(low, min[d]);
+            high = Math.max(high, max[d]);
+        }
+
+        minPriceRepo.deleteByHotel(hotelId);
+        minPriceRepo.deleteSummary(hotelId);
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO hotel_min_price (hotel_id, stay_date, min_price, max_price) VALUES (?, ?, ?, ?)",
+                    rows);
+            minPriceRepo.insertSummary(hotelId, low, high);
+        }
+    }
+
+    /**
+     * 전체 재빌드. 호텔 단위로 끊어서 커밋하므로 도중에도 검색은 계속 된다.
+     * 이미 다른 재빌드가 돌고 있으면 건너뛰고 -1.
+     */
+    public int rebuildAll() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            log.info("[MIN-PRICE] rebuild already running, skipped");
+            return -1;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            List<Long> hotelIds = minPriceRepo.findAllHotelIds();
+            for (Long id : hotelIds) {
+                refreshHotel(id);
+            }
+            int orphans = newTx.execute(status -> minPriceRepo.deleteOrphans() + minPriceRepo.deleteOrphanSummaries());
+            log.info("[MIN-PRICE] rebuilt hotels={} orphansRemoved={} took={}ms",
+                    hotelIds.size(), orphans, System.currentTimeMillis() - start);
+            return hotelIds.size();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    @Scheduled(cron = "${search.min-price.rebuild-cron:0 30 4 * * *}")
+    public void nightlyRebuild() {
+        rebuildAll();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initIfEmpty() {
+        // 요약 테이블이 새로 생긴 경우(기존 읽기 모델만 있음)도 채운다
+        if (minPriceRepo.count() == 0 || minPriceRepo.countSummaries() == 0) {
+            initExecutor.execute(() -> {
+                try {
+                    rebuildAll();
+                } catch (RuntimeException ex) {
+                    log.warn("[MIN-PRICE] initial rebuild failed (nightly rebuild will retry)", ex);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        initExecutor.shutdownNow();
+    }
+
+    @Order(0) // 검색 결과 캐시 무효화(@Order(100))보다 먼저
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent e) {
+        if (e.kind() == CatalogChangedEvent.Kind.HOTEL && e.removed() && e.hotelId() != null) {
+            newTx.executeWithoutResult(status -> {
+                minPriceRepo.deleteByHotel(e.hotelId());
+                minPriceRepo.deleteSummary(e.hotelId());
+            });
+            return;
+        }
+        // 객실이 지워지거나 다른 호텔로 옮겨지면 그 정책도 빠지거나 따라 옮겨 가므로 이벤트의 호텔을 다시 계산
+        // (이동은 옛 호텔 removed / 새 호텔 이벤트가 따로 온다)
+        if (e.kind() == CatalogChangedEvent.Kind.ROOM) {
+            if (e.hotelId() != null) refreshHotel(e.hotelId());
+            return;
+        }
+        if (e.kind() != CatalogChangedEvent.Kind.ROOM_PRICE || e.roomId() == null) return;
+        Long hotelId = roomRepo.findHotelIdByRoomId(e.roomId());
+        if (hotelId != null) refreshHotel(hotelId);
+    }
+
+    // ===== 정합성 검사 =====
+
+    /**
+     * 읽기 모델과 실시간 조인(Room → Room_Price_Policy)을 현재 기간에 대해 비교.
+     * 호텔별 요약 행(hotel_price_summary)도 같은 값이어야 한다. 어긋난 호텔 id 와 세 값을 돌려준다.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> checkConsistency() {
+        LocalDate from = windowStart();
+        LocalDate to = windowEnd();
+        Map<Long, HotelPriceRange> model = byHotel(minPriceRepo.findRanges(from, to));
+        Map<Long, HotelPriceRange> live = byHotel(minPriceRepo.findLiveRanges(from, to));
+        Map<Long, HotelPriceRange> summary = byHotel(minPriceRepo.findSummaries());
+
+        Set<Long> all = new TreeSet<>(model.keySet());
+        all.addAll(live.keySet());
+        all.addAll(summary.keySet());
+
+        List<Map<String, Object>> mismatches = new ArrayList<>();
+        for (Long id : all) {
+            HotelPriceRange m = model.get(id);
+            HotelPriceRange l = live.get(id);
+            HotelPriceRange s = summary.get(id);
+            if (sameRange(m, l) && sameRange(m, s)) continue;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("hotelId", id);
+            row.put("model", m == null ? null : List.of(m.getMinPrice(), m.getMaxPrice()));
+            row.put("live", l == null ? null : List.of(l.getMinPrice(), l.getMaxPrice()));
+            row.put("summary", s == null ? null : List.of(s.getMinPrice(), s.getMaxPrice()));
+            mismatches.add(row);
+        }
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("from", from.toString());
+        out.put("to", to.toString());
+        out.put("hotelsChecked", all.size());
+        out.put("consistent", mismatches.isEmpty());
+        out.put("mismatches", mismatches);
+        return out;
+    }
+
+    private static Map<Long, HotelPriceRange> byHotel(List<HotelPriceRange> list) {
+        Map<Long, HotelPriceRange> m = new HashMap<>();
+        for (HotelPriceRange r : list) m.put(r.getHotelId(), r);
+        return m;
+    }
+
+    private static boolean sameRange(HotelPriceRange a, HotelPriceRange b) {
+        if (a == null || b == null) return a == b;
+        return Objects.equals(a.getMinPrice(), b.getMinPrice())
+                && Objects.equals(a.getMaxPrice(), b.getMaxPrice());
+    }
+}
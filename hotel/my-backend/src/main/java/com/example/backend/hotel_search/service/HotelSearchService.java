@@ -1,29 +1,685 @@
 package com.example.backend.hotel_search.service;
 
+import com.example.backend.hotel_search.dto.FlexibleDates;
+import com.example.backend.hotel_search.dto.GeoFilter;
+import com.example.backend.hotel_search.dto.HotelColumn;
+import com.example.backend.hotel_search.dto.HotelCursorPage;
+import com.example.backend.hotel_search.dto.HotelGeoRow;
 import com.example.backend.hotel_search.dto.HotelProjectionOnly;
-import com.example.backend.hotel_search.repository.HotelSearchRepository;
+import com.example.backend.hotel_search.dto.HotelSearchCriteria;
+import com.example.backend.hotel_search.dto.HotelSearchPage;
+import com.example.backend.hotel_search.dto.HotelSort;
+import com.example.backend.hotel_search.dto.RoomAmenityFilter;
+import com.example.backend.hotel_search.dto.SearchCacheKey;
+import com.example.backend.hotel_search.dto.SearchCursor;
+import com.example.backend.hotel_search.dto.SearchFacets;
+import com.example.backend.hotel_search.index.HotelFuzzyIndex;
+import com.example.backend.hotel_search.index.HotelGeoIndex;
+import com.example.backend.hotel_search.index.HotelSortKeys;
+import com.example.backend.hotel_search.index.HotelSuggestIndex;
+import com.example.backend.hotel_search.index.NgramTextIndex;
+import com.example.backend.hotel_search.index.Suggestion;
+import com.example.backend.hotel_search.index.TopKHeap;
+import com.example.backend.hotel_search.index.RoomAvailabilityIndex;
+import com.example.backend.hotel_search.index.StayWindows;
+import com.example.backend.hotel_search.repository.HotelSearchJdbcRepository;
+import com.example.backend.hotel_search.repository.HotelSearchJdbcRepository.DailyPrices;
+import com.example.backend.hotel_search.repository.SearchQueryMetrics;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
+import java.text.CollationKey;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Consumer;
+
 @Service
 @RequiredArgsConstructor
 public class HotelSearchService {
-    private final HotelSearchRepository repo;
+    private final HotelSearchJdbcRepository repo;
+    private final NgramTextIndex textIndex;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final SearchResultCache cache;
+    private final HotelSuggestIndex suggestIndex;
+    private final HotelSortKeys sortKeys;
+    private final SearchQueryMetrics metrics;
+    private final HotelFuzzyIndex fuzzyIndex;
+    private final HotelGeoIndex geoIndex;
+
+    // 후보가 이보다 많으면 IN 목록이 LIKE 스캔보다 나을 게 없으므로 SQL 로 넘김
+    @Value("${search.index.max-candidates:5000}")
+    private int maxCandidates;
+
+    // 한 페이지 최대 행 수 (offset / cursor 모드 공통)
+    @Value("${search.page.max-size:100}")
+    private int maxPageSize;
+
+    // 가격 히스토그램 구간 폭(원)과 최대 구간 수 (마지막 구간은 그 이상 전부)
+    @Value("${search.facets.price-bucket:50000}")
+    private int priceBucket;
+
+    @Value("${search.facets.max-price-buckets:40}")
+    private int maxPriceBuckets;
+
+    // 결과 0건일 때 오타 교정. budget 안에 교정어를 못 찾으면 원래 0건 결과를 그대로 돌려준다
+    @Value("${search.fuzzy.enabled:true}")
+    private boolean fuzzyEnabled;
+
+    @Value("${search.fuzzy.budget-ms:15}")
+    private long fuzzyBudgetMs;
+
+    @Value("${search.fuzzy.max-alternatives:2}")
+    private int fuzzyMaxAlternatives;
+
+    // 위치 검색 반경 상한(km)
+    @Value("${search.geo.max-radius-km:500}")
+    private double maxRadiusKm;
+
+    // 유연한 날짜 검색에서 앞뒤로 밀어 볼 수 있는 최대 일수
+    @Value("${search.flex.max-days:7}")
+    private int maxFlexDays;
+
+    // 최저가 읽기 모델(hotel_min_price) 기간. 이 뒤의 밤은 가격이 없어 가격 표시/필터가 다 빠지므로 받지 않는다
+    @Value("${search.min-price.horizon-days:365}")
+    private int priceHorizonDays;
+
+    // 이보다 단어가 많은 검색어는 교정하지 않음 (조합이 늘어날 뿐 맞출 가능성은 낮다)
+    private static final int FUZZY_MAX_WORDS = 4;
 
     public Page<HotelProjectionOnly> search(
             String q,
             String checkIn,
             String checkOut,
-            Integer rooms,      // 현재 미사용
+            Integer rooms,      // 한 객실 타입으로 잡을 객실 수 (기본 1). 재고/인원 조건에 같이 쓰임
             Integer adults,
             Integer children,
             Integer minPrice,
             Integer maxPrice,
+            RoomAmenityFilter amenities, // 한 객실이 다 갖춰야 하는 편의시설/전망/침대 (없으면 null)
+            GeoFilter geo,      // 반경/영역 (없으면 null)
             int page,
-            int size
+            int size,
+            boolean facets,     // true 면 국가/성급/가격 구간 집계를 같이 (count 쿼리 대신 집계 쿼리 한 번)
+            HotelSort sort,
+            int columns         // 읽을 결과 컬럼 (HotelColumn 비트, fields=). 나머지는 null
     ) {
+        if (sort == HotelSort.DISTANCE && geo == null) {
+            throw new IllegalArgumentException("sort=distance requires lat/lng or bbox");
+        }
+        checkPageSize(size);
+        if (page < 0) throw new IllegalArgumentException("page must be >= 0");
         Pageable pageable = PageRequest.of(page, size);
-        return repo.search(q, checkIn, checkOut, minPrice, maxPrice, adults, children, pageable);
+        LocalDate ci = parseDate(checkIn);
+        LocalDate co = parseDate(checkOut);
+        checkPriceHorizon(co);
+
+        SearchCacheKey key = SearchCacheKey.of(q, ci, co, rooms, adults, children, minPrice, maxPrice, amenities, geo,
+                page, null, size, facets, sort).withColumns(columns);
+        return cache.get(key, () -> {
+            SearchQueryMetrics.Trace trace = metrics.begin();
+            try {
+                HotelSearchCriteria c = withColumns(
+                        criteria(q, ci, co, rooms, adults, children, minPrice, maxPrice, amenities, geo), columns);
+                Page<HotelProjectionOnly> result = loadPage(c, pageable, facets, sort);
+                if (result.getTotalElements() == 0 && q != null && !q.isBlank()) {
+                    Page<HotelProjectionOnly> corrected = didYouMean(q, ci, co, rooms, adults, children,
+                            minPrice, maxPrice, amenities, geo, pageable, facets, sort, columns);
+                    if (corrected != null) return corrected;
+                }
+                return result;
+            } finally {
+                metrics.end(trace, key);
+            }
+        }, result -> idsOf(result.getContent()),
+                result -> result instanceof HotelSearchPage<?> hp ? hp.getDidYouMean() : null);
+    }
+
+    private Page<HotelProjectionOnly> loadPage(HotelSearchCriteria c, Pageable pageable, boolean facets, HotelSort sort) {
+        Page<HotelProjectionOnly> p = queryPage(c, pageable, facets, sort);
+        return c == null || c.geoHits() == null ? p : withDistances(p, c.geoHits());
+    }
+
+    private Page<HotelProjectionOnly> queryPage(HotelSearchCriteria c, Pageable pageable, boolean facets, HotelSort sort) {
+        if (c == null) {
+            return facets
+                    ? new HotelSearchPage<HotelProjectionOnly>(List.of(), pageable, 0, SearchFacets.empty(priceBucket))
+                    : Page.<HotelProjectionOnly>empty(pageable);
+        }
+
+        // 정렬 키 준비 전(기동 직후)에는 가격순으로. 거리순은 좌표 인덱스가 거리를 구했을 때만 (아니면 가격순)
+        boolean byDistance = sort == HotelSort.DISTANCE && c.geoHits() != null;
+        boolean byKeys = sort != null && sort != HotelSort.PRICE && sort != HotelSort.DISTANCE && sortKeys.isReady();
+        if (byDistance || byKeys) {
+            return sortedPage(c, pageable, sort, facets ? repo.facets(c, priceBucket, maxPriceBuckets) : null);
+        }
+
+        if (facets) {
+            SearchFacets f = repo.facets(c, priceBucket, maxPriceBuckets);
+            List<HotelProjectionOnly> content = pageable.getOffset() < f.total()
+                    ? repo.findPage(c, pageable)
+                    : List.of();
+            return new HotelSearchPage<>(content, pageable, f.total(), f);
+        }
+
+        List<HotelProjectionOnly> content = repo.findPage(c, pageable);
+        // 첫 페이지가 size 보다 적게 나오면 count 쿼리를 생략
+        return PageableExecutionUtils.getPage(content, pageable, () -> repo.count(c));
+    }
+
+    /**
+     * 원래 검색어로 0건일 때: 단어마다 오타 교정 인덱스에서 가까운 용어를 찾아 교정어를 만들고,
+     * 같은 조건으로 다시 검색해서 결과가 있으면 그 페이지를 didYouMean 과 함께 돌려준다.
+     * 교정어 후보는 먼저 인메모리 인덱스(텍스트/좌표/가용성)로 걸러서 후보가 남는 첫 교정어만
+     * SQL 로 한 번 다시 검색한다 (0건인 검색마다 교정어 수만큼 SQL 이 돌지 않도록).
+     * 교정(인메모리)과 재검색 시작은 모두 budget 안에서만. 못 찾으면 null.
+     */
+    private Page<HotelProjectionOnly> didYouMean(String q, LocalDate ci, LocalDate co, Integer rooms,
+                                                 Integer adults, Integer children,
+                                                 Integer minPrice, Integer maxPrice, RoomAmenityFilter amenities,
+                                                 GeoFilter geo, Pageable pageable, boolean facets, HotelSort sort,
+                                                 int columns) {
+        if (!fuzzyEnabled || !fuzzyIndex.isReady()) return null;
+        long t0 = System.nanoTime();
+        long deadline = t0 + fuzzyBudgetMs * 1_000_000;
+        long mt0 = metrics.start();
+        List<String> alternatives = corrections(q, deadline);
+        metrics.stopFuzzy(mt0);
+
+        for (String alt : alternatives) {
+            if (System.nanoTime() > deadline) break;
+            // null = 인메모리 인덱스만으로 0건 (SQL 없이 다음 교정어로)
+            HotelSearchCriteria c = withColumns(
+                    criteria(alt, ci, co, rooms, adults, children, minPrice, maxPrice, amenities, geo), columns);
+            if (c == null) continue;
+            Page<HotelProjectionOnly> p = loadPage(c, pageable, facets, sort);
+            if (p.getTotalElements() == 0) return null; // SQL 재검색은 한 번만
+            SearchFacets f = p instanceof HotelSearchPage<HotelProjectionOnly> hp ? hp.getFacets() : null;
+            return new HotelSearchPage<>(p.getContent(), pageable, p.getTotalElements(), f, alt);
+        }
+        return null;
+    }
+
+    /**
+     * 교정어 후보 (가까운 순, 최대 fuzzyMaxAlternatives 개). 원래 검색어와 같은 것은 뺀다.
+     * 첫 후보는 단어마다 가장 가까운 용어, 그다음은 한 단어씩 차선 용어로 바꾼 것.
+     * 교정할 수 없는 단어(가까운 용어 없음)는 그대로 둔다. deadline 을 넘기면 빈 목록.
+     */
+    private List<String> corrections(String q, long deadline) {
+        List<String> words = HotelFuzzyIndex.wordsOf(q);
+        if (words.isEmpty() || words.size() > FUZZY_MAX_WORDS) return List.of();
+
+        List<List<String>> options = new ArrayList<>(words.size());
+        for (String w : words) {
+            HotelFuzzyIndex.Result r = fuzzyIndex.lookup(w, fuzzyMaxAlternatives, deadline);
+            if (r.timedOut()) return List.of();
+            List<String> opts = new ArrayList<>();
+            if (r.matches().isEmpty() || r.matches().get(0).distance() == 0) {
+                opts.add(w);
+            } else {
+                for (HotelFuzzyIndex.Match m : r.matches()) opts.add(m.term());
+            }
+            options.add(opts);
+        }
+
+        String original = String.join(" ", words);
+        LinkedHashSet<String> out = new LinkedHashSet<>();
+        String[] best = options.stream().map(o -> o.get(0)).toArray(String[]::new);
+        out.add(String.join(" ", best));
+        for (int i = 0; i < options.size() && out.size() < fuzzyMaxAlternatives + 1; i++) {
+            for (int j = 1; j < options.get(i).size() && out.size() < fuzzyMaxAlternatives + 1; j++) {
+                String[] alt = best.clone();
+                alt[i] = options.get(i).get(j);
+                out.add(String.join(" ", alt));
+            }
+        }
+        out.remove(original);
+        return out.stream().limit(fuzzyMaxAlternatives).toList();
+    }
+
+    /**
+     * 가격 외 정렬. DB 에서는 정렬 없이 (id, 최저가) 만 흘려 받고, 미리 계산한 정렬 키로
+     * 앞쪽 offset + size 개만 힙에 남긴다 (O(n log k), filesort 없음). 그 페이지 행만 다시 읽는다.
+     */
+    private Page<HotelProjectionOnly> sortedPage(HotelSearchCriteria c, Pageable pageable,
+                                                 HotelSort sort, SearchFacets facets) {
+        // 힙 크기 = offset + size. 후보 상한보다 깊은 페이지는 거절 (요청 값만으로 큰 배열을 잡지 않도록)
+        long k = pageable.getOffset() + pageable.getPageSize();
+        if (k > maxCandidates) {
+            throw new IllegalArgumentException("page too deep for this sort (offset + size must be <= " + maxCandidates + ")");
+        }
+        TopKHeap heap = new TopKHeap((int) k, orderOf(sort, c.geoHits()));
+        repo.scanKeys(c, heap);
+
+        long[] top = heap.sortedIds();
+        int from = (int) Math.min(pageable.getOffset(), top.length);
+        List<Long> pageIds = Arrays.stream(top, from, top.length).boxed().toList();
+
+        List<HotelProjectionOnly> content = List.of();
+        if (!pageIds.isEmpty()) {
+            HotelSearchCriteria byIds = HotelSearchCriteria.builder()
+                    .hotelIds(pageIds)
+                    .checkIn(c.checkIn())
+                    .checkOut(c.checkOut())
+                    .columns(c.columns())
+                    .build();
+            Map<Long, HotelProjectionOnly> rows = new HashMap<>();
+            for (HotelProjectionOnly r : repo.findPage(byIds, PageRequest.of(0, pageIds.size()))) rows.put(r.getId(), r);
+            content = pageIds.stream().map(rows::get).filter(Objects::nonNull).toList();
+        }
+        return facets == null
+                ? new PageImpl<>(content, pageable, heap.offered())
+                : new HotelSearchPage<>(content, pageable, heap.offered(), facets);
+    }
+
+    // 동률이면 id 내림차순 (가격순 SQL 과 같은 마지막 기준)
+    private TopKHeap.Order orderOf(HotelSort sort, HotelGeoIndex.Hits hits) {
+        return switch (sort) {
+            case RATING -> (a, pa, b, pb) -> {
+                int c = Integer.compare(sortKeys.get(b).stars(), sortKeys.get(a).stars());
+                if (c == 0) c = comparePrice(pa, pb);
+                return c != 0 ? c : Long.compare(b, a);
+            };
+            case NAME -> (a, pa, b, pb) -> {
+                CollationKey na = sortKeys.get(a).name();
+                CollationKey nb = sortKeys.get(b).name();
+                int c = na == null || nb == null
+                        ? Boolean.compare(na == null, nb == null)
+                        : na.compareTo(nb);
+                return c != 0 ? c : Long.compare(b, a);
+            };
+            case VALUE -> (a, pa, b, pb) -> {
+                // 성급/가격 비교를 나눗셈 없이: sa/pa > sb/pb  <=>  sa*pb > sb*pa
+                boolean noA = pa <= 0, noB = pb <= 0;
+                int c = noA || noB
+                        ? Boolean.compare(noA, noB)
+                        : Long.compare((long) sortKeys.get(b).stars() * pa, (long) sortKeys.get(a).stars() * pb);
+                return c != 0 ? c : Long.compare(b, a);
+            };
+            case DISTANCE -> (a, pa, b, pb) -> {
+                int c = Double.compare(hits.distanceKm(a), hits.distanceKm(b)); // 결과에 없는(NaN) 쪽이 뒤
+                return c != 0 ? c : Long.compare(b, a);
+            };
+            case PRICE -> (a, pa, b, pb) -> {
+                int c = comparePrice(pa, pb);
+                return c != 0 ? c : Long.compare(b, a);
+            };
+        };
+    }
+
+    // 행마다 기준점까지 거리(km, 소수 셋째 자리)를 붙인다
+    private static Page<HotelProjectionOnly> withDistances(Page<HotelProjectionOnly> p, HotelGeoIndex.Hits hits) {
+        List<HotelProjectionOnly> content = withDistances(p.getContent(), hits);
+        return p instanceof HotelSearchPage<HotelProjectionOnly> hp
+                ? new HotelSearchPage<>(content, p.getPageable(), p.getTotalElements(), hp.getFacets(), hp.getDidYouMean())
+                : new PageImpl<>(content, p.getPageable(), p.getTotalElements());
+    }
+
+    private static List<HotelProjectionOnly> withDistances(List<HotelProjectionOnly> rows, HotelGeoIndex.Hits hits) {
+        return rows.stream().map(r -> withDistance(r, hits)).toList();
+    }
+
+    private static HotelProjectionOnly withDistance(HotelProjectionOnly row, HotelGeoIndex.Hits hits) {
+        double km = hits.distanceKm(row.getId());
+        return new HotelGeoRow(row, Double.isNaN(km) ? null : Math.round(km * 1000) / 1000.0);
+    }
+
+    // 최저가 오름차순, 요금 없는 호텔은 뒤
+    private static int comparePrice(int pa, int pb) {
+        if (pa == TopKHeap.NO_PRICE || pb == TopKHeap.NO_PRICE) {
+            return Boolean.compare(pa == TopKHeap.NO_PRICE, pb == TopKHeap.NO_PRICE);
+        }
+        return Integer.compare(pa, pb);
+    }
+
+    /**
+     * 키셋(seek) 모드. cursor 가 null/빈 값이면 첫 페이지.
+     * size+1 행을 읽어서 다음 페이지 존재 여부를 판단하므로 count 쿼리가 없다.
+     */
+    public HotelCursorPage searchAfter(
+            String q,
+            String checkIn,
+            String checkOut,
+            Integer rooms,      // 한 객실 타입으로 잡을 객실 수 (기본 1). 재고/인원 조건에 같이 쓰임
+            Integer adults,
+            Integer children,
+            Integer minPrice,
+            Integer maxPrice,
+            RoomAmenityFilter amenities,
+            GeoFilter geo,
+            String cursor,
+            int size,
+            int columns         // search 와 같음. 최저가는 다음 커서 때문에 항상 읽는다
+    ) {
+        checkPageSize(size);
+        SearchCursor after = SearchCursor.decode(cursor);
+        LocalDate ci = parseDate(checkIn);
+        LocalDate co = parseDate(checkOut);
+        checkPriceHorizon(co);
+
+        SearchCacheKey key = SearchCacheKey.of(q, ci, co, rooms, adults, children, minPrice, maxPrice, amenities, geo,
+                -1, cursor == null ? "" : cursor, size, false, HotelSort.PRICE).withColumns(columns);
+        return cache.get(key, () -> {
+            SearchQueryMetrics.Trace trace = metrics.begin();
+            try {
+                return seek(q, ci, co, rooms, adults, children, minPrice, maxPrice, amenities, geo, after, size, columns);
+            } finally {
+                metrics.end(trace, key);
+            }
+        }, result -> idsOf(result.content()));
+    }
+
+    private HotelCursorPage seek(String q, LocalDate ci, LocalDate co, Integer rooms,
+                                 Integer adults, Integer children, Integer minPrice, Integer maxPrice,
+                                 RoomAmenityFilter amenities, GeoFilter geo,
+                                 SearchCursor after, int size, int columns) {
+        HotelSearchCriteria c = withColumns(
+                criteria(q, ci, co, rooms, adults, children, minPrice, maxPrice, amenities, geo), columns);
+        if (c == null) return new HotelCursorPage(List.of(), size, 0, false, null);
+
+        List<HotelProjectionOnly> rows = repo.findAfter(c.toBuilder().after(after).build(), size + 1);
+
+        Slice<HotelProjectionOnly> slice = new SliceImpl<>(
+                rows.size() > size ? rows.subList(0, size) : rows,
+                PageRequest.of(0, size),
+                rows.size() > size);
+        String next = slice.hasNext()
+                ? SearchCursor.after(slice.getContent().get(slice.getNumberOfElements() - 1)).encode()
+                : null;
+        List<HotelProjectionOnly> content = c.geoHits() == null ? slice.getContent() : withDistances(slice.getContent(), c.geoHits());
+        return new HotelCursorPage(content, size, slice.getNumberOfElements(), slice.hasNext(), next);
+    }
+
+    /**
+     * 내보내기용 조건. 파라미터 오류는 여기서 예외로 (응답 본문을 쓰기 전에 400 이 나가도록).
+     * 후보가 하나도 없으면 null.
+     */
+    public HotelSearchCriteria exportCriteria(String q, String checkIn, String checkOut, Integer rooms,
+                                              Integer adults, Integer children,
+                                              Integer minPrice, Integer maxPrice,
+                                              RoomAmenityFilter amenities, GeoFilter geo, int columns) {
+        LocalDate co = parseDate(checkOut);
+        checkPriceHorizon(co);
+        return withColumns(criteria(q, parseDate(checkIn), co, rooms, adults, children,
+                minPrice, maxPrice, amenities, geo), columns);
+    }
+
+    /** 조건에 맞는 전체 호텔을 id 순으로 흘려 보낸다 (캐시/페이지 없음) */
+    public long export(HotelSearchCriteria c, Consumer<HotelProjectionOnly> sink) {
+        if (c == null) return 0;
+        return c.geoHits() == null
+                ? repo.stream(c, sink)
+                : repo.stream(c, row -> sink.accept(withDistance(row, c.geoHits())));
+    }
+
+    /**
+     * 유연한 날짜 검색: [checkIn, checkOut) 을 ±flexDays 일 밀어 본 구간마다 묵을 수 있는 호텔 수와 최저가.
+     * 구간을 따로 검색하지 않고, 후보 호텔을 한 번 구한 뒤
+     * - 재고: 가용성 인덱스의 객실별 날짜 수량 배열에서 구간 최솟값 (RoomAvailabilityIndex.windowAvailability)
+     * - 요금: hotel_min_price 를 전체 기간에 대해 한 번 읽어 구간 합/최솟값/최댓값 (StayWindows)
+     * 으로 모든 구간을 한 번에 계산한다. 요금 조건은 목록 검색과 같이 구간 최저가 <= maxPrice, 최고가 >= minPrice.
+     * 요금은 숙박하는 밤(checkOut 전날까지) 기준. 가용성 인덱스가 준비 전이면 IllegalStateException.
+     */
+    public FlexibleDates flexibleDates(String q, String checkIn, String checkOut, Integer rooms,
+                                       Integer adults, Integer children,
+                                       Integer minPrice, Integer maxPrice,
+                                       RoomAmenityFilter amenities, GeoFilter geo,
+                                       int flexDays, int limit) {
+        LocalDate ci = parseDate(checkIn);
+        LocalDate co = parseDate(checkOut);
+        if (ci == null || co == null) throw new IllegalArgumentException("checkIn and checkOut are required");
+        if (!ci.isBefore(co)) throw new IllegalArgumentException("checkOut must be after checkIn");
+        if (flexDays < 1 || flexDays > maxFlexDays) {
+            throw new IllegalArgumentException("flexDays must be in [1, " + maxFlexDays + "]");
+        }
+        if (limit < 1) throw new IllegalArgumentException("limit must be >= 1");
+        checkPriceHorizon(co);
+        if (!availabilityIndex.isReady()) throw new IllegalStateException("availability index is not ready");
+
+        int nights = (int) ChronoUnit.DAYS.between(ci, co);
+        LocalDate today = LocalDate.now();
+        LocalDate first = ci.minusDays(flexDays).isBefore(today) ? today : ci.minusDays(flexDays); // 지난 날짜 제외
+        LocalDate lastCheckOut = ci.plusDays(flexDays + nights);
+        if (lastCheckOut.isAfter(priceHorizonEnd())) lastCheckOut = priceHorizonEnd(); // 뒤로 민 구간도 최저가 기간 안에서만
+        int windows = (int) ChronoUnit.DAYS.between(first, lastCheckOut) - nights + 1;
+        if (windows < 1) return new FlexibleDates(ci, co, flexDays, List.of(), List.of());
+
+        // 날짜를 뺀 조건(키워드/위치/인원/편의시설)으로 후보 호텔. SQL 로 남은 조건이 있으면 id 만 한 번 읽음
+        HotelSearchCriteria c = criteria(q, null, null, rooms, adults, children, null, null, amenities, geo);
+        long[] ids = null;
+        if (c != null && (c.keyword() != null || c.hasGeo())) {
+            ids = repo.findIds(c);
+            Arrays.sort(ids);
+        } else if (c != null && c.hotelIds() != null) {
+            ids = c.hotelIds().stream().mapToLong(Long::longValue).toArray();
+        }
+
+        int units = rooms == null ? 1 : Math.max(rooms, 1);
+        int party = (adults == null ? 0 : adults) + (children == null ? 0 : children);
+        long required = amenities == null ? 0L
+                : availabilityIndex.amenityMask(amenities.amenities(), amenities.view(), amenities.bed());
+        Map<Long, boolean[]> open = c == null ? Map.of()
+                : availabilityIndex.windowAvailability(ids, first, nights, windows, units, party, required);
+
+        int span = nights + windows - 1;
+        Map<Long, DailyPrices> prices = open.isEmpty() ? Map.of()
+                : repo.dailyPrices(open.size() <= maxCandidates ? open.keySet() : null, first, span);
+
+        boolean priceFilter = minPrice != null || maxPrice != null;
+        int[] hotels = new int[windows];
+        int[] lowestNightly = new int[windows];
+        long[] lowestTotal = new long[windows];
+        long[] cheapest = new long[windows];
+        Arrays.fill(lowestNightly, Integer.MAX_VALUE);
+        Arrays.fill(lowestTotal, -1);
+        for (Map.Entry<Long, boolean[]> e : open.entrySet()) {
+            long hotelId = e.getKey();
+            boolean[] ok = e.getValue();
+            DailyPrices dp = prices.get(hotelId);
+            if (dp == null && priceFilter) continue;
+            long[] totals = dp == null ? null : StayWindows.windowSums(dp.min(), nights);
+            int[] lows = dp == null ? null : StayWindows.slidingMin(missingAsMax(dp.min()), nights);
+            int[] highs = dp == null ? null : StayWindows.slidingMax(dp.max(), nights);
+            for (int w = 0; w < windows; w++) {
+                if (!ok[w]) continue;
+                boolean priced = lows != null && lows[w] != Integer.MAX_VALUE;
+                if (priceFilter) {
+                    if (!priced) continue;
+                    if (maxPrice != null && lows[w] > maxPrice) continue;
+                    if (minPrice != null && highs[w] < minPrice) continue;
+                }
+                hotels[w]++;
+                if (priced) lowestNightly[w] = Math.min(lowestNightly[w], lows[w]);
+                // 동률이면 id 큰 쪽 (가격순 목록과 같은 마지막 기준)
+                if (totals != null && totals[w] >= 0 && (lowestTotal[w] < 0 || totals[w] < lowestTotal[w]
+                        || (totals[w] == lowestTotal[w] && hotelId > cheapest[w]))) {
+                    lowestTotal[w] = totals[w];
+                    cheapest[w] = hotelId;
+                }
+            }
+        }
+
+        List<FlexibleDates.StayWindow> all = new ArrayList<>(windows);
+        for (int w = 0; w < windows; w++) {
+            LocalDate in = first.plusDays(w);
+            all.add(new FlexibleDates.StayWindow(
+                    in, in.plusDays(nights), (int) ChronoUnit.DAYS.between(ci, in), hotels[w],
+                    lowestTotal[w] < 0 ? null : lowestTotal[w],
+                    lowestTotal[w] < 0 ? null : cheapest[w],
+                    lowestNightly[w] == Integer.MAX_VALUE ? null : lowestNightly[w]));
+        }
+        List<FlexibleDates.StayWindow> best = all.stream()
+                .filter(w -> w.hotels() > 0)
+                .sorted(Comparator.comparing(FlexibleDates.StayWindow::lowestTotalPrice,
+                                Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Comparator.comparingInt(FlexibleDates.StayWindow::hotels).reversed())
+                        .thenComparingInt(w -> Math.abs(w.shift())))
+                .limit(limit)
+                .toList();
+        return new FlexibleDates(ci, co, flexDays, all, best);
+    }
+
+    // 최솟값 계산용: 요금 없는 날(MISSING)을 무시하도록 가장 큰 값으로
+    private static int[] missingAsMax(int[] a) {
+        int[] out = a.clone();
+        for (int i = 0; i < out.length; i++) if (out[i] == StayWindows.MISSING) out[i] = Integer.MAX_VALUE;
+        return out;
+    }
+
+    /** 위치 파라미터 → 조건 (반경 상한은 search.geo.max-radius-km). 없으면 null */
+    public GeoFilter geoFilter(Double lat, Double lng, Double radiusKm, String bbox) {
+        return GeoFilter.of(lat, lng, radiusKm, bbox, maxRadiusKm);
+    }
+
+    /** 자동완성. DB 를 보지 않고 인메모리 트라이에서만 답한다 */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (limit < 1) throw new IllegalArgumentException("limit must be >= 1");
+        return suggestIndex.suggest(prefix, limit);
+    }
+
+    /**
+     * 요청 파라미터 → 검색 조건.
+     * - 키워드: 인메모리 n-gram 인덱스로 후보 id 를 먼저 구하고, 못 풀면 SQL LIKE 로 둔다.
+     * - 숙박일/인원/편의시설: 가용성 인덱스로 한 객실 타입 rooms 개가 (숙박일이 있으면 모든 밤에 남아 있고)
+     *   인원을 다 받을 수 있고 편의시설을 다 갖춘 호텔만 후보로 남긴다.
+     *   인덱스가 준비 전이거나 후보가 maxCandidates 보다 많으면 재고/인원/편의시설 조건을 SQL 객실 EXISTS 로.
+     * - 위치: 좌표 격자 인덱스로 반경/영역 안 호텔과 거리를 구해 후보에 교차한다.
+     *   인덱스가 준비 전이거나 후보가 maxCandidates 보다 많으면 SQL 좌표 조건으로 (거리는 인덱스가 있으면 그대로 씀).
+     * 후보가 하나도 없으면 null (DB 를 볼 필요 없음).
+     */
+    private HotelSearchCriteria criteria(String q, LocalDate ci, LocalDate co, Integer rooms,
+                                         Integer adults, Integer children,
+                                         Integer minPrice, Integer maxPrice,
+                                         RoomAmenityFilter amenities, GeoFilter geo) {
+        long t0 = metrics.start();
+        HotelSearchCriteria c = buildCriteria(q, ci, co, rooms, adults, children, minPrice, maxPrice, amenities, geo);
+        metrics.stopCandidates(c, t0);
+        return c;
+    }
+
+    private HotelSearchCriteria buildCriteria(String q, LocalDate ci, LocalDate co, Integer rooms,
+                                              Integer adults, Integer children,
+                                              Integer minPrice, Integer maxPrice,
+                                              RoomAmenityFilter amenities, GeoFilter geo) {
+        HotelSearchCriteria.HotelSearchCriteriaBuilder b = HotelSearchCriteria.builder()
+                .minPrice(minPrice)
+                .maxPrice(maxPrice);
+        int units = rooms == null ? 1 : Math.max(rooms, 1);
+        int party = (adults == null ? 0 : adults) + (children == null ? 0 : children);
+        boolean partyFilter = party > 0; // 0 명은 인원 조건 없음 (인덱스/SQL 같은 규칙, HotelSearchCriteria.hasParty)
+
+        long[] candidates = null; // null = 제한 없음
+
+        if (q != null && !q.isBlank()) {
+            long[] hits = textIndex.isReady() ? textIndex.search(q) : null;
+            if (hits != null && hits.length <= maxCandidates) {
+                candidates = hits;
+            } else {
+                b.keyword(NgramTextIndex.normalize(q)); // 결과 캐시 키와 같은 정규화 (같은 키에 다른 LIKE 결과가 섞이지 않도록)
+            }
+        }
+
+        if (geo != null) {
+            HotelGeoIndex.Hits hits = !geoIndex.isReady() ? null : geo.isRadius()
+                    ? geoIndex.withinRadius(geo.lat(), geo.lng(), geo.radiusKm())
+                    : geoIndex.withinBox(geo.south(), geo.west(), geo.north(), geo.east());
+            if (hits != null) b.geoHits(hits);
+            if (hits != null && hits.ids().length <= maxCandidates) {
+                candidates = candidates == null ? hits.ids() : intersect(candidates, hits.ids());
+            } else {
+                b.geo(geo);
+            }
+        }
+
+        boolean dated = ci != null && co != null;
+        if (dated) {
+            if (!ci.isBefore(co)) throw new IllegalArgumentException("checkOut must be after checkIn");
+            b.checkIn(ci).checkOut(co);
+        }
+        boolean amenityFilter = amenities != null;
+        if (availabilityIndex.isReady() && (dated || partyFilter || amenityFilter)) {
+            long required = amenityFilter
+                    ? availabilityIndex.amenityMask(amenities.amenities(), amenities.view(), amenities.bed())
+                    : 0L;
+            long[] fitting = availabilityIndex.fittingHotels(
+                    dated ? ci : null, dated ? co : null, units, partyFilter ? party : 0, required);
+            if (candidates != null || fitting.length <= maxCandidates) {
+                candidates = candidates == null ? fitting : intersect(candidates, fitting);
+            } else {
+                // 후보가 너무 많으면 IN 목록 대신 SQL 객실 EXISTS (재고 포함)
+                roomConditionsInSql(b, dated, partyFilter, amenityFilter, adults, children, units, amenities);
+            }
+        } else {
+            roomConditionsInSql(b, dated, partyFilter, amenityFilter, adults, children, units, amenities);
+        }
+
+        if (candidates != null) {
+            if (candidates.length == 0) return null;
+            b.hotelIds(Arrays.stream(candidates).boxed().toList());
+        }
+        return b.build();
+    }
+
+    // 읽을 결과 컬럼 (전부면 그대로). 후보가 없어 null 이면 null
+    private static HotelSearchCriteria withColumns(HotelSearchCriteria c, int columns) {
+        return c == null || columns == HotelColumn.ALL ? c : c.toBuilder().columns(columns).build();
+    }
+
+    private static void roomConditionsInSql(HotelSearchCriteria.HotelSearchCriteriaBuilder b, boolean availability,
+                                            boolean partyFilter, boolean amenityFilter, Integer adults, Integer children,
+                                            int units, RoomAmenityFilter amenities) {
+        b.rooms(units).availability(availability);
+        if (partyFilter) b.adults(adults).children(children);
+        if (amenityFilter) b.amenities(amenities);
+    }
+
+    /** 체크아웃이 최저가 읽기 모델 기간 [오늘, 오늘 + horizon-days) 의 마지막 밤 다음 날보다 뒤면 400 */
+    private void checkPriceHorizon(LocalDate co) {
+        if (co != null && co.isAfter(priceHorizonEnd())) {
+            throw new IllegalArgumentException("checkOut must be on or before " + priceHorizonEnd()
+                    + " (stays can be searched up to " + priceHorizonDays + " days ahead)");
+        }
+    }
+
+    // HotelMinPriceService.windowEnd 와 같은 날
+    private LocalDate priceHorizonEnd() {
+        return LocalDate.now().plusDays(priceHorizonDays);
+    }
+
+    private void checkPageSize(int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("size must be in [1, " + maxPageSize + "]");
+        }
+    }
+
+    private static long[] idsOf(List<HotelProjectionOnly> rows) {
+        long[] ids = new long[rows.size()];
+        for (int i = 0; i < ids.length; i++) ids[i] = rows.get(i).getId();
+        return ids;
+    }
+
+    // 둘 다 오름차순 정렬된 배열
+    private static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) { out[n++] = a[i]; i++; j++; }
+            else if (a[i] < b[j]) i++;
+            else j++;
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static LocalDate parseDate(String s) {
+        if (s == null || s.isBlank()) return null;
+        try {
+            return LocalDate.parse(s.trim()); // 'YYYY-MM-DD'
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid date: " + s);
+        }
     }
 }
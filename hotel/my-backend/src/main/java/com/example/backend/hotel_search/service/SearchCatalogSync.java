@@ -0,0 +1,315 @@
+package com.example.backend.hotel_search.service;
+
+import com.example.backend.hotel_search.event.CatalogChangedEvent;
+import com.example.backend.hotel_search.event.InventoryChangedEvent;
+import com.example.backend.hotel_search.index.HotelDocument;
+import com.example.backend.hotel_search.index.HotelFuzzyIndex;
+import com.example.backend.hotel_search.index.HotelGeoIndex;
+import com.example.backend.hotel_search.index.InventoryDay;
+import com.example.backend.hotel_search.index.RoomDocument;
+import com.example.backend.hotel_search.index.SearchSnapshot;
+import com.example.backend.hotel_search.index.HotelSortKeys;
+import com.example.backend.hotel_search.index.HotelSuggestIndex;
+import com.example.backend.hotel_search.index.NgramTextIndex;
+import com.example.backend.hotel_search.index.RoomAvailabilityIndex;
+import com.example.backend.hotel_search.repository.HotelSearchJdbcRepository;
+import com.example.backend.hotel_search.repository.HotelSearchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * DB → 인메모리 검색 구조 동기화.
+ * 기동 시 스냅샷(있으면) 또는 DB 전체로 빌드, 이후에는 CatalogChangedEvent / InventoryChangedEvent 를 받아 바뀐 행만 반영한다.
+ * 전체 빌드 중에 온 변경은 적어 두었다가 빌드 후 다시 적용한다 (호텔은 여기서, 객실/재고는 RoomAvailabilityIndex 가).
+ * 매일 새벽 DB 기준 전체 재빌드 후 스냅샷을 새로 쓴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchCatalogSync {
+
+    private final HotelSearchRepository repo;
+    private final HotelSearchJdbcRepository jdbcRepo;
+    private final NgramTextIndex textIndex;
+    private final HotelSuggestIndex suggestIndex;
+    private final HotelSortKeys sortKeys;
+    private final HotelFuzzyIndex fuzzyIndex;
+    private final HotelGeoIndex geoIndex;
+    private final RoomAvailabilityIndex availabilityIndex;
+
+    @Value("${search.availability.horizon-days:365}")
+    private int availabilityDays;
+
+    // 인덱스 스냅샷: 기동 시 DB 전체 대신 이 파일 + watermark 이후 변경분으로 빌드
+    @Value("${search.snapshot.enabled:true}")
+    private boolean snapshotEnabled;
+
+    @Value("${search.snapshot.path:data/search-index.snap}")
+    private String snapshotPath;
+
+    @Value("${search.snapshot.max-age-hours:24}")
+    private long snapshotMaxAgeHours;
+
+    // watermark 직전에 시작해서 그 뒤에 커밋된 트랜잭션도 잡도록 이만큼 앞에서부터 따라잡는다
+    @Value("${search.snapshot.catch-up-margin-seconds:300}")
+    private long catchUpMarginSeconds;
+
+    private volatile String source = "none";
+    private volatile LocalDateTime watermark;
+
+    // 호텔 인덱스 빌드 중(beginHotelBuild ~ replayHotelChanges)에 바뀐 호텔 id. 빌드가 끝나면 DB 에서 다시 읽어 반영한다
+    // 빌드는 this 락을 오래 잡으므로 이벤트 쪽은 별도 락으로만 기록
+    private final Object hotelJournalLock = new Object();
+    private Set<Long> hotelsChangedDuringBuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void buildAll() {
+        if (snapshotEnabled && loadSnapshot()) return;
+        rebuildFromDatabase();
+    }
+
+    // 매일 가용성 구간을 하루씩 밀면서 전체를 DB 기준으로 다시 맞추고, 스냅샷도 새로 쓴다
+    @Scheduled(cron = "${search.availability.rebuild-cron:0 0 4 * * *}")
+    public synchronized void rebuildFromDatabase() {
+        LocalDateTime wm = jdbcRepo.dbNow(); // 읽기 전에 찍어야 읽는 도중의 변경을 다음 따라잡기에서 놓치지 않음
+        beginHotelBuild(); // 호텔을 읽은 뒤에 온 변경은 빌드 후 다시 적용
+        List<HotelDocument> docs;
+        try {
+            docs = repo.findAllDocuments();
+            buildHotelIndexes(docs);
+        } finally {
+            replayHotelChanges();
+        }
+
+        LocalDate from = LocalDate.now();
+        availabilityIndex.beginBuild(); // 객실/재고를 읽은 뒤에 온 변경은 빌드 결과에 다시 적용
+        List<RoomDocument> rooms;
+        List<InventoryDay> inventory;
+        try {
+            rooms = repo.findAllRoomDocuments();
+            inventory = repo.findInventoryBetween(from, from.plusDays(availabilityDays));
+        } catch (RuntimeException ex) {
+            availabilityIndex.abortBuild();
+            throw ex;
+        }
+        buildAvailability(from, availabilityDays, rooms, inventory);
+
+        source = "database";
+        watermark = wm;
+        if (snapshotEnabled) {
+            writeSnapshot(new SearchSnapshot(wm, System.currentTimeMillis(), from, availabilityDays, docs, rooms, inventory));
+        }
+    }
+
+    private boolean loadSnapshot() {
+        Path path = Path.of(snapshotPath);
+        if (!Files.exists(path)) return false;
+
+        long start = System.currentTimeMillis();
+        SearchSnapshot s;
+        try {
+            s = SearchSnapshot.readFrom(path);
+        } catch (IOException e) {
+            log.warn("[SEARCH-INDEX] snapshot unreadable, full rebuild: {}", e.getMessage());
+            return false;
+        }
+        if (start - s.createdAtMillis() > Duration.ofHours(snapshotMaxAgeHours).toMillis()) {
+            log.info("[SEARCH-INDEX] snapshot too old ({}), full rebuild", Instant.ofEpochMilli(s.createdAtMillis()));
+            return false;
+        }
+
+        LocalDateTime since = s.watermark().minusSeconds(catchUpMarginSeconds);
+        beginHotelBuild();
+        availabilityIndex.beginBuild(); // 따라잡기 쿼리를 읽은 뒤에 온 변경은 빌드 결과에 다시 적용
+        try {
+            return applySnapshot(path, s, since, start);
+        } catch (RuntimeException ex) {
+            availabilityIndex.abortBuild();
+            throw ex;
+        } finally {
+            replayHotelChanges();
+        }
+    }
+
+    private boolean applySnapshot(Path path, SearchSnapshot s, LocalDateTime since, long start) {
+        Map<Long, HotelDocument> hotels = new HashMap<>(s.hotels().size() * 2);
+        for (HotelDocument d : s.hotels()) hotels.put(d.id(), d);
+        List<HotelDocument> changedHotels = repo.findDocumentsUpdatedSince(since);
+        for (HotelDocument d : changedHotels) hotels.put(d.id(), d);
+        hotels.keySet().retainAll(new HashSet<>(repo.findAllHotelIds()));
+
+        Map<Long, RoomDocument> rooms = new HashMap<>(s.rooms().size() * 2);
+        for (RoomDocument r : s.rooms()) rooms.put(r.id(), r);
+        List<RoomDocument> changedRooms = repo.findRoomDocumentsUpdatedSince(since);
+        for (RoomDocument r : changedRooms) rooms.put(r.id(), r);
+        rooms.keySet().retainAll(new HashSet<>(repo.findAllRoomIds()));
+
+        // 재고 따라잡기도 빌드 전에 읽어 스냅샷 뒤에 붙인다 (뒤의 행이 이김). 그 뒤의 변경은 빌드 중 기록으로 다시 적용
+        List<InventoryDay> changedInventory = repo.findInventoryUpdatedSince(
+                since, s.windowStart(), s.windowStart().plusDays(s.windowDays()));
+        List<InventoryDay> inventory = new ArrayList<>(s.inventory().size() + changedInventory.size());
+        inventory.addAll(s.inventory());
+        inventory.addAll(changedInventory);
+
+        buildHotelIndexes(hotels.values());
+        buildAvailability(s.windowStart(), s.windowDays(), rooms.values(), inventory);
+
+        source = "snapshot";
+        watermark = s.watermark();
+        log.info("[SEARCH-INDEX] loaded from snapshot {} (watermark={}) catch-up hotels={} rooms={} inventory={} took={}ms",
+                path, s.watermark(), changedHotels.size(), changedRooms.size(), changedInventory.size(),
+                System.currentTimeMillis() - start);
+        return true;
+    }
+
+    private void writeSnapshot(SearchSnapshot s) {
+        long start = System.currentTimeMillis();
+        Path path = Path.of(snapshotPath);
+        try {
+            s.writeTo(path);
+            log.info("[SEARCH-INDEX] snapshot written: {} hotels={} rooms={} inventory={} size={}KB took={}ms",
+                    path, s.hotels().size(), s.rooms().size(), s.inventory().size(),
+                    Files.size(path) / 1024, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            log.warn("[SEARCH-INDEX] snapshot write failed: {}", e.toString());
+        }
+    }
+
+    private void buildHotelIndexes(Collection<HotelDocument> docs) {
+        textIndex.rebuild(docs);
+        log.info("[SEARCH-INDEX] text index built: hotels={} grams={} took={}ms mem≈{}KB",
+                textIndex.documentCount(), textIndex.gramCount(),
+                textIndex.lastBuildMillis(), textIndex.estimatedBytes() / 1024);
+
+        sortKeys.rebuild(docs);
+        suggestIndex.rebuild(docs);
+        log.info("[SEARCH-INDEX] suggest index built: hotels={} cities={} countries={} took={}ms",
+                suggestIndex.hotelCount(), suggestIndex.cityCount(), suggestIndex.countryCount(),
+                suggestIndex.lastBuildMillis());
+
+        fuzzyIndex.rebuild(docs);
+        log.info("[SEARCH-INDEX] fuzzy index built: terms={} took={}ms",
+                fuzzyIndex.termCount(), fuzzyIndex.lastBuildMillis());
+
+        geoIndex.rebuild(docs);
+        log.info("[SEARCH-INDEX] geo index built: hotels={} cells={} took={}ms",
+                geoIndex.hotelCount(), geoIndex.cellCount(), geoIndex.lastBuildMillis());
+    }
+
+    private void beginHotelBuild() {
+        synchronized (hotelJournalLock) {
+            hotelsChangedDuringBuild = new HashSet<>();
+        }
+    }
+
+    /**
+     * 빌드 중에 바뀐 호텔을 DB 에서 다시 읽어 새 인덱스에 반영한다 (읽은 뒤에 커밋된 수정/삭제가 옛 데이터로 덮이지 않도록).
+     * 빌드가 실패해도 불러서 기록을 끝낸다. 이 뒤의 변경은 이벤트가 바로 반영.
+     */
+    private void replayHotelChanges() {
+        Set<Long> changed;
+        synchronized (hotelJournalLock) {
+            changed = hotelsChangedDuringBuild;
+            hotelsChangedDuringBuild = null;
+        }
+        if (changed == null || changed.isEmpty()) return;
+        for (Long id : changed) refreshHotel(id);
+        log.info("[SEARCH-INDEX] replayed hotel changes during build: {}", changed.size());
+    }
+
+    private void buildAvailability(LocalDate from, int days, Collection<RoomDocument> rooms, Collection<InventoryDay> inventory) {
+        availabilityIndex.rebuild(from, days, rooms, inventory);
+        log.info("[SEARCH-INDEX] availability index built: rooms={} hotels={} days={} replayed={} took={}ms mem≈{}KB",
+                availabilityIndex.roomCount(), availabilityIndex.hotelCount(), days, availabilityIndex.lastReplayed(),
+                availabilityIndex.lastBuildMillis(), availabilityIndex.estimatedBytes() / 1024);
+    }
+
+    /** 마지막 빌드 출처 (snapshot | database) */
+    public String source() {
+        return source;
+    }
+
+    /** 마지막 빌드 기준 DB 시각 */
+    public LocalDateTime watermark() {
+        return watermark;
+    }
+
+    // 커밋된 변경만 반영. 트랜잭션 밖에서 발행된 경우도 바로 반영
+    @Order(0) // 검색 결과 캐시 무효화(@Order(100))보다 먼저
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent e) {
+        switch (e.kind()) {
+            case HOTEL -> onHotelChanged(e);
+            case ROOM -> onRoomChanged(e);
+            default -> { }
+        }
+    }
+
+    @Order(0) // 검색 결과 캐시 무효화(@Order(100))보다 먼저
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent e) {
+        if (e.removed()) {
+            availabilityIndex.resetQuantity(e.roomId(), e.date());
+            return;
+        }
+        availabilityIndex.updateQuantity(e.roomId(), e.date(), e.availableQuantity());
+    }
+
+    private void onHotelChanged(CatalogChangedEvent e) {
+        if (e.hotelId() == null) return;
+        synchronized (hotelJournalLock) {
+            if (hotelsChangedDuringBuild != null) hotelsChangedDuringBuild.add(e.hotelId());
+        }
+        if (e.removed()) {
+            removeHotel(e.hotelId());
+            return;
+        }
+        refreshHotel(e.hotelId());
+    }
+
+    private void refreshHotel(long hotelId) {
+        repo.findDocumentById(hotelId).ifPresentOrElse(
+                d -> {
+                    textIndex.upsert(d);
+                    suggestIndex.upsert(d);
+                    sortKeys.upsert(d);
+                    fuzzyIndex.upsert(d);
+                    geoIndex.upsert(d);
+                },
+                () -> removeHotel(hotelId));
+    }
+
+    private void removeHotel(long hotelId) {
+        textIndex.remove(hotelId);
+        suggestIndex.remove(hotelId);
+        sortKeys.remove(hotelId);
+        fuzzyIndex.remove(hotelId);
+        geoIndex.remove(hotelId);
+    }
+
+    private void onRoomChanged(CatalogChangedEvent e) {
+        if (e.roomId() == null) return;
+        // removed 여도 DB 를 다시 본다: 다른 호텔로 옮겨진 객실은 옛 호텔 쪽이 removed 로 먼저 온다 (CatalogEntityListener).
+        // 행이 남아 있으면 upsert 로 호텔만 바꿔서 날짜별 수량을 유지
+        repo.findRoomDocumentById(e.roomId()).ifPresentOrElse(
+                availabilityIndex::upsertRoom,
+                () -> availabilityIndex.removeRoom(e.roomId()));
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.backend.hotel_search.service;
+
+import com.example.backend.hotel_search.dto.SearchCacheKey;
+import com.example.backend.hotel_search.event.CatalogChangedEvent;
+import com.example.backend.hotel_search.event.InventoryChangedEvent;
+import com.example.backend.hotel_search.index.NgramTextIndex;
+import com.example.backend.hotel_search.index.RoomAvailabilityIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 검색 결과 캐시 (크기 + TTL 제한, LRU).
+ *
+ * 무효화는 호텔 단위로 골라서 한다.
+ * - 결과에 그 호텔이 들어 있는 항목 → 항상 제거
+ * - 결과에 없던 항목도, 변경으로 그 호텔이 새로 걸릴 수 있으면 제거
+ *   (키워드가 없거나 키워드가 그 호텔에 맞는 경우. 재고 변경은 숙박 기간에 그 날짜가 들어간 검색만)
+ * - 이미지 변경은 썸네일만 바뀌므로 그 호텔이 들어 있는 항목만
+ *
+ * 계산 도중 무효화가 일어나면 그 결과는 넣지 않는다 (오래된 값이 TTL 동안 남는 것 방지).
+ * 지표: hotel.search.cache.requests{result=hit|miss}, hotel.search.cache.evictions{cause}, hotel.search.cache.size
+ */
+@Component
+public class SearchResultCache {
+
+    private final NgramTextIndex textIndex;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final boolean enabled;
+
+    private final LinkedHashMap<SearchCacheKey, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Long, Set<SearchCacheKey>> byHotel = new HashMap<>();
+    private final Map<String, Set<SearchCacheKey>> byTerm = new HashMap<>();            // 검색어 없음 = NO_TERM
+    private final NavigableMap<LocalDate, Set<SearchCacheKey>> byCheckIn = new TreeMap<>(); // 날짜 있는 검색만
+    private long longestStay;                                                            // 넣은 적 있는 가장 긴 숙박 (박)
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictedBySize = new AtomicLong();
+    private final AtomicLong evictedByTtl = new AtomicLong();
+    private final AtomicLong evictedByChange = new AtomicLong();
+
+    private static final String NO_TERM = "";
+
+    private record Entry(Object value, long[] hotelIds, String[] terms, long expiresAt) {}
+
+    public SearchResultCache(NgramTextIndex textIndex,
+                             RoomAvailabilityIndex availabilityIndex,
+                             MeterRegistry registry,
+                             @Value("${search.cache.enabled:true}") boolean enabled,
+                             @Value("${search.cache.max-entries:10000}") int maxEntries,
+                             @Value("${search.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.textIndex = textIndex;
+        this.availabilityIndex = availabilityIndex;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+
+        FunctionCounter.builder("hotel.search.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("hotel.search.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("hotel.search.cache.evictions", evictedBySize, AtomicLong::get)
+                .tag("cause", "size").register(registry);
+        FunctionCounter.builder("hotel.search.cache.evictions", evictedByTtl, AtomicLong::get)
+                .tag("cause", "expired").register(registry);
+        FunctionCounter.builder("hotel.search.cache.evictions", evictedByChange, AtomicLong::get)
+                .tag("cause", "invalidated").register(registry);
+        Gauge.builder("hotel.search.cache.size", this, SearchResultCache::size).register(registry);
+    }
+
+    /**
+     * 캐시에 있으면 그 값, 없으면 loader 로 계산해서 넣는다.
+     * hotelIdsOf 는 결과에 들어 있는 호텔 id (선택적 무효화용).
+     */
+    public <T> T get(SearchCacheKey key, Supplier<T> loader, Function<T, long[]> hotelIdsOf) {
+        return get(key, loader, hotelIdsOf, v -> null);
+    }
+
+    /**
+     * termOf 는 결과를 실제로 만든 검색어가 key 의 검색어와 다를 때 그 검색어 (교정어), 같으면 null.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(SearchCacheKey key, Supplier<T> loader, Function<T, long[]> hotelIdsOf,
+                     Function<T, String> termOf) {
+        if (!enabled) return loader.get();
+
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Entry e = entries.get(key);
+            if (e != null) {
+                if (e.expiresAt() > now) {
+                    hits.incrementAndGet();
+                    return (T) e.value();
+                }
+                removeEntry(key);
+                evictedByTtl.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+
+        long generation = invalidations.get();
+        T value = loader.get();
+        long[] ids = hotelIdsOf.apply(value);
+        String[] terms = termsOf(key, termOf.apply(value));
+
+        synchronized (this) {
+            if (invalidations.get() != generation) return value; // 계산 중에 데이터가 바뀜
+            removeEntry(key);
+            entries.put(key, new Entry(value, ids, terms, System.currentTimeMillis() + ttlMillis));
+            for (long id : ids) byHotel.computeIfAbsent(id, k -> new HashSet<>()).add(key);
+            for (String t : terms) byTerm.computeIfAbsent(t, k -> new HashSet<>()).add(key);
+            if (key.checkIn() != null) {
+                byCheckIn.computeIfAbsent(key.checkIn(), k -> new HashSet<>()).add(key);
+                longestStay = Math.max(longestStay, ChronoUnit.DAYS.between(key.checkIn(), key.checkOut()));
+            }
+            while (entries.size() > maxEntries) {
+                SearchCacheKey eldest = entries.keySet().iterator().next();
+                removeEntry(eldest);
+                evictedBySize.incrementAndGet();
+            }
+        }
+        return value;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        invalidations.incrementAndGet();
+        evictedByChange.addAndGet(entries.size());
+        entries.clear();
+        byHotel.clear();
+        byTerm.clear();
+        byCheckIn.clear();
+        longestStay = 0;
+    }
+
+    // ===== 무효화 =====
+
+    // 읽기 모델(hotel_min_price)/인덱스 갱신 리스너보다 뒤에 돌아야 함
+    @Order(100)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent e) {
+        if (e.kind() == CatalogChangedEvent.Kind.ROOM_IMAGE) return; // 검색 결과에 객실 사진은 없음
+        Long hotelId = e.hotelId();
+        if (hotelId == null && e.roomId() != null) hotelId = availabilityIndex.hotelOf(e.roomId());
+        if (hotelId == null) {
+            clear(); // 어느 호텔인지 모르면 전부
+            return;
+        }
+        if (e.kind() == CatalogChangedEvent.Kind.HOTEL_IMAGE) {
+            invalidateHotel(hotelId, null, false);
+        } else {
+            invalidateHotel(hotelId, null, true);
+        }
+    }
+
+    @Order(100)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent e) {
+        Long hotelId = availabilityIndex.hotelOf(e.roomId());
+        if (hotelId == null) {
+            clear();
+            return;
+        }
+        invalidateHotel(hotelId, e.date(), true);
+    }
+
+    /**
+     * @param date       재고 변경 날짜. null 이 아니면 그 날짜를 포함하는 숙박 기간의 검색만 대상
+     * @param membership 변경으로 호텔이 새로 검색에 걸릴 수 있는지 (가격/재고/객실/호텔 정보)
+     */
+    private void invalidateHotel(long hotelId, LocalDate date, boolean membership) {
+        // 먼저 세대를 올려 두면, 아래 검색어 확인 중에 새로 들어오는 값은 변경 뒤에 계산한 것뿐이다
+        invalidations.incrementAndGet();
+        Set<String> matching = membership ? matchingTerms(hotelId) : Set.of();
+
+        synchronized (this) {
+            Set<SearchCacheKey> victims = new HashSet<>();
+            Set<SearchCacheKey> containing = byHotel.get(hotelId);
+            if (containing != null) {
+                for (SearchCacheKey k : containing) {
+                    if (date == null || k.covers(date)) victims.add(k);
+                }
+            }
+            if (!matching.isEmpty()) {
+                if (date == null) {
+                    for (String t : matching) {
+                        Set<SearchCacheKey> keys = byTerm.get(t);
+                        if (keys != null) victims.addAll(keys);
+                    }
+                } else {
+                    // 체크인이 (date - 가장 긴 숙박, date] 인 검색만 그 날짜를 덮을 수 있다
+                    for (Set<SearchCacheKey> keys : byCheckIn.subMap(date.minusDays(longestStay), true, date, true).values()) {
+                        for (SearchCacheKey k : keys) {
+                            if (k.covers(date) && anyOf(entries.get(k).terms(), matching)) victims.add(k);
+                        }
+                    }
+                }
+            }
+            for (SearchCacheKey k : victims) removeEntry(k);
+            evictedByChange.addAndGet(victims.size());
+        }
+    }
+
+    /** 캐시에 있는 검색어 중 그 호텔에 맞는 것 (검색어 없음 포함). 검색어마다 한 번, 락 밖에서 */
+    private Set<String> matchingTerms(long hotelId) {
+        List<String> terms;
+        synchronized (this) {
+            terms = new ArrayList<>(byTerm.keySet());
+        }
+        Set<String> out = new HashSet<>();
+        for (String t : terms) {
+            if (t.equals(NO_TERM) || textIndex.matches(hotelId, t)) out.add(t);
+        }
+        return out;
+    }
+
+    private static String[] termsOf(SearchCacheKey key, String corrected) {
+        String q = key.q() == null ? NO_TERM : key.q();
+        if (corrected == null) return new String[]{q};
+        String c = NgramTextIndex.normalize(corrected);
+        return c.equals(q) ? new String[]{q} : new String[]{q, c};
+    }
+
+    private static boolean anyOf(String[] terms, Set<String> set) {
+        for (String t : terms) {
+            if (set.contains(t)) return true;
+        }
+        return false;
+    }
+
+    private void removeEntry(SearchCacheKey key) {
+        Entry old = entries.remove(key);
+        if (old == null) return;
+        for (long id : old.hotelIds()) detach(byHotel, id, key);
+        for (String t : old.terms()) detach(byTerm, t, key);
+        if (key.checkIn() != null) detach(byCheckIn, key.checkIn(), key);
+    }
+
+    private static <K> void detach(Map<K, Set<SearchCacheKey>> index, K k, SearchCacheKey key) {
+        Set<SearchCacheKey> keys = index.get(k);
+        if (keys == null) return;
+        keys.remove(key);
+        if (keys.isEmpty()) index.remove(k);
+    }
+}
@@ -37,12 +37,26 @@ CREATE TABLE IF NOT EXISTS `Hotel` (
   `description` text NULL,
   `country` varchar(50) NOT NULL,
   `status` ENUM('PENDING','APPROVED','SUSPENDED') NOT NULL DEFAULT 'PENDING',
+  `cover_image_url` text NULL, -- 검색 썸네일 (hotel_image 에서 비정규화, HotelCoverService). hotel_image.url 과 같은 타입
+  `latitude` DOUBLE NULL,  -- 위치 검색 (WGS84)
+  `longitude` DOUBLE NULL,
+  `updated_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6), -- 검색 스냅샷 이후 변경분
   PRIMARY KEY (`id`),
   KEY `idx_hotel_user` (`user_id`),
+  KEY `idx_hotel_updated` (`updated_at`),
+  KEY `idx_hotel_geo` (`latitude`, `longitude`),
   CONSTRAINT `FK_User_TO_Hotel_1`
     FOREIGN KEY (`user_id`) REFERENCES `app_user`(`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- 기존 DB 용
+ALTER TABLE `Hotel` ADD COLUMN IF NOT EXISTS `cover_image_url` text NULL;
+ALTER TABLE `Hotel` ADD COLUMN IF NOT EXISTS `updated_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+CREATE INDEX IF NOT EXISTS idx_hotel_updated ON `Hotel` (`updated_at`);
+ALTER TABLE `Hotel` ADD COLUMN IF NOT EXISTS `latitude` DOUBLE NULL;
+ALTER TABLE `Hotel` ADD COLUMN IF NOT EXISTS `longitude` DOUBLE NULL;
+CREATE INDEX IF NOT EXISTS idx_hotel_geo ON `Hotel` (`latitude`, `longitude`);
+
 -- 3) 호텔 이미지
 CREATE TABLE IF NOT EXISTS `hotel_image` (
   `id`       BIGINT NOT NULL AUTO_INCREMENT,
@@ -52,8 +66,10 @@ CREATE TABLE IF NOT EXISTS `hotel_image` (
   `is_cover` BOOLEAN NOT NULL DEFAULT FALSE,
   `caption`  VARCHAR(255) NULL,
   `alt_text` VARCHAR(255) NULL,
+  `updated_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6), -- 상세 카탈로그 따라잡기
   PRIMARY KEY (`id`),
   KEY `idx_himg_hotel` (`hotel_id`),
+  KEY `idx_himg_updated` (`updated_at`),
   UNIQUE KEY `uq_hotel_sort` (`hotel_id`,`sort_no`),
   CONSTRAINT `fk_himg_hotel`
     FOREIGN KEY (`hotel_id`) REFERENCES `Hotel`(`id`)
@@ -61,6 +77,8 @@ CREATE TABLE IF NOT EXISTS `hotel_image` (
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 CREATE INDEX IF NOT EXISTS idx_himg_cover_sort
   ON `hotel_image` (`hotel_id`, `is_cover`, `sort_no`);
+ALTER TABLE `hotel_image` ADD COLUMN IF NOT EXISTS `updated_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+CREATE INDEX IF NOT EXISTS idx_himg_updated ON `hotel_image` (`updated_at`);
 
 -- 4) 편의시설 마스터
 CREATE TABLE IF NOT EXISTS `Amenity` (
@@ -103,12 +121,16 @@ CREATE TABLE IF NOT EXISTS `Room` (
   `capacity_max` int NOT NULL,
   `check_in_time` time NOT NULL,
   `check_out_time` time NOT NULL,
+  `updated_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6), -- 검색 스냅샷 이후 변경분
   PRIMARY KEY (`id`),
   KEY `idx_room_hotel` (`hotel_id`),
+  KEY `idx_room_updated` (`updated_at`),
   CONSTRAINT `FK_Hotel_TO_Room_1`
     FOREIGN KEY (`hotel_id`) REFERENCES `Hotel` (`id`)
     ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+ALTER TABLE `Room` ADD COLUMN IF NOT EXISTS `updated_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+CREATE INDEX IF NOT EXISTS idx_room_updated ON `Room` (`updated_at`);
 
 -- 7) 객실 이미지
 CREATE TABLE IF NOT EXISTS `room_image` (
@@ -119,8 +141,10 @@ CREATE TABLE IF NOT EXISTS `room_image` (
   `is_cover` BOOLEAN NOT NULL DEFAULT FALSE,
   `caption`  VARCHAR(255) NULL,
   `alt_text` VARCHAR(255) NULL,
+  `updated_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6), -- 상세 카탈로그 따라잡기
   PRIMARY KEY (`id`),
   KEY `idx_rimg_room` (`room_id`),
+  KEY `idx_rimg_updated` (`updated_at`),
   UNIQUE KEY `uq_room_sort` (`room_id`,`sort_no`),
   CONSTRAINT `fk_rimg_room`
     FOREIGN KEY (`room_id`) REFERENCES `Room`(`id`)
@@ -128,6 +152,8 @@ CREATE TABLE IF NOT EXISTS `room_image` (
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 CREATE INDEX IF NOT EXISTS idx_rimg_cover_sort
   ON `room_image` (`room_id`, `is_cover`, `sort_no`);
+ALTER TABLE `room_image` ADD COLUMN IF NOT EXISTS `updated_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+CREATE INDEX IF NOT EXISTS idx_rimg_updated ON `room_image` (`updated_at`);
 
 -- 8) 객실 재고
 CREATE TABLE IF NOT EXISTS `Room_Inventory` (
@@ -136,13 +162,17 @@ CREATE TABLE IF NOT EXISTS `Room_Inventory` (
   `date` date NOT NULL,
   `total_quantity` int NOT NULL,
   `available_quantity` int NOT NULL,
+  `updated_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6), -- 검색 스냅샷 이후 변경분
   PRIMARY KEY (`id`),
   UNIQUE KEY `uq_room_day` (`room_id`,`date`),
   KEY `idx_inv_room` (`room_id`),
+  KEY `idx_inv_updated` (`updated_at`),
   CONSTRAINT `FK_Room_TO_Room_Inventory_1`
     FOREIGN KEY (`room_id`) REFERENCES `Room` (`id`)
     ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+ALTER TABLE `Room_Inventory` ADD COLUMN IF NOT EXISTS `updated_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+CREATE INDEX IF NOT EXISTS idx_inv_updated ON `Room_Inventory` (`updated_at`);
 
 -- 9) 객실 요금 정책
 CREATE TABLE IF NOT EXISTS `Room_Price_Policy` (
@@ -160,6 +190,24 @@ CREATE TABLE IF NOT EXISTS `Room_Price_Policy` (
     ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- 9-1) 검색용 읽기 모델: 호텔 × 숙박일 최저/최고 요금 (HotelMinPriceService 가 관리)
+CREATE TABLE IF NOT EXISTS `hotel_min_price` (
+  `hotel_id`   BIGINT NOT NULL,
+  `stay_date`  date   NOT NULL,
+  `min_price`  int    NOT NULL,
+  `max_price`  int    NOT NULL,
+  PRIMARY KEY (`hotel_id`,`stay_date`),
+  KEY `idx_hmp_date` (`stay_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 9-2) 검색용 읽기 모델: 호텔별 hotel_min_price 전체 기간 최저/최고 요금 (날짜 없는 검색용)
+CREATE TABLE IF NOT EXISTS `hotel_price_summary` (
+  `hotel_id`      BIGINT NOT NULL,
+  `lowest_price`  int    NOT NULL,
+  `highest_price` int    NOT NULL,
+  PRIMARY KEY (`hotel_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- 10) 예약
 CREATE TABLE IF NOT EXISTS `Reservation` (
   `id` BIGINT NOT NULL AUTO_INCREMENT,
@@ -262,11 +310,12 @@ VALUES
 ON DUPLICATE KEY UPDATE name=VALUES(name), role=VALUES(role);
 
 -- 호텔 (APPROVED)
-INSERT INTO `Hotel` (id, user_id, business_id, name, address, star_rating, description, country, status)
+INSERT INTO `Hotel` (id, user_id, business_id, name, address, star_rating, description, country, status, latitude, longitude)
 VALUES
-  (1, 2, 1001, '서울 스카이 호텔', '서울특별시 중구 을지로 100', 4, '시내 중심 합리적 숙소', 'KR', 'APPROVED'),
-  (2, 2, 1002, '부산 오션 뷰',     '부산광역시 해운대구 해운대로 200', 4, '해운대 오션뷰 호텔', 'KR', 'APPROVED')
-ON DUPLICATE KEY UPDATE name=VALUES(name), address=VALUES(address), status=VALUES(status);
+  (1, 2, 1001, '서울 스카이 호텔', '서울특별시 중구 을지로 100', 4, '시내 중심 합리적 숙소', 'KR', 'APPROVED', 37.5660, 126.9910),
+  (2, 2, 1002, '부산 오션 뷰',     '부산광역시 해운대구 해운대로 200', 4, '해운대 오션뷰 호텔', 'KR', 'APPROVED', 35.1631, 129.1636)
+ON DUPLICATE KEY UPDATE name=VALUES(name), address=VALUES(address), status=VALUES(status),
+  latitude=VALUES(latitude), longitude=VALUES(longitude);
 
 -- 호텔 이미지(대표 우선)
 INSERT INTO hotel_image (hotel_id, url, sort_no, is_cover)
@@ -276,6 +325,13 @@ VALUES
   (2,'https://picsum.photos/seed/busan1/1200/720',0,1)
 ON DUPLICATE KEY UPDATE url=VALUES(url), is_cover=VALUES(is_cover);
 
+-- 검색 썸네일 백필 (앱 기동 시에도 HotelCoverService 가 맞춤)
+UPDATE `Hotel` h
+SET h.cover_image_url = (SELECT hi.url FROM hotel_image hi
+                         WHERE hi.hotel_id = h.id
+                         ORDER BY hi.is_cover DESC, hi.sort_no ASC
+                         LIMIT 1);
+
 -- 객실
 INSERT INTO `Room` (id, hotel_id, name, room_size, capacity_min, capacity_max, check_in_time, check_out_time)
 VALUES
@@ -0,0 +1,64 @@
+package com.example.backend.common.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SparseFieldsTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private JsonNode json(String s) throws Exception {
+        return mapper.readTree(s.replace('\'', '"'));
+    }
+
+    @Test
+    void blankMeansEverything() {
+        assertThat(SparseFields.parse(null)).isNull();
+        assertThat(SparseFields.parse(" ")).isNull();
+        assertThat(SparseFields.parse(" , ")).isNull();
+    }
+
+    @Test
+    void invalidPathIsRejected() {
+        assertThatThrownBy(() -> SparseFields.parse("hotel..name"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SparseFields.parse("rooms[0]"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void parentPathIncludesChildren() {
+        SparseFields f = SparseFields.parse("hotel, rooms.price");
+
+        assertThat(f.includesAll("hotel.images")).isTrue();
+        assertThat(f.includesAll("rooms")).isFalse();
+        assertThat(f.includes("rooms")).isTrue();       // 하위 경로만 골라도 객실은 읽어야 한다
+        assertThat(f.includes("rooms.photos")).isFalse();
+        assertThat(f.includes("hotelier")).isFalse();   // 이름 앞부분만 같은 건 다른 필드
+    }
+
+    @Test
+    void pruneKeepsChosenPathsInEveryArrayElement() throws Exception {
+        JsonNode tree = json("""
+                {'hotel':{'id':1,'name':'Seoul','images':['a.jpg']},
+                 'rooms':[{'id':10,'price':100,'photos':['p']},{'id':11,'price':200,'photos':[]}],
+                 'checkIn':'2026-05-01'}""");
+
+        SparseFields.parse("hotel.name,rooms.price").prune(tree, "");
+
+        assertThat(tree).isEqualTo(json("{'hotel':{'name':'Seoul'},'rooms':[{'price':100},{'price':200}]}"));
+    }
+
+    @Test
+    void topLevelArrayIsPrunedAndUnknownNamesAreIgnored() throws Exception {
+        JsonNode content = json("[{'id':1,'name':'Seoul','lowestPrice':90000}]");
+
+        SparseFields.parse("id,lowestPrice,nope").prune(content, "");
+
+        assertThat(content).isEqualTo(json("[{'id':1,'lowestPrice':90000}]"));
+    }
+}
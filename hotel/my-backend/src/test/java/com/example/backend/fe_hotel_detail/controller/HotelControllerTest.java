@@ -0,0 +1,152 @@
+package com.example.backend.fe_hotel_detail.controller;
+
+import com.example.backend.authlogin.config.JwtUtil;
+import com.example.backend.fe_hotel_detail.dto.HotelDetailDto;
+import com.example.backend.fe_hotel_detail.service.HotelDetailCache;
+import com.example.backend.fe_hotel_detail.service.HotelService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(HotelController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class HotelControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockitoBean
+    private HotelService hotelService;
+
+    @MockitoBean
+    private JwtUtil jwtUtil;
+
+    private static HotelDetailCache.Entry entry(String json, String etag) {
+        return entry(json, null, etag);
+    }
+
+    private static HotelDetailCache.Entry entry(String json, byte[] gzip, String etag) {
+        return new HotelDetailCache.Entry(json.getBytes(StandardCharsets.UTF_8), gzip, etag, 1_700_000_000_000L);
+    }
+
+    @Test
+    void detailIsRevalidatedWithEtag() throws Exception {
+        given(hotelService.getHotelDetailEntry(1L)).willReturn(entry("{\"hotel\":{\"id\":1}}", "\"v1\""));
+
+        mvc.perform(get("/api/hotels/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.hotel.id").value(1));
+        mvc.perform(get("/api/hotels/1").header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/api/hotels/1").header(HttpHeaders.IF_NONE_MATCH, "\"v0\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void detailIsRevalidatedWithLastModified() throws Exception {
+        given(hotelService.getHotelDetailEntry(1L)).willReturn(entry("{\"hotel\":{\"id\":1}}", "\"v1\""));
+
+        String lastModified = mvc.perform(get("/api/hotels/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        mvc.perform(get("/api/hotels/1").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void gzipBytesAreServedOnlyWhenAccepted() throws Exception {
+        byte[] gzip = {0x1f, (byte) 0x8b, 1, 2, 3};
+        given(hotelService.getHotelDetailEntry(1L)).willReturn(entry("{\"hotel\":{\"id\":1}}", gzip, "\"v1\""));
+
+        mvc.perform(get("/api/hotels/1").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1-gz\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(content().bytes(gzip));
+        mvc.perform(get("/api/hotels/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.hotel.id").value(1));
+        mvc.perform(get("/api/hotels/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v1-gz\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void batchConcatenatesCachedBodies() throws Exception {
+        Map<Long, HotelDetailCache.Entry> entries = new LinkedHashMap<>();
+        entries.put(1L, entry("{\"hotel\":{\"id\":1}}", "\"a\""));
+        entries.put(3L, entry("{\"hotel\":{\"id\":3}}", "\"b\""));
+        given(hotelService.getHotelDetailEntries(List.of(1L, 2L, 3L))).willReturn(entries);
+
+        mvc.perform(get("/api/hotels/batch").param("ids", "1,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"1\":{\"hotel\":{\"id\":1}},\"3\":{\"hotel\":{\"id\":3}}}", JsonCompareMode.STRICT));
+    }
+
+    @Test
+    void batchWithNoHotelsIsEmptyObject() throws Exception {
+        given(hotelService.getHotelDetailEntries(List.of(9L))).willReturn(Map.of());
+
+        mvc.perform(get("/api/hotels/batch").param("ids", "9"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{}"));
+    }
+
+    @Test
+    void datedDetailIsNotStored() throws Exception {
+        HotelDetailDto dated = HotelDetailDto.builder()
+                .hotel(HotelDetailDto.HotelDto.builder().id(1L).build())
+                .rooms(List.of(HotelDetailDto.RoomDto.builder().id(101L).available(2).stayPrice(240000L).build()))
+                .checkIn(LocalDate.of(2026, 5, 1))
+                .checkOut(LocalDate.of(2026, 5, 3))
+                .build();
+        given(hotelService.getHotelDetail(1L, "2026-05-01", "2026-05-03")).willReturn(dated);
+
+        mvc.perform(get("/api/hotels/1").param("checkIn", "2026-05-01").param("checkOut", "2026-05-03"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.rooms[0].available").value(2))
+                .andExpect(jsonPath("$.rooms[0].stayPrice").value(240000));
+    }
+
+    @Test
+    void fieldsAreServedWithoutTheCachedBytes() throws Exception {
+        given(hotelService.getHotelDetailFields(eq(1L), isNull(), isNull(), any()))
+                .willReturn(new ObjectMapper().readTree("{\"hotel\":{\"name\":\"Seoul Hotel\"}}"));
+
+        mvc.perform(get("/api/hotels/1").param("fields", "hotel.name"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().json("{\"hotel\":{\"name\":\"Seoul Hotel\"}}", JsonCompareMode.STRICT));
+        mvc.perform(get("/api/hotels/1").param("fields", "hotel..name"))
+                .andExpect(status().isBadRequest());
+    }
+}
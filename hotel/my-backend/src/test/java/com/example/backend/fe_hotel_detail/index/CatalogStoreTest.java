@@ -0,0 +1,204 @@
+package com.example.backend.fe_hotel_detail.index;
+
+import com.example.backend.fe_hotel_detail.domain.Hotel;
+import com.example.backend.fe_hotel_detail.domain.HotelImage;
+import com.example.backend.fe_hotel_detail.domain.RoomImage;
+import com.example.backend.fe_hotel_detail.repository.HotelDetailQueryRepository.RoomRow;
+import com.example.backend.hotel_reservation.domain.Room;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class CatalogStoreTest {
+
+    @Test
+    void rebuildAnswersLikeTheRows() {
+        CatalogStore store = new CatalogStore();
+        store.rebuild(store.changeMark(),
+                List.of(hotel(2, "B", "KR"), hotel(1, "A", "KR")),
+                List.of(hotelImage(11, 1, 2, "a2"), hotelImage(10, 1, 1, "a1"), hotelImage(12, 9, 1, "orphan")),
+                List.of(room(101, 1, "Deluxe", 1000, true), room(100, 1, "Standard", null, false), room(200, 2, "Deluxe", 3000, false)),
+                List.of(roomImage(1, 100, 2, "s2"), roomImage(2, 100, 1, "s1")));
+
+        assertThat(store.hotel(1)).hasValueSatisfying(h -> {
+            assertThat(h.name()).isEqualTo("A");
+            assertThat(h.images()).containsExactly("a1", "a2"); // sort_no 순
+        });
+        assertThat(store.hotel(9)).isEmpty();
+
+        List<RoomRow> rooms = store.rooms(1);
+        assertThat(rooms).extracting(RoomRow::id).containsExactly(100L, 101L);
+        assertThat(rooms.get(0).price()).isNull();
+        assertThat(rooms.get(0).photos()).containsExactly("s1", "s2");
+        assertThat(rooms.get(1).wifi()).isTrue();
+        assertThat(rooms.get(1).name()).isEqualTo("Deluxe");
+        assertThat(store.hotelIdOfRoom(200)).isEqualTo(2L);
+        assertThat(store.hotelIdOfRoom(999)).isNull();
+    }
+
+    @Test
+    void dirtyHotelIsNotCoveredUntilRebuiltPastIt() {
+        CatalogStore store = new CatalogStore();
+        assertThat(store.covers(1)).isFalse(); // 빌드 전
+
+        store.rebuild(store.changeMark(), List.of(hotel(1, "A", "KR")), List.of(), List.of(), List.of());
+        assertThat(store.covers(1)).isTrue();
+
+        long mark = store.changeMark();
+        store.markDirty(1);
+        assertThat(store.covers(1)).isFalse();
+        assertThat(store.covers(2)).isTrue();
+
+        // 읽기 전에 찍은 mark 로 빌드하면 그 뒤의 변경은 남는다
+        store.rebuild(mark, List.of(hotel(1, "A", "KR")), List.of(), List.of(), List.of());
+        assertThat(store.covers(1)).isFalse();
+        store.rebuild(store.changeMark(), List.of(hotel(1, "A", "KR")), List.of(), List.of(), List.of());
+        assertThat(store.covers(1)).isTrue();
+
+        store.markAllDirty();
+        assertThat(store.covers(2)).isFalse();
+        assertThat(store.needsFullRebuild()).isTrue();
+    }
+
+    @Test
+    void patchReplacesOnlyGivenHotels() {
+        CatalogStore store = new CatalogStore();
+        store.rebuild(store.changeMark(),
+                List.of(hotel(1, "A", "KR"), hotel(2, "B", "JP"), hotel(3, "C", "KR")),
+                List.of(hotelImage(10, 1, 2, "a2"), hotelImage(11, 1, 1, "a1"), hotelImage(12, 3, 1, "c1")),
+                List.of(room(100, 1, "Std", 1000, true), room(101, 1, "Dlx", 2000, false), room(300, 3, "Std", 500, false)),
+                List.of(roomImage(1, 101, 1, "d1"), roomImage(2, 101, 0, "d0")));
+
+        store.markDirty(2);
+        store.markDirty(3);
+        long mark = store.changeMark();
+        // 2 는 이름이 바뀌고 객실 101 이 1 → 2 로 옮겨 옴, 3 은 삭제됨
+        store.patch(mark, Set.of(2L, 3L),
+                List.of(hotel(2, "B2", "JP")),
+                List.of(),
+                List.of(room(101, 2, "Dlx", 2100, false)),
+                List.of(roomImage(5, 101, 0, "d0")));
+
+        assertThat(store.covers(2)).isTrue();
+        assertThat(store.covers(3)).isTrue();
+        assertThat(store.hotel(2)).hasValueSatisfying(h -> assertThat(h.name()).isEqualTo("B2"));
+        assertThat(store.hotel(3)).isEmpty();
+        assertThat(store.rooms(2)).extracting(RoomRow::id, RoomRow::price).containsExactly(
+                tuple(101L, 2100));
+        assertThat(store.rooms(2).get(0).photos()).containsExactly("d0");
+
+        // 건드리지 않은 호텔은 그대로 (이미지 순서, 객실, 플래그 포함)
+        assertThat(store.hotel(1)).hasValueSatisfying(h -> assertThat(h.images()).containsExactly("a1", "a2"));
+        assertThat(store.rooms(1)).extracting(RoomRow::id).containsExactly(100L);
+        assertThat(store.rooms(1).get(0).wifi()).isTrue();
+        assertThat(store.hotelIdOfRoom(101)).isEqualTo(2L);
+        assertThat(store.hotelIdOfRoom(300)).isNull();
+    }
+
+    @Test
+    void patchKeepsLaterChangesDirty() {
+        CatalogStore store = new CatalogStore();
+        store.rebuild(store.changeMark(), List.of(hotel(1, "A", "KR")), List.of(), List.of(), List.of());
+        store.markDirty(1);
+        long mark = store.changeMark();
+        store.markDirty(1); // 읽는 동안 또 바뀜
+        store.patch(mark, Set.of(1L), List.of(hotel(1, "A2", "KR")), List.of(), List.of(), List.of());
+
+        assertThat(store.covers(1)).isFalse();
+        assertThat(store.dirtyHotels()).containsExactly(1L);
+    }
+
+    @Test
+    void nullSortNoComesFirstLikeTheDatabase() {
+        CatalogStore store = new CatalogStore();
+        store.rebuild(store.changeMark(), List.of(hotel(1, "A", "KR")),
+                List.of(hotelImage(10, 1, 0, "zero"), hotelImage(11, 1, -1, "minus"), hotelImage(12, 1, null, "null")),
+                List.of(room(100, 1, "Std", 1000, false)),
+                List.of(roomImage(1, 100, 0, "zero"), roomImage(2, 100, null, "null")));
+
+        // HotelDetailQueryRepository 의 ORDER BY sort_no ASC 와 같은 순서 (NULL 먼저)
+        assertThat(store.hotel(1)).hasValueSatisfying(h -> assertThat(h.images()).containsExactly("null", "minus", "zero"));
+        assertThat(store.rooms(1).get(0).photos()).containsExactly("null", "zero");
+    }
+
+    @Test
+    void countMismatchesFindRowsDeletedInTheDatabase() {
+        CatalogStore store = new CatalogStore();
+        store.rebuild(store.changeMark(),
+                List.of(hotel(1, "A", "KR"), hotel(2, "B", "KR"), hotel(3, "C", "KR"), hotel(4, "D", "KR")),
+                List.of(hotelImage(10, 1, 1, "a1"), hotelImage(20, 2, 1, "b1"), hotelImage(21, 2, 2, "b2")),
+                List.of(room(100, 1, "Std", 1000, false), room(300, 3, "Std", 1000, false), room(301, 3, "Dlx", 2000, false)),
+                List.of(roomImage(1, 300, 1, "c1")));
+
+        Set<Long> stale = store.countMismatches(
+                List.of(1L, 2L, 3L, 5L),                 // 4 삭제, 5 는 빌드 뒤에 생김
+                Map.of(1L, 1L, 3L, 2L),
+                Map.of(1L, 1L, 2L, 1L),                  // 2 의 이미지 하나 삭제
+                Map.of());                                // 300 의 사진 삭제
+
+        assertThat(stale).containsExactlyInAnyOrder(2L, 3L, 4L, 5L);
+        assertThat(store.countMismatches(List.of(1L, 2L, 3L, 4L), Map.of(1L, 1L, 3L, 2L),
+                Map.of(1L, 1L, 2L, 2L), Map.of(300L, 1L))).isEmpty();
+    }
+
+    @Test
+    void dictionaryEncodedColumnsRoundTrip() {
+        CatalogStore store = new CatalogStore();
+        List<Room> rooms = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) rooms.add(room(id, 1, id % 2 == 0 ? "Std" : "Dlx", (int) id * 100, id % 3 == 0));
+        store.rebuild(store.changeMark(), List.of(hotel(1, "A", "KR")), List.of(), rooms, List.of());
+
+        assertThat(store.rooms(1)).hasSize(50).allSatisfy(r -> {
+            assertThat(r.name()).isEqualTo(r.id() % 2 == 0 ? "Std" : "Dlx");
+            assertThat(r.price()).isEqualTo((int) (r.id() * 100));
+            assertThat(r.wifi()).isEqualTo(r.id() % 3 == 0);
+        });
+        assertThat(store.dictionarySizes()).containsEntry("roomName", 2);
+    }
+
+    private static Hotel hotel(long id, String name, String country) {
+        Hotel h = new Hotel();
+        h.setId(id);
+        h.setName(name);
+        h.setAddress(name + " road");
+        h.setCountry(country);
+        h.setStarRating(4);
+        return h;
+    }
+
+    private static HotelImage hotelImage(long id, long hotelId, Integer sortNo, String url) {
+        HotelImage im = new HotelImage();
+        im.setId(id);
+        im.setHotelId(hotelId);
+        im.setSortNo(sortNo);
+        im.setUrl(url);
+        return im;
+    }
+
+    private static Room room(long id, long hotelId, String name, Integer price, boolean wifi) {
+        return Room.builder()
+                .id(id)
+                .hotelId(hotelId)
+                .name(name)
+                .price(price)
+                .capacityMin(1)
+                .capacityMax(2)
+                .wifi(wifi)
+                .build();
+    }
+
+    private static RoomImage roomImage(long id, long roomId, Integer sortNo, String url) {
+        RoomImage im = new RoomImage();
+        im.setId(id);
+        im.setRoomId(roomId);
+        im.setSortNo(sortNo);
+        im.setUrl(url);
+        return im;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.backend.fe_hotel_detail.repository;
+
+import com.example.backend.fe_hotel_detail.repository.HotelDetailQueryRepository.HotelHead;
+import com.example.backend.fe_hotel_detail.repository.HotelDetailQueryRepository.RoomRow;
+import com.example.backend.fe_hotel_detail.repository.HotelDetailQueryRepository.RoomStayDays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 실제 SQL 을 H2 (MariaDB 모드) 에 돌려 본다. 상세 화면에 쓰는 컬럼만 만든다
+class HotelDetailQueryRepositoryTest {
+
+    private NamedParameterJdbcTemplate jdbc;
+    private HotelDetailQueryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource ds = new DriverManagerDataSource(
+                "jdbc:h2:mem:hotel_detail_" + System.nanoTime() + ";MODE=MariaDB;DB_CLOSE_DELAY=-1");
+        jdbc = new NamedParameterJdbcTemplate(ds);
+        for (String ddl : new String[]{
+                "CREATE TABLE `Hotel` (id BIGINT PRIMARY KEY, name VARCHAR(100), address VARCHAR(255), description TEXT)",
+                "CREATE TABLE hotel_image (id BIGINT PRIMARY KEY, hotel_id BIGINT, url TEXT, sort_no INT)",
+                """
+                CREATE TABLE `Room` (id BIGINT PRIMARY KEY, hotel_id BIGINT, name VARCHAR(100), room_size VARCHAR(20),
+                    view_name VARCHAR(50), bed VARCHAR(50), bath INT, smoke BOOLEAN, shared_bath BOOLEAN,
+                    has_window BOOLEAN, aircon BOOLEAN, free_water BOOLEAN, wifi BOOLEAN,
+                    cancel_policy VARCHAR(100), payment VARCHAR(50), original_price INT, price INT)""",
+                "CREATE TABLE room_image (id BIGINT PRIMARY KEY, room_id BIGINT, url TEXT, sort_no INT)",
+                "CREATE TABLE `Room_Inventory` (room_id BIGINT, `date` DATE, available_quantity INT)",
+                "CREATE TABLE `Room_Price_Policy` (room_id BIGINT, start_date DATE, end_date DATE, price INT)"}) {
+            jdbc.getJdbcTemplate().execute(ddl);
+        }
+        repository = new HotelDetailQueryRepository(jdbc);
+
+        update("INSERT INTO `Hotel` VALUES (1, 'Seoul Hotel', 'Jung-gu', 'desc'), (2, 'Empty Hotel', 'Mapo', NULL)");
+        update("INSERT INTO hotel_image VALUES (10, 1, 'b.jpg', 2), (11, 1, 'a.jpg', 1), (12, 1, 'c.jpg', 2)");
+        update("""
+                INSERT INTO `Room` VALUES
+                  (101, 1, 'Deluxe', '30m2', 'Ocean', 'King', 1, FALSE, FALSE, TRUE, TRUE, TRUE, TRUE, 'free', 'card', 150000, 120000),
+                  (100, 1, 'Standard', NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL),
+                  (200, 2, 'Other', NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, 50000)""");
+        update("INSERT INTO room_image VALUES (1000, 101, 'r2.jpg', 2), (1001, 101, 'r1.jpg', 1), (1002, 100, 's.jpg', 1)");
+    }
+
+    private void update(String sql) {
+        jdbc.getJdbcTemplate().update(sql);
+    }
+
+    @Test
+    void hotelWithImagesInSortOrder() {
+        HotelHead head = repository.findHotels(List.of(1L)).get(1L);
+
+        assertThat(head.name()).isEqualTo("Seoul Hotel");
+        assertThat(head.description()).isEqualTo("desc");
+        assertThat(head.images()).containsExactly("a.jpg", "b.jpg", "c.jpg"); // sort_no, 같으면 id
+    }
+
+    @Test
+    void nullSortNoComesFirst() {
+        update("INSERT INTO hotel_image VALUES (13, 1, 'null.jpg', NULL)");
+
+        // CatalogStore 도 같은 순서 (CatalogStoreTest.nullSortNoComesFirstLikeTheDatabase)
+        assertThat(repository.findHotels(List.of(1L)).get(1L).images()).containsExactly("null.jpg", "a.jpg", "b.jpg", "c.jpg");
+    }
+
+    @Test
+    void hotelWithoutImagesHasEmptyList() {
+        Map<Long, HotelHead> heads = repository.findHotels(List.of(2L, 99L));
+
+        assertThat(heads).containsOnlyKeys(2L); // 없는 id 는 빠진다
+        assertThat(heads.get(2L).images()).isEmpty();
+    }
+
+    @Test
+    void roomsAreFoldedWithTheirPhotos() {
+        List<RoomRow> rooms = repository.findRooms(List.of(1L)).get(1L);
+
+        assertThat(rooms).extracting(RoomRow::id).containsExactly(100L, 101L);
+        RoomRow deluxe = rooms.get(1);
+        assertThat(deluxe.photos()).containsExactly("r1.jpg", "r2.jpg");
+        assertThat(deluxe.wifi()).isTrue();
+        assertThat(deluxe.smoke()).isFalse();
+        assertThat(deluxe.price()).isEqualTo(120000);
+        RoomRow standard = rooms.get(0);
+        assertThat(standard.photos()).containsExactly("s.jpg");
+        assertThat(standard.bath()).isNull();   // NULL 은 0/false 가 아니라 null 로
+        assertThat(standard.wifi()).isNull();
+    }
+
+    @Test
+    void hotelWithoutRoomsHasNoRows() {
+        assertThat(repository.findRooms(List.of(99L))).isEmpty();
+    }
+
+    @Test
+    void severalHotelsAreReadTogether() {
+        Map<Long, List<RoomRow>> rooms = repository.findRooms(List.of(1L, 2L));
+
+        assertThat(rooms.get(1L)).extracting(RoomRow::id).containsExactly(100L, 101L);
+        assertThat(rooms.get(2L)).extracting(RoomRow::id).containsExactly(200L);
+    }
+
+    @Test
+    void imagesAndPhotosCanBeLeftOut() {
+        assertThat(repository.findHotels(List.of(1L), false).get(1L).images()).isEmpty();
+        List<RoomRow> rooms = repository.findRooms(List.of(1L), false).get(1L);
+        assertThat(rooms).extracting(RoomRow::id).containsExactly(100L, 101L); // 사진 수만큼 행이 늘지 않는다
+        assertThat(rooms).allSatisfy(r -> assertThat(r.photos()).isEmpty());
+        assertThat(rooms.get(1).price()).isEqualTo(120000);
+    }
+
+    @Test
+    void stayDaysTakeInventoryPerDayAndCheapestOverlappingPolicy() {
+        update("""
+                INSERT INTO `Room_Inventory` VALUES
+                  (101, '2026-05-01', 3), (101, '2026-05-03', 0), (101, '2026-05-04', 9), (200, '2026-05-01', 1)""");
+        update("""
+                INSERT INTO `Room_Price_Policy` VALUES
+                  (101, '2026-04-01', '2026-05-01', 90000),
+                  (101, '2026-05-02', '2026-05-31', 110000),
+                  (101, '2026-05-03', '2026-05-03', 80000)""");
+
+        Map<Long, RoomStayDays> days = repository.findStayDays(
+                1, List.of(100L, 101L), LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 4));
+
+        assertThat(days).containsOnlyKeys(100L, 101L); // 다른 호텔 객실(200)은 안 읽는다
+        assertThat(days.get(101L).available()).containsExactly(3, -1, 0); // 체크아웃 날(5/4)은 빠진다
+        assertThat(days.get(101L).price()).containsExactly(90000, 110000, 80000);
+        assertThat(days.get(100L).available()).containsExactly(-1, -1, -1);
+        assertThat(days.get(100L).price()).containsExactly(-1, -1, -1);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.backend.fe_hotel_detail.service;
+
+import com.example.backend.fe_hotel_detail.domain.Hotel;
+import com.example.backend.fe_hotel_detail.index.CatalogStore;
+import com.example.backend.fe_hotel_detail.repository.HotelImageRepository;
+import com.example.backend.fe_hotel_detail.repository.HotelRepository;
+import com.example.backend.fe_hotel_detail.repository.RoomImageRepository;
+import com.example.backend.hotel_reservation.repository.RoomRepository;
+import com.example.backend.hotel_search.repository.HotelSearchJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CatalogStoreSyncTest {
+
+    private final CatalogStore store = new CatalogStore();
+    private final HotelRepository hotels = mock(HotelRepository.class);
+    private final HotelImageRepository hotelImages = mock(HotelImageRepository.class);
+    private final RoomRepository rooms = mock(RoomRepository.class);
+    private final RoomImageRepository roomImages = mock(RoomImageRepository.class);
+    private final HotelSearchJdbcRepository clock = mock(HotelSearchJdbcRepository.class);
+    private final CatalogStoreSync sync = new CatalogStoreSync(store, hotels, hotelImages, rooms, roomImages, clock);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(sync, "enabled", true);
+        ReflectionTestUtils.setField(sync, "reconcileMillis", 600_000L);
+        given(clock.dbNow()).willReturn(LocalDateTime.of(2026, 5, 1, 0, 0));
+        given(hotels.findAll()).willReturn(List.of(hotel(1, "A"), hotel(2, "B")));
+        sync.buildAll();
+    }
+
+    @Test
+    void hotelDeletedInTheDatabaseIsPatchedWithoutFullReload() {
+        ReflectionTestUtils.setField(sync, "reconcileMillis", 0L); // 이번 주기에 대조
+        given(hotels.findAllIds()).willReturn(List.of(1L));       // 2 를 DB 에서 직접 지움
+
+        sync.refreshIfChanged();
+
+        verify(hotels, times(1)).findAll(); // 기동 빌드뿐
+        verify(hotels).findAllById(Set.of(2L));
+        assertThat(store.covers(2)).isTrue();
+        assertThat(store.hotel(2)).isEmpty();
+        assertThat(store.hotel(1)).isPresent();
+    }
+
+    @Test
+    void imageEditedInTheDatabaseMarksItsHotel() {
+        given(hotelImages.findHotelIdsUpdatedSince(any())).willReturn(List.of(1L));
+        given(hotels.findAllById(Set.of(1L))).willReturn(List.of(hotel(1, "A")));
+
+        sync.refreshIfChanged();
+
+        verify(hotels, never()).findAllIds(); // 대조 주기 전
+        verify(hotelImages).findByHotelIdIn(Set.of(1L));
+        verify(hotels, times(1)).findAll();
+        assertThat(store.covers(1)).isTrue();
+    }
+
+    private static Hotel hotel(long id, String name) {
+        Hotel h = new Hotel();
+        h.setId(id);
+        h.setName(name);
+        return h;
+    }
+}
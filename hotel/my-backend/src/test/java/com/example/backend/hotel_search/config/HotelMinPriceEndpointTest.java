@@ -0,0 +1,36 @@
+package com.example.backend.hotel_search.config;
+
+import com.example.backend.hotel_search.service.HotelMinPriceService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class HotelMinPriceEndpointTest {
+
+    private final HotelMinPriceService service = mock(HotelMinPriceService.class);
+    private final HotelMinPriceEndpoint endpoint = new HotelMinPriceEndpoint(service);
+
+    @Test
+    void checkReportsRebuildInProgress() {
+        given(service.checkConsistency()).willReturn(Map.of("consistent", true));
+        given(service.isRebuilding()).willReturn(true);
+
+        assertThat(endpoint.check()).containsEntry("consistent", true).containsEntry("rebuilding", true);
+    }
+
+    @Test
+    void rebuildReportsHotelCount() {
+        given(service.rebuildAll()).willReturn(12);
+        assertThat(endpoint.rebuild()).containsEntry("hotels", 12).containsKey("tookMillis");
+    }
+
+    @Test
+    void concurrentRebuildIsSkipped() {
+        given(service.rebuildAll()).willReturn(-1);
+        assertThat(endpoint.rebuild()).containsOnlyKeys("skipped");
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.backend.hotel_search.controller;
+
+import com.example.backend.authlogin.config.JwtUtil;
+import com.example.backend.hotel_search.dto.FlexibleDates;
+import com.example.backend.hotel_search.dto.HotelColumn;
+import com.example.backend.hotel_search.dto.HotelCursorPage;
+import com.example.backend.hotel_search.dto.HotelProjectionOnly;
+import com.example.backend.hotel_search.dto.HotelSearchCriteria;
+import com.example.backend.hotel_search.index.Suggestion;
+import com.example.backend.hotel_search.service.HotelSearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 보안 필터는 빼고 (역할 검사는 SecurityConfig 몫) 컨트롤러 ↔ JSON 모양만 본다
+@WebMvcTest(HotelSearchController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class HotelSearchControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private HotelSearchController controller;
+
+    @MockitoBean
+    private HotelSearchService service;
+
+    @MockitoBean
+    private JwtUtil jwtUtil;
+
+    private static HotelProjectionOnly row(long id, String name, Integer lowestPrice) {
+        return new HotelProjectionOnly() {
+            public Long getId() { return id; }
+            public String getName() { return name; }
+            public String getCity() { return null; }
+            public String getCountry() { return null; }
+            public Double getRating() { return null; }
+            public Integer getLowestPrice() { return lowestPrice; }
+            public String getThumbnailUrl() { return null; }
+        };
+    }
+
+    @Test
+    void searchWithFieldsKeepsOnlyChosenFields() throws Exception {
+        given(service.search(eq("seoul"), any(), any(), any(), any(), any(), any(), any(), any(), any(),
+                anyInt(), anyInt(), anyBoolean(), any(), eq(HotelColumn.LOWEST_PRICE.bit())))
+                .willReturn(new PageImpl<>(List.of(row(1L, "Seoul Hotel", 90000)), PageRequest.of(0, 10), 1));
+
+        mvc.perform(get("/api/hotels").param("q", "seoul").param("fields", "id,lowestPrice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].lowestPrice").value(90000))
+                .andExpect(jsonPath("$.content[0].name").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void cursorModeReturnsNextCursorWithoutTotals() throws Exception {
+        given(service.searchAfter(isNull(), any(), any(), any(), any(), any(), any(), any(), any(), any(), eq(""), eq(1),
+                eq(HotelColumn.ALL)))
+                .willReturn(new HotelCursorPage(List.of(row(1L, "Seoul Hotel", 90000)), 1, 1, true, "abc"));
+
+        mvc.perform(get("/api/hotels").param("cursor", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Seoul Hotel"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("abc"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void cursorModeWithFieldsKeepsPagingInfo() throws Exception {
+        given(service.searchAfter(isNull(), any(), any(), any(), any(), any(), any(), any(), any(), any(), eq(""), eq(1), eq(0)))
+                .willReturn(new HotelCursorPage(List.of(row(1L, "Seoul Hotel", 90000)), 1, 1, true, "abc"));
+
+        mvc.perform(get("/api/hotels").param("cursor", "").param("size", "1").param("fields", "id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].name").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("abc"));
+    }
+
+    @Test
+    void badCursorIsBadRequest() throws Exception {
+        given(service.searchAfter(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), eq("zz"), anyInt(), anyInt()))
+                .willThrow(new IllegalArgumentException("invalid cursor"));
+
+        mvc.perform(get("/api/hotels").param("cursor", "zz"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("invalid cursor"));
+    }
+
+    @Test
+    void exportStreamsOneHotelPerLine() throws Exception {
+        HotelSearchCriteria criteria = HotelSearchCriteria.builder().build();
+        given(service.exportCriteria(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt())).willReturn(criteria);
+        willAnswer(inv -> {
+            Consumer<HotelProjectionOnly> sink = inv.getArgument(1);
+            sink.accept(row(1L, "Seoul Hotel", 90000));
+            sink.accept(row(2L, "Busan Hotel", null));
+            return 2L;
+        }).given(service).export(eq(criteria), any());
+
+        MvcResult started = mvc.perform(get("/api/hotels/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"id\":1", "\"name\":\"Seoul Hotel\"");
+        assertThat(lines[1]).contains("\"id\":2", "\"lowestPrice\":null");
+    }
+
+    @Test
+    void exportWithFieldsWritesOnlyChosenFields() throws Exception {
+        HotelSearchCriteria criteria = HotelSearchCriteria.builder().columns(HotelColumn.NAME.bit()).build();
+        given(service.exportCriteria(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(),
+                eq(HotelColumn.NAME.bit()))).willReturn(criteria);
+        willAnswer(inv -> {
+            Consumer<HotelProjectionOnly> sink = inv.getArgument(1);
+            sink.accept(row(1L, "Seoul Hotel", null));
+            return 1L;
+        }).given(service).export(eq(criteria), any());
+
+        MvcResult started = mvc.perform(get("/api/hotels/export").param("fields", "id,name"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.trim()).contains("\"id\":1", "\"name\":\"Seoul Hotel\"").doesNotContain("lowestPrice", "city");
+    }
+
+    @Test
+    void exportOverConcurrencyLimitIsTooManyRequests() throws Exception {
+        controller.setMaxConcurrentExports(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        given(service.exportCriteria(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .willReturn(HotelSearchCriteria.builder().build());
+        willAnswer(inv -> {
+            running.countDown();
+            finish.await(5, TimeUnit.SECONDS);
+            return 0L;
+        }).given(service).export(any(), any());
+
+        try {
+            MvcResult first = mvc.perform(get("/api/hotels/export")).andExpect(request().asyncStarted()).andReturn();
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+            mvc.perform(get("/api/hotels/export")).andExpect(status().isTooManyRequests());
+
+            finish.countDown();
+            mvc.perform(asyncDispatch(first)).andExpect(status().isOk());
+            mvc.perform(asyncDispatch(mvc.perform(get("/api/hotels/export")).andReturn()))
+                    .andExpect(status().isOk()); // 끝나면 자리가 돌아온다
+        } finally {
+            finish.countDown();
+            controller.setMaxConcurrentExports(2);
+        }
+    }
+
+    @Test
+    void failedExportGivesItsSlotBackOnce() throws Exception {
+        controller.setMaxConcurrentExports(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        given(service.exportCriteria(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .willReturn(HotelSearchCriteria.builder().build());
+        willThrow(new IllegalStateException("cursor closed"))
+                .willAnswer(inv -> {
+                    running.countDown();
+                    finish.await(5, TimeUnit.SECONDS);
+                    return 0L;
+                })
+                .given(service).export(any(), any());
+
+        try {
+            MvcResult failed = mvc.perform(get("/api/hotels/export")).andExpect(request().asyncStarted()).andReturn();
+            assertThatThrownBy(() -> mvc.perform(asyncDispatch(failed))).hasRootCauseMessage("cursor closed");
+
+            // 본문의 finally 와 afterCompletion 이 둘 다 돌려주면 자리가 2개가 되어 아래 두 번째 요청이 통과한다
+            MvcResult first = mvc.perform(get("/api/hotels/export")).andExpect(request().asyncStarted()).andReturn();
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            mvc.perform(get("/api/hotels/export")).andExpect(status().isTooManyRequests());
+
+            finish.countDown();
+            mvc.perform(asyncDispatch(first)).andExpect(status().isOk());
+        } finally {
+            finish.countDown();
+            controller.setMaxConcurrentExports(2);
+        }
+    }
+
+    @Test
+    void flexibleDates() throws Exception {
+        LocalDate ci = LocalDate.of(2030, 5, 10);
+        FlexibleDates.StayWindow w = new FlexibleDates.StayWindow(ci, ci.plusDays(2), 0, 3, 180000L, 1L, 90000);
+        given(service.flexibleDates(eq("jeju"), eq("2030-05-10"), eq("2030-05-12"), any(), any(), any(), any(), any(),
+                any(), any(), eq(2), eq(1)))
+                .willReturn(new FlexibleDates(ci, ci.plusDays(2), 2, List.of(w), List.of(w)));
+
+        mvc.perform(get("/api/hotels/flexible-dates")
+                        .param("destination", "jeju")
+                        .param("checkIn", "2030-05-10")
+                        .param("checkOut", "2030-05-12")
+                        .param("flexDays", "2")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windows[0].hotels").value(3))
+                .andExpect(jsonPath("$.best[0].lowestTotalPrice").value(180000))
+                .andExpect(jsonPath("$.best[0].cheapestHotelId").value(1));
+    }
+
+    @Test
+    void flexibleDatesRequiresDates() throws Exception {
+        mvc.perform(get("/api/hotels/flexible-dates").param("checkIn", "2030-05-10"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void suggest() throws Exception {
+        given(service.suggest("ㅅㅇ", 5)).willReturn(List.of(
+                new Suggestion(Suggestion.Type.CITY, "서울특별시", null, 12),
+                new Suggestion(Suggestion.Type.HOTEL, "서울 호텔", 1L, 1)));
+
+        mvc.perform(get("/api/hotels/suggest").param("prefix", "ㅅㅇ").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("CITY"))
+                .andExpect(jsonPath("$[0].hotels").value(12))
+                .andExpect(jsonPath("$[1].hotelId").value(1));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.backend.hotel_search.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchCursorTest {
+
+    @Test
+    void roundTrip() {
+        for (SearchCursor c : new SearchCursor[]{
+                new SearchCursor(false, 120000, 42),
+                new SearchCursor(false, 0, Long.MAX_VALUE),
+                new SearchCursor(false, -1, 1),
+                new SearchCursor(true, null, 7)}) {
+            String token = c.encode();
+            assertThat(token).doesNotContain("=", "+", "/"); // URL 에 그대로 넣을 수 있어야 함
+            assertThat(SearchCursor.decode(token)).isEqualTo(c);
+        }
+    }
+
+    @Test
+    void afterTakesSortKeyOfRow() {
+        HotelProjectionOnly row = new HotelProjectionOnly() {
+            public Long getId() { return 9L; }
+            public String getName() { return "n"; }
+            public String getCity() { return "c"; }
+            public String getCountry() { return "k"; }
+            public Double getRating() { return 4.0; }
+            public Integer getLowestPrice() { return null; }
+            public String getThumbnailUrl() { return null; }
+        };
+        assertThat(SearchCursor.after(row)).isEqualTo(new SearchCursor(true, null, 9));
+    }
+
+    @Test
+    void blankIsFirstPage() {
+        assertThat(SearchCursor.decode(null)).isNull();
+        assertThat(SearchCursor.decode("")).isNull();
+        assertThat(SearchCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        for (String raw : new String[]{"v2:1:1", "v1:1", "v1:x:1", "v1:1:x", "v1:1:1:1", "v1::1"}) {
+            String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+            assertThatThrownBy(() -> SearchCursor.decode(token))
+                    .as(raw)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("invalid cursor");
+        }
+        assertThatThrownBy(() -> SearchCursor.decode("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("invalid cursor");
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.backend.hotel_search.event;
+
+import com.example.backend.hotel_reservation.domain.Room;
+import com.example.backend.hotel_reservation.domain.RoomInventory;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogEntityListenerTest {
+
+    private final List<Object> events = new ArrayList<>();
+    private final CatalogEntityListener listener = new CatalogEntityListener(events::add);
+
+    private static Room loadedRoom(long id, long hotelId) {
+        // @PostLoad 뒤 상태
+        return Room.builder().id(id).hotelId(hotelId).loadedHotelId(hotelId).name("Deluxe").build();
+    }
+
+    @Test
+    void roomMovedToAnotherHotelIsRemovedFromTheOldOne() {
+        Room r = loadedRoom(10, 1);
+        r.setHotelId(2L);
+
+        listener.onSaved(r);
+
+        assertThat(events).containsExactly(
+                CatalogChangedEvent.room(1L, 10L, true),
+                CatalogChangedEvent.room(2L, 10L, false));
+    }
+
+    @Test
+    void roomSavedInTheSameHotelIsOneEvent() {
+        Room r = loadedRoom(10, 1);
+        r.setName("Suite");
+
+        listener.onSaved(r);
+        listener.onRemoved(r);
+
+        assertThat(events).containsExactly(
+                CatalogChangedEvent.room(1L, 10L, false),
+                CatalogChangedEvent.room(1L, 10L, true));
+    }
+
+    @Test
+    void removedInventoryRowIsPublished() {
+        RoomInventory ri = RoomInventory.builder().roomId(10L).date(LocalDate.of(2030, 1, 5)).availableQuantity(0).build();
+
+        listener.onSaved(ri);
+        listener.onRemoved(ri);
+
+        assertThat(events).containsExactly(
+                new InventoryChangedEvent(10L, LocalDate.of(2030, 1, 5), 0),
+                InventoryChangedEvent.removed(10L, LocalDate.of(2030, 1, 5)));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.backend.hotel_search.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class HotelFuzzyIndexTest {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    @Test
+    void transpositionCountsAsOneEdit() {
+        HotelFuzzyIndex index = new HotelFuzzyIndex(2);
+        index.rebuild(List.of(hotel(1, "hotel"), hotel(2, "grandhyatt")));
+
+        // 레벤슈타인이면 2, OSA 면 1 (5글자는 허용 거리 1)
+        assertThat(index.lookup("hoetl", 10, NO_DEADLINE).matches())
+                .containsExactly(new HotelFuzzyIndex.Match("hotel", 1, 1));
+        assertThat(index.lookup("garndhyatt", 10, NO_DEADLINE).matches())
+                .extracting(HotelFuzzyIndex.Match::term, HotelFuzzyIndex.Match::distance)
+                .containsExactly(tuple("grandhyatt", 1));
+    }
+
+    @Test
+    void hangulIsComparedByJamo() {
+        HotelFuzzyIndex index = new HotelFuzzyIndex(2);
+        index.rebuild(List.of(hotel(1, "부산"), hotel(2, "부산"), hotel(3, "서울")));
+
+        // 부선 ↔ 부산: 중성 하나만 다름
+        assertThat(index.lookup("부선", 10, NO_DEADLINE).matches())
+                .containsExactly(new HotelFuzzyIndex.Match("부산", 1, 2));
+        assertThat(index.lookup("서울", 10, NO_DEADLINE).matches())
+                .containsExactly(new HotelFuzzyIndex.Match("서울", 0, 1));
+    }
+
+    @Test
+    void shortWordsMustMatchExactly() {
+        HotelFuzzyIndex index = new HotelFuzzyIndex(2);
+        index.rebuild(List.of(hotel(1, "ab")));
+        assertThat(index.allowedDistance(2)).isZero();
+        assertThat(index.lookup("ac", 10, NO_DEADLINE).matches()).isEmpty();
+        assertThat(index.lookup("ab", 10, NO_DEADLINE).matches()).hasSize(1);
+    }
+
+    @Test
+    void matchesBruteForceOsaDistance() {
+        Random rnd = new Random(3);
+        List<HotelDocument> docs = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) docs.add(hotel(id, randomWord(rnd)));
+        HotelFuzzyIndex index = new HotelFuzzyIndex(2);
+        index.rebuild(docs);
+
+        Map<String, Integer> counts = new TreeMap<>();
+        for (HotelDocument d : docs) counts.merge(d.name(), 1, Integer::sum);
+
+        for (int round = 0; round < 200; round++) {
+            String q = randomWord(rnd);
+            int k = index.allowedDistance(q.length());
+            Set<HotelFuzzyIndex.Match> expected = new HashSet<>();
+            counts.forEach((term, n) -> {
+                int d = osa(q, term);
+                if (d <= k) expected.add(new HotelFuzzyIndex.Match(term, d, n));
+            });
+            HotelFuzzyIndex.Result r = index.lookup(q, Integer.MAX_VALUE, NO_DEADLINE);
+            assertThat(r.timedOut()).isFalse();
+            assertThat(r.matches()).as("q=%s", q).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void removedHotelTermsAreNotSuggested() {
+        HotelFuzzyIndex index = new HotelFuzzyIndex(2);
+        index.rebuild(List.of(hotel(1, "hotel"), hotel(2, "motel")));
+        index.remove(1);
+        assertThat(index.lookup("hotel", 10, NO_DEADLINE).matches())
+                .extracting(HotelFuzzyIndex.Match::term)
+                .containsExactly("motel");
+    }
+
+    @Test
+    void expiredDeadlineStopsTheWalk() {
+        Random rnd = new Random(5);
+        List<HotelDocument> docs = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) docs.add(hotel(id, randomWord(rnd)));
+        HotelFuzzyIndex index = new HotelFuzzyIndex(2);
+        index.rebuild(docs);
+        assertThat(index.lookup("abcdab", 10, System.nanoTime() - 1).timedOut()).isTrue();
+    }
+
+    private static HotelDocument hotel(long id, String name) {
+        return new HotelDocument(id, name, null, null, null, null, null);
+    }
+
+    // 작은 알파벳이라 거리 1~2 인 용어가 많이 생긴다
+    private static String randomWord(Random rnd) {
+        int len = 2 + rnd.nextInt(6);
+        StringBuilder sb = new StringBuilder(len);
+        for (int i = 0; i < len; i++) sb.append((char) ('a' + rnd.nextInt(4)));
+        return sb.toString();
+    }
+
+    // 제한된 다메라우-레벤슈타인 (인접 전치 1회)
+    private static int osa(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) d[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) d[0][j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.backend.hotel_search.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HotelGeoIndexTest {
+
+    @Test
+    void radiusCrossesAntimeridian() {
+        HotelGeoIndex index = new HotelGeoIndex(1.0);
+        index.rebuild(List.of(
+                hotel(1, -17.8, 179.9),   // 피지, 날짜변경선 동쪽 끝
+                hotel(2, -17.8, -179.9),  // 바로 건너편
+                hotel(3, -17.8, 170.0)));
+
+        HotelGeoIndex.Hits hits = index.withinRadius(-17.8, 179.95, 50);
+        assertThat(hits.ids()).containsExactly(1, 2);
+        assertThat(hits.distanceKm(2)).isCloseTo(HotelGeoIndex.haversineKm(-17.8, 179.95, -17.8, -179.9), within(1e-9));
+        assertThat(hits.distanceKm(3)).isNaN();
+    }
+
+    @Test
+    void boxWithWestGreaterThanEastWraps() {
+        HotelGeoIndex index = new HotelGeoIndex(1.0);
+        index.rebuild(List.of(
+                hotel(1, 10, 175),
+                hotel(2, 10, -175),
+                hotel(3, 10, 0),
+                hotel(4, 30, 179)));
+
+        assertThat(index.withinBox(0, 170, 20, -170).ids()).containsExactly(1, 2);
+        assertThat(index.withinBox(0, -170, 20, 170).ids()).containsExactly(3); // 뒤집으면 반대쪽
+    }
+
+    @Test
+    void radiusMatchesBruteForce() {
+        Random rnd = new Random(19);
+        List<HotelDocument> docs = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            // 날짜변경선/극 근처를 많이 섞는다
+            double lat = rnd.nextInt(4) == 0 ? 80 + rnd.nextDouble() * 10 : -60 + rnd.nextDouble() * 120;
+            double lng = rnd.nextBoolean() ? 175 + rnd.nextDouble() * 10 : -180 + rnd.nextDouble() * 360;
+            docs.add(hotel(id, lat, lng > 180 ? lng - 360 : lng));
+        }
+        HotelGeoIndex index = new HotelGeoIndex(0.5);
+        index.rebuild(docs);
+
+        for (int round = 0; round < 100; round++) {
+            double lat = rnd.nextInt(4) == 0 ? 85 + rnd.nextDouble() * 5 : -60 + rnd.nextDouble() * 120;
+            double lng = rnd.nextBoolean() ? 179.5 - rnd.nextDouble() : -180 + rnd.nextDouble() * 360;
+            double km = 1 + rnd.nextDouble() * 800;
+            long[] expected = docs.stream()
+                    .filter(d -> HotelGeoIndex.haversineKm(lat, lng, d.latitude(), d.longitude()) <= km)
+                    .mapToLong(HotelDocument::id)
+                    .toArray();
+            assertThat(index.withinRadius(lat, lng, km).ids())
+                    .as("lat=%f lng=%f km=%f", lat, lng, km)
+                    .containsExactly(expected);
+        }
+    }
+
+    @Test
+    void hotelsWithoutCoordinatesAreSkipped() {
+        HotelGeoIndex index = new HotelGeoIndex(1.0);
+        index.rebuild(List.of(hotel(1, 37.5, 127.0), new HotelDocument(2L, "x", null, null, null, null, null)));
+        assertThat(index.hotelCount()).isEqualTo(1);
+        assertThat(index.withinBox(-90, -180, 90, 180).ids()).containsExactly(1);
+    }
+
+    private static HotelDocument hotel(long id, double lat, double lng) {
+        return new HotelDocument(id, "h" + id, null, null, null, lat, lng);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.backend.hotel_search.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class HotelSuggestIndexTest {
+
+    @Test
+    void regionsComeBeforeHotelsAndEveryWordIsAPrefix() {
+        HotelSuggestIndex index = new HotelSuggestIndex(10);
+        index.rebuild(List.of(
+                hotel(1, "서울 신라호텔", "서울특별시 중구", "대한민국", 5),
+                hotel(2, "서울 롯데호텔", "서울특별시 중구", "대한민국", 4),
+                hotel(3, "신라스테이 서울", "부산광역시 해운대구", "대한민국", 3)));
+
+        assertThat(index.suggest("서울", 10))
+                .extracting(Suggestion::type, Suggestion::text, Suggestion::hotels)
+                .containsExactly(
+                        tuple(Suggestion.Type.CITY, "서울특별시", 2),
+                        tuple(Suggestion.Type.HOTEL, "서울 신라호텔", 1),
+                        tuple(Suggestion.Type.HOTEL, "서울 롯데호텔", 1),
+                        tuple(Suggestion.Type.HOTEL, "신라스테이 서울", 1)); // 두 번째 단어로도 걸림
+        assertThat(index.suggest("서울", 2)).hasSize(2);
+    }
+
+    @Test
+    void choseongPrefix() {
+        HotelSuggestIndex index = new HotelSuggestIndex(10);
+        index.rebuild(List.of(hotel(1, "신라호텔", null, null, 5), hotel(2, "롯데호텔", null, null, 4)));
+
+        assertThat(index.suggest("ㅅㄹ", 10)).extracting(Suggestion::hotelId).containsExactly(1L);
+        assertThat(index.suggest("ㅎㅌ", 10)).isEmpty(); // 단어 중간은 아님
+    }
+
+    @Test
+    void mixedJamoLooksPastPrecomputedTopK() {
+        HotelSuggestIndex index = new HotelSuggestIndex(2);
+        // 초성 ᄉᄋ 로는 세이/소요가 성급이 높아 상위 2 개를 차지하고, 서울은 그 밖에 있다
+        index.rebuild(List.of(
+                hotel(1, "세이호텔", null, null, 5),
+                hotel(2, "소요호텔", null, null, 5),
+                hotel(3, "세인트호텔", null, null, 4),
+                hotel(4, "서울호텔", null, null, 1),
+                hotel(5, "서원호텔", null, null, 0)));
+
+        assertThat(index.suggest("서ㅇ", 2)).extracting(Suggestion::hotelId).containsExactly(4L, 5L);
+        assertThat(index.suggest("서우", 2)).extracting(Suggestion::hotelId).isEmpty();
+        assertThat(index.suggest("ㅅㅇ", 2)).extracting(Suggestion::hotelId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void mixedJamoMatchesBruteForce() {
+        String[] syllables = {"서", "세", "소", "수", "울", "요", "이", "원", "인"};
+        Random rnd = new Random(13);
+        List<HotelDocument> docs = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < 2 + rnd.nextInt(3); i++) name.append(syllables[rnd.nextInt(syllables.length)]);
+            docs.add(hotel(id, name.toString(), null, null, rnd.nextInt(6)));
+        }
+        HotelSuggestIndex small = new HotelSuggestIndex(3);
+        HotelSuggestIndex large = new HotelSuggestIndex(1000); // 상위 K 가 잘리지 않으니 확인만으로 정답
+        small.rebuild(docs);
+        large.rebuild(docs);
+
+        for (String q : new String[]{"서ㅇ", "ㅅ울", "세ㅇㅇ", "수ㅇ", "ㅅ이ㅇ"}) {
+            List<Suggestion> all = large.suggest(q, 1000);
+            assertThat(small.suggest(q, 3)).as(q).containsExactlyElementsOf(all.subList(0, Math.min(3, all.size())));
+        }
+    }
+
+    @Test
+    void upsertMovesHotelBetweenRegions() {
+        HotelSuggestIndex index = new HotelSuggestIndex(10);
+        index.rebuild(List.of(hotel(1, "Alpha", "Busan x", "Korea", 3), hotel(2, "Beta", "Busan y", "Korea", 3)));
+
+        index.upsert(hotel(2, "Beta", "Seoul y", "Korea", 3));
+        assertThat(index.suggest("bus", 10))
+                .extracting(Suggestion::text, Suggestion::hotels)
+                .containsExactly(tuple("Busan", 1));
+        assertThat(index.suggest("seo", 10))
+                .extracting(Suggestion::text, Suggestion::hotels)
+                .containsExactly(tuple("Seoul", 1));
+
+        index.remove(1);
+        assertThat(index.suggest("bus", 10)).isEmpty();
+        assertThat(index.suggest("al", 10)).isEmpty();
+        assertThat(index.suggest("kor", 10))
+                .extracting(Suggestion::text, Suggestion::hotels)
+                .containsExactly(tuple("Korea", 1));
+    }
+
+    @Test
+    void pathCopiedUpdatesMatchFreshRebuild() {
+        String[] names = {"Grand", "Grace", "Green", "Gran Via", "Harbor", "Hill", "Hilton", "Garden Inn"};
+        String[] cities = {"Seoul", "Sokcho", "Busan", "Jeju"};
+        Random rnd = new Random(11);
+        HotelSuggestIndex incremental = new HotelSuggestIndex(5);
+        incremental.rebuild(List.of());
+        Map<Long, HotelDocument> live = new HashMap<>();
+
+        for (int step = 0; step < 400; step++) {
+            long id = 1 + rnd.nextInt(30);
+            if (rnd.nextInt(4) == 0) {
+                incremental.remove(id);
+                live.remove(id);
+            } else {
+                HotelDocument d = hotel(id, names[rnd.nextInt(names.length)] + " " + id,
+                        cities[rnd.nextInt(cities.length)] + " road", rnd.nextBoolean() ? "Korea" : "Japan", rnd.nextInt(6));
+                incremental.upsert(d);
+                live.put(id, d);
+            }
+            if (step % 20 != 19) continue;
+
+            HotelSuggestIndex fresh = new HotelSuggestIndex(5);
+            fresh.rebuild(new ArrayList<>(live.values()));
+            for (String prefix : new String[]{"g", "gr", "gra", "h", "hi", "s", "se", "j", "k", "1", "2"}) {
+                assertThat(incremental.suggest(prefix, 5)).as("step=%d prefix=%s", step, prefix)
+                        .containsExactlyElementsOf(fresh.suggest(prefix, 5));
+            }
+        }
+    }
+
+    private static HotelDocument hotel(long id, String name, String address, String country, Integer stars) {
+        return new HotelDocument(id, name, address, country, stars, null, null);
+    }
+}
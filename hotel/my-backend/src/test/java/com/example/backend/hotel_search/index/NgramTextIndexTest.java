@@ -0,0 +1,74 @@
+package com.example.backend.hotel_search.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NgramTextIndexTest {
+
+    private static NgramTextIndex indexOf(HotelDocument... docs) {
+        NgramTextIndex index = new NgramTextIndex();
+        index.rebuild(List.of(docs));
+        return index;
+    }
+
+    @Test
+    void notReadyUntilFirstBuild() {
+        NgramTextIndex index = new NgramTextIndex();
+        assertThat(index.isReady()).isFalse();
+        index.rebuild(List.of());
+        assertThat(index.isReady()).isTrue();
+    }
+
+    @Test
+    void matchesLikeContainsOnAnyField() {
+        NgramTextIndex index = indexOf(
+                new HotelDocument(3L, "Grand Hyatt", "Seoul Yongsan", "KR", 5, null, null),
+                new HotelDocument(1L, "Seoul Plaza", "Jung-gu", "KR", 4, null, null),
+                new HotelDocument(2L, "Park Hotel", "Tokyo", "JP", 3, null, null));
+
+        assertThat(index.search("SEOUL")).containsExactly(1L, 3L); // 대소문자 무시, id 오름차순
+        assertThat(index.search("jp")).containsExactly(2L);
+        assertThat(index.search("hotel tokyo")).isEmpty();          // gram 은 다 있지만 원문에 없는 조합
+        assertThat(index.search("zz")).isEmpty();
+    }
+
+    @Test
+    void koreanSingleCharacterUsesUnigram() {
+        NgramTextIndex index = indexOf(
+                new HotelDocument(1L, "서울 호텔", "중구", "KR", 4, null, null),
+                new HotelDocument(2L, "부산 호텔", "해운대", "KR", 4, null, null));
+
+        assertThat(index.search("서")).containsExactly(1L);
+        assertThat(index.search("호텔")).containsExactly(1L, 2L);
+        assertThat(index.search("ＫＲ")).containsExactly(1L, 2L); // NFKC 로 전각도 같은 글자
+    }
+
+    @Test
+    void unanswerableQueriesFallBackToSql() {
+        NgramTextIndex index = indexOf(new HotelDocument(1L, "Seoul", "Seoul", "KR", 4, null, null));
+
+        assertThat(index.search("s")).isNull();     // ASCII 한 글자는 gram 이 없음
+        assertThat(index.search("se%")).isNull();   // LIKE 와일드카드
+        assertThat(index.search("se_l")).isNull();
+        assertThat(index.search("  ")).isNull();
+    }
+
+    @Test
+    void upsertAndRemoveKeepPostingsInSync() {
+        NgramTextIndex index = indexOf(new HotelDocument(1L, "Seoul", "Jung-gu", "KR", 4, null, null));
+
+        index.upsert(new HotelDocument(1L, "Busan", "Haeundae", "KR", 4, null, null));
+        index.upsert(new HotelDocument(2L, "Seoul Inn", "Mapo", "KR", 2, null, null));
+        assertThat(index.search("seoul")).containsExactly(2L);
+        assertThat(index.search("busan")).containsExactly(1L);
+        assertThat(index.matches(1L, "HAEUN")).isTrue();
+
+        index.remove(2L);
+        assertThat(index.search("seoul")).isEmpty();
+        assertThat(index.matches(2L, "seoul")).isFalse();
+        assertThat(index.documentCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.backend.hotel_search.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomAvailabilityIndexTest {
+
+    private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+    private static final int DAYS = 200;
+    private static final int DEFAULT_QTY = 3;
+
+    @Test
+    void singleRoomCheckAgreesWithQuantitiesAcrossWordBoundaries() {
+        Random rnd = new Random(23);
+        int[] qty = new int[DAYS];
+        List<InventoryDay> inventory = new ArrayList<>();
+        for (int d = 0; d < DAYS; d++) {
+            qty[d] = rnd.nextInt(12) == 0 ? 0 : 1 + rnd.nextInt(3);
+            inventory.add(new InventoryDay(1L, BASE.plusDays(d), qty[d]));
+        }
+        // 워드 경계 바로 앞뒤는 반드시 채워 둔다 (경계에 걸친 구간이 true 로도 나오도록)
+        for (int d : new int[]{62, 63, 64, 65, 126, 127, 128, 129}) {
+            qty[d] = 1;
+            inventory.add(new InventoryDay(1L, BASE.plusDays(d), 1));
+        }
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(DEFAULT_QTY);
+        index.rebuild(BASE, DAYS, List.of(room(1, 10)), inventory);
+
+        for (int from = 0; from < DAYS; from++) {
+            for (int to = from + 1; to <= Math.min(DAYS, from + 140); to++) {
+                boolean expected = true;
+                for (int d = from; d < to; d++) expected &= qty[d] >= 1;
+                assertThat(index.isAvailable(1, BASE.plusDays(from), BASE.plusDays(to), 1))
+                        .as("[%d, %d)", from, to).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void exactWordBoundaries() {
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(DEFAULT_QTY);
+        index.rebuild(BASE, DAYS, List.of(room(1, 10)), List.of(new InventoryDay(1L, BASE.plusDays(64), 0)));
+
+        assertThat(index.isAvailable(1, BASE, BASE.plusDays(64), 1)).isTrue();              // 워드 0 전체
+        assertThat(index.isAvailable(1, BASE.plusDays(63), BASE.plusDays(64), 1)).isTrue(); // 63 번 비트 하나
+        assertThat(index.isAvailable(1, BASE.plusDays(63), BASE.plusDays(65), 1)).isFalse();
+        assertThat(index.isAvailable(1, BASE.plusDays(65), BASE.plusDays(128), 1)).isTrue(); // 워드 1 나머지
+        assertThat(index.isAvailable(1, BASE.plusDays(65), BASE.plusDays(129), 1)).isTrue(); // 워드 2 첫 비트까지
+        assertThat(index.isAvailable(1, BASE, BASE.plusDays(DAYS), 1)).isFalse();
+        assertThat(index.isAvailable(1, BASE.plusDays(65), BASE.plusDays(DAYS), 1)).isTrue(); // 마지막 워드 일부
+    }
+
+    @Test
+    void nightsOutsideWindowUseDefaultQuantity() {
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(DEFAULT_QTY);
+        index.rebuild(BASE, DAYS, List.of(room(1, 10)), List.of());
+
+        LocalDate end = BASE.plusDays(DAYS);
+        assertThat(index.isAvailable(1, end.minusDays(1), end.plusDays(2), DEFAULT_QTY)).isTrue();
+        assertThat(index.isAvailable(1, end.minusDays(1), end.plusDays(2), DEFAULT_QTY + 1)).isFalse();
+        assertThat(index.isAvailable(1, BASE, BASE, 1)).isFalse(); // 빈 구간
+    }
+
+    @Test
+    void removedInventoryRowGoesBackToDefaultQuantity() {
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(DEFAULT_QTY);
+        index.rebuild(BASE, DAYS, List.of(room(1, 10)), List.of(new InventoryDay(1L, BASE.plusDays(5), 0)));
+        assertThat(index.minAvailable(1, BASE.plusDays(5), BASE.plusDays(6))).isZero();
+
+        index.resetQuantity(1, BASE.plusDays(5));
+
+        assertThat(index.minAvailable(1, BASE.plusDays(5), BASE.plusDays(6))).isEqualTo(DEFAULT_QTY);
+        assertThat(index.isAvailable(1, BASE.plusDays(4), BASE.plusDays(7), DEFAULT_QTY)).isTrue();
+    }
+
+    @Test
+    void changesDuringBuildAreReplayedOntoNewState() {
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(DEFAULT_QTY);
+        index.rebuild(BASE, DAYS, List.of(room(1, 10)), List.of());
+
+        index.beginBuild();
+        // 빌드 원본을 읽은 뒤에 들어온 변경: 새 객실 + 재고 0
+        index.upsertRoom(room(2, 10));
+        index.updateQuantity(1, BASE.plusDays(5), 0);
+        index.rebuild(BASE, DAYS, List.of(room(1, 10)), List.of());
+
+        assertThat(index.lastReplayed()).isEqualTo(2);
+        assertThat(index.roomsOf(10)).containsExactlyInAnyOrder(1, 2);
+        assertThat(index.isAvailable(1, BASE.plusDays(5), BASE.plusDays(6), 1)).isFalse();
+
+        // 빌드 중이 아니면 적어 두지 않는다
+        index.updateQuantity(1, BASE.plusDays(6), 0);
+        index.rebuild(BASE, DAYS, List.of(room(1, 10)), List.of());
+        assertThat(index.lastReplayed()).isZero();
+        assertThat(index.roomsOf(10)).containsExactly(1);
+    }
+
+    @Test
+    void roomMovedToAnotherHotelKeepsItsQuantities() {
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(DEFAULT_QTY);
+        index.rebuild(BASE, DAYS, List.of(room(1, 10)), List.of(new InventoryDay(1L, BASE.plusDays(5), 0)));
+
+        index.upsertRoom(room(1, 20));
+        index.updateQuantity(1, BASE.plusDays(6), 1);
+
+        assertThat(index.roomsOf(10)).isEmpty();
+        assertThat(index.hotelOf(1)).isEqualTo(20L);
+        assertThat(index.minAvailable(1, BASE.plusDays(5), BASE.plusDays(6))).isZero();
+        assertThat(index.minAvailable(1, BASE.plusDays(6), BASE.plusDays(7))).isEqualTo(1);
+    }
+
+    @Test
+    void partyMustFitRoomsOfOneRoomType() {
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(DEFAULT_QTY);
+        // 호텔 10: 1~2 인실 + 3~4 인실, 호텔 20: 1~2 인실만
+        index.rebuild(BASE, DAYS, List.of(
+                room(1, 10, 1, 2), room(2, 10, 3, 4),
+                room(3, 20, 1, 2)), List.of());
+
+        assertThat(index.fittingHotels(null, null, 2, 4)).containsExactly(10L, 20L); // 2인실 2개
+        assertThat(index.fittingHotels(null, null, 2, 7)).containsExactly(10L);      // 4인실 2개
+        // 2인실 1개 + 4인실 1개면 5 명이 되지만, 한 타입으로는 2*2 < 5 < 2*3 이라 안 맞음
+        assertThat(index.fittingHotels(null, null, 2, 5)).isEmpty();
+        assertThat(index.fittingHotels(null, null, 1, 5)).isEmpty();
+        assertThat(index.fittingHotels(null, null, 3, 1)).isEmpty();                 // 3 * capMin > 1
+        assertThat(index.fittingHotels(null, null, 3, 0)).containsExactly(10L, 20L); // 0 명은 인원 조건 없음
+    }
+
+    @Test
+    void partyFitAlsoNeedsRoomsLeftOfThatType() {
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(DEFAULT_QTY);
+        index.rebuild(BASE, DAYS, List.of(room(1, 10, 1, 2), room(2, 10, 3, 4)),
+                List.of(new InventoryDay(2L, BASE.plusDays(1), 1)));
+
+        assertThat(index.fittingHotels(BASE, BASE.plusDays(1), 2, 7)).containsExactly(10L);
+        assertThat(index.fittingHotels(BASE, BASE.plusDays(2), 2, 7)).isEmpty();     // 4인실이 하루 1개뿐
+        assertThat(index.fittingHotels(BASE, BASE.plusDays(2), 2, 4)).containsExactly(10L);
+    }
+
+    @Test
+    void amenitiesMustBeOnTheRoomThatFitsTheParty() {
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(DEFAULT_QTY);
+        int wifi = RoomAmenity.WIFI.bit();
+        index.rebuild(BASE, DAYS, List.of(
+                new RoomDocument(1L, 10L, 1, 2, wifi | RoomAmenity.NON_SMOKING.bit(), "Ocean ", "King"),
+                new RoomDocument(2L, 10L, 3, 4, RoomAmenity.AIRCON.bit(), "city", null),
+                new RoomDocument(3L, 20L, 1, 4, wifi | RoomAmenity.AIRCON.bit(), null, "king")), List.of());
+
+        long wifiAircon = index.amenityMask(Set.of(RoomAmenity.WIFI, RoomAmenity.AIRCON), null, null);
+        assertThat(index.fittingHotels(null, null, 1, 0, wifiAircon)).containsExactly(20L); // 10 은 두 객실에 나뉘어 있음
+        long wifiOnly = index.amenityMask(Set.of(RoomAmenity.WIFI), null, null);
+        assertThat(index.fittingHotels(null, null, 1, 2, wifiOnly)).containsExactly(10L, 20L);
+        assertThat(index.fittingHotels(null, null, 1, 4, wifiOnly)).containsExactly(20L);   // 10 의 4인실엔 wifi 없음
+    }
+
+    @Test
+    void viewAndBedValuesAreMatchedThroughTheDictionary() {
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(DEFAULT_QTY);
+        index.rebuild(BASE, DAYS, List.of(
+                new RoomDocument(1L, 10L, 1, 2, 0, "Ocean ", "King"),
+                new RoomDocument(2L, 20L, 1, 2, 0, "city", "king")), List.of());
+
+        assertThat(index.amenityValueCount()).isEqualTo(3); // view:ocean, view:city, bed:king
+        assertThat(index.fittingHotels(null, null, 1, 0, index.amenityMask(Set.of(), "OCEAN", null))).containsExactly(10L);
+        assertThat(index.fittingHotels(null, null, 1, 0, index.amenityMask(Set.of(), null, " king"))).containsExactly(10L, 20L);
+        assertThat(index.amenityMask(Set.of(), "mountain", null)).isEqualTo(RoomAvailabilityIndex.NO_MATCH);
+        assertThat(index.fittingHotels(null, null, 1, 0, RoomAvailabilityIndex.NO_MATCH)).isEmpty();
+
+        // 새 값은 객실 갱신 때 비트를 받는다
+        index.upsertRoom(new RoomDocument(3L, 30L, 1, 2, 0, "Mountain", null));
+        assertThat(index.fittingHotels(null, null, 1, 0, index.amenityMask(Set.of(), "mountain", null))).containsExactly(30L);
+    }
+
+    @Test
+    void unknownColumnsSetNeitherAmenityBit() {
+        assertThat(RoomAmenity.flagsOf(true, null, false, null, null, null)).isEqualTo(RoomAmenity.WIFI.bit());
+        assertThat(RoomAmenity.flagsOf(null, null, null, null, false, true))
+                .isEqualTo(RoomAmenity.NON_SMOKING.bit() | RoomAmenity.SHARED_BATH.bit());
+        assertThat(RoomAmenity.from(" free_water")).isEqualTo(RoomAmenity.FREE_WATER);
+    }
+
+    private static RoomDocument room(long id, long hotelId) {
+        return room(id, hotelId, 1, 2);
+    }
+
+    private static RoomDocument room(long id, long hotelId, Integer capMin, Integer capMax) {
+        return new RoomDocument(id, hotelId, capMin, capMax, 0, null, null);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.backend.hotel_search.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private static SearchSnapshot sample() {
+        return new SearchSnapshot(
+                LocalDateTime.of(2030, 5, 10, 12, 30, 15, 123_456_000), // DATETIME(6) 까지
+                1_900_000_000_000L,
+                LocalDate.of(2030, 5, 10),
+                365,
+                List.of(new HotelDocument(1L, "서울 호텔", "중구", "KR", 4, 37.5665, 126.978),
+                        new HotelDocument(2L, "Busan", null, "KR", null, null, null)),
+                List.of(new RoomDocument(10L, 1L, 1, 2, RoomAmenity.WIFI.bit() | RoomAmenity.SMOKING.bit(), "Ocean", "킹"),
+                        new RoomDocument(11L, 1L, null, null, 0, null, null)),
+                List.of(new InventoryDay(10L, LocalDate.of(2030, 5, 11), 0),
+                        new InventoryDay(11L, LocalDate.of(2030, 6, 1), 7)));
+    }
+
+    @Test
+    void roundTripKeepsRowsAndWatermark() throws IOException {
+        Path file = dir.resolve("search.snap");
+        SearchSnapshot written = sample();
+        written.writeTo(file);
+
+        SearchSnapshot read = SearchSnapshot.readFrom(file);
+
+        assertThat(read).isEqualTo(written);
+        assertThat(read.watermark().getNano()).isEqualTo(123_456_000); // 캐치업 기준이라 잘리면 안 됨
+    }
+
+    @Test
+    void rewriteReplacesFileWithoutLeavingTemporaries() throws IOException {
+        Path file = dir.resolve("nested").resolve("search.snap");
+        sample().writeTo(file);
+        SearchSnapshot next = new SearchSnapshot(LocalDateTime.of(2030, 5, 11, 0, 0), 0, LocalDate.of(2030, 5, 11), 1,
+                List.of(), List.of(), List.of());
+        next.writeTo(file);
+
+        assertThat(SearchSnapshot.readFrom(file)).isEqualTo(next);
+        try (var files = Files.list(file.getParent())) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    void flippedByteFailsChecksum() throws IOException {
+        Path file = dir.resolve("search.snap");
+        sample().writeTo(file);
+        byte[] b = Files.readAllBytes(file);
+        b[40] ^= 1;
+        Files.write(file, b);
+
+        assertThatThrownBy(() -> SearchSnapshot.readFrom(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    void truncatedOrForeignFilesAreRejected() throws IOException {
+        Path file = dir.resolve("search.snap");
+        sample().writeTo(file);
+        byte[] b = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(b, 12));
+        assertThatThrownBy(() -> SearchSnapshot.readFrom(file)).isInstanceOf(IOException.class);
+
+        Files.write(file, new byte[64]);
+        assertThatThrownBy(() -> SearchSnapshot.readFrom(file)).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.backend.hotel_search.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StayWindowsTest {
+
+    @Test
+    void slidingMinMaxMatchBruteForce() {
+        Random rnd = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int[] a = new int[1 + rnd.nextInt(40)];
+            for (int i = 0; i < a.length; i++) a[i] = rnd.nextInt(10); // 같은 값이 자주 나오도록
+            for (int width = 1; width <= a.length; width++) {
+                assertThat(StayWindows.slidingMin(a, width)).as("min w=%d", width).containsExactly(brute(a, width, true));
+                assertThat(StayWindows.slidingMax(a, width)).as("max w=%d", width).containsExactly(brute(a, width, false));
+            }
+        }
+    }
+
+    @Test
+    void dequeWrapsAroundRingBuffer() {
+        // 내림차순이면 최솟값 덱이 매번 비워지고, 오름차순이면 꽉 찬 채로 앞에서 빠진다
+        int[] up = {1, 2, 3, 4, 5, 6, 7, 8};
+        int[] down = {8, 7, 6, 5, 4, 3, 2, 1};
+        assertThat(StayWindows.slidingMin(up, 3)).containsExactly(1, 2, 3, 4, 5, 6);
+        assertThat(StayWindows.slidingMax(up, 3)).containsExactly(3, 4, 5, 6, 7, 8);
+        assertThat(StayWindows.slidingMin(down, 3)).containsExactly(6, 5, 4, 3, 2, 1);
+        assertThat(StayWindows.slidingMax(down, 3)).containsExactly(8, 7, 6, 5, 4, 3);
+    }
+
+    @Test
+    void widthOutOfRangeGivesNoWindows() {
+        int[] a = {1, 2, 3};
+        assertThat(StayWindows.slidingMin(a, 0)).isEmpty();
+        assertThat(StayWindows.slidingMax(a, 4)).isEmpty();
+        assertThat(StayWindows.windowSums(a, 4)).isEmpty();
+    }
+
+    @Test
+    void windowSumsMarkWindowsWithMissingDay() {
+        int M = StayWindows.MISSING;
+        int[] a = {100, 200, M, 300, 400, 500};
+        assertThat(StayWindows.windowSums(a, 2)).containsExactly(300, -1, -1, 700, 900);
+        assertThat(StayWindows.windowSums(a, 3)).containsExactly(-1, -1, -1, 1200);
+        assertThat(StayWindows.windowSums(a, 1)).containsExactly(100, 200, -1, 300, 400, 500);
+    }
+
+    private static int[] brute(int[] a, int width, boolean min) {
+        int[] out = new int[a.length - width + 1];
+        for (int i = 0; i < out.length; i++) {
+            int v = a[i];
+            for (int j = i; j < i + width; j++) v = min ? Math.min(v, a[j]) : Math.max(v, a[j]);
+            out[i] = v;
+        }
+        return out;
+    }
+}
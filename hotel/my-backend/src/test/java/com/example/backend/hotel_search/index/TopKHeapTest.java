@@ -0,0 +1,59 @@
+package com.example.backend.hotel_search.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKHeapTest {
+
+    // 가격 오름차순 (가격 없음은 뒤), 같으면 id 오름차순 — 검색 기본 정렬과 같은 모양
+    private static final TopKHeap.Order BY_PRICE = (idA, pA, idB, pB) -> {
+        boolean nA = pA == TopKHeap.NO_PRICE, nB = pB == TopKHeap.NO_PRICE;
+        if (nA != nB) return nA ? 1 : -1;
+        if (pA != pB) return Integer.compare(pA, pB);
+        return Long.compare(idA, idB);
+    };
+
+    @Test
+    void keepsSmallestKInOrder() {
+        Random rnd = new Random(7);
+        for (int k : new int[]{1, 5, 16, 17, 100}) { // 초기 용량(16) 경계 포함
+            TopKHeap heap = new TopKHeap(k, BY_PRICE);
+            List<long[]> all = new ArrayList<>();
+            for (long id = 1; id <= 300; id++) {
+                int price = rnd.nextInt(8) == 0 ? TopKHeap.NO_PRICE : rnd.nextInt(50) * 1000;
+                heap.offer(id, price);
+                all.add(new long[]{id, price});
+            }
+            long[] expected = all.stream()
+                    .sorted((a, b) -> BY_PRICE.compare(a[0], (int) a[1], b[0], (int) b[1]))
+                    .limit(k)
+                    .mapToLong(r -> r[0])
+                    .toArray();
+            assertThat(heap.sortedIds()).as("k=%d", k).containsExactly(expected);
+            assertThat(heap.offered()).isEqualTo(300);
+        }
+    }
+
+    @Test
+    void fewerOffersThanK() {
+        TopKHeap heap = new TopKHeap(10, BY_PRICE);
+        heap.offer(3, 300);
+        heap.offer(1, TopKHeap.NO_PRICE);
+        heap.offer(2, 100);
+        assertThat(heap.sortedIds()).containsExactly(2, 3, 1);
+    }
+
+    @Test
+    void zeroKOnlyCounts() {
+        TopKHeap heap = new TopKHeap(0, BY_PRICE);
+        heap.offer(1, 100);
+        heap.offer(2, 200);
+        assertThat(heap.sortedIds()).isEmpty();
+        assertThat(heap.offered()).isEqualTo(2);
+    }
+}
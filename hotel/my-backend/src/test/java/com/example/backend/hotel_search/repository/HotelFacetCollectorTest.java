@@ -0,0 +1,82 @@
+package com.example.backend.hotel_search.repository;
+
+import com.example.backend.hotel_search.dto.SearchFacets;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static java.util.Map.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class HotelFacetCollectorTest {
+
+    private final ResultSet rs = mock(ResultSet.class);
+
+    /** FACET 쿼리 한 행: country, star_rating, lowest_price */
+    private void row(HotelFacetCollector collector, String country, Integer star, Integer price) throws SQLException {
+        given(rs.getString(1)).willReturn(country);
+        given(rs.getInt(2)).willReturn(star == null ? 0 : star);
+        given(rs.getInt(3)).willReturn(price == null ? 0 : price);
+        given(rs.wasNull()).willReturn(star == null, price == null);
+        collector.processRow(rs);
+    }
+
+    @Test
+    void countsCountriesStarsAndPriceBuckets() throws SQLException {
+        HotelFacetCollector c = new HotelFacetCollector(50000, 10);
+        row(c, "KR", 4, 120000);
+        row(c, "JP", 3, 30000);
+        row(c, "KR", 5, 49999);
+        row(c, "KR", 4, null);
+        row(c, null, null, 50000);
+
+        SearchFacets f = c.result();
+
+        assertThat(f.total()).isEqualTo(5);
+        assertThat(f.countries()).containsExactly(entry("KR", 3), entry("JP", 1)); // 많은 순
+        assertThat(f.starRatings()).containsExactly(entry(5, 1), entry(4, 2), entry(3, 1));
+        assertThat(f.prices().min()).isEqualTo(30000);
+        assertThat(f.prices().max()).isEqualTo(120000);
+        assertThat(f.prices().counts()).containsExactly(2, 1, 1); // [0,5만) [5만,10만) [10만,15만)
+        assertThat(f.prices().unpriced()).isEqualTo(1);
+    }
+
+    @Test
+    void countriesWithSameCountAreSortedByName() throws SQLException {
+        HotelFacetCollector c = new HotelFacetCollector(10000, 10);
+        for (String country : new String[]{"US", "FR", "JP", "DE", "FR", "US"}) row(c, country, 3, 1000);
+
+        assertThat(c.result().countries().keySet()).containsExactly("FR", "US", "DE", "JP");
+    }
+
+    @Test
+    void manyCountriesGrowTheDictionary() throws SQLException {
+        HotelFacetCollector c = new HotelFacetCollector(10000, 10);
+        for (int i = 0; i < 40; i++) row(c, "C" + (100 + i), 3, 1000);
+
+        assertThat(c.result().countries()).hasSize(40).containsEntry("C139", 1);
+    }
+
+    @Test
+    void pricesAboveLastBucketAreFoldedIntoIt() throws SQLException {
+        HotelFacetCollector c = new HotelFacetCollector(10000, 4);
+        row(c, "KR", 3, 5000);
+        row(c, "KR", 3, 35000);
+        row(c, "KR", 3, 990000);
+
+        assertThat(c.result().prices().counts()).containsExactly(1, 0, 0, 2);
+    }
+
+    @Test
+    void noRowsGiveEmptyHistogram() {
+        SearchFacets f = new HotelFacetCollector(10000, 4).result();
+
+        assertThat(f.total()).isZero();
+        assertThat(f.countries()).isEmpty();
+        assertThat(f.prices().min()).isNull();
+        assertThat(f.prices().counts()).isEmpty();
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.backend.hotel_search.repository;
+
+import com.example.backend.hotel_search.dto.HotelColumn;
+import com.example.backend.hotel_search.dto.HotelSearchCriteria;
+import com.example.backend.hotel_search.dto.RoomAmenityFilter;
+import com.example.backend.hotel_search.dto.SearchCursor;
+import com.example.backend.hotel_search.index.RoomAvailabilityIndex;
+import com.example.backend.hotel_search.index.RoomDocument;
+import com.example.backend.hotel_search.repository.HotelSearchQueryBuilder.Kind;
+import com.example.backend.hotel_search.repository.HotelSearchQueryBuilder.SearchSql;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HotelSearchQueryBuilderTest {
+
+    private final HotelSearchQueryBuilder builder = new HotelSearchQueryBuilder();
+
+    private static HotelSearchCriteria.HotelSearchCriteriaBuilder criteria() {
+        return HotelSearchCriteria.builder();
+    }
+
+    @Test
+    void noFiltersMeansNoWhereClause() {
+        SearchSql page = builder.build(Kind.PAGE, criteria().build());
+
+        assertThat(page.sql())
+                .doesNotContain("\nWHERE ")
+                .contains("LEFT JOIN hotel_price_summary mp ON mp.hotel_id = h.id")
+                .endsWith("LIMIT :limit OFFSET :offset");
+        assertThat(page.params().getParameterNames()).isEmpty();
+    }
+
+    @Test
+    void onlySuppliedFiltersAreRenderedAndBound() {
+        SearchSql page = builder.build(Kind.PAGE, criteria().keyword("seoul").maxPrice(100000).build());
+
+        assertThat(page.sql())
+                .contains("h.name    LIKE CONCAT('%', :q, '%')", "mp.lowest_price <= :maxPrice")
+                .contains("JOIN hotel_price_summary mp")
+                .doesNotContain("LEFT JOIN hotel_price_summary", ":minPrice", ":checkIn", ":party", ":hotelIds");
+        assertThat(page.params().getParameterNames()).containsExactlyInAnyOrder("q", "maxPrice");
+    }
+
+    @Test
+    void unselectedColumnsAreReadAsNull() {
+        int columns = HotelColumn.NAME.bit() | HotelColumn.LOWEST_PRICE.bit();
+        SearchSql page = builder.build(Kind.PAGE, criteria().columns(columns).build());
+
+        assertThat(page.sql())
+                .contains("h.name AS name", "mp.lowest_price AS lowestPrice", "NULL AS thumbnailUrl", "NULL AS city")
+                .doesNotContain("h.cover_image_url", "h.address");
+        assertThat(builder.build(Kind.PAGE, criteria().build()).sql()).contains("h.cover_image_url AS thumbnailUrl");
+    }
+
+    @Test
+    void exportWithoutPriceColumnSkipsThePriceJoin() {
+        int columns = HotelColumn.NAME.bit();
+        assertThat(builder.build(Kind.STREAM, criteria().columns(columns).build()).sql())
+                .doesNotContain("hotel_price_summary", "hotel_min_price");
+        // 가격순 페이지는 ORDER BY 에 최저가가 필요하고, 가격 조건이 있으면 내보내기도 조인한다
+        assertThat(builder.build(Kind.PAGE, criteria().columns(columns).build()).sql())
+                .contains("LEFT JOIN hotel_price_summary").contains("NULL AS lowestPrice");
+        assertThat(builder.build(Kind.STREAM, criteria().columns(columns).maxPrice(1).build()).sql())
+                .contains("JOIN hotel_price_summary");
+    }
+
+    @Test
+    void seekAlwaysReadsThePriceForTheNextCursor() {
+        SearchSql seek = builder.build(Kind.SEEK, criteria().columns(HotelColumn.NAME.bit()).build());
+
+        assertThat(seek.sql()).contains("mp.lowest_price AS lowestPrice", "NULL AS country");
+    }
+
+    @Test
+    void datedSearchAggregatesNightlyRowsForTheStay() {
+        HotelSearchCriteria c = criteria()
+                .checkIn(LocalDate.of(2030, 5, 10)).checkOut(LocalDate.of(2030, 5, 12)).build();
+        SearchSql page = builder.build(Kind.PAGE, c);
+
+        assertThat(page.sql()).contains("FROM hotel_min_price mp0")
+                .contains("mp0.stay_date >= :checkIn AND mp0.stay_date < :checkOut") // 체크아웃 날 밤은 묵지 않음
+                .doesNotContain("hotel_price_summary");
+        assertThat(page.params().getValue("checkIn")).isEqualTo(LocalDate.of(2030, 5, 10));
+    }
+
+    @Test
+    void partyBoundsScaleWithRoomsOfOneType() {
+        SearchSql page = builder.build(Kind.PAGE, criteria().adults(4).children(1).rooms(2).build());
+
+        assertThat(page.sql()).contains("rx.capacity_max * :rooms >= :party", "COALESCE(rx.capacity_min, 1) * :rooms <= GREATEST(:party, 1)");
+        assertThat(page.params().getValue("party")).isEqualTo(5);
+        assertThat(page.params().getValue("rooms")).isEqualTo(2);
+    }
+
+    @Test
+    void zeroPartyIsNoPartyFilter() {
+        // 가용성 인덱스도 party=0 이면 인원을 안 본다
+        SearchSql page = builder.build(Kind.PAGE, criteria().adults(0).children(0).rooms(2).build());
+
+        assertThat(page.sql()).doesNotContain("capacity_min", "capacity_max", ":party");
+        assertThat(page.params().hasValue("party")).isFalse();
+    }
+
+    @Test
+    void nullMinimumCapacityFitsTheSameInSqlAndIndex() {
+        // 호텔 10: 최소 정원이 비어 있는 1~2 인실, 호텔 20: 2~4 인실
+        NamedParameterJdbcTemplate jdbc = new NamedParameterJdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:search_party_" + System.nanoTime() + ";MODE=MariaDB;DB_CLOSE_DELAY=-1"));
+        jdbc.getJdbcTemplate().execute("CREATE TABLE `Hotel` (id BIGINT PRIMARY KEY)");
+        jdbc.getJdbcTemplate().execute("CREATE TABLE `Room` (id BIGINT PRIMARY KEY, hotel_id BIGINT, capacity_min INT, capacity_max INT)");
+        jdbc.getJdbcTemplate().update("INSERT INTO `Hotel` VALUES (10), (20)");
+        jdbc.getJdbcTemplate().update("INSERT INTO `Room` VALUES (1, 10, NULL, 2), (2, 20, 2, 4)");
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(3);
+        index.rebuild(LocalDate.of(2030, 1, 1), 30, List.of(
+                new RoomDocument(1L, 10L, null, 2, 0, null, null),
+                new RoomDocument(2L, 20L, 2, 4, 0, null, null)), List.of());
+
+        for (int rooms = 1; rooms <= 2; rooms++) {
+            for (int party = 1; party <= 8; party++) {
+                List<Long> viaSql = new ArrayList<>();
+                for (long hotelId : new long[]{10, 20}) {
+                    SearchSql count = builder.build(Kind.COUNT,
+                            criteria().hotelIds(List.of(hotelId)).adults(party).rooms(rooms).build());
+                    if (jdbc.queryForObject(count.sql(), count.params(), Long.class) > 0) viaSql.add(hotelId);
+                }
+                assertThat(index.fittingHotels(null, null, rooms, party))
+                        .as("rooms=%d party=%d", rooms, party)
+                        .containsExactly(viaSql.stream().mapToLong(Long::longValue).toArray());
+            }
+        }
+        // 최소 정원이 비어 있으면 1 명으로 본다
+        assertThat(index.fittingHotels(null, null, 1, 1)).containsExactly(10L);
+        assertThat(index.fittingHotels(null, null, 2, 1)).isEmpty();
+    }
+
+    @Test
+    void amenitiesGoIntoTheSameRoomExists() {
+        RoomAmenityFilter filter = RoomAmenityFilter.of(List.of("wifi", "nonSmoking"), " Ocean", null);
+        SearchSql page = builder.build(Kind.PAGE, criteria().adults(2).amenities(filter).build());
+
+        String sql = page.sql();
+        assertThat(sql.indexOf("EXISTS")).isEqualTo(sql.lastIndexOf("EXISTS"));
+        assertThat(sql).contains("rx.wifi = 1", "rx.smoke = 0", "LOWER(TRIM(rx.view_name)) = :view")
+                .doesNotContain("rx.aircon", ":bed");
+        assertThat(page.params().getValue("view")).isEqualTo("ocean");
+
+        // 편의시설 조합이 다르면 다른 shape
+        builder.build(Kind.PAGE, criteria().adults(2).amenities(RoomAmenityFilter.of(List.of("wifi"), null, null)).build());
+        assertThat(builder.cachedShapes()).isEqualTo(2);
+    }
+
+    @Test
+    void unknownAmenityIsRejected() {
+        assertThatThrownBy(() -> RoomAmenityFilter.of(List.of("pool"), null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("unknown amenity: pool");
+        assertThat(RoomAmenityFilter.of(List.of(" "), "", null)).isNull();
+    }
+
+    @Test
+    void countSkipsPriceJoinWithoutPriceFilter() {
+        assertThat(builder.build(Kind.COUNT, criteria().keyword("seoul").build()).sql())
+                .startsWith("SELECT COUNT(*)")
+                .doesNotContain(" mp ", "ORDER BY");
+        assertThat(builder.build(Kind.COUNT, criteria().minPrice(1).build()).sql())
+                .contains("JOIN hotel_price_summary mp", "mp.highest_price >= :minPrice");
+    }
+
+    @Test
+    void sameShapeReusesTheSameSqlString() {
+        SearchSql a = builder.build(Kind.PAGE, criteria().keyword("seoul").minPrice(1).build());
+        SearchSql b = builder.build(Kind.PAGE, criteria().keyword("busan").minPrice(2).build());
+        builder.build(Kind.COUNT, criteria().keyword("jeju").minPrice(3).build());
+
+        assertThat(b.sql()).isSameAs(a.sql());
+        assertThat(b.params().getValue("q")).isEqualTo("busan");
+        assertThat(builder.cachedShapes()).isEqualTo(2); // PAGE, COUNT 는 따로
+    }
+
+    @Test
+    void idListIsPaddedToPowerOfTwo() {
+        assertThat(builder.build(Kind.PAGE, criteria().hotelIds(List.of(7L)).build()).params().getValue("hotelIds"))
+                .isEqualTo(List.of(7L));
+        assertThat(builder.build(Kind.PAGE, criteria().hotelIds(List.of(1L, 2L, 3L)).build()).params().getValue("hotelIds"))
+                .isEqualTo(List.of(1L, 2L, 3L, 3L));
+        assertThat(builder.build(Kind.PAGE, criteria().hotelIds(List.of(1L, 2L, 3L, 4L, 5L)).build()).params().getValue("hotelIds"))
+                .isEqualTo(List.of(1L, 2L, 3L, 4L, 5L, 5L, 5L, 5L));
+        assertThat(builder.cachedShapes()).isEqualTo(1);
+    }
+
+    @Test
+    void seekShapeDependsOnCursorRow() {
+        SearchSql priced = builder.build(Kind.SEEK, criteria().after(new SearchCursor(false, 5000, 9)).build());
+        SearchSql unpriced = builder.build(Kind.SEEK, criteria().after(new SearchCursor(true, null, 9)).build());
+        SearchSql first = builder.build(Kind.SEEK, criteria().build());
+
+        assertThat(priced.sql()).contains("mp.lowest_price > :afterPrice").endsWith("LIMIT :limit");
+        assertThat(priced.params().getParameterNames()).containsExactlyInAnyOrder("afterPrice", "afterId");
+        assertThat(unpriced.sql()).contains("mp.lowest_price IS NULL AND h.id < :afterId").doesNotContain(":afterPrice");
+        assertThat(first.sql()).doesNotContain(":afterId");
+        assertThat(builder.cachedShapes()).isEqualTo(3);
+    }
+}
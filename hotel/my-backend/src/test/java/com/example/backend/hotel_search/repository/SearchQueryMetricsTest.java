@@ -0,0 +1,115 @@
+package com.example.backend.hotel_search.repository;
+
+import com.example.backend.hotel_search.dto.HotelSearchCriteria;
+import com.example.backend.hotel_search.repository.HotelSearchQueryBuilder.Kind;
+import com.example.backend.hotel_search.repository.HotelSearchQueryBuilder.SearchSql;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class SearchQueryMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final NamedParameterJdbcTemplate jdbc = mock(NamedParameterJdbcTemplate.class);
+
+    private static final HotelSearchCriteria DATED_KEYWORD = HotelSearchCriteria.builder()
+            .keyword("seoul").checkIn(LocalDate.of(2030, 5, 10)).checkOut(LocalDate.of(2030, 5, 12)).build();
+    private static final SearchSql PAGE_SQL = new SearchSql("SELECT 1", new MapSqlParameterSource());
+
+    private SearchQueryMetrics metrics(boolean enabled, long slowMs, int logSize, boolean explain) {
+        return new SearchQueryMetrics(registry, jdbc, enabled, slowMs, logSize, explain);
+    }
+
+    private Timer timer(String stage, String filters) {
+        return registry.find("hotel.search.stage").tags("stage", stage, "filters", filters).timer();
+    }
+
+    @Test
+    void stagesAreTimedPerFilterShape() {
+        SearchQueryMetrics m = metrics(true, 60_000, 10, false);
+
+        SearchQueryMetrics.Trace t = m.begin();
+        m.stopCandidates(null, m.start());
+        m.stop(Kind.PAGE, DATED_KEYWORD, PAGE_SQL, m.start());
+        m.stop(Kind.PAGE, HotelSearchCriteria.builder().minPrice(1).adults(2).build(), PAGE_SQL, m.start());
+        m.end(t, "q=seoul");
+
+        assertThat(timer("candidates", "none").count()).isEqualTo(1);
+        assertThat(timer("page", "like+dates").count()).isEqualTo(1);
+        assertThat(timer("page", "party+price").count()).isEqualTo(1);
+        assertThat(timer("total", "party+price").count()).isEqualTo(1); // 요청은 마지막 SQL 의 조합으로
+        assertThat(m.slowSearches()).isEmpty();
+    }
+
+    @Test
+    void slowSearchKeepsStagesAndSlowestSql() {
+        SearchQueryMetrics m = metrics(true, 0, 10, false);
+
+        SearchQueryMetrics.Trace t = m.begin();
+        m.stop(Kind.PAGE, DATED_KEYWORD, PAGE_SQL, m.start());
+        m.stop(Kind.COUNT, DATED_KEYWORD, new SearchSql("SELECT COUNT(*)", new MapSqlParameterSource()), m.start() - 5_000_000_000L);
+        m.end(t, "q=seoul");
+        m.end(t, "q=seoul"); // 두 번 끝내도 한 건
+
+        List<SearchQueryMetrics.SlowSearch> slow = m.slowSearches();
+        assertThat(slow).hasSize(1);
+        assertThat(slow.get(0).params).isEqualTo("q=seoul");
+        assertThat(slow.get(0).filters).isEqualTo("like+dates");
+        assertThat(slow.get(0).stageMicros).containsOnlyKeys("page", "count");
+        assertThat(slow.get(0).slowestSql).isEqualTo("SELECT COUNT(*)");
+    }
+
+    @Test
+    void slowLogIsARingNewestFirst() {
+        SearchQueryMetrics m = metrics(true, 0, 2, false);
+        for (String p : new String[]{"a", "b", "c"}) m.end(m.begin(), p);
+
+        assertThat(m.slowSearches()).extracting(s -> s.params).containsExactly("c", "b");
+        m.clearSlowSearches();
+        assertThat(m.slowSearches()).isEmpty();
+    }
+
+    @Test
+    void explainRunsOffTheRequestThread() {
+        Map<String, Object> plan = Map.of("type", "ref");
+        given(jdbc.queryForList(eq("EXPLAIN SELECT 1"), any(MapSqlParameterSource.class))).willReturn(List.of(plan));
+        SearchQueryMetrics m = metrics(true, 0, 10, true);
+        try {
+            SearchQueryMetrics.Trace t = m.begin();
+            m.stop(Kind.PAGE, DATED_KEYWORD, PAGE_SQL, m.start());
+            m.end(t, "q=seoul");
+
+            verify(jdbc, timeout(5000)).queryForList(eq("EXPLAIN SELECT 1"), any(MapSqlParameterSource.class));
+        } finally {
+            m.shutdown();
+        }
+    }
+
+    @Test
+    void disabledRecordsNothing() {
+        SearchQueryMetrics m = metrics(false, 0, 10, false);
+
+        SearchQueryMetrics.Trace t = m.begin();
+        assertThat(t).isNull();
+        assertThat(m.start()).isZero();
+        m.stop(Kind.PAGE, DATED_KEYWORD, PAGE_SQL, 0);
+        m.end(t, "q=seoul");
+
+        assertThat(registry.find("hotel.search.stage").timers()).isEmpty();
+        assertThat(m.slowSearches()).isEmpty();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.backend.hotel_search.service;
+
+import com.example.backend.hotel_search.dto.HotelColumn;
+import com.example.backend.hotel_search.dto.HotelSearchCriteria;
+import com.example.backend.hotel_search.dto.HotelSort;
+import com.example.backend.hotel_search.index.HotelFuzzyIndex;
+import com.example.backend.hotel_search.index.HotelGeoIndex;
+import com.example.backend.hotel_search.index.HotelSortKeys;
+import com.example.backend.hotel_search.index.HotelSuggestIndex;
+import com.example.backend.hotel_search.index.NgramTextIndex;
+import com.example.backend.hotel_search.index.RoomAvailabilityIndex;
+import com.example.backend.hotel_search.repository.HotelSearchJdbcRepository;
+import com.example.backend.hotel_search.repository.SearchQueryMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class HotelSearchServiceTest {
+
+    private final SearchResultCache cache = mock(SearchResultCache.class);
+    private final HotelSearchService service = new HotelSearchService(
+            mock(HotelSearchJdbcRepository.class), new NgramTextIndex(), new RoomAvailabilityIndex(3), cache,
+            new HotelSuggestIndex(5), new HotelSortKeys(Locale.KOREAN), mock(SearchQueryMetrics.class),
+            new HotelFuzzyIndex(1), new HotelGeoIndex(0.1));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxPageSize", 100);
+        ReflectionTestUtils.setField(service, "priceHorizonDays", 30);
+    }
+
+    @Test
+    void checkOutBeyondThePriceHorizonIsRejected() {
+        String checkIn = LocalDate.now().plusDays(29).toString();
+        String checkOut = LocalDate.now().plusDays(31).toString();
+
+        // 최저가 읽기 모델에 없는 밤이 끼면 가격 표시/필터가 다 빠지므로 조용히 빈 결과 대신 400
+        assertThatThrownBy(() -> service.search(null, checkIn, checkOut, null, null, null, null, null,
+                null, null, 0, 20, false, HotelSort.PRICE, HotelColumn.ALL))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(LocalDate.now().plusDays(30).toString());
+        assertThatThrownBy(() -> service.exportCriteria(null, checkIn, checkOut, null, null, null, null, null,
+                null, null, HotelColumn.ALL))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(cache, never()).get(any(), any(), any(), any());
+    }
+
+    @Test
+    void lastNightInsideThePriceHorizonIsAccepted() {
+        HotelSearchCriteria c = service.exportCriteria(null,
+                LocalDate.now().plusDays(29).toString(), LocalDate.now().plusDays(30).toString(),
+                null, null, null, null, null, null, null, HotelColumn.ALL);
+
+        assertThat(c.checkOut()).isEqualTo(LocalDate.now().plusDays(30));
+    }
+}
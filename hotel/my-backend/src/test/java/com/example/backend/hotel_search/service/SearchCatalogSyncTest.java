@@ -0,0 +1,112 @@
+package com.example.backend.hotel_search.service;
+
+import com.example.backend.hotel_search.event.CatalogChangedEvent;
+import com.example.backend.hotel_search.event.InventoryChangedEvent;
+import com.example.backend.hotel_search.index.HotelDocument;
+import com.example.backend.hotel_search.index.HotelFuzzyIndex;
+import com.example.backend.hotel_search.index.HotelGeoIndex;
+import com.example.backend.hotel_search.index.HotelSortKeys;
+import com.example.backend.hotel_search.index.HotelSuggestIndex;
+import com.example.backend.hotel_search.index.NgramTextIndex;
+import com.example.backend.hotel_search.index.RoomAvailabilityIndex;
+import com.example.backend.hotel_search.index.RoomDocument;
+import com.example.backend.hotel_search.repository.HotelSearchJdbcRepository;
+import com.example.backend.hotel_search.repository.HotelSearchRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class SearchCatalogSyncTest {
+
+    private static final HotelDocument SEOUL = new HotelDocument(1L, "Seoul Hotel", "Jung-gu", "KR", 4, null, null);
+    private static final HotelDocument BUSAN = new HotelDocument(2L, "Busan Hotel", "Haeundae", "KR", 3, null, null);
+
+    private final HotelSearchRepository repo = mock(HotelSearchRepository.class);
+    private final NgramTextIndex textIndex = new NgramTextIndex();
+    private final HotelSortKeys sortKeys = new HotelSortKeys(Locale.KOREAN);
+    private final RoomAvailabilityIndex availabilityIndex = new RoomAvailabilityIndex(3);
+    private final SearchCatalogSync sync = new SearchCatalogSync(
+            repo, mock(HotelSearchJdbcRepository.class), textIndex, new HotelSuggestIndex(5), sortKeys,
+            new HotelFuzzyIndex(1), new HotelGeoIndex(0.1), availabilityIndex);
+
+    @Test
+    void upsertCommittedDuringRebuildSurvivesIt() {
+        HotelDocument renamed = new HotelDocument(1L, "Incheon Hotel", "Jung-gu", "KR", 5, null, null);
+        given(repo.findDocumentById(1L)).willReturn(Optional.of(renamed));
+        // 전체 읽기가 끝난 뒤 (rebuild 전) 이름 변경이 커밋되고 이벤트가 온다
+        given(repo.findAllDocuments()).willAnswer(inv -> {
+            sync.onCatalogChanged(CatalogChangedEvent.hotel(1L, false));
+            return List.of(SEOUL, BUSAN);
+        });
+
+        sync.rebuildFromDatabase();
+
+        assertThat(textIndex.search("incheon")).containsExactly(1L);
+        assertThat(textIndex.search("seoul")).isEmpty();
+        assertThat(sortKeys.get(1L).stars()).isEqualTo(5);
+    }
+
+    @Test
+    void removeCommittedDuringRebuildSurvivesIt() {
+        given(repo.findDocumentById(2L)).willReturn(Optional.empty());
+        given(repo.findAllDocuments()).willAnswer(inv -> {
+            sync.onCatalogChanged(CatalogChangedEvent.hotel(2L, true));
+            return List.of(SEOUL, BUSAN);
+        });
+
+        sync.rebuildFromDatabase();
+
+        assertThat(textIndex.search("busan")).isEmpty();
+        assertThat(sortKeys.size()).isEqualTo(1);
+    }
+
+    @Test
+    void roomMovedToAnotherHotelKeepsItsQuantities() {
+        RoomDocument moved = new RoomDocument(100L, 2L, 1, 2, 0, null, null);
+        ReflectionTestUtils.setField(sync, "availabilityDays", 30);
+        given(repo.findAllDocuments()).willReturn(List.of(SEOUL, BUSAN));
+        given(repo.findAllRoomDocuments()).willReturn(List.of(new RoomDocument(100L, 1L, 1, 2, 0, null, null)));
+        sync.rebuildFromDatabase();
+        LocalDate day = availabilityIndex.windowStart().plusDays(3);
+        sync.onInventoryChanged(new InventoryChangedEvent(100L, day, 0));
+
+        // 옮긴 객실은 옛 호텔에서 removed, 새 호텔에서 upsert 로 온다 (CatalogEntityListener)
+        given(repo.findRoomDocumentById(100L)).willReturn(Optional.of(moved));
+        sync.onCatalogChanged(CatalogChangedEvent.room(1L, 100L, true));
+        sync.onCatalogChanged(CatalogChangedEvent.room(2L, 100L, false));
+
+        assertThat(availabilityIndex.hotelOf(100L)).isEqualTo(2L);
+        assertThat(availabilityIndex.minAvailable(100L, day, day.plusDays(1))).isZero();
+    }
+
+    @Test
+    void roomDeletedIsRemoved() {
+        given(repo.findAllDocuments()).willReturn(List.of(SEOUL));
+        given(repo.findAllRoomDocuments()).willReturn(List.of(new RoomDocument(100L, 1L, 1, 2, 0, null, null)));
+        sync.rebuildFromDatabase();
+
+        given(repo.findRoomDocumentById(100L)).willReturn(Optional.empty());
+        sync.onCatalogChanged(CatalogChangedEvent.room(1L, 100L, true));
+
+        assertThat(availabilityIndex.hotelOf(100L)).isNull();
+    }
+
+    @Test
+    void changesAfterRebuildAreAppliedDirectly() {
+        given(repo.findAllDocuments()).willReturn(List.of(SEOUL));
+        sync.rebuildFromDatabase();
+
+        given(repo.findDocumentById(2L)).willReturn(Optional.of(BUSAN));
+        sync.onCatalogChanged(CatalogChangedEvent.hotel(2L, false));
+
+        assertThat(textIndex.search("busan")).containsExactly(2L);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.backend.hotel_search.service;
+
+import com.example.backend.hotel_search.dto.HotelSort;
+import com.example.backend.hotel_search.dto.SearchCacheKey;
+import com.example.backend.hotel_search.event.CatalogChangedEvent;
+import com.example.backend.hotel_search.event.InventoryChangedEvent;
+import com.example.backend.hotel_search.index.HotelDocument;
+import com.example.backend.hotel_search.index.NgramTextIndex;
+import com.example.backend.hotel_search.index.RoomAvailabilityIndex;
+import com.example.backend.hotel_search.index.RoomDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchResultCacheTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 5, 10);
+
+    private final NgramTextIndex textIndex = new NgramTextIndex();
+    private final RoomAvailabilityIndex availabilityIndex = new RoomAvailabilityIndex(3);
+    private final AtomicInteger loads = new AtomicInteger();
+    private SearchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        textIndex.rebuild(List.of(
+                new HotelDocument(1L, "Seoul Hotel", "Jung-gu", "KR", 4, null, null),
+                new HotelDocument(2L, "Busan Hotel", "Haeundae", "KR", 3, null, null)));
+        availabilityIndex.rebuild(DAY, 30, List.of(new RoomDocument(10L, 1L, 1, 2, 0, null, null), new RoomDocument(20L, 2L, 1, 2, 0, null, null)), List.of());
+        cache = cacheOf(true, 100);
+    }
+
+    private SearchResultCache cacheOf(boolean enabled, int maxEntries) {
+        return new SearchResultCache(textIndex, availabilityIndex, new SimpleMeterRegistry(), enabled, maxEntries, 60);
+    }
+
+    private static SearchCacheKey key(String q) {
+        return SearchCacheKey.of(q, null, null, null, null, null, null, null, null, null, 0, null, 10, false, HotelSort.PRICE);
+    }
+
+    private static SearchCacheKey dated(String q, LocalDate checkIn, int nights) {
+        return SearchCacheKey.of(q, checkIn, checkIn.plusDays(nights), 1, null, null, null, null, null, null, 0, null, 10, false, HotelSort.PRICE);
+    }
+
+    /** 결과 호텔 id 를 그대로 값으로 쓰고, loader 가 불린 횟수를 센다 */
+    private long[] load(SearchResultCache c, SearchCacheKey k, long... ids) {
+        return c.get(k, () -> {
+            loads.incrementAndGet();
+            return ids;
+        }, v -> v);
+    }
+
+    @Test
+    void secondLookupIsServedFromCache() {
+        load(cache, key("Seoul"), 1);
+        long[] again = load(cache, key(" SEOUL "), 99); // 정규화된 같은 키
+
+        assertThat(again).containsExactly(1L);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void hotelChangeEvictsEntriesItCouldAffect() {
+        load(cache, key("seoul"), 1);
+        load(cache, key("busan"), 2);
+        load(cache, key(null), 1, 2);
+
+        cache.onCatalogChanged(CatalogChangedEvent.hotel(2L, false));
+
+        // busan 은 결과에 2 가 있고, 검색어 없음은 어떤 호텔이든 새로 걸릴 수 있다
+        assertThat(cache.size()).isEqualTo(1);
+        load(cache, key("seoul"), 1);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void hotelThatNowMatchesKeywordEvictsEntryWithoutIt() {
+        load(cache, key("seoul"), 1);
+        // 2 번이 이름을 바꿔 "seoul" 에 새로 걸린다 (인덱스는 캐시보다 먼저 갱신됨)
+        textIndex.upsert(new HotelDocument(2L, "Seoul Station Hotel", "Yongsan", "KR", 3, null, null));
+
+        cache.onCatalogChanged(CatalogChangedEvent.hotel(2L, false));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void typoEntryIsAlsoKeyedByItsCorrection() {
+        // "seuol" 은 결과가 없어서 "seoul" 로 교정해 찾은 결과가 들어 있다
+        cache.get(key("seuol"), () -> new long[]{1}, v -> v, v -> "Seoul");
+        textIndex.upsert(new HotelDocument(2L, "Seoul Station Hotel", "Yongsan", "KR", 3, null, null));
+
+        cache.onCatalogChanged(CatalogChangedEvent.hotel(2L, false));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void imageChangeOnlyEvictsEntriesContainingTheHotel() {
+        load(cache, key("seoul"), 1);
+        load(cache, key(null), 1);
+
+        cache.onCatalogChanged(CatalogChangedEvent.hotelImage(2L, false));
+        assertThat(cache.size()).isEqualTo(2);
+
+        cache.onCatalogChanged(CatalogChangedEvent.hotelImage(1L, false));
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void inventoryChangeOnlyEvictsStaysCoveringTheDate() {
+        load(cache, dated("hotel", DAY, 2), 1);             // 10, 11
+        load(cache, dated("hotel", DAY.plusDays(3), 1), 1); // 13
+        load(cache, dated("hotel", DAY.plusDays(5), 1));    // 15, 결과 없음
+        load(cache, key("busan"), 2);
+
+        cache.onInventoryChanged(new InventoryChangedEvent(10L, DAY.plusDays(1), 0)); // 호텔 1
+        assertThat(cache.size()).isEqualTo(3);
+
+        cache.onInventoryChanged(new InventoryChangedEvent(10L, DAY.plusDays(5), 5)); // 결과엔 없지만 "hotel" 에 걸림
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void unknownHotelClearsEverything() {
+        load(cache, key("seoul"), 1);
+        load(cache, key("busan"), 2);
+
+        cache.onInventoryChanged(new InventoryChangedEvent(999L, DAY, 0));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void resultComputedAcrossAnInvalidationIsNotStored() {
+        long[] value = cache.get(key("seoul"), () -> {
+            cache.onCatalogChanged(CatalogChangedEvent.hotel(2L, false)); // 계산 도중 변경
+            return new long[]{1};
+        }, v -> v);
+
+        assertThat(value).containsExactly(1L);
+        assertThat(cache.size()).isZero();
+        load(cache, key("seoul"), 1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedOverCapacity() {
+        SearchResultCache small = cacheOf(true, 2);
+        load(small, key("a1"), 1);
+        load(small, key("b1"), 1);
+        load(small, key("a1"), 1); // a1 을 최근으로
+        load(small, key("c1"), 1); // b1 이 밀려남
+
+        load(small, key("a1"), 1);
+        load(small, key("b1"), 1);
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        SearchResultCache off = cacheOf(false, 100);
+        load(off, key("seoul"), 1);
+        load(off, key("seoul"), 1);
+
+        assertThat(loads).hasValue(2);
+        assertThat(off.size()).isZero();
+    }
+}